@@ -0,0 +1,57 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void percentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		Assert.assertEquals(1000, histogram.getTotalCount());
+		Assert.assertEquals(1000, histogram.getMax());
+		Assert.assertEquals(500.5, histogram.getMean(), 0.001);
+		assertPrecision(500, histogram.getValueAtPercentile(50));
+		assertPrecision(950, histogram.getValueAtPercentile(95));
+		assertPrecision(990, histogram.getValueAtPercentile(99));
+		Assert.assertEquals(1, histogram.getValueAtPercentile(0));
+		Assert.assertEquals(1000, histogram.getValueAtPercentile(100), 1000 / 32);
+	}
+
+	@Test
+	public void bucketsCoverAllValues() {
+		long[] values = { 0, 1, 63, 64, 65, 127, 128, 1000, 123456789, Long.MAX_VALUE };
+		for (long value : values) {
+			long bucketValue = LatencyHistogram.getBucketValue(LatencyHistogram.getBucketIndex(value));
+			Assert.assertTrue(bucketValue <= value);
+			Assert.assertTrue(value - bucketValue <= value / 32);
+		}
+	}
+
+	@Test
+	public void reset() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(10);
+		histogram.reset();
+		Assert.assertEquals(0, histogram.getTotalCount());
+		Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+	}
+
+	private static void assertPrecision(long expected, long actual) {
+		Assert.assertTrue("expected ~" + expected + " but was " + actual,
+				Math.abs(expected - actual) <= expected / 32 + 1);
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import ts.utils.FileUtils;
+
+public class TypeScriptRecorderInterceptorTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File root;
+
+	@Before
+	public void createRoot() {
+		root = temporaryFolder.getRoot();
+	}
+
+	@Test
+	public void recordRequestsAndMessages() throws IOException {
+		File file = new File(root, "tsserver.ndjson");
+		TypeScriptRecorderInterceptor recorder = new TypeScriptRecorderInterceptor(file);
+		recorder.handleRequest(null, "{\"seq\":1,\"type\":\"request\",\"command\":\"quickinfo\"}", null);
+		recorder.onMessage(null, "{\"seq\":0,\"type\":\"response\",\"request_seq\":1,\"success\":true}");
+		recorder.onMessage(null, "Content-Length: 42");
+		recorder.close();
+
+		String[] lines = FileUtils.getContents(file).split("\n");
+		Assert.assertEquals(2, lines.length);
+		JsonObject request = new JsonParser().parse(lines[0]).getAsJsonObject();
+		Assert.assertEquals(TypeScriptRecorderInterceptor.OUT, request.get("kind").getAsString());
+		Assert.assertEquals("quickinfo", request.get("message").getAsJsonObject().get("command").getAsString());
+		JsonObject response = new JsonParser().parse(lines[1]).getAsJsonObject();
+		Assert.assertEquals(TypeScriptRecorderInterceptor.IN, response.get("kind").getAsString());
+		Assert.assertTrue(response.get("time").getAsDouble() >= request.get("time").getAsDouble());
+	}
+
+	@Test
+	public void rotate() throws IOException {
+		File file = new File(root, "tsserver.ndjson");
+		TypeScriptRecorderInterceptor recorder = new TypeScriptRecorderInterceptor(file, 200, 2);
+		for (int i = 0; i < 20; i++) {
+			recorder.onMessage(null, "{\"seq\":" + i + ",\"type\":\"event\",\"event\":\"telemetry\"}");
+		}
+		recorder.close();
+
+		Assert.assertTrue(file.length() <= 200);
+		Assert.assertTrue(new File(root, "tsserver.ndjson.1").exists());
+		Assert.assertTrue(new File(root, "tsserver.ndjson.2").exists());
+		Assert.assertFalse(new File(root, "tsserver.ndjson.3").exists());
+		Assert.assertEquals(3, root.list().length);
+	}
+
+	@Test
+	public void rotateCountsEncodedBytes() throws IOException {
+		File file = new File(root, "tsserver.ndjson");
+		TypeScriptRecorderInterceptor recorder = new TypeScriptRecorderInterceptor(file, 200, 1);
+		// each '\u00e9' is written with 2 bytes in UTF-8: 2 lines have less than
+		// 200 chars but more than 200 bytes.
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 30; i++) {
+			text.append('\u00e9');
+		}
+		for (int i = 0; i < 20; i++) {
+			recorder.onMessage(null, "{\"seq\":" + i + ",\"text\":\"" + text + "\"}");
+		}
+		recorder.close();
+
+		Assert.assertTrue(file.length() <= 200);
+		Assert.assertTrue(new File(root, "tsserver.ndjson.1").length() <= 200);
+	}
+
+	@Test
+	public void writeError() throws IOException {
+		// the parent of the log file is a file: the log file cannot be opened.
+		File parent = temporaryFolder.newFile("parent");
+		TypeScriptRecorderInterceptor recorder = new TypeScriptRecorderInterceptor(new File(parent, "tsserver.ndjson"));
+		List<IOException> errors = new ArrayList<IOException>();
+		recorder.addRecorderListener((file, e) -> errors.add(e));
+		recorder.onMessage(null, "{\"seq\":0,\"type\":\"event\",\"event\":\"telemetry\"}");
+		recorder.onMessage(null, "{\"seq\":1,\"type\":\"event\",\"event\":\"telemetry\"}");
+		recorder.close();
+
+		// the log file is opened again with each message.
+		Assert.assertEquals(2, errors.size());
+	}
+}
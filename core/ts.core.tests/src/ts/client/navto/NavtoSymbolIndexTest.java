@@ -0,0 +1,102 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.navto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ts.client.Location;
+
+/**
+ * Tests of {@link NavtoSymbolIndex}.
+ */
+public class NavtoSymbolIndexTest {
+
+	@Test
+	public void searchRanksExactPrefixSubstring() {
+		NavtoSymbolIndex index = new NavtoSymbolIndex();
+		index.add(Arrays.asList(item("a.ts", 1, "getUserName"), item("a.ts", 2, "user"), item("b.ts", 1, "UserService"),
+				item("b.ts", 2, "other")));
+
+		Assert.assertEquals(Arrays.asList("user", "UserService", "getUserName"), names(index.search("user", 10)));
+		Assert.assertEquals(Arrays.asList("user", "UserService"), names(index.search("user", 2)));
+		Assert.assertEquals(Arrays.asList("user", "UserService"), names(index.search("us", 10)));
+		Assert.assertEquals(Arrays.asList(), names(index.search("xyz", 10)));
+	}
+
+	@Test
+	public void rankComparator() {
+		List<NavtoItem> items = new ArrayList<NavtoItem>(Arrays.asList(item("a.ts", 1, "getUserName"),
+				item("a.ts", 2, "other"), item("a.ts", 3, "user"), item("b.ts", 1, "UserService")));
+		items.sort(NavtoSymbolIndex.getRankComparator("user"));
+
+		Assert.assertEquals(Arrays.asList("user", "UserService", "getUserName", "other"), names(items));
+	}
+
+	@Test
+	public void addIgnoresDuplicates() {
+		NavtoSymbolIndex index = new NavtoSymbolIndex();
+		index.add(Arrays.asList(item("a.ts", 1, "foo")));
+		index.add(Arrays.asList(item("a.ts", 1, "foo")));
+		Assert.assertEquals(1, index.size());
+	}
+
+	@Test
+	public void replaceFile() {
+		NavtoSymbolIndex index = new NavtoSymbolIndex();
+		index.add(Arrays.asList(item("a.ts", 1, "fooBar"), item("b.ts", 1, "fooBaz")));
+		index.replaceFile("a.ts", Arrays.asList(item("a.ts", 3, "fooQux")));
+
+		Assert.assertEquals(Arrays.asList("fooBaz", "fooQux"), names(index.search("foo", 10)));
+		Assert.assertEquals(Arrays.asList(), names(index.search("bar", 10)));
+	}
+
+	@Test
+	public void reconcileRemovesMissingPrefixMatches() {
+		NavtoSymbolIndex index = new NavtoSymbolIndex();
+		index.add(Arrays.asList(item("a.ts", 1, "fooBar"), item("a.ts", 2, "fooBaz"), item("a.ts", 3, "myfoo")));
+
+		// truncated results: nothing is removed.
+		index.reconcile("foo", Arrays.asList(item("a.ts", 1, "fooBar")), false);
+		Assert.assertEquals(3, index.size());
+
+		// complete results: the substring matches are kept.
+		index.reconcile("foo", Arrays.asList(item("a.ts", 1, "fooBar"), item("a.ts", 4, "fooNew")), true);
+		Assert.assertEquals(Arrays.asList("fooBar", "fooNew", "myfoo"), names(index.search("foo", 10)));
+	}
+
+	@Test
+	public void compactKeepsIndexedSymbols() {
+		NavtoSymbolIndex index = new NavtoSymbolIndex();
+		for (int i = 0; i < 10; i++) {
+			index.replaceFile("a.ts", Arrays.asList(item("a.ts", i, "symbol" + i)));
+		}
+		Assert.assertEquals(1, index.size());
+		Assert.assertEquals(Arrays.asList("symbol9"), names(index.search("sym", 10)));
+	}
+
+	private static NavtoItem item(String file, int line, String name) {
+		return new NavtoItem(file, new Location(line, 1), new Location(line, 1 + name.length()), name, "var", "",
+				null, null);
+	}
+
+	private static List<String> names(List<NavtoItem> items) {
+		List<String> names = new ArrayList<String>();
+		for (NavtoItem item : items) {
+			names.add(item.getName());
+		}
+		return names;
+	}
+}
@@ -0,0 +1,202 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.core.tests;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import ts.client.TypeScriptServiceClient;
+import ts.client.metrics.CommandMetrics;
+import ts.client.metrics.LatencyHistogram;
+import ts.client.metrics.TypeScriptMetricsInterceptor;
+import ts.client.metrics.TypeScriptRecorderInterceptor;
+
+/**
+ * Replay a tsserver session recorded with {@link TypeScriptRecorderInterceptor}
+ * with a new tsserver and compare the recorded and replayed response times:
+ *
+ * <pre>
+ * TsserverReplay recording.ndjson [projectDir] [--flat] [--speed=2]
+ * </pre>
+ *
+ * <ul>
+ * <li>by default, the requests are sent with the recorded timing.</li>
+ * <li>--flat: the requests are sent as soon as possible.</li>
+ * <li>--speed=N: the recorded timing is accelerated N times.</li>
+ * </ul>
+ */
+public class TsserverReplay {
+
+	private static final long RESPONSES_TIMEOUT = 5;
+
+	/**
+	 * Request of the recording.
+	 */
+	static class RecordedRequest {
+
+		final double time;
+		final int seq;
+		final String command;
+		final JsonObject arguments;
+
+		RecordedRequest(double time, int seq, String command, JsonObject arguments) {
+			this.time = time;
+			this.seq = seq;
+			this.command = command;
+			this.arguments = arguments;
+		}
+	}
+
+	/**
+	 * Requests of the recording, the request seqs which have a response and the
+	 * recorded response times.
+	 */
+	static class Recording {
+
+		final List<RecordedRequest> requests = new ArrayList<RecordedRequest>();
+		final Set<Integer> respondedSeqs = new HashSet<Integer>();
+		final Map<String, LatencyHistogram> latencies = new TreeMap<String, LatencyHistogram>();
+	}
+
+	static Recording load(File file) throws IOException {
+		Recording recording = new Recording();
+		Map<Integer, RecordedRequest> requestsBySeq = new HashMap<Integer, RecordedRequest>();
+		JsonParser parser = new JsonParser();
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				JsonObject record = parser.parse(line).getAsJsonObject();
+				double time = record.get("time").getAsDouble();
+				String kind = record.get("kind").getAsString();
+				JsonObject message = record.get("message").getAsJsonObject();
+				if (TypeScriptRecorderInterceptor.OUT.equals(kind)) {
+					JsonElement arguments = message.get("arguments");
+					RecordedRequest request = new RecordedRequest(time, message.get("seq").getAsInt(),
+							message.get("command").getAsString(),
+							arguments != null && arguments.isJsonObject() ? arguments.getAsJsonObject() : null);
+					recording.requests.add(request);
+					requestsBySeq.put(request.seq, request);
+				} else if ("response".equals(message.get("type").getAsString())) {
+					int requestSeq = message.get("request_seq").getAsInt();
+					RecordedRequest request = requestsBySeq.get(requestSeq);
+					if (request != null) {
+						recording.respondedSeqs.add(requestSeq);
+						LatencyHistogram latency = recording.latencies.get(request.command);
+						if (latency == null) {
+							latency = new LatencyHistogram();
+							recording.latencies.put(request.command, latency);
+						}
+						latency.record(Math.round(time - request.time));
+					}
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return recording;
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			System.err.println("Usage: TsserverReplay recording.ndjson [projectDir] [--flat] [--speed=N]");
+			return;
+		}
+		File recordingFile = new File(args[0]);
+		File projectDir = new File("./samples");
+		boolean flat = false;
+		double speed = 1;
+		for (int i = 1; i < args.length; i++) {
+			if ("--flat".equals(args[i])) {
+				flat = true;
+			} else if (args[i].startsWith("--speed=")) {
+				speed = Double.parseDouble(args[i].substring("--speed=".length()));
+			} else {
+				projectDir = new File(args[i]);
+			}
+		}
+
+		Recording recording = load(recordingFile);
+		TypeScriptServiceClient client = TypeScriptServiceClientFactory.create(projectDir);
+		TypeScriptMetricsInterceptor metrics = new TypeScriptMetricsInterceptor("replay");
+		metrics.connect(client);
+		try {
+			List<CompletableFuture<Object>> responses = new ArrayList<CompletableFuture<Object>>();
+			long start = System.nanoTime();
+			for (RecordedRequest request : recording.requests) {
+				if (!flat) {
+					long delay = Math.round(request.time / speed) - (System.nanoTime() - start) / 1000000L;
+					if (delay > 0) {
+						Thread.sleep(delay);
+					}
+				}
+				CompletableFuture<Object> response = client.executeRaw(request.command,
+						request.arguments != null ? request.arguments : new JsonObject(),
+						recording.respondedSeqs.contains(request.seq));
+				if (response != null) {
+					responses.add(response);
+				}
+			}
+			try {
+				CompletableFuture.allOf(responses.toArray(new CompletableFuture[responses.size()]))
+						.get(RESPONSES_TIMEOUT, TimeUnit.MINUTES);
+			} catch (Exception e) {
+				// the errors are counted by the metrics.
+			}
+			System.out.println("Replayed " + recording.requests.size() + " requests in "
+					+ (System.nanoTime() - start) / 1000000L + "ms");
+			report(recording, metrics);
+		} finally {
+			metrics.disconnect(client);
+			client.dispose();
+		}
+	}
+
+	private static void report(Recording recording, TypeScriptMetricsInterceptor metrics) {
+		System.out.println(String.format("%-30s %8s %22s %22s", "command", "count", "recorded p50/p95/p99",
+				"replayed p50/p95/p99"));
+		for (CommandMetrics commandMetrics : metrics.getCommandMetrics()) {
+			LatencyHistogram recorded = recording.latencies.get(commandMetrics.getCommand());
+			LatencyHistogram replayed = commandMetrics.getLatency();
+			System.out.println(String.format("%-30s %8d %22s %22s", commandMetrics.getCommand(),
+					commandMetrics.getRequestCount(), percentiles(recorded), percentiles(replayed)));
+		}
+	}
+
+	private static String percentiles(LatencyHistogram histogram) {
+		if (histogram == null || histogram.getTotalCount() == 0) {
+			return "-";
+		}
+		return histogram.getValueAtPercentile(50) + "/" + histogram.getValueAtPercentile(95) + "/"
+				+ histogram.getValueAtPercentile(99) + "ms";
+	}
+}
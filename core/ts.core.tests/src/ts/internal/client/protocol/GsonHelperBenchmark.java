@@ -0,0 +1,142 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.client.protocol;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Heap benchmark of the strings canonicalization of
+ * {@link GsonHelper#DEFAULT_GSON}: large "references" and "completions"
+ * responses are decoded and retained (like the search results and the
+ * completion proposals of a long session) with a plain Gson and with
+ * {@link GsonHelper#DEFAULT_GSON}, and the retained heap is compared.
+ *
+ * <p>
+ * The responses are read from a recording of
+ * {@link ts.client.metrics.TypeScriptRecorderInterceptor} given as argument, or
+ * generated (2 000 files, 100 000 references, 5 000 completion entries).
+ * </p>
+ */
+public class GsonHelperBenchmark {
+
+	private static final int FILES = 2000;
+	private static final int REFERENCES = 100000;
+	private static final int COMPLETIONS = 5000;
+	private static final int RETAINED = 10;
+
+	private static final String[] KINDS = { "method", "property", "var", "function", "class", "interface", "keyword" };
+	private static final String[] MODIFIERS = { "", "export", "declare", "public", "private,static" };
+
+	public static void main(String[] args) throws IOException {
+		List<String> responses = args.length > 0 ? loadRecording(new File(args[0])) : generate();
+		System.out.println(String.format("responses: %d, retained %d times", responses.size(), RETAINED));
+		Gson plain = new Gson();
+		for (int i = 0; i < 3; i++) {
+			measure("plain Gson", plain, responses);
+			measure("DEFAULT_GSON", GsonHelper.DEFAULT_GSON, responses);
+		}
+	}
+
+	private static void measure(String name, Gson gson, List<String> responses) {
+		long before = usedHeap();
+		long start = System.nanoTime();
+		List<Object> retained = new ArrayList<Object>();
+		for (int i = 0; i < RETAINED; i++) {
+			for (String json : responses) {
+				// each response is parsed like it's received from tsserver.
+				JsonObject response = GsonHelper.parse(json).getAsJsonObject();
+				retained.add(gson.fromJson(response, getResponseClass(response)));
+			}
+		}
+		long time = (System.nanoTime() - start) / 1000000;
+		long heap = usedHeap() - before;
+		System.out.println(String.format("%-14s decode: %5dms, retained heap: %7d KB (%d objects)", name, time,
+				heap / 1024, retained.size()));
+	}
+
+	private static Class<?> getResponseClass(JsonObject response) {
+		return "completions".equals(response.get("command").getAsString()) ? CompletionsResponse.class
+				: ReferencesResponse.class;
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static List<String> loadRecording(File file) throws IOException {
+		List<String> responses = new ArrayList<String>();
+		JsonParser parser = new JsonParser();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				JsonObject message = parser.parse(line).getAsJsonObject().get("message").getAsJsonObject();
+				if (message.has("command") && "response".equals(message.get("type").getAsString())) {
+					String command = message.get("command").getAsString();
+					if ("references".equals(command) || "completions".equals(command)) {
+						responses.add(message.toString());
+					}
+				}
+			}
+		}
+		return responses;
+	}
+
+	private static List<String> generate() {
+		List<String> responses = new ArrayList<String>();
+		StringBuilder refs = new StringBuilder();
+		for (int i = 0; i < REFERENCES; i++) {
+			if (i > 0) {
+				refs.append(',');
+			}
+			int line = i % 500 + 1;
+			refs.append("{\"file\":\"/workspace/project/src/module").append(i % FILES)
+					.append("/component.ts\",\"start\":{\"line\":").append(line)
+					.append(",\"offset\":5},\"end\":{\"line\":").append(line).append(",\"offset\":12},")
+					.append("\"lineText\":\"    service.update(value);\",\"isWriteAccess\":false,")
+					.append("\"isDefinition\":false}");
+		}
+		responses.add("{\"seq\":0,\"type\":\"response\",\"command\":\"references\",\"request_seq\":1,"
+				+ "\"success\":true,\"body\":{\"refs\":[" + refs + "],\"symbolName\":\"update\","
+				+ "\"symbolStartOffset\":5,\"symbolDisplayString\":\"(method) Service.update(value: any): void\"}}");
+
+		StringBuilder entries = new StringBuilder();
+		for (int i = 0; i < COMPLETIONS; i++) {
+			if (i > 0) {
+				entries.append(',');
+			}
+			entries.append("{\"name\":\"symbol").append(i % 1000).append("\",\"kind\":\"")
+					.append(KINDS[i % KINDS.length]).append("\",\"kindModifiers\":\"")
+					.append(MODIFIERS[i % MODIFIERS.length]).append("\",\"sortText\":\"0\"}");
+		}
+		responses.add("{\"seq\":0,\"type\":\"response\",\"command\":\"completions\",\"request_seq\":2,"
+				+ "\"success\":true,\"body\":[" + entries + "]}");
+		return responses;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.client.protocol;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import ts.TypeScriptKind;
+import ts.client.navto.NavtoItem;
+import ts.client.references.ReferencesResponseItem;
+
+/**
+ * Tests of the strings canonicalization of {@link GsonHelper}.
+ */
+public class GsonHelperTest {
+
+	@Test
+	public void sameFilePathIsShared() {
+		String json = "{\"seq\":0,\"type\":\"response\",\"command\":\"references\",\"request_seq\":1,\"success\":true,"
+				+ "\"body\":{\"refs\":[" + ref("/project/src/a.ts", 1) + "," + ref("/project/src/a.ts", 2) + "],"
+				+ "\"symbolName\":\"foo\",\"symbolStartOffset\":1,\"symbolDisplayString\":\"var foo\"}}";
+		JsonObject response = GsonHelper.parse(json).getAsJsonObject();
+		List<ReferencesResponseItem> refs = GsonHelper.DEFAULT_GSON.fromJson(response, ReferencesResponse.class)
+				.getBody().getRefs();
+
+		Assert.assertEquals("/project/src/a.ts", refs.get(0).getFile());
+		Assert.assertSame(refs.get(0).getFile(), refs.get(1).getFile());
+	}
+
+	@Test
+	public void sameKindIsShared() {
+		String json = "{\"seq\":0,\"type\":\"response\",\"command\":\"navto\",\"request_seq\":1,\"success\":true,"
+				+ "\"body\":[" + item("foo", "method") + "," + item("bar", "method") + "]}";
+		List<NavtoItem> items = GsonHelper.DEFAULT_GSON
+				.fromJson(GsonHelper.parse(json).getAsJsonObject(), NavtoResponse.class).getBody();
+
+		Assert.assertSame(items.get(0).getKind(), items.get(1).getKind());
+		Assert.assertEquals(TypeScriptKind.METHOD, TypeScriptKind.getKind(items.get(0).getKind()));
+		Assert.assertNull(TypeScriptKind.getKind("local var"));
+	}
+
+	@Test
+	public void poolReturnsSameInstance() {
+		StringPool pool = new StringPool();
+		String s = pool.canonicalize(new String("kind"));
+		Assert.assertSame(s, pool.canonicalize(new String("kind")));
+		Assert.assertEquals(1, pool.size());
+	}
+
+	@Test
+	public void longStringIsNotPooled() {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			text.append('a');
+		}
+		String json = "{\"body\":[" + item(text.toString(), "var") + "," + item(text.toString(), "var") + "]}";
+		List<NavtoItem> items = GsonHelper.DEFAULT_GSON
+				.fromJson(GsonHelper.parse(json).getAsJsonObject(), NavtoResponse.class).getBody();
+		Assert.assertNotSame(items.get(0).getName(), items.get(1).getName());
+	}
+
+	private static String ref(String file, int line) {
+		return "{\"file\":\"" + file + "\",\"start\":{\"line\":" + line + ",\"offset\":1},\"end\":{\"line\":" + line
+				+ ",\"offset\":4},\"lineText\":\"foo();\",\"isWriteAccess\":false,\"isDefinition\":false}";
+	}
+
+	private static String item(String name, String kind) {
+		return "{\"name\":\"" + name + "\",\"kind\":\"" + kind + "\",\"matchKind\":\"exact\",\"isCaseSensitive\":true,"
+				+ "\"kindModifiers\":\"\",\"file\":\"/project/src/a.ts\",\"start\":{\"line\":1,\"offset\":1},"
+				+ "\"end\":{\"line\":1,\"offset\":4}}";
+	}
+}
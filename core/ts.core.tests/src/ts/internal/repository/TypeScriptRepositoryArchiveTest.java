@@ -0,0 +1,87 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.repository;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ts.TypeScriptException;
+import ts.repository.ITypeScriptRepository;
+import ts.repository.TypeScriptRepositoryManager;
+
+public class TypeScriptRepositoryArchiveTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File root;
+
+	@Before
+	public void createRoot() {
+		root = temporaryFolder.getRoot();
+	}
+
+	@Test
+	public void lazyExtraction() throws IOException, TypeScriptException {
+		File zipFile = new File(root, "2.2.2.zip");
+		createZip(zipFile, "2.2.2/node_modules/typescript/package.json", "{ \"version\": \"2.2.2\" }",
+				"2.2.2/node_modules/typescript/bin/tsc", "// tsc",
+				"2.2.2/node_modules/typescript/bin/tsserver", "// tsserver",
+				"2.2.2/node_modules/other/index.js", "// other");
+		File baseDir = new File(root, "repositories/2.2.2");
+
+		ITypeScriptRepository repository = new TypeScriptRepositoryManager().createRepository(zipFile, baseDir);
+		// the metadata are read from the zip
+		Assert.assertEquals("2.2.2", repository.getTypesScriptVersion());
+		Assert.assertEquals("TypeScript (2.2.2)", repository.getName());
+		Assert.assertNull(repository.getTslintFile());
+		Assert.assertFalse(baseDir.exists());
+
+		// only node_modules/typescript is extracted when it's used
+		Assert.assertTrue(repository.getTscFile().exists());
+		Assert.assertTrue(new File(baseDir, "node_modules/typescript/bin/tsserver").exists());
+		Assert.assertFalse(new File(baseDir, "node_modules/other").exists());
+	}
+
+	@Test
+	public void invalidArchive() throws IOException {
+		File zipFile = new File(root, "2.2.2.zip");
+		createZip(zipFile, "2.2.2/node_modules/typescript/package.json", "{ \"version\": \"2.2.2\" }");
+		try {
+			new TypeScriptRepositoryManager().createRepository(zipFile, new File(root, "repositories/2.2.2"));
+			Assert.fail("an archive without bin/tsserver is not a TypeScript repository");
+		} catch (TypeScriptException e) {
+			Assert.assertTrue(e.getMessage().contains("bin/tsserver"));
+		}
+	}
+
+	private static void createZip(File zipFile, String... entries) throws IOException {
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipFile));
+		try {
+			for (int i = 0; i < entries.length; i += 2) {
+				out.putNextEntry(new ZipEntry(entries[i]));
+				out.write(entries[i + 1].getBytes("UTF-8"));
+				out.closeEntry();
+			}
+		} finally {
+			out.close();
+		}
+	}
+}
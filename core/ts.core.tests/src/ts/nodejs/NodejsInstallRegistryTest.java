@@ -0,0 +1,78 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.nodejs;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ts.nodejs.NodejsInstallRegistry.NodejsInfo;
+import ts.utils.FileUtils;
+
+public class NodejsInstallRegistryTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File root;
+
+	@Before
+	public void createRoot() {
+		Assume.assumeTrue(File.separatorChar == '/');
+		root = temporaryFolder.getRoot();
+	}
+
+	@Test
+	public void probeIsCachedWhileBinaryIsNotModified() throws IOException {
+		File counter = new File(root, "counter");
+		File node = createNode("v6.9.1 x64", counter);
+
+		NodejsInfo info = NodejsInstallRegistry.getInfo(node);
+		Assert.assertEquals("v6.9.1", info.getVersion());
+		Assert.assertEquals("x64", info.getArch());
+		Assert.assertEquals("v6.9.1", NodejsInstallRegistry.getVersion(node));
+		Assert.assertEquals(1, counter.length());
+
+		// the binary is updated: it's probed again
+		node = createNode("v8.1.0 ia32", counter);
+		node.setLastModified(node.lastModified() + 2000);
+		Assert.assertEquals("v8.1.0", NodejsInstallRegistry.getVersion(node));
+		Assert.assertEquals(2, counter.length());
+	}
+
+	@Test
+	public void versionIsNullForInvalidBinary() {
+		Assert.assertNull(NodejsInstallRegistry.getVersion(new File(root, "node")));
+	}
+
+	/**
+	 * Creates a fake node binary which prints the given output and appends a
+	 * character in the counter file for each execution.
+	 */
+	private File createNode(String output, File counter) throws IOException {
+		File node = new File(root, "node");
+		FileWriter writer = new FileWriter(node);
+		try {
+			writer.write("#!/bin/sh\nprintf x >> '" + FileUtils.getPath(counter) + "'\necho '" + output + "'\n");
+		} finally {
+			writer.close();
+		}
+		node.setExecutable(true);
+		return node;
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.nodejs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ts.nodejs.NodejsProcessScheduler.Permit;
+import ts.nodejs.NodejsProcessScheduler.Priority;
+
+public class NodejsProcessSchedulerTest {
+
+	@Test
+	public void interactiveBeforeBackground() throws Exception {
+		final NodejsProcessScheduler scheduler = new NodejsProcessScheduler(1);
+		Permit permit = scheduler.acquire("tsc", Priority.BACKGROUND, null);
+
+		final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+		Thread background = startProcess(scheduler, "background", Priority.BACKGROUND, started);
+		waitForQueueLength(scheduler, 1);
+		Thread interactive = startProcess(scheduler, "interactive", Priority.INTERACTIVE, started);
+		waitForQueueLength(scheduler, 2);
+
+		permit.release();
+		background.join(5000);
+		interactive.join(5000);
+		Assert.assertEquals(2, started.size());
+		Assert.assertEquals("interactive", started.get(0));
+		Assert.assertEquals("background", started.get(1));
+		Assert.assertEquals(3, scheduler.getStartedCount());
+		Assert.assertEquals(0, scheduler.getRunningCount());
+		Assert.assertTrue(scheduler.getMaxWaitTime(TimeUnit.NANOSECONDS) > 0);
+		Assert.assertEquals(3, scheduler.getWaitTimes().get("tsc").getTotalCount());
+	}
+
+	@Test
+	public void configure() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty(NodejsProcessScheduler.MAX_PROCESSES_PROPERTY, "3");
+		properties.setProperty(NodejsProcessScheduler.MAX_PROCESSES_PROPERTY + ".tsc", "1");
+		properties.setProperty(NodejsProcessScheduler.MAX_PROCESSES_PROPERTY + ".tslint", "invalid");
+		NodejsProcessScheduler scheduler = new NodejsProcessScheduler(1);
+		scheduler.configure(properties);
+
+		Permit tsc = scheduler.acquire("tsc", Priority.BACKGROUND, null);
+		Permit tslint1 = scheduler.acquire("tslint", Priority.BACKGROUND, null);
+		Permit tslint2 = scheduler.acquire("tslint", Priority.BACKGROUND, null);
+		Assert.assertEquals(3, scheduler.getRunningCount());
+		// a process can be started but not a second tsc.
+		tslint2.release();
+		try {
+			scheduler.acquire("tsc", Priority.BACKGROUND, new ICancelChecker() {
+
+				@Override
+				public boolean isCanceled() {
+					return true;
+				}
+			});
+			Assert.fail("the start of tsc should be canceled");
+		} catch (CancellationException e) {
+			// expected
+		}
+		tsc.release();
+		tslint1.release();
+		Assert.assertEquals(0, scheduler.getRunningCount());
+	}
+
+	@Test
+	public void limitByKind() throws Exception {
+		NodejsProcessScheduler scheduler = new NodejsProcessScheduler(4);
+		scheduler.setMaxProcesses("tsc", 1);
+		Permit tsc = scheduler.acquire("tsc", Priority.BACKGROUND, null);
+
+		// tsc is limited but not tslint.
+		Permit tslint = scheduler.acquire("tslint", Priority.BACKGROUND, null);
+		Assert.assertEquals(2, scheduler.getRunningCount());
+		try {
+			scheduler.acquire("tsc", Priority.BACKGROUND, new ICancelChecker() {
+
+				@Override
+				public boolean isCanceled() {
+					return true;
+				}
+			});
+			Assert.fail("the start of tsc should be canceled");
+		} catch (CancellationException e) {
+			// expected
+		}
+		Assert.assertEquals(0, scheduler.getQueueLength());
+		tsc.release();
+		tsc.release();
+		tslint.release();
+		Assert.assertEquals(0, scheduler.getRunningCount());
+	}
+
+	private static Thread startProcess(final NodejsProcessScheduler scheduler, final String name,
+			final Priority priority, final List<String> started) {
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					Permit permit = scheduler.acquire("tsc", priority, null);
+					started.add(name);
+					permit.release();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	private static void waitForQueueLength(NodejsProcessScheduler scheduler, int length) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (scheduler.getQueueLength() != length && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(length, scheduler.getQueueLength());
+	}
+}
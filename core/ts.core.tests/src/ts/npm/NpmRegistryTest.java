@@ -0,0 +1,162 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.npm;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link NpmRegistry} with a fake npm registry.
+ */
+public class NpmRegistryTest {
+
+	private static final String ETAG = "\"v1\"";
+	private static final String DOCUMENT = "{\"name\":\"typescript\",\"dist-tags\":{\"latest\":\"2.3.4\"},"
+			+ "\"versions\":{\"1.8.10\":{\"dist\":{}},\"2.3.4\":{\"dist\":{}},\"2.10.0-dev.1\":{},"
+			+ "\"2.10.0\":{},\"2.3.0-beta\":{\"a\":[1,2]}}}";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File cacheDir;
+	private ServerSocket server;
+	private AtomicInteger requests;
+	private AtomicInteger notModified;
+
+	@Before
+	public void startRegistry() throws IOException {
+		cacheDir = new File(temporaryFolder.getRoot(), "npm");
+		requests = new AtomicInteger();
+		notModified = new AtomicInteger();
+		server = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				while (!server.isClosed()) {
+					try {
+						Socket socket = server.accept();
+						try {
+							handle(socket);
+						} finally {
+							socket.close();
+						}
+					} catch (IOException e) {
+						// server closed
+					}
+				}
+			}
+		}, "fake-npm-registry");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Fake registry which knows the "typescript" module.
+	 */
+	private void handle(Socket socket) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+		String path = reader.readLine().split(" ")[1];
+		String ifNoneMatch = null;
+		String line;
+		while ((line = reader.readLine()) != null && !line.isEmpty()) {
+			if (line.toLowerCase().startsWith("if-none-match:")) {
+				ifNoneMatch = line.substring("if-none-match:".length()).trim();
+			}
+		}
+		requests.incrementAndGet();
+		String response;
+		if (!path.equals("/typescript")) {
+			response = "HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\n\r\n";
+		} else if (ETAG.equals(ifNoneMatch)) {
+			notModified.incrementAndGet();
+			response = "HTTP/1.1 304 Not Modified\r\nContent-Length: 0\r\n\r\n";
+		} else {
+			response = "HTTP/1.1 200 OK\r\nETag: " + ETAG + "\r\nContent-Type: application/json\r\nContent-Length: "
+					+ DOCUMENT.getBytes("UTF-8").length + "\r\nConnection: close\r\n\r\n" + DOCUMENT;
+		}
+		OutputStream out = socket.getOutputStream();
+		out.write(response.getBytes("UTF-8"));
+		out.flush();
+	}
+
+	@After
+	public void stopRegistry() throws IOException {
+		server.close();
+	}
+
+	private NpmRegistry createRegistry() {
+		return new NpmRegistry("http://127.0.0.1:" + server.getLocalPort(), cacheDir, null);
+	}
+
+	@Test
+	public void sortedVersions() throws Exception {
+		NpmVersions versions = createRegistry().getVersions("typescript").get();
+		Assert.assertEquals(Arrays.asList("2.10.0", "2.10.0-dev.1", "2.3.4", "2.3.0-beta", "1.8.10"),
+				versions.getVersions());
+		Assert.assertTrue(versions.contains("2.3.4"));
+		Assert.assertFalse(versions.contains("2.3.5"));
+		Assert.assertEquals(Arrays.asList("2.3.4", "2.3.0-beta"), versions.getVersions("2.3"));
+	}
+
+	@Test
+	public void persistentCache() throws Exception {
+		createRegistry().getVersions("typescript").get();
+		Assert.assertEquals(1, requests.get());
+
+		// a new registry (ex: restart) uses the cache folder without request
+		NpmRegistry registry = createRegistry();
+		Assert.assertEquals(5, registry.getVersions("typescript").get().getVersions().size());
+		Assert.assertEquals(1, requests.get());
+
+		// an expired entry is revalidated with its ETag
+		registry.setTTL(0);
+		Assert.assertEquals(5, registry.getVersions("typescript").get().getVersions().size());
+		Assert.assertEquals(2, requests.get());
+		Assert.assertEquals(1, notModified.get());
+	}
+
+	@Test
+	public void unknownModule() throws Exception {
+		try {
+			createRegistry().getVersions("unknown").get();
+			Assert.fail("unknown module");
+		} catch (Exception e) {
+			Assert.assertTrue(e.getCause() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void semverComparator() {
+		List<String> versions = new ArrayList<String>(Arrays.asList("1.0.0", "1.0.0-alpha.beta", "1.0.0-beta.11",
+				"1.0.0-alpha", "1.0.0-rc.1", "1.0.0-beta", "1.0.0-beta.2", "1.0.0-alpha.1", "next"));
+		versions.sort(NpmVersions.SEMVER_COMPARATOR);
+		Assert.assertEquals(Arrays.asList("1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta",
+				"1.0.0-beta.2", "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "next"), versions);
+	}
+}
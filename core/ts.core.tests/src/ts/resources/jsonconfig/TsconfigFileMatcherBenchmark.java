@@ -0,0 +1,77 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.resources.jsonconfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark of {@link TsconfigFileMatcher}: 100k paths of a monorepo-like tree
+ * are checked against a tsconfig.json with "files", "include" and "exclude"
+ * sections. The first pass fills the decision cache of the matcher, the second
+ * pass uses it.
+ */
+public class TsconfigFileMatcherBenchmark {
+
+	private static final int PATHS = 100000;
+	private static final int ITERATIONS = 5;
+
+	public static void main(String[] args) {
+		List<String> files = new ArrayList<String>();
+		for (int i = 0; i < 500; i++) {
+			files.add("typings/module" + i + "/index.d.ts");
+		}
+		List<String> include = Arrays.asList("src", "packages/*/src/**/*.ts", "test/**/*.spec.ts");
+		List<String> exclude = Arrays.asList("node_modules", "**/gen", "**/*.d.ts", "dist");
+
+		String[] paths = createPaths();
+		for (int i = 0; i < ITERATIONS; i++) {
+			// a new matcher is a new tsconfig.json load: empty cache.
+			TsconfigFileMatcher matcher = new TsconfigFileMatcher(files, include, exclude);
+			run(matcher, paths, "uncached");
+			run(matcher, paths, "cached");
+		}
+	}
+
+	private static void run(TsconfigFileMatcher matcher, String[] paths, String label) {
+		long start = System.nanoTime();
+		int inScope = 0;
+		for (String path : paths) {
+			if (matcher.isInScope(path, false)) {
+				inScope++;
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.println(String.format("%s: %d paths in %d ms (%d ns/path), %d in scope", label, paths.length,
+				elapsed / 1000000, elapsed / paths.length, inScope));
+	}
+
+	private static String[] createPaths() {
+		String[] roots = { "src/app", "packages/core/src", "packages/ui/src/gen", "test/unit", "node_modules/lib",
+				"dist", "typings/module" };
+		String[] paths = new String[PATHS];
+		for (int i = 0; i < PATHS; i++) {
+			String root = roots[i % roots.length];
+			StringBuilder path = new StringBuilder(root);
+			if (root.startsWith("typings")) {
+				path.append(i % 1000).append("/index.d.ts");
+			} else {
+				for (int depth = 0; depth < i % 5; depth++) {
+					path.append("/dir").append((i >> depth) % 10);
+				}
+				path.append("/file").append(i).append(root.startsWith("test") ? ".spec.ts" : ".ts");
+			}
+			paths[i] = path.toString();
+		}
+		return paths;
+	}
+}
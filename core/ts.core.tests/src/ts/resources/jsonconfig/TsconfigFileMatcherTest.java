@@ -0,0 +1,82 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.resources.jsonconfig;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TsconfigFileMatcherTest {
+
+	private static final List<String> DEFAULT_EXCLUDE = Arrays.asList("node_modules", "bower_components");
+
+	@Test
+	public void defaultInclude() {
+		TsconfigFileMatcher matcher = new TsconfigFileMatcher(null, null, DEFAULT_EXCLUDE);
+		Assert.assertTrue(matcher.isInScope("a.ts", false));
+		Assert.assertTrue(matcher.isInScope("src/app/a.ts", false));
+		Assert.assertTrue(matcher.isInScope("src", true));
+		Assert.assertFalse(matcher.isInScope("node_modules/foo/index.d.ts", false));
+		Assert.assertFalse(matcher.isInScope("node_modules", true));
+		Assert.assertFalse(matcher.isInScope("src/.hidden/a.ts", false));
+		// exclude doesn't match on string prefix
+		Assert.assertTrue(matcher.isInScope("node_modules_foo/a.ts", false));
+	}
+
+	@Test
+	public void files() {
+		TsconfigFileMatcher matcher = new TsconfigFileMatcher(Arrays.asList("./src/a.ts", "lib/b.ts"), null,
+				Arrays.asList("src"));
+		// "exclude" doesn't apply to "files"
+		Assert.assertTrue(matcher.isInScope("src/a.ts", false));
+		Assert.assertTrue(matcher.isInScope("lib/b.ts", false));
+		Assert.assertFalse(matcher.isInScope("lib/c.ts", false));
+		Assert.assertTrue(matcher.isInScope("lib", true));
+		Assert.assertTrue(matcher.isInScope("", true));
+		Assert.assertFalse(matcher.isInScope("test", true));
+	}
+
+	@Test
+	public void include() {
+		TsconfigFileMatcher matcher = new TsconfigFileMatcher(Arrays.asList("typings/index.d.ts"),
+				Arrays.asList("src", "test/**/*.spec.ts", "tools/?.ts"), Arrays.asList("src/**/gen", "**/*.d.ts"));
+		Assert.assertTrue(matcher.isInScope("src/a.ts", false));
+		Assert.assertTrue(matcher.isInScope("src/app/a.ts", false));
+		Assert.assertFalse(matcher.isInScope("src/app/gen/a.ts", false));
+		Assert.assertFalse(matcher.isInScope("src/app/gen", true));
+		Assert.assertFalse(matcher.isInScope("src/a.d.ts", false));
+		Assert.assertTrue(matcher.isInScope("typings/index.d.ts", false));
+		Assert.assertTrue(matcher.isInScope("test/a.spec.ts", false));
+		Assert.assertTrue(matcher.isInScope("test/unit/a.spec.ts", false));
+		Assert.assertFalse(matcher.isInScope("test/unit/a.ts", false));
+		Assert.assertTrue(matcher.isInScope("test/unit", true));
+		Assert.assertTrue(matcher.isInScope("tools/a.ts", false));
+		Assert.assertFalse(matcher.isInScope("tools/ab.ts", false));
+		Assert.assertFalse(matcher.isInScope("tools/sub", true));
+		Assert.assertFalse(matcher.isInScope("other/a.ts", false));
+		Assert.assertFalse(matcher.isInScope("other", true));
+	}
+
+	@Test
+	public void exclude() {
+		TsconfigFileMatcher matcher = new TsconfigFileMatcher(null, null, Arrays.asList("dist", "**/*.spec.ts"));
+		Assert.assertTrue(matcher.isExcluded("dist"));
+		Assert.assertTrue(matcher.isExcluded("dist/a.js"));
+		Assert.assertTrue(matcher.isExcluded("src/a.spec.ts"));
+		Assert.assertFalse(matcher.isExcluded("distrib/a.ts"));
+		Assert.assertFalse(matcher.isInScope("dist", true));
+		Assert.assertTrue(matcher.isInScope("src/a.ts", false));
+		// "**" of "include" never matches node_modules
+		Assert.assertFalse(matcher.isInScope("node_modules/a.ts", false));
+	}
+}
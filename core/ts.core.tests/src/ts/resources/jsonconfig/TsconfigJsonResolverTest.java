@@ -0,0 +1,92 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.resources.jsonconfig;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.JsonObject;
+
+public class TsconfigJsonResolverTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File root;
+
+	@Before
+	public void createRoot() {
+		root = temporaryFolder.getRoot();
+	}
+
+	@Test
+	public void extendsChain() throws IOException {
+		write("tsconfig.base.json", "{ \"compilerOptions\": { \"target\": \"es5\", \"noImplicitAny\": true }, "
+				+ "\"include\": [\"src\"], \"references\": [{ \"path\": \"lib\" }] }");
+		write("app/tsconfig.json", "// comment\n{ \"extends\": \"../tsconfig.base\", "
+				+ "\"compilerOptions\": { \"target\": \"es2015\", \"outDir\": \"dist\" } }");
+		List<File> extendedFiles = new ArrayList<File>();
+		JsonObject json = TsconfigJsonResolver.resolve(new File(root, "app/tsconfig.json"), extendedFiles);
+		TsconfigJson tsconfig = TsconfigJson.load(json, TsconfigJson.class);
+
+		Assert.assertEquals(Arrays.asList(new File(root, "tsconfig.base.json")), extendedFiles);
+		Assert.assertNull(tsconfig.getExtends());
+		Assert.assertEquals("es2015", tsconfig.getCompilerOptions().getTarget());
+		Assert.assertEquals("dist", tsconfig.getCompilerOptions().getOutDir());
+		Assert.assertTrue(tsconfig.getCompilerOptions().isNoImplicitAny());
+		// inherited paths are relative to the base file
+		Assert.assertEquals(Arrays.asList("../src"), tsconfig.getInclude());
+		// references are not inherited
+		Assert.assertNull(tsconfig.getReferences());
+	}
+
+	@Test
+	public void extendsModule() throws IOException {
+		write("node_modules/@tsconfig/base/tsconfig.json", "{ \"compilerOptions\": { \"outDir\": \"out\" } }");
+		write("tsconfig.json", "{ \"extends\": \"@tsconfig/base\", \"files\": [\"a.ts\"] }");
+		TsconfigJson tsconfig = TsconfigJson.load(TsconfigJsonResolver.resolve(new File(root, "tsconfig.json"), null),
+				TsconfigJson.class);
+		Assert.assertEquals("node_modules/@tsconfig/base/out", tsconfig.getCompilerOptions().getOutDir());
+		Assert.assertEquals(Arrays.asList("a.ts"), tsconfig.getFiles());
+	}
+
+	@Test
+	public void circularExtends() throws IOException {
+		write("a.json", "{ \"extends\": \"./b.json\", \"compilerOptions\": { \"target\": \"es5\" } }");
+		write("b.json", "{ \"extends\": \"./a.json\", \"compilerOptions\": { \"module\": \"amd\" } }");
+		TsconfigJson tsconfig = TsconfigJson.load(TsconfigJsonResolver.resolve(new File(root, "a.json"), null),
+				TsconfigJson.class);
+		Assert.assertEquals("es5", tsconfig.getCompilerOptions().getTarget());
+		Assert.assertEquals("amd", tsconfig.getCompilerOptions().getModule());
+	}
+
+	private void write(String path, String content) throws IOException {
+		File file = new File(root, path);
+		file.getParentFile().mkdirs();
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(content.getBytes("UTF-8"));
+		} finally {
+			out.close();
+		}
+	}
+}
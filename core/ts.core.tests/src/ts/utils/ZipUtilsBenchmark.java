@@ -0,0 +1,126 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * First start benchmark of {@link ZipUtils#extractZip(File, File)}: a zip
+ * which looks like a bundled TypeScript repository (20k small files) is
+ * extracted to an empty folder with the previous sequential extraction (1 KB
+ * buffer), with the parallel extraction and then again to the same folder (the
+ * stamp skips the extraction).
+ */
+public class ZipUtilsBenchmark {
+
+	private static final int FILES = 20000;
+	private static final int ITERATIONS = 3;
+
+	public static void main(String[] args) throws IOException {
+		File root = File.createTempFile("zip-benchmark", "");
+		root.delete();
+		root.mkdirs();
+		try {
+			File zipFile = new File(root, "typescript.zip");
+			createZip(zipFile);
+			System.out.println(String.format("zip: %d files, %d KB", FILES, zipFile.length() / 1024));
+			for (int i = 0; i < ITERATIONS; i++) {
+				File sequential = new File(root, "sequential" + i);
+				long start = System.nanoTime();
+				extractZipSequential(zipFile, sequential);
+				print("sequential", start);
+
+				File parallel = new File(root, "parallel" + i);
+				start = System.nanoTime();
+				ZipUtils.extractZip(zipFile, parallel);
+				print("parallel", start);
+
+				start = System.nanoTime();
+				ZipUtils.extractZip(zipFile, parallel);
+				print("up to date", start);
+			}
+		} finally {
+			delete(root);
+		}
+	}
+
+	private static void print(String label, long start) {
+		System.out.println(String.format("%s: %d ms", label, (System.nanoTime() - start) / 1000000));
+	}
+
+	private static void createZip(File zipFile) throws IOException {
+		StringBuilder content = new StringBuilder();
+		while (content.length() < 2000) {
+			content.append("export declare function f(a: string, b: number): void;\n");
+		}
+		byte[] data = content.toString().getBytes("UTF-8");
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipFile));
+		try {
+			for (int i = 0; i < FILES; i++) {
+				out.putNextEntry(new ZipEntry("typescript/node_modules/module" + (i % 200) + "/lib/file" + i + ".d.ts"));
+				out.write(data);
+				out.closeEntry();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * The extraction before the parallel extraction.
+	 */
+	private static void extractZipSequential(File file, File destination) throws IOException {
+		ZipInputStream in = new ZipInputStream(new FileInputStream(file));
+		try {
+			ZipEntry entry = null;
+			while ((entry = in.getNextEntry()) != null) {
+				File extracted = new File(destination, entry.getName());
+				if (entry.isDirectory()) {
+					extracted.mkdirs();
+				} else {
+					File baseDir = extracted.getParentFile();
+					if (!baseDir.exists()) {
+						baseDir.mkdirs();
+					}
+					OutputStream out = new FileOutputStream(extracted);
+					try {
+						byte[] buf = new byte[1024];
+						int len;
+						while ((len = in.read(buf)) > 0) {
+							out.write(buf, 0, len);
+						}
+					} finally {
+						out.close();
+					}
+				}
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZipUtilsTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File root;
+
+	@Before
+	public void createRoot() {
+		root = temporaryFolder.getRoot();
+	}
+
+	@Test
+	public void extractZip() throws IOException {
+		File zipFile = new File(root, "typescript.zip");
+		createZip(zipFile, "typescript/package.json", "{}", "typescript/lib/tsserver.js", "// tsserver");
+		File destination = new File(root, "out");
+
+		ZipUtils.extractZip(zipFile, destination);
+		Assert.assertEquals("{}", FileUtils.getContents(new File(destination, "typescript/package.json")));
+		Assert.assertEquals("// tsserver", FileUtils.getContents(new File(destination, "typescript/lib/tsserver.js")));
+		Assert.assertTrue(ZipUtils.isExtracted(zipFile, destination));
+	}
+
+	@Test
+	public void skipUpToDateExtraction() throws IOException {
+		File zipFile = new File(root, "typescript.zip");
+		createZip(zipFile, "typescript/package.json", "{}");
+		File destination = new File(root, "out");
+		ZipUtils.extractZip(zipFile, destination);
+
+		// the stamp matches: the extracted file is not overwritten
+		File packageJson = new File(destination, "typescript/package.json");
+		packageJson.delete();
+		ZipUtils.extractZip(zipFile, destination);
+		Assert.assertFalse(packageJson.exists());
+
+		// the archive content changes: the archive is extracted again
+		createZip(zipFile, "typescript/package.json", "{ \"version\": \"2.0.0\" }");
+		Assert.assertFalse(ZipUtils.isExtracted(zipFile, destination));
+		ZipUtils.extractZip(zipFile, destination);
+		Assert.assertEquals("{ \"version\": \"2.0.0\" }", FileUtils.getContents(packageJson));
+	}
+
+	@Test
+	public void entryOutsideDestination() throws IOException {
+		File zipFile = new File(root, "evil.zip");
+		createZip(zipFile, "../evil.txt", "evil");
+		try {
+			ZipUtils.extractZip(zipFile, new File(root, "out"));
+			Assert.fail("entry outside of the destination folder must be rejected");
+		} catch (IOException e) {
+			Assert.assertFalse(new File(root, "evil.txt").exists());
+		}
+	}
+
+	private static void createZip(File zipFile, String... entries) throws IOException {
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipFile));
+		try {
+			for (int i = 0; i < entries.length; i += 2) {
+				out.putNextEntry(new ZipEntry(entries[i]));
+				out.write(entries[i + 1].getBytes("UTF-8"));
+				out.closeEntry();
+			}
+		} finally {
+			out.close();
+		}
+	}
+}
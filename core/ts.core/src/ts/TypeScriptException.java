@@ -25,4 +25,8 @@ public class TypeScriptException extends Exception {
 		super(e);
 	}
 
+	public TypeScriptException(String message, Throwable e) {
+		super(message, e);
+	}
+
 }
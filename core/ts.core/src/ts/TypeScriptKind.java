@@ -10,6 +10,10 @@
  */
 package ts;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * TypeScript model kind.
  *
@@ -18,11 +22,21 @@ public enum TypeScriptKind {
 
 	ALIAS, PRIMITIVE_TYPE, KEYWORD, CLASS, INTERFACE, MODULE, SCRIPT, DIRECTORY, PROPERTY, METHOD, CONSTRUCTOR, FUNCTION, VAR, LET, ENUM, PRIVATE, PUBLIC, STATIC, TYPE, ELEMENT, ATTRIBUTE, COMPONENT, CONST, GETTER, SETTER;
 
+	// kinds by tsserver name ("method", "property", etc)
+	private static final Map<String, TypeScriptKind> KINDS;
+
+	static {
+		KINDS = new HashMap<String, TypeScriptKind>();
+		for (TypeScriptKind kind : values()) {
+			KINDS.put(kind.name().toLowerCase(Locale.ENGLISH), kind);
+		}
+	}
+
 	public static TypeScriptKind getKind(String kind) {
-		try {
-			return TypeScriptKind.valueOf(kind.toUpperCase());
-		} catch (Throwable e) {
+		if (kind == null) {
 			return null;
 		}
+		TypeScriptKind tsKind = KINDS.get(kind);
+		return tsKind != null ? tsKind : KINDS.get(kind.toLowerCase(Locale.ENGLISH));
 	}
 }
@@ -36,10 +36,12 @@ public enum CommandNames implements ISupportable {
 	Configure("configure"),
 	ProjectInfo("projectInfo"),
 	Rename("rename"),
+	Navto("navto"),
 	
 	// 2.0.0
 	SemanticDiagnosticsSync("semanticDiagnosticsSync", "2.0.0"), 
 	SyntacticDiagnosticsSync("syntacticDiagnosticsSync", "2.0.0"), 
+	ReloadProjects("reloadProjects", "2.0.0"),
 	
 	// 2.0.5
 	CompileOnSaveAffectedFileList("compileOnSaveAffectedFileList", "2.0.5"),
@@ -56,7 +58,10 @@ public enum CommandNames implements ISupportable {
 
 	// 2.4.0
 	GetApplicableRefactors("getApplicableRefactors", "2.4.0"),
-    GetRefactorCodeActions("getRefactorCodeActions", "2.4.0");
+    GetRefactorCodeActions("getRefactorCodeActions", "2.4.0"),
+
+	// 2.9.0
+	GetOutliningSpans("getOutliningSpans", "2.9.0");
     
 	private final String name;
 	private final String sinceVersion;
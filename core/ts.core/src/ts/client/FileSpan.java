@@ -23,6 +23,14 @@ public class FileSpan extends TextSpan {
 	 */
 	private String file;
 
+	public FileSpan() {
+	}
+
+	public FileSpan(String file, Location start, Location end) {
+		super(start, end);
+		this.file = file;
+	}
+
 	public String getFile() {
 		return file;
 	}
@@ -25,7 +25,9 @@ import ts.client.diagnostics.DiagnosticEventBody;
 import ts.client.installtypes.IInstallTypesListener;
 import ts.client.jsdoc.TextInsertion;
 import ts.client.navbar.NavigationBarItem;
+import ts.client.navto.NavtoItem;
 import ts.client.occurrences.OccurrencesResponseItem;
+import ts.client.outlining.OutliningSpan;
 import ts.client.projectinfo.ProjectInfo;
 import ts.client.quickinfo.QuickInfo;
 import ts.client.refactors.ApplicableRefactorInfo;
@@ -98,6 +100,24 @@ public interface ITypeScriptServiceClient {
 
 	void updateFile(String fileName, String newText) throws TypeScriptException;
 
+	/**
+	 * Reload the content of the given file from the disk (ex: file changed by
+	 * an external tool). tsserver ignores the files which are not in its
+	 * projects, so no response is expected.
+	 * 
+	 * @param fileName
+	 * @throws TypeScriptException
+	 */
+	void reloadFile(String fileName) throws TypeScriptException;
+
+	/**
+	 * Reload all the projects of tsserver from the disk (tsconfig.json and
+	 * files which are not opened).
+	 * 
+	 * @throws TypeScriptException
+	 */
+	void reloadProjects() throws TypeScriptException;
+
 	/**
 	 * Completion for the given fileName at the given position.
 	 * 
@@ -210,6 +230,25 @@ public interface ITypeScriptServiceClient {
 	CompletableFuture<List<NavigationBarItem>> navbar(String fileName, IPositionProvider positionProvider)
 			throws TypeScriptException;
 
+	/**
+	 * Search the symbols (of the projects of the given file) which match the
+	 * given search value.
+	 * 
+	 * @param fileName
+	 *            the file used to find the projects to search.
+	 * @param searchValue
+	 *            the search value.
+	 * @param maxResultCount
+	 *            the max number of symbols to return or null to return all the
+	 *            matching symbols.
+	 * @param currentFileOnly
+	 *            true to search only in the given file.
+	 * @return the matching symbols.
+	 * @throws TypeScriptException
+	 */
+	CompletableFuture<List<NavtoItem>> navto(String fileName, String searchValue, Integer maxResultCount,
+			Boolean currentFileOnly) throws TypeScriptException;
+
 	void configure(ConfigureRequestArguments arguments) throws TypeScriptException;
 
 	CompletableFuture<ProjectInfo> projectInfo(String file, String projectFileName, boolean needFileNameList)
@@ -278,6 +317,19 @@ public interface ITypeScriptServiceClient {
 	CompletableFuture<RefactorCodeActions> getRefactorCodeActions(String fileName, int line, int offset,
 			String refactorName) throws TypeScriptException;
 
+	// Since 2.9.0
+
+	/**
+	 * Outlining spans (collapsible regions) for the given fileName.
+	 * 
+	 * @param fileName
+	 * @param positionProvider
+	 * @return
+	 * @throws TypeScriptException
+	 */
+	CompletableFuture<List<OutliningSpan>> getOutliningSpans(String fileName, IPositionProvider positionProvider)
+			throws TypeScriptException;
+
 	void addClientListener(ITypeScriptClientListener listener);
 
 	void removeClientListener(ITypeScriptClientListener listener);
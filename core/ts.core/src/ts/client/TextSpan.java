@@ -30,6 +30,14 @@ public class TextSpan {
 	 */
 	private Location end;
 
+	public TextSpan() {
+	}
+
+	public TextSpan(Location start, Location end) {
+		this.start = start;
+		this.end = end;
+	}
+
 	public Location getStart() {
 		return start;
 	}
@@ -40,7 +40,9 @@ import ts.client.installtypes.EndInstallTypesEventBody;
 import ts.client.installtypes.IInstallTypesListener;
 import ts.client.jsdoc.TextInsertion;
 import ts.client.navbar.NavigationBarItem;
+import ts.client.navto.NavtoItem;
 import ts.client.occurrences.OccurrencesResponseItem;
+import ts.client.outlining.OutliningSpan;
 import ts.client.projectinfo.ProjectInfo;
 import ts.client.quickinfo.QuickInfo;
 import ts.client.refactors.ApplicableRefactorInfo;
@@ -72,11 +74,15 @@ import ts.internal.client.protocol.ImplementationRequest;
 import ts.internal.client.protocol.MessageType;
 import ts.internal.client.protocol.NavBarRequest;
 import ts.internal.client.protocol.NavTreeRequest;
+import ts.internal.client.protocol.NavtoRequest;
 import ts.internal.client.protocol.OccurrencesRequest;
 import ts.internal.client.protocol.OpenRequest;
+import ts.internal.client.protocol.OutliningSpansRequest;
 import ts.internal.client.protocol.ProjectInfoRequest;
 import ts.internal.client.protocol.QuickInfoRequest;
+import ts.internal.client.protocol.RawRequest;
 import ts.internal.client.protocol.ReferencesRequest;
+import ts.internal.client.protocol.ReloadProjectsRequest;
 import ts.internal.client.protocol.ReloadRequest;
 import ts.internal.client.protocol.RenameRequest;
 import ts.internal.client.protocol.Request;
@@ -110,6 +116,8 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 
 	private final Map<Integer, PendingRequestInfo> sentRequestMap;
 	private final Map<String, PendingRequestEventInfo> receivedRequestMap;
+	// number of distinct eventable requests registered in receivedRequestMap
+	private int pendingEventRequestCount;
 	private List<IInterceptor> interceptors;
 
 	private ICompletionEntryMatcherProvider completionEntryMatcherProvider;
@@ -151,6 +159,8 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 		Request<?> requestMessage;
 		Consumer<Event<?>> eventHandler;
 		long startTime;
+		// number of event keys of the request which are still registered
+		int pendingKeys;
 
 		PendingRequestEventInfo(Request<?> requestMessage, Consumer<Event<?>> eventHandler) {
 			this.requestMessage = requestMessage;
@@ -239,7 +249,7 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 					DiagnosticEvent response = GsonHelper.DEFAULT_GSON.fromJson(json, DiagnosticEvent.class);
 					PendingRequestEventInfo pendingRequestEventInfo;
 					synchronized (receivedRequestMap) {
-						pendingRequestEventInfo = receivedRequestMap.remove(response.getKey());
+						pendingRequestEventInfo = removeReceivedRequest(response.getKey());
 					}
 					if (pendingRequestEventInfo != null) {
 						pendingRequestEventInfo.eventHandler.accept(response);
@@ -323,6 +333,17 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 		}
 	}
 
+	@Override
+	public void reloadFile(String fileName) throws TypeScriptException {
+		// the file itself is the "tmpfile" to read.
+		execute(new ReloadRequest(fileName, fileName, SequenceHelper.getRequestSeq()), false);
+	}
+
+	@Override
+	public void reloadProjects() throws TypeScriptException {
+		execute(new ReloadProjectsRequest(), false);
+	}
+
 	// @Override
 	// public CompletableFuture<List<CompletionEntry>> completions(String
 	// fileName, int position)
@@ -402,6 +423,12 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 		return execute(new RenameRequest(file, line, offset, findInComments, findInStrings), true);
 	}
 
+	@Override
+	public CompletableFuture<List<NavtoItem>> navto(String fileName, String searchValue, Integer maxResultCount,
+			Boolean currentFileOnly) throws TypeScriptException {
+		return execute(new NavtoRequest(fileName, searchValue, maxResultCount, currentFileOnly), true);
+	}
+
 	@Override
 	public CompletableFuture<List<NavigationBarItem>> navbar(String fileName, IPositionProvider positionProvider)
 			throws TypeScriptException {
@@ -499,6 +526,32 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 		return execute(new GetRefactorCodeActionsRequest(fileName, line, offset, refactorName), true);
 	}
 
+	// Since 2.9.0
+
+	@Override
+	public CompletableFuture<List<OutliningSpan>> getOutliningSpans(String fileName,
+			IPositionProvider positionProvider) throws TypeScriptException {
+		return execute(new OutliningSpansRequest(fileName, positionProvider), true);
+	}
+
+	/**
+	 * Execute the given command with JSON arguments (ex: request of a recorded
+	 * session which is replayed).
+	 * 
+	 * @param command
+	 *            the tsserver command.
+	 * @param arguments
+	 *            the JSON arguments.
+	 * @param expectsResult
+	 *            true if tsserver sends a response for the command.
+	 * @return the body of the response and null if expectsResult is false.
+	 * @throws TypeScriptException
+	 */
+	public CompletableFuture<Object> executeRaw(String command, JsonObject arguments, boolean expectsResult)
+			throws TypeScriptException {
+		return execute(new RawRequest(command, arguments), expectsResult);
+	}
+
 	private <T> CompletableFuture<T> execute(Request<?> request, boolean expectsResult) throws TypeScriptException {
 		if (!expectsResult) {
 			sendRequest(request);
@@ -512,7 +565,7 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 					List<String> keys = ((IRequestEventable) request).getKeys();
 					synchronized (receivedRequestMap) {
 						for (String key : keys) {
-							receivedRequestMap.remove(key);
+							removeReceivedRequest(key);
 						}
 					}
 				} else {
@@ -533,7 +586,16 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 			PendingRequestEventInfo info = new PendingRequestEventInfo(request, responseHandler);
 			synchronized (receivedRequestMap) {
 				for (String key : keys) {
-					receivedRequestMap.put(key, info);
+					PendingRequestEventInfo old = receivedRequestMap.put(key, info);
+					if (old != info) {
+						if (old != null) {
+							releaseReceivedRequest(old);
+						}
+						info.pendingKeys++;
+					}
+				}
+				if (info.pendingKeys > 0) {
+					pendingEventRequestCount++;
 				}
 			}
 		} else {
@@ -668,6 +730,46 @@ public class TypeScriptServiceClient implements ITypeScriptServiceClient {
 		}
 	}
 
+	/**
+	 * Returns the number of requests which wait for a response or events.
+	 * 
+	 * @return the number of requests which wait for a response or events.
+	 */
+	public int getPendingRequestCount() {
+		int count;
+		synchronized (sentRequestMap) {
+			count = sentRequestMap.size();
+		}
+		synchronized (receivedRequestMap) {
+			count += pendingEventRequestCount;
+		}
+		return count;
+	}
+
+	/**
+	 * Remove the eventable request registered with the given event key. The
+	 * caller must hold the receivedRequestMap lock.
+	 * 
+	 * @param key
+	 *            the event key.
+	 * @return the removed request info and null otherwise.
+	 */
+	private PendingRequestEventInfo removeReceivedRequest(String key) {
+		PendingRequestEventInfo info = receivedRequestMap.remove(key);
+		if (info != null) {
+			releaseReceivedRequest(info);
+		}
+		return info;
+	}
+
+	private void releaseReceivedRequest(PendingRequestEventInfo info) {
+		// an eventable request is registered with one key per event, it is
+		// pending until all its keys are removed.
+		if (--info.pendingKeys == 0) {
+			pendingEventRequestCount--;
+		}
+	}
+
 	public void addProcessListener(INodejsProcessListener listener) {
 		beginWriteState();
 		try {
@@ -0,0 +1,142 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Metrics of a tsserver command (ex: "completions").
+ *
+ */
+public class CommandMetrics {
+
+	private final String command;
+	private final LatencyHistogram latency;
+	private final AtomicLong requestCount;
+	private final AtomicLong errorCount;
+	private final AtomicLong requestSize;
+	private final AtomicLong responseSize;
+	private final AtomicLong maxResponseSize;
+
+	public CommandMetrics(String command) {
+		this.command = command;
+		this.latency = new LatencyHistogram();
+		this.requestCount = new AtomicLong();
+		this.errorCount = new AtomicLong();
+		this.requestSize = new AtomicLong();
+		this.responseSize = new AtomicLong();
+		this.maxResponseSize = new AtomicLong();
+	}
+
+	void recordRequest(int size) {
+		requestCount.incrementAndGet();
+		requestSize.addAndGet(size);
+	}
+
+	void recordResponse(long elapsedTime, int size, boolean success) {
+		latency.record(elapsedTime);
+		responseSize.addAndGet(size);
+		long current;
+		while (size > (current = maxResponseSize.get())) {
+			if (maxResponseSize.compareAndSet(current, size)) {
+				break;
+			}
+		}
+		if (!success) {
+			errorCount.incrementAndGet();
+		}
+	}
+
+	void recordError(long elapsedTime) {
+		latency.record(elapsedTime);
+		errorCount.incrementAndGet();
+	}
+
+	public String getCommand() {
+		return command;
+	}
+
+	/**
+	 * Returns the histogram of the response times in ms.
+	 * 
+	 * @return the histogram of the response times in ms.
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	/**
+	 * Returns the ratio of the responses which are errors.
+	 * 
+	 * @return the ratio of the responses which are errors.
+	 */
+	public double getErrorRate() {
+		long responses = latency.getTotalCount();
+		return responses != 0 ? (double) errorCount.get() / responses : 0;
+	}
+
+	/**
+	 * Returns the total size (in characters) of the JSON requests.
+	 * 
+	 * @return the total size of the JSON requests.
+	 */
+	public long getRequestSize() {
+		return requestSize.get();
+	}
+
+	/**
+	 * Returns the total size (in characters) of the JSON responses.
+	 * 
+	 * @return the total size of the JSON responses.
+	 */
+	public long getResponseSize() {
+		return responseSize.get();
+	}
+
+	public long getMaxResponseSize() {
+		return maxResponseSize.get();
+	}
+
+	JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		json.addProperty("requests", getRequestCount());
+		json.addProperty("responses", latency.getTotalCount());
+		json.addProperty("errors", getErrorCount());
+		json.addProperty("p50", latency.getValueAtPercentile(50));
+		json.addProperty("p95", latency.getValueAtPercentile(95));
+		json.addProperty("p99", latency.getValueAtPercentile(99));
+		json.addProperty("max", latency.getMax());
+		json.addProperty("mean", latency.getMean());
+		json.addProperty("requestSize", getRequestSize());
+		json.addProperty("responseSize", getResponseSize());
+		json.addProperty("maxResponseSize", getMaxResponseSize());
+		return json;
+	}
+
+	void reset() {
+		latency.reset();
+		requestCount.set(0);
+		errorCount.set(0);
+		requestSize.set(0);
+		responseSize.set(0);
+		maxResponseSize.set(0);
+	}
+}
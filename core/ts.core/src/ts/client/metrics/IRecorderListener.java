@@ -0,0 +1,32 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.metrics;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Listener of a {@link TypeScriptRecorderInterceptor}.
+ *
+ */
+public interface IRecorderListener {
+
+	/**
+	 * Called when the recorder cannot write its log file. The message is lost
+	 * and the log file is opened again with the next message.
+	 * 
+	 * @param file
+	 *            the log file.
+	 * @param e
+	 *            the error.
+	 */
+	void onWriteError(File file, IOException e);
+}
@@ -0,0 +1,137 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of positive values (ex: latencies in ms) with a
+ * relative precision of ~3% (HdrHistogram-like buckets):
+ *
+ * <ul>
+ * <li>the values &lt; 64 have their own bucket.</li>
+ * <li>the greater values are grouped by power of 2, each power of 2 is split in
+ * 32 buckets.</li>
+ * </ul>
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_COUNT = SUB_BUCKET_COUNT * 2;
+	private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+	private static final int BUCKET_COUNT = LINEAR_COUNT + (63 - LINEAR_BITS) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts;
+	private final AtomicLong totalCount;
+	private final AtomicLong sum;
+	private final AtomicLong max;
+
+	public LatencyHistogram() {
+		this.counts = new AtomicLongArray(BUCKET_COUNT);
+		this.totalCount = new AtomicLong();
+		this.sum = new AtomicLong();
+		this.max = new AtomicLong();
+	}
+
+	/**
+	 * Record the given value (negative values are recorded as 0).
+	 * 
+	 * @param value
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(getBucketIndex(value));
+		totalCount.incrementAndGet();
+		sum.addAndGet(value);
+		long current;
+		while (value > (current = max.get())) {
+			if (max.compareAndSet(current, value)) {
+				break;
+			}
+		}
+	}
+
+	static int getBucketIndex(long value) {
+		if (value < LINEAR_COUNT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+		return LINEAR_COUNT + (exponent - LINEAR_BITS) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * Returns the lowest value of the given bucket.
+	 */
+	static long getBucketValue(int index) {
+		if (index < LINEAR_COUNT) {
+			return index;
+		}
+		int exponent = (index - LINEAR_COUNT) / SUB_BUCKET_COUNT + LINEAR_BITS;
+		int subBucket = (index - LINEAR_COUNT) % SUB_BUCKET_COUNT;
+		return ((long) (SUB_BUCKET_COUNT + subBucket)) << (exponent - SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * Returns the value at the given percentile (ex: 99 for p99) and 0 if no
+	 * value is recorded.
+	 * 
+	 * @param percentile
+	 *            between 0 and 100.
+	 * @return the value at the given percentile.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long total = totalCount.get();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			count += counts.get(i);
+			if (count >= rank) {
+				return Math.min(getBucketValue(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	public long getTotalCount() {
+		return totalCount.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded values and 0 if no value is recorded.
+	 * 
+	 * @return the mean of the recorded values.
+	 */
+	public double getMean() {
+		long total = totalCount.get();
+		return total != 0 ? (double) sum.get() / total : 0;
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts.set(i, 0);
+		}
+		totalCount.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+}
@@ -0,0 +1,254 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.JsonObject;
+
+import ts.client.IInterceptor;
+import ts.client.ITypeScriptServiceClient;
+import ts.client.TypeScriptServiceClient;
+import ts.client.installtypes.BeginInstallTypesEventBody;
+import ts.client.installtypes.EndInstallTypesEventBody;
+import ts.client.installtypes.IInstallTypesListener;
+import ts.internal.client.protocol.Request;
+import ts.internal.client.protocol.Response;
+
+/**
+ * Interceptor which records the metrics of a tsserver (one instance per
+ * project):
+ *
+ * <ul>
+ * <li>per command: histogram of the response times, errors and JSON payload
+ * sizes.</li>
+ * <li>the number of requests waiting for a response.</li>
+ * <li>the tsserver "telemetry" events (tsserver must be started with
+ * "--enableTelemetry").</li>
+ * </ul>
+ *
+ * Usage:
+ *
+ * <pre>
+ * TypeScriptMetricsInterceptor metrics = new TypeScriptMetricsInterceptor("my-project");
+ * metrics.connect(client);
+ * ...
+ * String json = metrics.toJson().toString();
+ * </pre>
+ */
+public class TypeScriptMetricsInterceptor implements IInterceptor, IInstallTypesListener {
+
+	private static final Comparator<CommandMetrics> COMMAND_COMPARATOR = new Comparator<CommandMetrics>() {
+
+		@Override
+		public int compare(CommandMetrics m1, CommandMetrics m2) {
+			return m1.getCommand().compareTo(m2.getCommand());
+		}
+	};
+
+	private final String name;
+	private final ConcurrentMap<String, CommandMetrics> commands;
+	private final ConcurrentMap<String, AtomicLong> telemetryEvents;
+	private final AtomicInteger inFlight;
+	private final AtomicInteger maxInFlight;
+	private volatile JsonObject lastTelemetryPayload;
+
+	public TypeScriptMetricsInterceptor(String name) {
+		this.name = name;
+		this.commands = new ConcurrentHashMap<String, CommandMetrics>();
+		this.telemetryEvents = new ConcurrentHashMap<String, AtomicLong>();
+		this.inFlight = new AtomicInteger();
+		this.maxInFlight = new AtomicInteger();
+	}
+
+	/**
+	 * Record the metrics of the given client.
+	 * 
+	 * @param client
+	 */
+	public void connect(ITypeScriptServiceClient client) {
+		client.addInterceptor(this);
+		client.addInstallTypesListener(this);
+	}
+
+	/**
+	 * Stop to record the metrics of the given client.
+	 * 
+	 * @param client
+	 */
+	public void disconnect(ITypeScriptServiceClient client) {
+		client.removeInterceptor(this);
+		client.removeInstallTypesListener(this);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	// ------------------------ IInterceptor
+
+	@Override
+	public void handleRequest(Request<?> request, String json, ITypeScriptServiceClient client) {
+		getCommandMetrics(request.getCommand()).recordRequest(json.length());
+		updateInFlight(client);
+	}
+
+	@Override
+	public void handleResponse(Response<?> response, String json, long ellapsedTime,
+			TypeScriptServiceClient client) {
+		getCommandMetrics(response.getCommand()).recordResponse(ellapsedTime, json.length(), response.isSuccess());
+		updateInFlight(client);
+	}
+
+	@Override
+	public void handleError(Throwable error, ITypeScriptServiceClient client, String methodName, long ellapsedTime) {
+		getCommandMetrics(methodName).recordError(ellapsedTime);
+		updateInFlight(client);
+	}
+
+	private void updateInFlight(ITypeScriptServiceClient client) {
+		if (client instanceof TypeScriptServiceClient) {
+			int count = ((TypeScriptServiceClient) client).getPendingRequestCount();
+			inFlight.set(count);
+			int max;
+			while (count > (max = maxInFlight.get())) {
+				if (maxInFlight.compareAndSet(max, count)) {
+					break;
+				}
+			}
+		}
+	}
+
+	private CommandMetrics getCommandMetrics(String command) {
+		CommandMetrics metrics = commands.get(command);
+		if (metrics == null) {
+			metrics = new CommandMetrics(command);
+			CommandMetrics existing = commands.putIfAbsent(command, metrics);
+			if (existing != null) {
+				metrics = existing;
+			}
+		}
+		return metrics;
+	}
+
+	// ------------------------ IInstallTypesListener
+
+	@Override
+	public void onBegin(BeginInstallTypesEventBody body) {
+		// do nothing
+	}
+
+	@Override
+	public void logTelemetry(String telemetryEventName, JsonObject payload) {
+		AtomicLong count = telemetryEvents.get(telemetryEventName);
+		if (count == null) {
+			count = new AtomicLong();
+			AtomicLong existing = telemetryEvents.putIfAbsent(telemetryEventName, count);
+			if (existing != null) {
+				count = existing;
+			}
+		}
+		count.incrementAndGet();
+		lastTelemetryPayload = payload;
+	}
+
+	@Override
+	public void onEnd(EndInstallTypesEventBody body) {
+		// do nothing
+	}
+
+	// ------------------------ Snapshot
+
+	/**
+	 * Returns the metrics of the commands sorted by name.
+	 * 
+	 * @return the metrics of the commands sorted by name.
+	 */
+	public List<CommandMetrics> getCommandMetrics() {
+		List<CommandMetrics> metrics = new ArrayList<CommandMetrics>(commands.values());
+		Collections.sort(metrics, COMMAND_COMPARATOR);
+		return metrics;
+	}
+
+	/**
+	 * Returns the number of requests waiting for a response.
+	 * 
+	 * @return the number of requests waiting for a response.
+	 */
+	public int getInFlightCount() {
+		return inFlight.get();
+	}
+
+	public int getMaxInFlightCount() {
+		return maxInFlight.get();
+	}
+
+	/**
+	 * Returns the number of telemetry events received by event name.
+	 * 
+	 * @return the number of telemetry events received by event name.
+	 */
+	public Map<String, Long> getTelemetryEvents() {
+		Map<String, Long> events = new TreeMap<String, Long>();
+		for (Map.Entry<String, AtomicLong> entry : telemetryEvents.entrySet()) {
+			events.put(entry.getKey(), entry.getValue().get());
+		}
+		return events;
+	}
+
+	/**
+	 * Returns a snapshot of the metrics as JSON.
+	 * 
+	 * @return a snapshot of the metrics as JSON.
+	 */
+	public JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		json.addProperty("name", name);
+		json.addProperty("inFlight", getInFlightCount());
+		json.addProperty("maxInFlight", getMaxInFlightCount());
+		JsonObject commandsJson = new JsonObject();
+		for (CommandMetrics metrics : getCommandMetrics()) {
+			commandsJson.add(metrics.getCommand(), metrics.toJson());
+		}
+		json.add("commands", commandsJson);
+		JsonObject telemetryJson = new JsonObject();
+		for (Map.Entry<String, Long> entry : getTelemetryEvents().entrySet()) {
+			telemetryJson.addProperty(entry.getKey(), entry.getValue());
+		}
+		json.add("telemetry", telemetryJson);
+		JsonObject payload = lastTelemetryPayload;
+		if (payload != null) {
+			json.add("lastTelemetryPayload", payload);
+		}
+		return json;
+	}
+
+	/**
+	 * Clear the recorded metrics.
+	 */
+	public void reset() {
+		for (CommandMetrics metrics : commands.values()) {
+			metrics.reset();
+		}
+		telemetryEvents.clear();
+		maxInFlight.set(inFlight.get());
+		lastTelemetryPayload = null;
+	}
+}
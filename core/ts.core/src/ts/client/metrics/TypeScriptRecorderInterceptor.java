@@ -0,0 +1,245 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import ts.client.IInterceptor;
+import ts.client.ITypeScriptServiceClient;
+import ts.client.TypeScriptServiceClient;
+import ts.internal.client.protocol.Request;
+import ts.internal.client.protocol.Response;
+import ts.nodejs.INodejsProcess;
+import ts.nodejs.NodejsProcessAdapter;
+import ts.utils.IOUtils;
+
+/**
+ * Flight recorder of a tsserver session: every request sent to tsserver and
+ * every message (response, event) received from tsserver is written as a line
+ * of JSON (NDJSON) in a rotating log file:
+ *
+ * <pre>
+ * {"time":12.5,"kind":"out","message":{"seq":1,"type":"request","command":"open",...}}
+ * {"time":40.1,"kind":"in","message":{"seq":0,"type":"response","request_seq":2,...}}
+ * </pre>
+ *
+ * "time" is the time in ms since the start of the recording. When the log file
+ * is bigger than the max size, it is renamed to "name.1" ("name.1" is renamed
+ * to "name.2", etc) and a new log file is started.
+ *
+ * The recorded session can be replayed with the TsserverReplay tool of
+ * ts.core.tests.
+ */
+public class TypeScriptRecorderInterceptor extends NodejsProcessAdapter implements IInterceptor {
+
+	public static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+	public static final int DEFAULT_MAX_FILES = 5;
+
+	public static final String OUT = "out";
+	public static final String IN = "in";
+
+	private static final long FLUSH_INTERVAL = 1000;
+
+	private final File file;
+	private final long maxFileSize;
+	private final int maxFiles;
+	private final long startTime;
+	private OutputStream out;
+	private final List<IRecorderListener> listeners;
+	// size in bytes of the current log file
+	private long fileSize;
+	private long lastFlush;
+
+	public TypeScriptRecorderInterceptor(File file) {
+		this(file, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_FILES);
+	}
+
+	/**
+	 * Creates a recorder.
+	 * 
+	 * @param file
+	 *            the log file.
+	 * @param maxFileSize
+	 *            the size of the log file which starts a new log file.
+	 * @param maxFiles
+	 *            the number of old log files to keep.
+	 */
+	public TypeScriptRecorderInterceptor(File file, long maxFileSize, int maxFiles) {
+		this.file = file;
+		this.maxFileSize = maxFileSize;
+		this.maxFiles = maxFiles;
+		this.startTime = System.nanoTime();
+		this.listeners = new ArrayList<IRecorderListener>();
+	}
+
+	/**
+	 * Add the given listener which is notified when the log file cannot be
+	 * written.
+	 * 
+	 * @param listener
+	 */
+	public void addRecorderListener(IRecorderListener listener) {
+		synchronized (listeners) {
+			listeners.add(listener);
+		}
+	}
+
+	/**
+	 * Remove the given listener.
+	 * 
+	 * @param listener
+	 */
+	public void removeRecorderListener(IRecorderListener listener) {
+		synchronized (listeners) {
+			listeners.remove(listener);
+		}
+	}
+
+	/**
+	 * Record the session of the given client.
+	 * 
+	 * @param client
+	 */
+	public void connect(TypeScriptServiceClient client) {
+		client.addInterceptor(this);
+		client.addProcessListener(this);
+	}
+
+	/**
+	 * Stop to record the session of the given client.
+	 * 
+	 * @param client
+	 */
+	public void disconnect(TypeScriptServiceClient client) {
+		client.removeInterceptor(this);
+		client.removeProcessListener(this);
+		close();
+	}
+
+	@Override
+	public void handleRequest(Request<?> request, String json, ITypeScriptServiceClient client) {
+		record(OUT, json);
+	}
+
+	@Override
+	public void handleResponse(Response<?> response, String json, long ellapsedTime,
+			TypeScriptServiceClient client) {
+		// the response is recorded with onMessage, like the events.
+	}
+
+	@Override
+	public void handleError(Throwable error, ITypeScriptServiceClient client, String methodName, long ellapsedTime) {
+		// do nothing
+	}
+
+	@Override
+	public void onMessage(INodejsProcess process, String message) {
+		if (message.startsWith("{")) {
+			record(IN, message);
+		}
+	}
+
+	@Override
+	public void onStop(INodejsProcess process) {
+		close();
+	}
+
+	private void record(String kind, String json) {
+		double time = (System.nanoTime() - startTime) / 1000000d;
+		StringBuilder line = new StringBuilder(json.length() + 48);
+		line.append("{\"time\":").append(String.format(Locale.ROOT, "%.3f", time)).append(",\"kind\":\"").append(kind)
+				.append("\",\"message\":").append(json).append("}\n");
+		byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+		try {
+			write(bytes);
+		} catch (IOException e) {
+			// notify the listeners outside the lock.
+			fireWriteError(e);
+		}
+	}
+
+	private void fireWriteError(IOException e) {
+		List<IRecorderListener> listeners;
+		synchronized (this.listeners) {
+			listeners = new ArrayList<IRecorderListener>(this.listeners);
+		}
+		for (IRecorderListener listener : listeners) {
+			listener.onWriteError(file, e);
+		}
+	}
+
+	private synchronized void write(byte[] bytes) throws IOException {
+		try {
+			if (out == null) {
+				open();
+			} else if (fileSize + bytes.length > maxFileSize) {
+				rotate();
+			}
+			out.write(bytes);
+			fileSize += bytes.length;
+			long now = System.currentTimeMillis();
+			if (now - lastFlush > FLUSH_INTERVAL) {
+				out.flush();
+				lastFlush = now;
+			}
+		} catch (IOException e) {
+			// the log file will be opened again with the next message.
+			close();
+			throw e;
+		}
+	}
+
+	private void open() throws IOException {
+		File dir = file.getParentFile();
+		if (dir != null && !dir.exists()) {
+			dir.mkdirs();
+		}
+		// continue an existing log file.
+		fileSize = file.length();
+		out = new BufferedOutputStream(new FileOutputStream(file, true), 64 * 1024);
+	}
+
+	private void rotate() throws IOException {
+		out.close();
+		out = null;
+		new File(file.getPath() + "." + maxFiles).delete();
+		for (int i = maxFiles - 1; i >= 1; i--) {
+			File rotated = new File(file.getPath() + "." + i);
+			if (rotated.exists()) {
+				rotated.renameTo(new File(file.getPath() + "." + (i + 1)));
+			}
+		}
+		if (maxFiles > 0) {
+			file.renameTo(new File(file.getPath() + ".1"));
+		} else {
+			file.delete();
+		}
+		open();
+	}
+
+	/**
+	 * Flush and close the log file.
+	 */
+	public synchronized void close() {
+		if (out != null) {
+			IOUtils.closeQuietly(out);
+			out = null;
+		}
+	}
+}
@@ -10,6 +10,7 @@
  */
 package ts.client.navbar;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import ts.client.IKindProvider;
@@ -57,6 +58,14 @@ public class NavigationBarItem implements IKindProvider {
 		this.text = text;
 	}
 
+	public void setKind(String kind) {
+		this.kind = kind;
+	}
+
+	public void setKindModifiers(String kindModifiers) {
+		this.kindModifiers = kindModifiers;
+	}
+
 	public void setSpans(List<NavigationTextSpan> spans) {
 		this.spans = spans;
 		this.parentAlreadyUpdated = false;
@@ -104,4 +113,42 @@ public class NavigationBarItem implements IKindProvider {
 	public NavigationBarItem getParent() {
 		return parent;
 	}
+
+	/**
+	 * Returns a copy of this item and of its child items which shares no item
+	 * and no span with this item.
+	 * 
+	 * @return a copy of this item and of its child items.
+	 */
+	public NavigationBarItem copy() {
+		NavigationBarItem copy = new NavigationBarItem();
+		copy.text = text;
+		copy.kind = kind;
+		copy.kindModifiers = kindModifiers;
+		copy.spans = copySpans();
+		if (childItems != null) {
+			List<NavigationBarItem> copyChildItems = new ArrayList<NavigationBarItem>(childItems.size());
+			for (NavigationBarItem item : childItems) {
+				copyChildItems.add(item.copy());
+			}
+			copy.childItems = copyChildItems;
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns a copy of the spans of this item.
+	 * 
+	 * @return a copy of the spans of this item and null if it has no spans.
+	 */
+	public List<NavigationTextSpan> copySpans() {
+		if (spans == null) {
+			return null;
+		}
+		List<NavigationTextSpan> copy = new ArrayList<NavigationTextSpan>(spans.size());
+		for (NavigationTextSpan span : spans) {
+			copy.add(new NavigationTextSpan(span.getStart(), span.getEnd()));
+		}
+		return copy;
+	}
 }
@@ -19,7 +19,13 @@ import java.util.List;
  */
 public class NavigationBarItemRoot extends NavigationBarItem {
 
+	/**
+	 * Modification stamp of a content whose version is unknown.
+	 */
+	public static final long UNKNOWN_MODIFICATION_STAMP = -1;
+
 	private boolean navtree;
+	private long modificationStamp = UNKNOWN_MODIFICATION_STAMP;
 
 	public NavigationBarItemRoot(NavigationBarItem item) {
 		this(Arrays.asList(item));
@@ -35,4 +41,19 @@ public class NavigationBarItemRoot extends NavigationBarItem {
 		return navtree;
 	}
 
+	/**
+	 * Returns the modification stamp of the file content when the navigation
+	 * items was requested and {@link #UNKNOWN_MODIFICATION_STAMP} otherwise.
+	 * 
+	 * @return the modification stamp of the file content when the navigation
+	 *         items was requested.
+	 */
+	public long getModificationStamp() {
+		return modificationStamp;
+	}
+
+	public void setModificationStamp(long modificationStamp) {
+		this.modificationStamp = modificationStamp;
+	}
+
 }
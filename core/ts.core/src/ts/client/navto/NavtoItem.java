@@ -0,0 +1,139 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.navto;
+
+import ts.client.FileSpan;
+import ts.client.IKindProvider;
+import ts.client.Location;
+
+/**
+ * An item found in a navto response.
+ * 
+ * @see https://github.com/Microsoft/TypeScript/blob/master/src/server/protocol.ts
+ */
+public class NavtoItem extends FileSpan implements IKindProvider {
+
+	/**
+	 * The symbol's name.
+	 */
+	private String name;
+
+	/**
+	 * The symbol's kind (such as 'className' or 'parameterName').
+	 */
+	private String kind;
+
+	/**
+	 * exact, substring, or prefix.
+	 */
+	private String matchKind;
+
+	/**
+	 * If this was a case sensitive or insensitive match.
+	 */
+	private Boolean isCaseSensitive;
+
+	/**
+	 * Optional modifiers for the kind (such as 'public').
+	 */
+	private String kindModifiers;
+
+	/**
+	 * Name of symbol's container symbol (if any); for example, the class name
+	 * if symbol is a class member.
+	 */
+	private String containerName;
+
+	/**
+	 * Kind of symbol's container symbol (if any).
+	 */
+	private String containerKind;
+
+	public NavtoItem() {
+	}
+
+	public NavtoItem(String file, Location start, Location end, String name, String kind, String kindModifiers,
+			String containerName, String containerKind) {
+		super(file, start, end);
+		this.name = name;
+		this.kind = kind;
+		this.kindModifiers = kindModifiers;
+		this.containerName = containerName;
+		this.containerKind = containerKind;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getKind() {
+		return kind;
+	}
+
+	public String getMatchKind() {
+		return matchKind;
+	}
+
+	public Boolean getIsCaseSensitive() {
+		return isCaseSensitive;
+	}
+
+	@Override
+	public String getKindModifiers() {
+		return kindModifiers;
+	}
+
+	public String getContainerName() {
+		return containerName;
+	}
+
+	public String getContainerKind() {
+		return containerKind;
+	}
+
+	/**
+	 * Returns the key which identifies the symbol: its file, its start
+	 * location and its name.
+	 * 
+	 * @return the key which identifies the symbol.
+	 */
+	public String getKey() {
+		Location start = getStart();
+		StringBuilder key = new StringBuilder(getFile());
+		key.append(':');
+		if (start != null) {
+			key.append(start.getLine()).append(':').append(start.getOffset());
+		}
+		return key.append(':').append(name).toString();
+	}
+
+	@Override
+	public int hashCode() {
+		return getKey().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof NavtoItem)) {
+			return false;
+		}
+		return getKey().equals(((NavtoItem) obj).getKey());
+	}
+
+	@Override
+	public String toString() {
+		return getKey();
+	}
+}
@@ -0,0 +1,507 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.navto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import ts.client.Location;
+import ts.client.navbar.NavigationBarItem;
+import ts.client.navbar.NavigationTextSpan;
+
+/**
+ * Client side index of the symbols returned by tsserver "navto" used to answer
+ * a symbol search without waiting for tsserver:
+ *
+ * <ul>
+ * <li>a search of 3 characters or more intersects the postings of the
+ * trigrams of the lower case symbol names and checks the candidates contain
+ * the search value. A shorter search scans the names with the search value as
+ * prefix.</li>
+ * <li>the symbols are ranked exact match, prefix match, substring match.</li>
+ * <li>the index is filled by the live "navto" results (see
+ * {@link #reconcile(String, Collection, boolean)}) and refreshed per file (see
+ * {@link #replaceFile(String, Collection)}).</li>
+ * <li>a removed symbol is only marked as removed, the postings are rebuilt
+ * when there are more removed symbols than indexed symbols.</li>
+ * </ul>
+ */
+public class NavtoSymbolIndex {
+
+	private static final int GRAM = 3;
+
+	private static final Comparator<Match> RANK_COMPARATOR = new Comparator<Match>() {
+
+		@Override
+		public int compare(Match m1, Match m2) {
+			return compareRanks(m1.rank, m1.entry.item.getName(), m2.rank, m2.entry.item.getName());
+		}
+	};
+
+	private static class Entry {
+
+		final NavtoItem item;
+		final String lowerName;
+
+		Entry(NavtoItem item) {
+			this.item = item;
+			this.lowerName = toLowerCase(item.getName());
+		}
+	}
+
+	private static class Match {
+
+		final Entry entry;
+		final int rank;
+
+		Match(Entry entry, int rank) {
+			this.entry = entry;
+			this.rank = rank;
+		}
+	}
+
+	/**
+	 * Sorted ids of the symbols which contain a trigram.
+	 */
+	private static class Postings {
+
+		private int[] ids = new int[4];
+		private int size;
+
+		void add(int id) {
+			if (size == ids.length) {
+				int[] newIds = new int[size * 2];
+				System.arraycopy(ids, 0, newIds, 0, size);
+				ids = newIds;
+			}
+			ids[size++] = id;
+		}
+	}
+
+	private final ReadWriteLock lock;
+	// symbols by id, null for a removed symbol.
+	private final List<Entry> entries;
+	private final Map<String, Integer> ids;
+	private final Map<String, Set<Integer>> files;
+	private final Map<String, Postings> trigrams;
+	private int removed;
+	private volatile boolean warm;
+
+	public NavtoSymbolIndex() {
+		this.lock = new ReentrantReadWriteLock();
+		this.entries = new ArrayList<Entry>();
+		this.ids = new HashMap<String, Integer>();
+		this.files = new HashMap<String, Set<Integer>>();
+		this.trigrams = new HashMap<String, Postings>();
+	}
+
+	/**
+	 * Returns the indexed symbols which match the given search value ranked
+	 * by exact match, prefix match and substring match.
+	 * 
+	 * @param searchValue
+	 *            the search value.
+	 * @param maxResultCount
+	 *            the max number of symbols to return.
+	 * @return the indexed symbols which match the given search value.
+	 */
+	public List<NavtoItem> search(String searchValue, int maxResultCount) {
+		String query = searchValue != null ? toLowerCase(searchValue.trim()) : "";
+		if (query.isEmpty() || maxResultCount <= 0) {
+			return Collections.emptyList();
+		}
+		List<Match> matches = new ArrayList<Match>();
+		lock.readLock().lock();
+		try {
+			for (Entry entry : getCandidates(query)) {
+				int rank = getRank(entry.lowerName, query);
+				if (rank >= 0) {
+					matches.add(new Match(entry, rank));
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		Collections.sort(matches, RANK_COMPARATOR);
+		int size = Math.min(maxResultCount, matches.size());
+		List<NavtoItem> items = new ArrayList<NavtoItem>(size);
+		for (int i = 0; i < size; i++) {
+			items.add(matches.get(i).entry.item);
+		}
+		return items;
+	}
+
+	/**
+	 * Returns a comparator which sorts the symbols like
+	 * {@link #search(String, int)}: exact match, prefix match and substring
+	 * match of the given search value first, then the shortest names. The
+	 * symbols which don't contain the search value are sorted last.
+	 * 
+	 * @param searchValue
+	 *            the search value.
+	 * @return a comparator which sorts the symbols by rank for the given
+	 *         search value.
+	 */
+	public static Comparator<NavtoItem> getRankComparator(String searchValue) {
+		String query = searchValue != null ? toLowerCase(searchValue.trim()) : "";
+		return (i1, i2) -> compareRanks(getRank(toLowerCase(i1.getName()), query), i1.getName(),
+				getRank(toLowerCase(i2.getName()), query), i2.getName());
+	}
+
+	private static int compareRanks(int rank1, String name1, int rank2, String name2) {
+		// -1 (no match) is sorted last.
+		int result = Integer.compareUnsigned(rank1, rank2);
+		if (result != 0) {
+			return result;
+		}
+		result = name1.length() - name2.length();
+		if (result != 0) {
+			return result;
+		}
+		return name1.compareTo(name2);
+	}
+
+	/**
+	 * Add the given symbols to the index.
+	 * 
+	 * @param items
+	 *            the symbols to add.
+	 */
+	public void add(Collection<NavtoItem> items) {
+		if (items == null || items.isEmpty()) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			for (NavtoItem item : items) {
+				addItem(item);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Merge the symbols returned by tsserver for the given search value: the
+	 * symbols are added and when the results are complete, the indexed
+	 * symbols with the search value as prefix which are not returned by
+	 * tsserver are removed (tsserver always returns the prefix matches, which
+	 * is not the case for the substring matches).
+	 * 
+	 * @param searchValue
+	 *            the search value.
+	 * @param items
+	 *            the symbols returned by tsserver.
+	 * @param complete
+	 *            true if tsserver returned all the matching symbols (not
+	 *            truncated by a max result count).
+	 */
+	public void reconcile(String searchValue, Collection<NavtoItem> items, boolean complete) {
+		String query = searchValue != null ? toLowerCase(searchValue.trim()) : "";
+		lock.writeLock().lock();
+		try {
+			Set<String> keys = new HashSet<String>();
+			if (items != null) {
+				for (NavtoItem item : items) {
+					addItem(item);
+					keys.add(item.getKey());
+				}
+			}
+			if (complete && !query.isEmpty()) {
+				for (Entry entry : getCandidates(query)) {
+					if (entry.lowerName.startsWith(query) && !keys.contains(entry.item.getKey())) {
+						removeItem(ids.get(entry.item.getKey()));
+					}
+				}
+			}
+			compactIfNeeded();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replace the indexed symbols of the given file with the given symbols.
+	 * 
+	 * @param fileName
+	 *            the file name.
+	 * @param items
+	 *            the symbols of the file.
+	 */
+	public void replaceFile(String fileName, Collection<NavtoItem> items) {
+		lock.writeLock().lock();
+		try {
+			Set<Integer> fileIds = files.get(fileName);
+			if (fileIds != null) {
+				for (Integer id : new ArrayList<Integer>(fileIds)) {
+					removeItem(id);
+				}
+			}
+			if (items != null) {
+				for (NavtoItem item : items) {
+					addItem(item);
+				}
+			}
+			compactIfNeeded();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all the symbols.
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			entries.clear();
+			ids.clear();
+			files.clear();
+			trigrams.clear();
+			removed = 0;
+			warm = false;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of indexed symbols.
+	 * 
+	 * @return the number of indexed symbols.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return ids.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns true if the index contains all the symbols of the project and
+	 * false otherwise.
+	 * 
+	 * @return true if the index contains all the symbols of the project and
+	 *         false otherwise.
+	 */
+	public boolean isWarm() {
+		return warm;
+	}
+
+	public void setWarm(boolean warm) {
+		this.warm = warm;
+	}
+
+	/**
+	 * Returns the symbols of the given navigation tree of a file.
+	 * 
+	 * @param fileName
+	 *            the file name.
+	 * @param root
+	 *            the navigation tree root of the file.
+	 * @return the symbols of the given navigation tree.
+	 */
+	public static List<NavtoItem> getSymbols(String fileName, NavigationBarItem root) {
+		List<NavtoItem> items = new ArrayList<NavtoItem>();
+		if (root != null && root.hasChildItems()) {
+			// the root is the module of the file.
+			for (NavigationBarItem child : root.getChildItems()) {
+				collectSymbols(fileName, child, null, items);
+			}
+		}
+		return items;
+	}
+
+	private static void collectSymbols(String fileName, NavigationBarItem item, NavigationBarItem container,
+			List<NavtoItem> items) {
+		String name = item.getText();
+		if (name == null || name.startsWith("<")) {
+			// <function>, <class>, etc
+			return;
+		}
+		if (item.hasSpans()) {
+			NavigationTextSpan span = item.getSpans().get(0);
+			items.add(new NavtoItem(fileName, span.getStart(), span.getEnd(), name, item.getKind(),
+					item.getKindModifiers(), container != null ? container.getText() : null,
+					container != null ? container.getKind() : null));
+		}
+		if (item.hasChildItems()) {
+			for (NavigationBarItem child : item.getChildItems()) {
+				collectSymbols(fileName, child, item, items);
+			}
+		}
+	}
+
+	// ------------------ Index
+
+	private void addItem(NavtoItem item) {
+		if (item == null || item.getName() == null || item.getFile() == null) {
+			return;
+		}
+		String key = item.getKey();
+		if (ids.containsKey(key)) {
+			return;
+		}
+		int id = entries.size();
+		Entry entry = new Entry(item);
+		entries.add(entry);
+		ids.put(key, id);
+		Set<Integer> fileIds = files.get(item.getFile());
+		if (fileIds == null) {
+			fileIds = new HashSet<Integer>();
+			files.put(item.getFile(), fileIds);
+		}
+		fileIds.add(id);
+		for (String trigram : getTrigrams(entry.lowerName)) {
+			Postings postings = trigrams.get(trigram);
+			if (postings == null) {
+				postings = new Postings();
+				trigrams.put(trigram, postings);
+			}
+			postings.add(id);
+		}
+	}
+
+	private void removeItem(Integer id) {
+		if (id == null) {
+			return;
+		}
+		Entry entry = entries.get(id);
+		if (entry == null) {
+			return;
+		}
+		entries.set(id, null);
+		ids.remove(entry.item.getKey());
+		Set<Integer> fileIds = files.get(entry.item.getFile());
+		if (fileIds != null) {
+			fileIds.remove(id);
+			if (fileIds.isEmpty()) {
+				files.remove(entry.item.getFile());
+			}
+		}
+		removed++;
+	}
+
+	/**
+	 * Rebuild the postings without the removed symbols when there are more
+	 * removed symbols than indexed symbols.
+	 */
+	private void compactIfNeeded() {
+		if (removed <= ids.size()) {
+			return;
+		}
+		List<NavtoItem> items = new ArrayList<NavtoItem>(ids.size());
+		for (Entry entry : entries) {
+			if (entry != null) {
+				items.add(entry.item);
+			}
+		}
+		entries.clear();
+		ids.clear();
+		files.clear();
+		trigrams.clear();
+		removed = 0;
+		for (NavtoItem item : items) {
+			addItem(item);
+		}
+	}
+
+	/**
+	 * Returns the indexed symbols which could match the given lower case
+	 * query.
+	 */
+	private List<Entry> getCandidates(String query) {
+		List<Entry> candidates = new ArrayList<Entry>();
+		if (query.length() < GRAM) {
+			for (Entry entry : entries) {
+				if (entry != null && entry.lowerName.startsWith(query)) {
+					candidates.add(entry);
+				}
+			}
+			return candidates;
+		}
+		// intersect the postings, starting with the smallest.
+		List<Postings> lists = new ArrayList<Postings>();
+		for (String trigram : getTrigrams(query)) {
+			Postings postings = trigrams.get(trigram);
+			if (postings == null) {
+				return candidates;
+			}
+			lists.add(postings);
+		}
+		Collections.sort(lists, (p1, p2) -> p1.size - p2.size);
+		int[] result = lists.get(0).ids;
+		int size = lists.get(0).size;
+		for (int i = 1; i < lists.size() && size > 0; i++) {
+			Postings postings = lists.get(i);
+			int[] intersection = new int[size];
+			int n = 0;
+			for (int j = 0, k = 0; j < size && k < postings.size;) {
+				if (result[j] < postings.ids[k]) {
+					j++;
+				} else if (result[j] > postings.ids[k]) {
+					k++;
+				} else {
+					intersection[n++] = result[j];
+					j++;
+					k++;
+				}
+			}
+			result = intersection;
+			size = n;
+		}
+		for (int i = 0; i < size; i++) {
+			Entry entry = entries.get(result[i]);
+			if (entry != null && entry.lowerName.contains(query)) {
+				candidates.add(entry);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the rank of the given lower case name for the given lower case
+	 * query and -1 if the name doesn't match.
+	 */
+	private static int getRank(String lowerName, String query) {
+		if (lowerName.equals(query)) {
+			return 0;
+		}
+		if (lowerName.startsWith(query)) {
+			return 1;
+		}
+		return lowerName.contains(query) ? 2 : -1;
+	}
+
+	private static Set<String> getTrigrams(String lowerName) {
+		Set<String> result = new HashSet<String>();
+		for (int i = 0; i + GRAM <= lowerName.length(); i++) {
+			result.add(lowerName.substring(i, i + GRAM));
+		}
+		return result;
+	}
+
+	private static String toLowerCase(String s) {
+		return s.toLowerCase(Locale.ENGLISH);
+	}
+}
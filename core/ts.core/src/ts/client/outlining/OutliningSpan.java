@@ -0,0 +1,70 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.client.outlining;
+
+import ts.client.TextSpan;
+
+/**
+ * Outlining span (collapsible region) returned by the "getOutliningSpans"
+ * command.
+ * 
+ * @see https://github.com/Microsoft/TypeScript/blob/master/src/server/protocol.ts
+ */
+public class OutliningSpan {
+
+	/**
+	 * The span of the document to actually collapse.
+	 */
+	private TextSpan textSpan;
+
+	/**
+	 * The span of the document to display when the user hovers over the
+	 * collapsed span.
+	 */
+	private TextSpan hintSpan;
+
+	/**
+	 * The text to display in the editor for the collapsed region.
+	 */
+	private String bannerText;
+
+	/**
+	 * Whether or not this region should be automatically collapsed when the
+	 * 'Collapse to Definitions' command is invoked.
+	 */
+	private boolean autoCollapse;
+
+	/**
+	 * Classification of the contents of the span (such as 'comment', 'region',
+	 * 'code' or 'imports').
+	 */
+	private String kind;
+
+	public TextSpan getTextSpan() {
+		return textSpan;
+	}
+
+	public TextSpan getHintSpan() {
+		return hintSpan;
+	}
+
+	public String getBannerText() {
+		return bannerText;
+	}
+
+	public boolean isAutoCollapse() {
+		return autoCollapse;
+	}
+
+	public String getKind() {
+		return kind;
+	}
+}
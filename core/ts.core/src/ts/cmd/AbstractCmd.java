@@ -5,11 +5,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import ts.TypeScriptException;
+import ts.nodejs.ICancelChecker;
 import ts.nodejs.INodejsLaunchConfiguration;
 import ts.nodejs.INodejsProcess;
 import ts.nodejs.INodejsProcessListener;
 import ts.nodejs.NodejsProcess;
 import ts.nodejs.NodejsProcessManager;
+import ts.nodejs.NodejsProcessScheduler.Permit;
+import ts.nodejs.NodejsProcessScheduler.Priority;
 
 public class AbstractCmd<T extends IOptions> {
 
@@ -31,27 +34,63 @@ public class AbstractCmd<T extends IOptions> {
 
 	public INodejsProcess execute(File baseDir, final T options, final List<String> filenames,
 			INodejsProcessListener listener) throws TypeScriptException {
-		INodejsProcess process = NodejsProcessManager.getInstance().create(baseDir, binFile, nodejsFile,
-				new INodejsLaunchConfiguration() {
-
-					@Override
-					public List<String> createNodeArgs() {
-						List<String> args = new ArrayList<String>();
-						fillOptions(options, filenames, args);
-						return args;
-					}
-				}, binFileType);
+		return execute(baseDir, options, filenames, listener, Priority.INTERACTIVE, null);
+	}
 
-		if (listener != null) {
-			process.addProcessListener(listener);
-		}
-		process.start();
+	/**
+	 * Execute the command when the process scheduler allows it and wait for
+	 * the end of the process.
+	 * 
+	 * @param baseDir
+	 * @param options
+	 * @param filenames
+	 * @param listener
+	 * @param priority
+	 *            the priority of the process in the scheduler queue.
+	 * @param cancelChecker
+	 *            the cancel checker used while the process is queued and null
+	 *            otherwise.
+	 * @return the stopped process.
+	 * @throws TypeScriptException
+	 * @throws java.util.concurrent.CancellationException
+	 *             when the cancel checker is canceled while the process is
+	 *             queued.
+	 */
+	public INodejsProcess execute(File baseDir, final T options, final List<String> filenames,
+			INodejsProcessListener listener, Priority priority, ICancelChecker cancelChecker)
+			throws TypeScriptException {
+		NodejsProcessManager manager = NodejsProcessManager.getInstance();
+		Permit permit;
 		try {
-			process.join();
+			permit = manager.getScheduler().acquire(binFileType, priority, cancelChecker);
 		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			throw new TypeScriptException(e);
 		}
-		return process;
+		try {
+			INodejsProcess process = manager.create(baseDir, binFile, nodejsFile, new INodejsLaunchConfiguration() {
+
+				@Override
+				public List<String> createNodeArgs() {
+					List<String> args = new ArrayList<String>();
+					fillOptions(options, filenames, args);
+					return args;
+				}
+			}, binFileType);
+
+			if (listener != null) {
+				process.addProcessListener(listener);
+			}
+			process.start();
+			try {
+				process.join();
+			} catch (InterruptedException e) {
+				throw new TypeScriptException(e);
+			}
+			return process;
+		} finally {
+			permit.release();
+		}
 	}
 
 	private void fillOptions(T options, List<String> filenames, List<String> args) {
@@ -12,6 +12,7 @@ package ts.cmd.tslint;
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import ts.TypeScriptException;
 import ts.nodejs.INodejsProcess;
@@ -31,4 +32,24 @@ public interface ITypeScriptLint {
 			throws TypeScriptException;
 
 	List<String> createCommands(TSLintOptions options, List<String> filenames);
+
+	/**
+	 * Lint the given files with a long-lived tslint worker process.
+	 * 
+	 * @param baseDir
+	 *            the directory where 'tslint' must be executed.
+	 * @param options
+	 *            the tslint options (only --config is used).
+	 * @param filenames
+	 *            the files to lint.
+	 * @return the failures in the tslint "json" format.
+	 * @throws TypeScriptException
+	 */
+	CompletableFuture<String> lint(File baseDir, TSLintOptions options, List<String> filenames)
+			throws TypeScriptException;
+
+	/**
+	 * Dispose the tslint worker.
+	 */
+	void dispose();
 }
@@ -0,0 +1,224 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.cmd.tslint;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+
+import ts.TypeScriptException;
+import ts.nodejs.INodejsLaunchConfiguration;
+import ts.nodejs.INodejsProcess;
+import ts.nodejs.NodejsProcessAdapter;
+import ts.nodejs.NodejsProcessManager;
+import ts.utils.FileUtils;
+import ts.utils.IOUtils;
+
+/**
+ * Long-lived tslint worker: a node.js process (see tslint-worker.js) which
+ * keeps tslint, the configurations and the rules loaded and which lints files
+ * on demand. Requests and responses are line-delimited JSON:
+ *
+ * <ul>
+ * <li>request: {"seq":1,"cwd":"...","config":"...","files":["..."]}</li>
+ * <li>response: {"seq":1,"failures":[...],"time":12} where failures uses the
+ * "tslint --format json" shape or {"seq":1,"error":"..."}</li>
+ * </ul>
+ *
+ * The process is started at the first lint and restarted if it stops.
+ */
+public class TslintWorker {
+
+	private static final String TSLINT_WORKER_FILE_TYPE = "tslint-worker";
+	private static final String TSLINT_WORKER_SCRIPT = "tslint-worker.js";
+
+	private static File workerFile;
+
+	private final File tslintFile;
+	private final File nodejsFile;
+	private final Map<Integer, CompletableFuture<String>> pendingRequests;
+	private INodejsProcess process;
+	private int seq;
+
+	public TslintWorker(File tslintFile, File nodejsFile) {
+		this.tslintFile = tslintFile;
+		this.nodejsFile = nodejsFile;
+		this.pendingRequests = new HashMap<Integer, CompletableFuture<String>>();
+	}
+
+	/**
+	 * Lint the given files.
+	 *
+	 * @param baseDir
+	 *            the directory where tslint must be executed.
+	 * @param configFile
+	 *            the tslint.json file to use and null to search the
+	 *            tslint.json of each file.
+	 * @param filenames
+	 *            the files to lint.
+	 * @return the failures in the "tslint --format json" format.
+	 * @throws TypeScriptException
+	 */
+	public CompletableFuture<String> lint(File baseDir, String configFile, List<String> filenames)
+			throws TypeScriptException {
+		JsonObject request = new JsonObject();
+		JsonArray files = new JsonArray();
+		for (String filename : filenames) {
+			files.add(filename);
+		}
+		request.add("cwd", FileUtils.getPath(baseDir));
+		if (configFile != null) {
+			request.add("config", configFile);
+		}
+		request.add("files", files);
+
+		CompletableFuture<String> result = new CompletableFuture<String>();
+		synchronized (pendingRequests) {
+			INodejsProcess process = getProcess(baseDir);
+			int seq = ++this.seq;
+			request.add("seq", seq);
+			pendingRequests.put(seq, result);
+			try {
+				process.sendRequest(request.toString());
+			} catch (TypeScriptException e) {
+				pendingRequests.remove(seq);
+				throw e;
+			}
+		}
+		return result;
+	}
+
+	private INodejsProcess getProcess(File baseDir) throws TypeScriptException {
+		if (process != null && process.isStarted()) {
+			return process;
+		}
+		final File tslintDir = tslintFile.getParentFile().getParentFile();
+		final INodejsProcess process = NodejsProcessManager.getInstance().create(baseDir, getWorkerFile(), nodejsFile,
+				new INodejsLaunchConfiguration() {
+
+					@Override
+					public List<String> createNodeArgs() {
+						List<String> args = new ArrayList<String>();
+						args.add("--tslintDir");
+						args.add(FileUtils.getPath(tslintDir));
+						return args;
+					}
+				}, TSLINT_WORKER_FILE_TYPE);
+		process.addProcessListener(new NodejsProcessAdapter() {
+
+			@Override
+			public void onMessage(INodejsProcess process, String message) {
+				dispatchMessage(message);
+			}
+
+			@Override
+			public void onStop(INodejsProcess stoppedProcess) {
+				synchronized (pendingRequests) {
+					if (TslintWorker.this.process == process) {
+						TslintWorker.this.process = null;
+					}
+					failPendingRequests(new TypeScriptException("tslint worker stopped"));
+				}
+			}
+		});
+		process.start();
+		if (!process.isStarted()) {
+			throw new TypeScriptException("Cannot start the tslint worker");
+		}
+		this.process = process;
+		return process;
+	}
+
+	private void dispatchMessage(String message) {
+		JsonObject response;
+		try {
+			response = Json.parse(message).asObject();
+		} catch (Exception e) {
+			// not a JSON response (ex: trace of a rule), ignore it.
+			return;
+		}
+		int seq = response.getInt("seq", -1);
+		CompletableFuture<String> result;
+		synchronized (pendingRequests) {
+			result = pendingRequests.remove(seq);
+		}
+		if (result == null) {
+			return;
+		}
+		JsonValue failures = response.get("failures");
+		if (failures != null) {
+			result.complete(failures.toString());
+		} else {
+			result.completeExceptionally(new TypeScriptException(response.getString("error", "tslint error")));
+		}
+	}
+
+	private void failPendingRequests(Throwable e) {
+		for (CompletableFuture<String> result : pendingRequests.values()) {
+			result.completeExceptionally(e);
+		}
+		pendingRequests.clear();
+	}
+
+	/**
+	 * Kill the worker process.
+	 */
+	public void dispose() {
+		INodejsProcess process;
+		synchronized (pendingRequests) {
+			process = this.process;
+			this.process = null;
+			failPendingRequests(new TypeScriptException("tslint worker disposed"));
+		}
+		if (process != null) {
+			process.kill();
+		}
+	}
+
+	/**
+	 * Returns the tslint-worker.js file extracted from the ts.core classpath.
+	 */
+	private static synchronized File getWorkerFile() throws TypeScriptException {
+		if (workerFile != null && workerFile.exists()) {
+			return workerFile;
+		}
+		InputStream in = TslintWorker.class.getResourceAsStream(TSLINT_WORKER_SCRIPT);
+		if (in == null) {
+			throw new TypeScriptException("Cannot find " + TSLINT_WORKER_SCRIPT);
+		}
+		OutputStream out = null;
+		try {
+			File file = File.createTempFile("tslint-worker", ".js");
+			file.deleteOnExit();
+			out = new FileOutputStream(file);
+			IOUtils.copy(in, out);
+			workerFile = file;
+			return file;
+		} catch (IOException e) {
+			throw new TypeScriptException(e);
+		} finally {
+			IOUtils.closeQuietly(in);
+			IOUtils.closeQuietly(out);
+		}
+	}
+}
@@ -1,7 +1,10 @@
 package ts.cmd.tslint;
 
 import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import ts.TypeScriptException;
 import ts.cmd.AbstractCmd;
 
 public class TypeScriptLint extends AbstractCmd<TSLintOptions> implements ITypeScriptLint {
@@ -9,14 +12,27 @@ public class TypeScriptLint extends AbstractCmd<TSLintOptions> implements ITypeS
 	private static final String TSLINT_FILE_TYPE = "tslint";
 
 	private final File tslintJsonFile;
+	private final TslintWorker worker;
 
 	public TypeScriptLint(File tslintFile, File tslintJsonFile, File nodejsFile) {
 		super(tslintFile, nodejsFile, TSLINT_FILE_TYPE);
 		this.tslintJsonFile = tslintJsonFile;
+		this.worker = new TslintWorker(tslintFile, nodejsFile);
 	}
 
 	public File getTslintJsonFile() {
 		return tslintJsonFile;
 	}
 
+	@Override
+	public CompletableFuture<String> lint(File baseDir, TSLintOptions options, List<String> filenames)
+			throws TypeScriptException {
+		return worker.lint(baseDir, options != null ? options.getConfig() : null, filenames);
+	}
+
+	@Override
+	public void dispose() {
+		worker.dispose();
+	}
+
 }
@@ -0,0 +1,143 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+
+// Long-lived tslint worker which speaks line-delimited JSON on stdin/stdout:
+//
+// request:  {"seq":1,"cwd":"/project","config":"/project/tslint.json","files":["/project/a.ts"]}
+// response: {"seq":1,"failures":[...],"time":12} where failures uses the
+//           "tslint --format json" shape, or {"seq":1,"error":"message"}
+//
+// The tslint module, the configurations and the rules stay loaded between
+// two requests, and the failures of a file which has not changed (same
+// mtime, size and configuration) are reused.
+
+var fs = require("fs"),
+	path = require("path"),
+	readline = require("readline");
+
+// Retrieve "node_modules/tslint" directory
+var tslintDir = process.argv.indexOf("--tslintDir");
+tslintDir = tslintDir > -1 ? process.argv[tslintDir + 1] : path.dirname(require.resolve("tslint/package.json"));
+
+var tslint = require(tslintDir);
+// tslint >=4 exposes Linter/Configuration, tslint 3 exports the Linter class
+var Linter = tslint.Linter || tslint;
+var Configuration = tslint.Configuration || (Linter.findConfiguration ? Linter : null);
+var linterV4 = !!tslint.Linter;
+
+// config file path -> { mtime, configuration }
+var configurations = {};
+// file name -> { mtime, size, configKey, failures }
+var results = {};
+
+function getMTime(file) {
+	try {
+		var stats = fs.statSync(file);
+		return stats.mtime.getTime() + ":" + stats.size;
+	} catch (e) {
+		return null;
+	}
+}
+
+function findConfigurationPath(configFile, fileName) {
+	if (Configuration && Configuration.findConfigurationPath) {
+		return Configuration.findConfigurationPath(configFile, fileName);
+	}
+	return configFile;
+}
+
+function loadConfiguration(configFile, fileName) {
+	var configPath = findConfigurationPath(configFile || null, fileName);
+	var key = configPath || "";
+	var mtime = configPath ? getMTime(configPath) : null;
+	var cached = configurations[key];
+	if (cached && cached.mtime === mtime) {
+		return cached;
+	}
+	var configuration;
+	if (Configuration && Configuration.loadConfigurationFromPath) {
+		configuration = Configuration.loadConfigurationFromPath(configPath);
+	} else {
+		configuration = Configuration.findConfiguration(configPath, fileName);
+	}
+	if (configuration && configuration.results) {
+		// tslint >=5 findConfiguration returns { path, results }
+		configuration = configuration.results;
+	}
+	cached = configurations[key] = { mtime: mtime, configuration: configuration, key: key + "@" + mtime };
+	return cached;
+}
+
+function toJson(failure) {
+	return failure.toJson ? failure.toJson() : {
+		name: failure.getFileName(),
+		failure: failure.getFailure(),
+		ruleName: failure.getRuleName(),
+		startPosition: failure.getStartPosition().toJson(),
+		endPosition: failure.getEndPosition().toJson()
+	};
+}
+
+function lintFile(fileName, configFile) {
+	var config = loadConfiguration(configFile, fileName);
+	var stamp = getMTime(fileName);
+	var cached = results[fileName];
+	if (cached && cached.stamp === stamp && cached.configKey === config.key) {
+		return cached.failures;
+	}
+	if (stamp === null) {
+		delete results[fileName];
+		return [];
+	}
+	var source = fs.readFileSync(fileName, "utf8");
+	var failures;
+	if (linterV4) {
+		var linter = new Linter({ fix: false, formatter: "json" });
+		linter.lint(fileName, source, config.configuration);
+		failures = linter.getResult().failures;
+	} else {
+		var linter = new Linter(fileName, source, { formatter: "json", configuration: config.configuration });
+		failures = linter.lint().failures;
+	}
+	failures = failures.map(toJson);
+	results[fileName] = { stamp: stamp, configKey: config.key, failures: failures };
+	return failures;
+}
+
+function processRequest(request) {
+	var start = Date.now();
+	var failures = [];
+	if (request.cwd) {
+		process.chdir(request.cwd);
+	}
+	(request.files || []).forEach(function(fileName) {
+		failures = failures.concat(lintFile(path.resolve(fileName), request.config));
+	});
+	return { seq: request.seq, failures: failures, time: Date.now() - start };
+}
+
+readline.createInterface({ input: process.stdin, terminal: false }).on("line", function(line) {
+	if (!line.trim()) {
+		return;
+	}
+	var response;
+	var seq = -1;
+	try {
+		var request = JSON.parse(line);
+		seq = request.seq;
+		response = processRequest(request);
+	} catch (e) {
+		response = { seq: seq, error: String(e && e.stack || e) };
+	}
+	process.stdout.write(JSON.stringify(response) + "\n");
+}).on("close", function() {
+	process.exit(0);
+});
@@ -14,7 +14,6 @@ import java.lang.reflect.Type;
 import java.util.List;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.InstanceCreator;
 import com.google.gson.JsonObject;
 
@@ -48,7 +47,7 @@ public class CompletionsRequest extends FileLocationRequest<CompletionsRequestAr
 		String fileName = super.getArguments().getFile();
 		int line = super.getArguments().getLine();
 		int offset = super.getArguments().getOffset();
-		Gson gson = new GsonBuilder()
+		Gson gson = GsonHelper.createGsonBuilder()
 				.registerTypeAdapter(CompletionEntry.class, new InstanceCreator<CompletionEntry>() {
 					@Override
 					public CompletionEntry createInstance(Type type) {
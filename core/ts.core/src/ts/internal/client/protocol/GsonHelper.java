@@ -10,6 +10,7 @@
  */
 package ts.internal.client.protocol;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 import com.google.gson.Gson;
@@ -21,6 +22,10 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import ts.client.diagnostics.Diagnostic;
 import ts.client.diagnostics.DiagnosticWithLinePosition;
@@ -30,13 +35,51 @@ public class GsonHelper {
 
 	private static final JsonParser JSON_PARSER = new JsonParser();
 
-	public static final Gson DEFAULT_GSON = new GsonBuilder()
-			.registerTypeAdapter(IDiagnostic.class, new DiagnosticAdapter()).create();
+	// longer strings (documentation, line texts, etc) are rarely duplicated.
+	private static final int MAX_POOLED_LENGTH = 256;
+
+	private static final StringPool STRING_POOL = new StringPool();
+
+	public static final Gson DEFAULT_GSON = createGsonBuilder().create();
+
+	/**
+	 * Returns a Gson builder to decode the tsserver responses: the decoded
+	 * strings are canonicalized through a weak pool to avoid keeping the same
+	 * file paths, kinds, etc duplicated in all the responses.
+	 * 
+	 * @return a Gson builder to decode the tsserver responses.
+	 */
+	public static GsonBuilder createGsonBuilder() {
+		return new GsonBuilder().registerTypeAdapter(IDiagnostic.class, new DiagnosticAdapter())
+				.registerTypeAdapter(String.class, new PooledStringAdapter());
+	}
 
 	public static JsonElement parse(String json) throws JsonSyntaxException {
 		return JSON_PARSER.parse(json);
 	}
 
+	private static class PooledStringAdapter extends TypeAdapter<String> {
+
+		@Override
+		public String read(JsonReader in) throws IOException {
+			JsonToken token = in.peek();
+			if (token == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			if (token == JsonToken.BOOLEAN) {
+				return Boolean.toString(in.nextBoolean());
+			}
+			String value = in.nextString();
+			return value.length() <= MAX_POOLED_LENGTH ? STRING_POOL.canonicalize(value) : value;
+		}
+
+		@Override
+		public void write(JsonWriter out, String value) throws IOException {
+			out.value(value);
+		}
+	}
+
 	private static class DiagnosticAdapter implements JsonDeserializer<IDiagnostic> {
 
 		@Override
@@ -14,7 +14,6 @@ import java.lang.reflect.Type;
 import java.util.List;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.InstanceCreator;
 import com.google.gson.JsonObject;
 
@@ -43,7 +42,7 @@ public class NavBarRequest extends FileRequest<FileRequestArgs> {
 	public Response<List<NavigationBarItem>> parseResponse(JsonObject json) {
 		Gson gson = GsonHelper.DEFAULT_GSON;
 		if (positionProvider != null) {
-			gson = new GsonBuilder().registerTypeAdapter(Location.class, new InstanceCreator<Location>() {
+			gson = GsonHelper.createGsonBuilder().registerTypeAdapter(Location.class, new InstanceCreator<Location>() {
 				@Override
 				public Location createInstance(Type type) {
 					return new Location(positionProvider);
@@ -13,7 +13,6 @@ package ts.internal.client.protocol;
 import java.lang.reflect.Type;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.InstanceCreator;
 import com.google.gson.JsonObject;
 
@@ -42,7 +41,7 @@ public class NavTreeRequest extends FileRequest<FileRequestArgs> {
 	public Response<NavigationBarItem> parseResponse(JsonObject json) {
 		Gson gson = GsonHelper.DEFAULT_GSON;
 		if (positionProvider != null) {
-			gson = new GsonBuilder().registerTypeAdapter(Location.class, new InstanceCreator<Location>() {
+			gson = GsonHelper.createGsonBuilder().registerTypeAdapter(Location.class, new InstanceCreator<Location>() {
 				@Override
 				public Location createInstance(Type type) {
 					return new Location(positionProvider);
@@ -0,0 +1,38 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.client.protocol;
+
+import java.util.List;
+
+import com.google.gson.JsonObject;
+
+import ts.client.CommandNames;
+import ts.client.navto.NavtoItem;
+
+/**
+ * Navto request message; value of command field is "navto". Return list of
+ * objects giving the file and position of the symbols of the projects which
+ * match the search value.
+ * 
+ * @see https://github.com/Microsoft/TypeScript/blob/master/src/server/protocol.ts
+ */
+public class NavtoRequest extends FileRequest<NavtoRequestArgs> {
+
+	public NavtoRequest(String file, String searchValue, Integer maxResultCount, Boolean currentFileOnly) {
+		super(CommandNames.Navto.getName(), new NavtoRequestArgs(file, searchValue, maxResultCount, currentFileOnly));
+	}
+
+	@Override
+	public Response<List<NavtoItem>> parseResponse(JsonObject json) {
+		return GsonHelper.DEFAULT_GSON.fromJson(json, NavtoResponse.class);
+	}
+
+}
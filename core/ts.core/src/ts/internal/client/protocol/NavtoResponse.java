@@ -0,0 +1,25 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.client.protocol;
+
+import java.util.List;
+
+import ts.client.navto.NavtoItem;
+
+/**
+ * Navto response message. Body is an array of navto items. Each item gives a
+ * symbol that matched the search term.
+ * 
+ * @see https://github.com/Microsoft/TypeScript/blob/master/src/server/protocol.ts
+ */
+public class NavtoResponse extends Response<List<NavtoItem>> {
+
+}
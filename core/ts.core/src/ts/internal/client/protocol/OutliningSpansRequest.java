@@ -0,0 +1,56 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.client.protocol;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.InstanceCreator;
+import com.google.gson.JsonObject;
+
+import ts.client.CommandNames;
+import ts.client.IPositionProvider;
+import ts.client.Location;
+import ts.client.outlining.OutliningSpan;
+
+/**
+ * Request to obtain outlining spans in file; value of command field is
+ * "getOutliningSpans". Return response giving the collapsible regions of the
+ * requested file.
+ * 
+ * @see https://github.com/Microsoft/TypeScript/blob/master/src/server/protocol.ts
+ */
+public class OutliningSpansRequest extends FileRequest<FileRequestArgs> {
+
+	// Set positionProvider to transient to ignore Gson serialization
+	private final transient IPositionProvider positionProvider;
+
+	public OutliningSpansRequest(String fileName, IPositionProvider positionProvider) {
+		super(CommandNames.GetOutliningSpans.getName(), new FileRequestArgs(fileName, null));
+		this.positionProvider = positionProvider;
+	}
+
+	@Override
+	public Response<List<OutliningSpan>> parseResponse(JsonObject json) {
+		Gson gson = GsonHelper.DEFAULT_GSON;
+		if (positionProvider != null) {
+			gson = GsonHelper.createGsonBuilder().registerTypeAdapter(Location.class, new InstanceCreator<Location>() {
+				@Override
+				public Location createInstance(Type type) {
+					return new Location(positionProvider);
+				}
+			}).create();
+		}
+		return gson.fromJson(json, OutliningSpansResponse.class);
+	}
+
+}
@@ -0,0 +1,31 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.client.protocol;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Request of any command with JSON arguments (ex: request of a recorded
+ * session which is replayed).
+ *
+ */
+public class RawRequest extends Request<JsonObject> {
+
+	public RawRequest(String command, JsonObject arguments) {
+		super(command, arguments);
+	}
+
+	@Override
+	public Response<?> parseResponse(JsonObject json) {
+		return GsonHelper.DEFAULT_GSON.fromJson(json, Response.class);
+	}
+
+}
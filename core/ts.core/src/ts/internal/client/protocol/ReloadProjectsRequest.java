@@ -0,0 +1,34 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.client.protocol;
+
+import com.google.gson.JsonObject;
+
+import ts.client.CommandNames;
+
+/**
+ * A request to reload all the projects of tsserver from the disk. tsserver
+ * doesn't respond to this request.
+ * 
+ * @see https://github.com/Microsoft/TypeScript/blob/master/src/server/protocol.ts
+ */
+public class ReloadProjectsRequest extends Request<Void> {
+
+	public ReloadProjectsRequest() {
+		super(CommandNames.ReloadProjects.getName(), null);
+	}
+
+	@Override
+	public Response<?> parseResponse(JsonObject json) {
+		return null;
+	}
+
+}
@@ -0,0 +1,54 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.client.protocol;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Weak canonicalizing pool of strings: equal strings decoded from the
+ * tsserver responses (file paths, kinds, kind modifiers, sort texts, etc)
+ * share the same instance. A string is removed from the pool when it's no
+ * longer used.
+ */
+class StringPool {
+
+	private final Map<String, WeakReference<String>> strings;
+
+	StringPool() {
+		this.strings = new WeakHashMap<String, WeakReference<String>>();
+	}
+
+	/**
+	 * Returns the pooled string equal to the given string.
+	 * 
+	 * @param s
+	 *            the string.
+	 * @return the pooled string equal to the given string.
+	 */
+	synchronized String canonicalize(String s) {
+		if (s == null) {
+			return null;
+		}
+		WeakReference<String> ref = strings.get(s);
+		String pooled = ref != null ? ref.get() : null;
+		if (pooled == null) {
+			strings.put(s, new WeakReference<String>(s));
+			pooled = s;
+		}
+		return pooled;
+	}
+
+	synchronized int size() {
+		return strings.size();
+	}
+}
@@ -1,6 +1,7 @@
 package ts.internal.repository;
 
 import java.io.File;
+import java.io.IOException;
 
 import ts.repository.ITypeScriptRepository;
 import ts.repository.TypeScriptRepositoryException;
@@ -12,7 +13,13 @@ import ts.repository.TypeScriptRepositoryManager;
  */
 public class TypeScriptRepository implements ITypeScriptRepository {
 
+	private static final String TYPESCRIPT_DIR = "node_modules/typescript";
+	private static final String TSLINT_DIR = "node_modules/tslint";
+	private static final String TSLINT_LANGUAGE_SERVICE_DIR = "node_modules/tslint-language-service";
+	private static final String TSSERVER_PLUGINS_DIR = "tsserver-plugins";
+
 	private final TypeScriptRepositoryManager manager;
+	private final TypeScriptRepositoryArchive archive;
 	private File baseDir;
 	private String name;
 	private File typesScriptDir;
@@ -31,32 +38,105 @@ public class TypeScriptRepository implements ITypeScriptRepository {
 	public TypeScriptRepository(File baseDir, TypeScriptRepositoryManager manager)
 			throws TypeScriptRepositoryException {
 		this.manager = manager;
+		this.archive = null;
 		this.baseDir = baseDir;
 		updateBaseDir(baseDir);
 	}
 
+	/**
+	 * Creates a repository whose metadata are read from the given archive. The
+	 * archive is extracted lazily when a file of the repository is used.
+	 *
+	 * @param archive
+	 *            the archive of the repository.
+	 * @param manager
+	 * @throws TypeScriptRepositoryException
+	 */
+	public TypeScriptRepository(TypeScriptRepositoryArchive archive, TypeScriptRepositoryManager manager)
+			throws TypeScriptRepositoryException {
+		this.manager = manager;
+		this.archive = archive;
+		this.baseDir = archive.getBaseDir();
+		try {
+			updateArchive(archive);
+		} finally {
+			archive.close();
+		}
+	}
+
 	private void updateBaseDir(File baseDir) throws TypeScriptRepositoryException {
-		this.typesScriptDir = new File(baseDir, "node_modules/typescript");
+		this.typesScriptDir = new File(baseDir, TYPESCRIPT_DIR);
 		TypeScriptRepositoryManager.validateTypeScriptDir(typesScriptDir);
 		// tsc file
 		this.tscFile = TypeScriptRepositoryManager.getTscFile(typesScriptDir);
 		this.typesScriptVersion = TypeScriptRepositoryManager.getPackageJsonVersion(typesScriptDir);
 		this.setName(generateName("TypeScript", typesScriptVersion));
 		// tslint file
-		File tslintBaseDir = new File(baseDir, "node_modules/tslint");
+		File tslintBaseDir = new File(baseDir, TSLINT_DIR);
 		if (tslintBaseDir.exists()) {
 			this.tslintFile = TypeScriptRepositoryManager.getTslintFile(tslintBaseDir);
 			this.tslintVersion = TypeScriptRepositoryManager.getPackageJsonVersion(tslintBaseDir);
 			this.tslintName = generateName("tslint", tslintVersion);
 		}
 		// tslint-language-service file
-		File tslintLanguageServiceBaseDir = new File(baseDir, "node_modules/tslint-language-service");
+		File tslintLanguageServiceBaseDir = new File(baseDir, TSLINT_LANGUAGE_SERVICE_DIR);
 		if (tslintLanguageServiceBaseDir.exists()) {
 			String tslintLanguageServiceVersion = TypeScriptRepositoryManager.getPackageJsonVersion(tslintLanguageServiceBaseDir);
 			this.tslintLanguageServiceName= generateName("tslint-language-service", tslintLanguageServiceVersion);
 		}
 		// tsserver-plugins
-		this.tsserverPluginsFile = new File(baseDir, "tsserver-plugins/bin/tsserver-plugins");
+		this.tsserverPluginsFile = new File(baseDir, TSSERVER_PLUGINS_DIR + "/bin/tsserver-plugins");
+	}
+
+	private void updateArchive(TypeScriptRepositoryArchive archive) throws TypeScriptRepositoryException {
+		try {
+			this.typesScriptDir = new File(baseDir, TYPESCRIPT_DIR);
+			if (!archive.exists(TYPESCRIPT_DIR + "/bin/tsserver")) {
+				throw new TypeScriptRepositoryException(archive.getArchiveFile()
+						+ " is not a valid TypeScript repository. Check the archive contains bin/tsserver.");
+			}
+			// tsc file
+			this.tscFile = TypeScriptRepositoryManager.getTscFile(typesScriptDir);
+			this.typesScriptVersion = archive.getPackageJsonVersion(TYPESCRIPT_DIR);
+			this.setName(generateName("TypeScript", typesScriptVersion));
+			// tslint file
+			if (archive.exists(TSLINT_DIR)) {
+				this.tslintFile = TypeScriptRepositoryManager.getTslintFile(new File(baseDir, TSLINT_DIR));
+				this.tslintVersion = archive.getPackageJsonVersion(TSLINT_DIR);
+				this.tslintName = generateName("tslint", tslintVersion);
+			}
+			// tslint-language-service file
+			if (archive.exists(TSLINT_LANGUAGE_SERVICE_DIR)) {
+				String tslintLanguageServiceVersion = archive.getPackageJsonVersion(TSLINT_LANGUAGE_SERVICE_DIR);
+				this.tslintLanguageServiceName = generateName("tslint-language-service", tslintLanguageServiceVersion);
+			}
+			// tsserver-plugins
+			this.tsserverPluginsFile = new File(baseDir, TSSERVER_PLUGINS_DIR + "/bin/tsserver-plugins");
+		} catch (IOException e) {
+			throw new TypeScriptRepositoryException(
+					"Error while reading the TypeScript repository " + archive.getArchiveFile() + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Extract the given directory of the archive of this repository if needed.
+	 *
+	 * @param path
+	 *            directory relative to the base directory and "" for the whole
+	 *            archive.
+	 * @throws TypeScriptRepositoryException
+	 *             if the directory cannot be extracted.
+	 */
+	private void extract(String path) throws TypeScriptRepositoryException {
+		if (archive == null) {
+			return;
+		}
+		try {
+			archive.extract(path);
+		} catch (IOException e) {
+			throw new TypeScriptRepositoryException("Error while extracting " + (path.isEmpty() ? "" : path + " of ")
+					+ "the TypeScript repository " + archive.getArchiveFile() + ": " + e.getMessage(), e);
+		}
 	}
 
 	private String generateName(String prefix, String version) {
@@ -94,7 +174,8 @@ public class TypeScriptRepository implements ITypeScriptRepository {
 	}
 
 	@Override
-	public File getTypesScriptDir() {
+	public File getTypesScriptDir() throws TypeScriptRepositoryException {
+		extract(TYPESCRIPT_DIR);
 		return typesScriptDir;
 	}
 
@@ -104,7 +185,8 @@ public class TypeScriptRepository implements ITypeScriptRepository {
 	}
 
 	@Override
-	public File getTscFile() {
+	public File getTscFile() throws TypeScriptRepositoryException {
+		extract(TYPESCRIPT_DIR);
 		return tscFile;
 	}
 
@@ -114,7 +196,11 @@ public class TypeScriptRepository implements ITypeScriptRepository {
 	}
 
 	@Override
-	public File getTslintFile() {
+	public File getTslintFile() throws TypeScriptRepositoryException {
+		if (tslintFile != null) {
+			// tslint requires typescript and its dependencies
+			extract("");
+		}
 		return tslintFile;
 	}
 
@@ -124,7 +210,8 @@ public class TypeScriptRepository implements ITypeScriptRepository {
 	}
 
 	@Override
-	public File getTsserverPluginsFile() {
+	public File getTsserverPluginsFile() throws TypeScriptRepositoryException {
+		extract(TSSERVER_PLUGINS_DIR);
 		return tsserverPluginsFile;
 	}
 	
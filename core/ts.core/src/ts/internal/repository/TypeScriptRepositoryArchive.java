@@ -0,0 +1,143 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.internal.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+
+import ts.utils.IOUtils;
+import ts.utils.ZipUtils;
+
+/**
+ * TypeScript repository bundled in a zip file (ex: "repositories/2.2.2.zip"
+ * which contains "2.2.2/node_modules/typescript/...").
+ *
+ * The metadata of the repository (bin/tsserver, package.json versions) are read
+ * from the central directory of the zip without extracting it. The content is
+ * extracted lazily in the base directory, only the parts which are used (ex:
+ * node_modules/typescript when tsserver is started).
+ */
+public class TypeScriptRepositoryArchive {
+
+	private final File archiveFile;
+	private final File baseDir;
+	private final String root;
+	private final Set<String> extractedPaths;
+	private ZipFile zipFile;
+
+	/**
+	 * Creates an archive.
+	 *
+	 * @param archiveFile
+	 *            the zip file.
+	 * @param baseDir
+	 *            the directory of the repository once extracted. The zip
+	 *            entries start with the name of this directory.
+	 */
+	public TypeScriptRepositoryArchive(File archiveFile, File baseDir) {
+		this.archiveFile = archiveFile;
+		this.baseDir = baseDir;
+		this.root = baseDir.getName() + "/";
+		this.extractedPaths = new HashSet<String>();
+	}
+
+	public File getArchiveFile() {
+		return archiveFile;
+	}
+
+	public File getBaseDir() {
+		return baseDir;
+	}
+
+	/**
+	 * Returns true if the given file or directory exists in the archive.
+	 *
+	 * @param path
+	 *            path relative to the base directory.
+	 * @return true if the given file or directory exists in the archive.
+	 * @throws IOException
+	 */
+	public synchronized boolean exists(String path) throws IOException {
+		ZipFile zipFile = getZipFile();
+		return zipFile.getEntry(root + path) != null || zipFile.getEntry(root + path + "/") != null;
+	}
+
+	/**
+	 * Returns the version of the package.json of the given directory and null
+	 * otherwise.
+	 *
+	 * @param path
+	 *            directory relative to the base directory.
+	 * @return the version of the package.json of the given directory and null
+	 *         otherwise.
+	 */
+	public synchronized String getPackageJsonVersion(String path) {
+		try {
+			ZipFile zipFile = getZipFile();
+			ZipEntry entry = zipFile.getEntry(root + path + "/package.json");
+			if (entry == null) {
+				return null;
+			}
+			InputStream in = zipFile.getInputStream(entry);
+			try {
+				JsonObject json = Json.parse(IOUtils.toString(in, "UTF-8")).asObject();
+				return json.getString("version", null);
+			} finally {
+				in.close();
+			}
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Extract the given directory of the archive if it's not already done.
+	 *
+	 * @param path
+	 *            directory relative to the base directory and "" to extract
+	 *            the whole archive.
+	 * @throws IOException
+	 */
+	public synchronized void extract(String path) throws IOException {
+		if (extractedPaths.contains("") || extractedPaths.contains(path)) {
+			return;
+		}
+		close();
+		ZipUtils.extractZip(archiveFile, baseDir.getParentFile(), path.isEmpty() ? null : root + path + "/");
+		extractedPaths.add(path);
+	}
+
+	private ZipFile getZipFile() throws IOException {
+		if (zipFile == null) {
+			zipFile = new ZipFile(archiveFile);
+		}
+		return zipFile;
+	}
+
+	/**
+	 * Close the zip file opened to read the metadata.
+	 */
+	public synchronized void close() {
+		if (zipFile != null) {
+			IOUtils.closeQuietly(zipFile);
+			zipFile = null;
+		}
+	}
+
+}
@@ -0,0 +1,26 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.nodejs;
+
+/**
+ * Cancel checker used while a node.js process waits to be started (ex: adapter
+ * of an Eclipse IProgressMonitor).
+ *
+ */
+public interface ICancelChecker {
+
+	/**
+	 * Returns true if the operation is canceled and false otherwise.
+	 * 
+	 * @return true if the operation is canceled and false otherwise.
+	 */
+	boolean isCanceled();
+}
@@ -0,0 +1,259 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.nodejs;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ts.OS;
+import ts.utils.FileUtils;
+import ts.utils.IOUtils;
+import ts.utils.ProcessHelper;
+import ts.utils.StringUtils;
+
+/**
+ * Registry of the node.js installations:
+ *
+ * <ul>
+ * <li>the candidates (PATH, known locations, nvm folders) are discovered once
+ * and can be refreshed in background with {@link #refreshAsync()}.</li>
+ * <li>the version and the architecture of a node.js binary are probed once
+ * ("node -p process.version") and cached with the path and the modification
+ * time of the binary: an updated binary is probed again.</li>
+ * </ul>
+ *
+ * The registry is shared by the core and the IDE, see
+ * {@link NodejsProcessHelper}.
+ */
+public class NodejsInstallRegistry {
+
+	private static final String NODE_FILENAME = "node";
+	private static final String PROBE_SCRIPT = "process.version + ' ' + process.arch";
+
+	private static final Map<OS, NodejsInstallRegistry> REGISTRIES = new EnumMap<OS, NodejsInstallRegistry>(
+			OS.class);
+
+	// node.js binaries infos, keyed by absolute path.
+	private static final Map<String, NodejsInfo> INFOS = new ConcurrentHashMap<String, NodejsInfo>();
+
+	private final OS os;
+	private volatile List<File> installations;
+	private volatile File pathNode;
+	private Thread refreshThread;
+
+	/**
+	 * Version and architecture of a node.js binary.
+	 */
+	public static class NodejsInfo {
+
+		private final long lastModified;
+		private final long length;
+		private final String version;
+		private final String arch;
+
+		NodejsInfo(long lastModified, long length, String version, String arch) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.version = version;
+			this.arch = arch;
+		}
+
+		/**
+		 * Returns the version (ex: "v6.9.1") and null if the binary cannot
+		 * be executed.
+		 */
+		public String getVersion() {
+			return version;
+		}
+
+		/**
+		 * Returns the architecture (ex: "x64") and null if the binary cannot
+		 * be executed.
+		 */
+		public String getArch() {
+			return arch;
+		}
+	}
+
+	private NodejsInstallRegistry(OS os) {
+		this.os = os;
+	}
+
+	public static NodejsInstallRegistry getInstance(OS os) {
+		synchronized (REGISTRIES) {
+			NodejsInstallRegistry registry = REGISTRIES.get(os);
+			if (registry == null) {
+				registry = new NodejsInstallRegistry(os);
+				REGISTRIES.put(os, registry);
+			}
+			return registry;
+		}
+	}
+
+	/**
+	 * Returns the node.js binaries found in the PATH, the known locations and
+	 * the nvm folders.
+	 *
+	 * @return the node.js binaries found in the PATH, the known locations and
+	 *         the nvm folders.
+	 */
+	public List<File> getInstallations() {
+		List<File> installations = this.installations;
+		if (installations == null) {
+			installations = discover();
+		}
+		return installations;
+	}
+
+	/**
+	 * Returns the node.js binary of the PATH and null otherwise.
+	 *
+	 * @return the node.js binary of the PATH and null otherwise.
+	 */
+	public File findNode() {
+		getInstallations();
+		return pathNode;
+	}
+
+	/**
+	 * Returns the version and architecture of the given node.js binary.
+	 *
+	 * @param nodejsFile
+	 * @return the version and architecture of the given node.js binary.
+	 */
+	public static NodejsInfo getInfo(File nodejsFile) {
+		String key = FileUtils.getPath(nodejsFile.getAbsoluteFile());
+		long lastModified = nodejsFile.lastModified();
+		long length = nodejsFile.length();
+		NodejsInfo info = INFOS.get(key);
+		if (info != null && info.lastModified == lastModified && info.length == length) {
+			return info;
+		}
+		info = probe(nodejsFile, lastModified, length);
+		INFOS.put(key, info);
+		return info;
+	}
+
+	/**
+	 * Returns the version of the given node.js binary and null otherwise.
+	 *
+	 * @param nodejsFile
+	 * @return the version of the given node.js binary and null otherwise.
+	 */
+	public static String getVersion(File nodejsFile) {
+		return nodejsFile != null ? getInfo(nodejsFile).getVersion() : null;
+	}
+
+	/**
+	 * Discover again the installations and probe them in a background thread.
+	 */
+	public synchronized void refreshAsync() {
+		if (refreshThread != null && refreshThread.isAlive()) {
+			return;
+		}
+		refreshThread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				for (File installation : discover()) {
+					getInfo(installation);
+				}
+			}
+		}, "node.js discovery");
+		refreshThread.setDaemon(true);
+		refreshThread.start();
+	}
+
+	private synchronized List<File> discover() {
+		Set<File> candidates = new LinkedHashSet<File>();
+		String extension = os == OS.Windows ? ".exe" : null;
+		File pathNode = ProcessHelper.findLocation(NODE_FILENAME, os, extension);
+		if (pathNode != null) {
+			candidates.add(pathNode.getAbsoluteFile());
+		}
+		for (String path : NodejsProcessHelper.getDefaultNodejsPaths(os)) {
+			File file = new File(path);
+			if (file.isAbsolute() && file.isFile()) {
+				candidates.add(file);
+			}
+		}
+		addNvmInstallations(candidates);
+		this.pathNode = pathNode;
+		List<File> installations = Collections.unmodifiableList(new ArrayList<File>(candidates));
+		this.installations = installations;
+		return installations;
+	}
+
+	/**
+	 * Add the node.js installed with nvm ($NVM_DIR/versions/node/v*&#47;bin/node)
+	 * or nvm-windows (%NVM_HOME%\v*\node.exe).
+	 */
+	private void addNvmInstallations(Set<File> candidates) {
+		File[] versionDirs;
+		String binary;
+		if (os == OS.Windows) {
+			String nvmHome = System.getenv("NVM_HOME");
+			if (StringUtils.isEmpty(nvmHome)) {
+				return;
+			}
+			versionDirs = new File(nvmHome).listFiles();
+			binary = "node.exe";
+		} else {
+			String nvmDir = System.getenv("NVM_DIR");
+			File dir = !StringUtils.isEmpty(nvmDir) ? new File(nvmDir)
+					: new File(System.getProperty("user.home"), ".nvm");
+			versionDirs = new File(dir, "versions/node").listFiles();
+			binary = "bin/node";
+		}
+		if (versionDirs == null) {
+			return;
+		}
+		Arrays.sort(versionDirs);
+		for (File versionDir : versionDirs) {
+			File file = new File(versionDir, binary);
+			if (file.isFile()) {
+				candidates.add(file);
+			}
+		}
+	}
+
+	private static NodejsInfo probe(File nodejsFile, long lastModified, long length) {
+		BufferedReader reader = null;
+		try {
+			String[] command = { FileUtils.getPath(nodejsFile), "-p", PROBE_SCRIPT };
+			Process p = Runtime.getRuntime().exec(command);
+			reader = new BufferedReader(new InputStreamReader(p.getInputStream()));
+			String line = reader.readLine();
+			if (!StringUtils.isEmpty(line)) {
+				int index = line.indexOf(' ');
+				return index != -1
+						? new NodejsInfo(lastModified, length, line.substring(0, index), line.substring(index + 1))
+						: new NodejsInfo(lastModified, length, line, null);
+			}
+		} catch (IOException e) {
+			// not a node.js binary
+		} finally {
+			IOUtils.closeQuietly(reader);
+		}
+		return new NodejsInfo(lastModified, length, null, null);
+	}
+}
@@ -10,18 +10,12 @@
  */
 package ts.nodejs;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import ts.OS;
-import ts.utils.FileUtils;
-import ts.utils.IOUtils;
-import ts.utils.ProcessHelper;
 import ts.utils.StringUtils;
 
 /**
@@ -79,39 +73,36 @@ public class NodejsProcessHelper {
 		}
 	}
 
+	/**
+	 * Returns the node.js installations (PATH, known locations, nvm folders)
+	 * followed by the default paths.
+	 * 
+	 * @param os
+	 * @return the node.js installations followed by the default paths.
+	 */
 	public static String[] getNodejsPaths(OS os) {
-		List<String> paths = new ArrayList<>(Arrays.asList(getDefaultNodejsPaths(os)));
-		File nodeFile = findNode(os);
-		if (nodeFile != null) {
-			paths.add(0, nodeFile.getAbsolutePath());
+		Set<String> paths = new LinkedHashSet<>();
+		for (File installation : NodejsInstallRegistry.getInstance(os).getInstallations()) {
+			paths.add(installation.getAbsolutePath());
 		}
+		paths.addAll(Arrays.asList(getDefaultNodejsPaths(os)));
 		return paths.toArray(StringUtils.EMPTY_STRING);
 	}
 
 	public static File findNode(OS os) {
-		String extension = os == OS.Windows ? ".exe" : null;
-		return ProcessHelper.findLocation(NODE_FILENAME, os, extension);
+		return NodejsInstallRegistry.getInstance(os).findNode();
 	}
 
 	/**
-	 * Returns the nodejs version and null otherwise.
+	 * Returns the nodejs version and null otherwise. The version is cached
+	 * while the nodejs file is not modified.
 	 * 
 	 * @param nodejsFile
 	 * @return the nodejs version and null otherwise.
 	 */
 	public static String getNodeVersion(File nodejsFile) {
 		if (nodejsFile != null) {
-			BufferedReader reader = null;
-			try {
-				String command = FileUtils.getPath(nodejsFile) + " --version";
-				Process p = Runtime.getRuntime().exec(command);
-				reader = new BufferedReader(new InputStreamReader(p.getInputStream()));
-				return reader.readLine();
-			} catch (IOException e) {
-				return null;
-			} finally {
-				IOUtils.closeQuietly(reader);
-			}
+			return NodejsInstallRegistry.getVersion(nodejsFile);
 		}
 		return null;
 	}
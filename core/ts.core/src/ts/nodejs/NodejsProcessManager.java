@@ -39,6 +39,12 @@ public class NodejsProcessManager {
 	 */
 	private final List<INodejsProcess> processes;
 
+	/**
+	 * Scheduler which limits the number of command processes (tsc, etc)
+	 * running at the same time.
+	 */
+	private final NodejsProcessScheduler scheduler;
+
 	/**
 	 * Listener added for each process created.
 	 */
@@ -65,6 +71,17 @@ public class NodejsProcessManager {
 
 	public NodejsProcessManager() {
 		this.processes = new ArrayList<INodejsProcess>();
+		this.scheduler = new NodejsProcessScheduler();
+		this.scheduler.configure(System.getProperties());
+	}
+
+	/**
+	 * Returns the scheduler to use to start a command process (tsc, etc).
+	 * 
+	 * @return the scheduler to use to start a command process (tsc, etc).
+	 */
+	public NodejsProcessScheduler getScheduler() {
+		return scheduler;
 	}
 
 	/**
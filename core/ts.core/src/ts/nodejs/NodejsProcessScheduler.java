@@ -0,0 +1,373 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.nodejs;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import ts.client.metrics.LatencyHistogram;
+
+/**
+ * Scheduler which limits the number of node.js command processes (tsc,
+ * tslint, etc) running at the same time:
+ *
+ * <ul>
+ * <li>a global limit and a limit per kind of process (ex: "tsc").</li>
+ * <li>the waiting processes are started by priority (interactive before
+ * background) and then in the order of their request.</li>
+ * <li>a waiting process can be canceled with a {@link ICancelChecker}.</li>
+ * <li>the queue wait time is measured per kind of process.</li>
+ * <li>the limits can be configured with the system properties
+ * "ts.nodejs.maxProcesses" (global limit) and "ts.nodejs.maxProcesses.tsc"
+ * (limit of the "tsc" processes), see {@link #configure(Properties)}.</li>
+ * </ul>
+ *
+ * Usage:
+ *
+ * <pre>
+ * Permit permit = scheduler.acquire("tsc", Priority.BACKGROUND, cancelChecker);
+ * try {
+ * 	// start the process and wait for its end.
+ * } finally {
+ * 	permit.release();
+ * }
+ * </pre>
+ */
+public class NodejsProcessScheduler {
+
+	public static final int DEFAULT_MAX_PROCESSES = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+	public static final String MAX_PROCESSES_PROPERTY = "ts.nodejs.maxProcesses";
+
+	private static final long CANCEL_CHECK_INTERVAL = 100;
+
+	/**
+	 * Priority of a process.
+	 */
+	public enum Priority {
+		INTERACTIVE, BACKGROUND;
+	}
+
+	private static final Comparator<Ticket> TICKET_COMPARATOR = new Comparator<Ticket>() {
+
+		@Override
+		public int compare(Ticket t1, Ticket t2) {
+			int result = t1.priority.compareTo(t2.priority);
+			if (result != 0) {
+				return result;
+			}
+			return t1.sequence < t2.sequence ? -1 : (t1.sequence == t2.sequence ? 0 : 1);
+		}
+	};
+
+	private final Object lock;
+	private final TreeSet<Ticket> queue;
+	private final Map<String, Integer> maxProcessesByKind;
+	private final Map<String, Integer> runningByKind;
+	private int maxProcesses;
+	private int running;
+	private long sequence;
+
+	// metrics
+	private long startedCount;
+	private long totalWaitTime;
+	private long maxWaitTime;
+	// queue wait times in ms by kind
+	private final Map<String, LatencyHistogram> waitTimesByKind;
+
+	private static class Ticket {
+
+		private final String kind;
+		private final Priority priority;
+		private final long sequence;
+
+		Ticket(String kind, Priority priority, long sequence) {
+			this.kind = kind;
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+	}
+
+	/**
+	 * Permit to run a process returned by
+	 * {@link NodejsProcessScheduler#acquire(String, Priority, ICancelChecker)}.
+	 */
+	public class Permit {
+
+		private final String kind;
+		private boolean released;
+
+		private Permit(String kind) {
+			this.kind = kind;
+		}
+
+		/**
+		 * Release the permit when the process is stopped.
+		 */
+		public void release() {
+			synchronized (lock) {
+				if (released) {
+					return;
+				}
+				released = true;
+				running--;
+				runningByKind.put(kind, getRunning(kind) - 1);
+				lock.notifyAll();
+			}
+		}
+	}
+
+	public NodejsProcessScheduler() {
+		this(DEFAULT_MAX_PROCESSES);
+	}
+
+	public NodejsProcessScheduler(int maxProcesses) {
+		this.lock = new Object();
+		this.queue = new TreeSet<Ticket>(TICKET_COMPARATOR);
+		this.maxProcessesByKind = new HashMap<String, Integer>();
+		this.runningByKind = new HashMap<String, Integer>();
+		this.waitTimesByKind = new TreeMap<String, LatencyHistogram>();
+		this.maxProcesses = maxProcesses;
+	}
+
+	/**
+	 * Configure the limits with the given properties (ex : the system
+	 * properties):
+	 * 
+	 * <ul>
+	 * <li>"ts.nodejs.maxProcesses": the global maximum of running
+	 * processes.</li>
+	 * <li>"ts.nodejs.maxProcesses.&lt;kind&gt;": the maximum of running
+	 * processes of the kind (ex: "ts.nodejs.maxProcesses.tsc").</li>
+	 * </ul>
+	 * 
+	 * The invalid values are ignored.
+	 * 
+	 * @param properties
+	 *            the properties.
+	 */
+	public void configure(Properties properties) {
+		String kindPrefix = MAX_PROCESSES_PROPERTY + ".";
+		for (String name : properties.stringPropertyNames()) {
+			if (!name.startsWith(MAX_PROCESSES_PROPERTY)) {
+				continue;
+			}
+			int max;
+			try {
+				max = Integer.parseInt(properties.getProperty(name).trim());
+			} catch (NumberFormatException e) {
+				continue;
+			}
+			if (name.equals(MAX_PROCESSES_PROPERTY)) {
+				if (max > 0) {
+					setMaxProcesses(max);
+				}
+			} else if (name.startsWith(kindPrefix) && name.length() > kindPrefix.length()) {
+				setMaxProcesses(name.substring(kindPrefix.length()), max);
+			}
+		}
+	}
+
+	/**
+	 * Set the global maximum of running processes.
+	 * 
+	 * @param maxProcesses
+	 */
+	public void setMaxProcesses(int maxProcesses) {
+		synchronized (lock) {
+			this.maxProcesses = Math.max(1, maxProcesses);
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Set the maximum of running processes of the given kind.
+	 * 
+	 * @param kind
+	 *            the kind of process (ex: "tsc").
+	 * @param maxProcesses
+	 *            the maximum and a value &lt;= 0 to use only the global
+	 *            maximum.
+	 */
+	public void setMaxProcesses(String kind, int maxProcesses) {
+		synchronized (lock) {
+			if (maxProcesses > 0) {
+				maxProcessesByKind.put(kind, maxProcesses);
+			} else {
+				maxProcessesByKind.remove(kind);
+			}
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Wait until a process of the given kind can be started.
+	 * 
+	 * @param kind
+	 *            the kind of process (ex: "tsc").
+	 * @param priority
+	 *            the priority.
+	 * @param cancelChecker
+	 *            the cancel checker and null otherwise.
+	 * @return the permit to release when the process is stopped.
+	 * @throws InterruptedException
+	 * @throws CancellationException
+	 *             when the cancel checker is canceled while waiting.
+	 */
+	public Permit acquire(String kind, Priority priority, ICancelChecker cancelChecker)
+			throws InterruptedException {
+		long start = System.nanoTime();
+		synchronized (lock) {
+			Ticket ticket = new Ticket(kind, priority != null ? priority : Priority.BACKGROUND, sequence++);
+			queue.add(ticket);
+			try {
+				while (!canStart(ticket)) {
+					if (cancelChecker != null && cancelChecker.isCanceled()) {
+						throw new CancellationException("Start of " + kind + " canceled");
+					}
+					lock.wait(cancelChecker != null ? CANCEL_CHECK_INTERVAL : 0);
+				}
+			} finally {
+				queue.remove(ticket);
+				// the next tickets can perhaps be started now.
+				lock.notifyAll();
+			}
+			running++;
+			runningByKind.put(kind, getRunning(kind) + 1);
+			long waitTime = System.nanoTime() - start;
+			startedCount++;
+			totalWaitTime += waitTime;
+			maxWaitTime = Math.max(maxWaitTime, waitTime);
+			LatencyHistogram waitTimes = waitTimesByKind.get(kind);
+			if (waitTimes == null) {
+				waitTimes = new LatencyHistogram();
+				waitTimesByKind.put(kind, waitTimes);
+			}
+			waitTimes.record(TimeUnit.NANOSECONDS.toMillis(waitTime));
+			return new Permit(kind);
+		}
+	}
+
+	/**
+	 * Returns true if the given ticket can be started: a process can be started
+	 * and no ticket before it can be started.
+	 */
+	private boolean canStart(Ticket ticket) {
+		if (running >= maxProcesses) {
+			return false;
+		}
+		for (Ticket t : queue) {
+			if (hasCapacity(t.kind)) {
+				return t == ticket;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasCapacity(String kind) {
+		Integer max = maxProcessesByKind.get(kind);
+		return max == null || getRunning(kind) < max;
+	}
+
+	private int getRunning(String kind) {
+		Integer count = runningByKind.get(kind);
+		return count != null ? count : 0;
+	}
+
+	/**
+	 * Returns the number of running processes.
+	 * 
+	 * @return the number of running processes.
+	 */
+	public int getRunningCount() {
+		synchronized (lock) {
+			return running;
+		}
+	}
+
+	/**
+	 * Returns the number of processes waiting to be started.
+	 * 
+	 * @return the number of processes waiting to be started.
+	 */
+	public int getQueueLength() {
+		synchronized (lock) {
+			return queue.size();
+		}
+	}
+
+	/**
+	 * Returns the number of processes started with this scheduler.
+	 * 
+	 * @return the number of processes started with this scheduler.
+	 */
+	public long getStartedCount() {
+		synchronized (lock) {
+			return startedCount;
+		}
+	}
+
+	/**
+	 * Returns the sum of the queue wait times of the started processes.
+	 * 
+	 * @param unit
+	 * @return the sum of the queue wait times of the started processes.
+	 */
+	public long getTotalWaitTime(TimeUnit unit) {
+		synchronized (lock) {
+			return unit.convert(totalWaitTime, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Returns the histograms of the queue wait times in ms of the started
+	 * processes by kind of process, sorted by kind.
+	 * 
+	 * @return the histograms of the queue wait times in ms by kind.
+	 */
+	public Map<String, LatencyHistogram> getWaitTimes() {
+		synchronized (lock) {
+			return new TreeMap<String, LatencyHistogram>(waitTimesByKind);
+		}
+	}
+
+	/**
+	 * Reset the queue wait times.
+	 */
+	public void resetWaitTimes() {
+		synchronized (lock) {
+			startedCount = 0;
+			totalWaitTime = 0;
+			maxWaitTime = 0;
+			for (LatencyHistogram waitTimes : waitTimesByKind.values()) {
+				waitTimes.reset();
+			}
+		}
+	}
+
+	/**
+	 * Returns the longest queue wait time of the started processes.
+	 * 
+	 * @param unit
+	 * @return the longest queue wait time of the started processes.
+	 */
+	public long getMaxWaitTime(TimeUnit unit) {
+		synchronized (lock) {
+			return unit.convert(maxWaitTime, TimeUnit.NANOSECONDS);
+		}
+	}
+}
@@ -10,12 +10,14 @@
  */
 package ts.npm;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
 import ts.OS;
 import ts.utils.IOUtils;
 
@@ -26,7 +28,8 @@ import ts.utils.IOUtils;
 public class NpmHelper {
 
 	/**
-	 * Returns the available versions of the given module name.
+	 * Returns the available versions of the given module name by executing
+	 * "npm view --json moduleName versions", newest first.
 	 * 
 	 * @param moduleName
 	 * @param os
@@ -34,24 +37,31 @@ public class NpmHelper {
 	 * @throws IOException
 	 */
 	public static List<String> getVersions(String moduleName, OS os) throws IOException {
-		List<String> versions = new ArrayList<>();
-		BufferedReader reader = null;
+		JsonReader reader = null;
 		try {
 			String[] command = { os == OS.Windows ? "npm.cmd" : "npm", "view", "--json", moduleName, "versions" };
 			Process p = Runtime.getRuntime().exec(command);
-			reader = new BufferedReader(new InputStreamReader(p.getInputStream()));
-			String line;
-			while ((line = reader.readLine()) != null) {
-				line = line.trim();
-				if (line.startsWith("\"")) {
-					String version = line.substring(1, line.lastIndexOf('"'));
-					versions.add(0, version);
+			reader = new JsonReader(new InputStreamReader(p.getInputStream(), "UTF-8"));
+			List<String> versions = new ArrayList<>();
+			JsonToken token = reader.peek();
+			if (token == JsonToken.BEGIN_ARRAY) {
+				reader.beginArray();
+				while (reader.hasNext()) {
+					versions.add(reader.nextString());
 				}
+				reader.endArray();
+			} else if (token == JsonToken.STRING) {
+				// a module with one version
+				versions.add(reader.nextString());
+			} else {
+				throw new IOException("Cannot retrieve the versions of " + moduleName);
 			}
+			return new NpmVersions(versions).getVersions();
+		} catch (IllegalStateException e) {
+			throw new IOException("Cannot retrieve the versions of " + moduleName, e);
 		} finally {
 			IOUtils.closeQuietly(reader);
 		}
-		return versions;
 	}
 
 	/**
@@ -12,8 +12,8 @@ package ts.npm;
 
 import java.io.IOException;
 import java.util.List;
-
-import ts.OS;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Npm module.
@@ -24,19 +24,67 @@ import ts.OS;
 public class NpmModule {
 
 	private final String name;
-	private final OS os;
-	private List<String> versions;
+	private final NpmRegistry registry;
+	private volatile NpmVersions versions;
 
-	NpmModule(String name, OS os) {
+	NpmModule(String name, NpmRegistry registry) {
 		this.name = name;
-		this.os = os;
+		this.registry = registry;
 	}
 
+	/**
+	 * Returns the available versions, newest first. This method waits for the
+	 * load of the versions, use {@link #getAvailableVersionsAsync()} in the UI
+	 * thread.
+	 * 
+	 * @return the available versions, newest first.
+	 * @throws IOException
+	 */
 	public List<String> getAvailableVersions() throws IOException {
-		if (!isLoaded()) {
-			versions = NpmHelper.getVersions(name, os);
+		return getVersions().getVersions();
+	}
+
+	/**
+	 * Returns true if the given version is available and false otherwise.
+	 * 
+	 * @param version
+	 * @return true if the given version is available and false otherwise.
+	 * @throws IOException
+	 */
+	public boolean hasVersion(String version) throws IOException {
+		return getVersions().contains(version);
+	}
+
+	private NpmVersions getVersions() throws IOException {
+		NpmVersions versions = this.versions;
+		if (versions != null) {
+			return versions;
+		}
+		try {
+			return getVersionsAsync().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+		}
+	}
+
+	/**
+	 * Returns the available versions loaded in background.
+	 * 
+	 * @return the available versions loaded in background.
+	 */
+	public CompletableFuture<NpmVersions> getVersionsAsync() {
+		NpmVersions versions = this.versions;
+		if (versions != null) {
+			return CompletableFuture.completedFuture(versions);
 		}
-		return versions;
+		return registry.getVersions(name).thenApply(loaded -> {
+			NpmModule.this.versions = loaded;
+			return loaded;
+		});
 	}
 
 	public boolean isLoaded() {
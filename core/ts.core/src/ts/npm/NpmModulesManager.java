@@ -10,6 +10,7 @@
  */
 package ts.npm;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,25 +22,51 @@ import ts.OS;
  */
 public class NpmModulesManager {
 
-	private final OS os;
+	private final NpmRegistry registry;
 	private final Map<String, NpmModule> modules;
 
 	public NpmModulesManager(OS os) {
-		this.os = os;
+		this(os, null);
+	}
+
+	/**
+	 * Creates the manager.
+	 * 
+	 * @param os
+	 *            the OS used to execute npm.
+	 * @param cacheDir
+	 *            the folder where the versions of the modules are cached or
+	 *            null to cache them only in memory.
+	 */
+	public NpmModulesManager(OS os, File cacheDir) {
+		this(new NpmRegistry(null, cacheDir, os));
+	}
+
+	public NpmModulesManager(NpmRegistry registry) {
+		this.registry = registry;
 		this.modules = new HashMap<>();
 	}
 
 	public NpmModule getNPMModule(String moduleName) {
-		NpmModule module = modules.get(moduleName);
-		if (module == null) {
-			module = new NpmModule(moduleName, os);
-			modules.put(moduleName, module);
+		synchronized (modules) {
+			NpmModule module = modules.get(moduleName);
+			if (module == null) {
+				module = new NpmModule(moduleName, registry);
+				modules.put(moduleName, module);
+			}
+			return module;
 		}
-		return module;
 	}
 
 	public void resetCache(String moduleName) {
-		modules.remove(moduleName);
+		synchronized (modules) {
+			modules.remove(moduleName);
+		}
+		registry.invalidate(moduleName);
+	}
+
+	public NpmRegistry getRegistry() {
+		return registry;
 	}
 
 }
@@ -0,0 +1,354 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.npm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.GZIPInputStream;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import ts.OS;
+import ts.utils.IOUtils;
+
+/**
+ * Versions metadata of the npm modules retrieved from the npm registry:
+ *
+ * <ul>
+ * <li>the versions are loaded in background threads, the loads of the same
+ * module are shared.</li>
+ * <li>the versions are stored in a cache folder with the ETag of the registry
+ * response. An entry younger than the TTL is used without request, an older
+ * entry is revalidated with "If-None-Match".</li>
+ * <li>if the registry cannot be reached, "npm view --json module versions" is
+ * used and then the (expired) cached entry.</li>
+ * </ul>
+ */
+public class NpmRegistry {
+
+	public static final String DEFAULT_REGISTRY_URL = "https://registry.npmjs.org/";
+	public static final long DEFAULT_TTL = 60 * 60 * 1000L;
+
+	// abbreviated metadata: only the fields needed to install a package.
+	private static final String ACCEPT = "application/vnd.npm.install-v1+json; q=1.0, application/json; q=0.8";
+	private static final int CONNECT_TIMEOUT = 10000;
+	private static final int READ_TIMEOUT = 30000;
+	private static final String CACHE_EXTENSION = ".json";
+
+	private final String registryUrl;
+	private final File cacheDir;
+	private final OS os;
+	private final Map<String, CompletableFuture<NpmVersions>> loadings;
+	private final ExecutorService executor;
+	private volatile long ttl;
+
+	/**
+	 * Creates the npm registry client.
+	 *
+	 * @param registryUrl
+	 *            the registry URL or null for the npmjs registry.
+	 * @param cacheDir
+	 *            the folder of the persistent cache or null to cache only in
+	 *            memory.
+	 * @param os
+	 *            the OS used to execute npm when the registry cannot be
+	 *            reached, null to never execute npm.
+	 */
+	public NpmRegistry(String registryUrl, File cacheDir, OS os) {
+		String url = registryUrl != null ? registryUrl : DEFAULT_REGISTRY_URL;
+		this.registryUrl = url.endsWith("/") ? url : url + "/";
+		this.cacheDir = cacheDir;
+		this.os = os;
+		this.loadings = new ConcurrentHashMap<String, CompletableFuture<NpmVersions>>();
+		this.executor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "npm-registry");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.ttl = DEFAULT_TTL;
+	}
+
+	public void setTTL(long ttl) {
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Returns the versions of the given module loaded in background.
+	 *
+	 * @param moduleName
+	 * @return the versions of the given module loaded in background.
+	 */
+	public CompletableFuture<NpmVersions> getVersions(final String moduleName) {
+		CompletableFuture<NpmVersions> loading = loadings.get(moduleName);
+		if (loading != null) {
+			return loading;
+		}
+		final CompletableFuture<NpmVersions> result = new CompletableFuture<NpmVersions>();
+		loading = loadings.putIfAbsent(moduleName, result);
+		if (loading != null) {
+			return loading;
+		}
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				NpmVersions versions = null;
+				Throwable error = null;
+				try {
+					versions = loadVersions(moduleName);
+				} catch (Throwable e) {
+					error = e;
+				}
+				// remove the loading before completing it, so that a new
+				// request after the completion reloads the versions.
+				loadings.remove(moduleName, result);
+				if (error != null) {
+					result.completeExceptionally(error);
+				} else {
+					result.complete(versions);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Expire the cached versions of the given module: the next load
+	 * revalidates them with the registry.
+	 *
+	 * @param moduleName
+	 */
+	public void invalidate(String moduleName) {
+		File cacheFile = getCacheFile(moduleName);
+		if (cacheFile == null) {
+			return;
+		}
+		CacheEntry entry = readCache(cacheFile);
+		if (entry != null) {
+			entry.time = 0;
+			writeCache(cacheFile, entry);
+		}
+	}
+
+	/**
+	 * Load the versions of the given module (cache, registry, npm).
+	 */
+	NpmVersions loadVersions(String moduleName) throws IOException {
+		File cacheFile = getCacheFile(moduleName);
+		CacheEntry entry = cacheFile != null ? readCache(cacheFile) : null;
+		long now = System.currentTimeMillis();
+		if (entry != null && now - entry.time < ttl) {
+			return new NpmVersions(entry.versions);
+		}
+		try {
+			CacheEntry loaded = fetch(moduleName, entry);
+			loaded.time = now;
+			if (cacheFile != null) {
+				writeCache(cacheFile, loaded);
+			}
+			return new NpmVersions(loaded.versions);
+		} catch (IOException e) {
+			if (os != null) {
+				try {
+					List<String> versions = NpmHelper.getVersions(moduleName, os);
+					if (!versions.isEmpty()) {
+						return new NpmVersions(versions);
+					}
+				} catch (IOException e1) {
+					// use the expired entry or throw the registry error
+				}
+			}
+			if (entry != null) {
+				return new NpmVersions(entry.versions);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Request the registry (conditional request if an entry is cached).
+	 */
+	private CacheEntry fetch(String moduleName, CacheEntry entry) throws IOException {
+		URL url = new URL(registryUrl + moduleName.replace("/", "%2F"));
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			connection.setConnectTimeout(CONNECT_TIMEOUT);
+			connection.setReadTimeout(READ_TIMEOUT);
+			connection.setRequestProperty("Accept", ACCEPT);
+			connection.setRequestProperty("Accept-Encoding", "gzip");
+			if (entry != null && entry.etag != null) {
+				connection.setRequestProperty("If-None-Match", entry.etag);
+			}
+			int status = connection.getResponseCode();
+			if (status == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+				return entry;
+			}
+			if (status != HttpURLConnection.HTTP_OK) {
+				throw new IOException("npm registry returned " + status + " for " + url);
+			}
+			InputStream in = connection.getInputStream();
+			if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+				in = new GZIPInputStream(in);
+			}
+			CacheEntry loaded = new CacheEntry();
+			loaded.etag = connection.getHeaderField("ETag");
+			loaded.versions = parseRegistryVersions(in);
+			return loaded;
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	/**
+	 * Returns the keys of the "versions" object of the registry document. The
+	 * document is streamed, the version metadata are skipped.
+	 */
+	static List<String> parseRegistryVersions(InputStream in) throws IOException {
+		JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
+		try {
+			List<String> versions = new ArrayList<String>();
+			reader.beginObject();
+			while (reader.hasNext()) {
+				if ("versions".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+					reader.beginObject();
+					while (reader.hasNext()) {
+						versions.add(reader.nextName());
+						reader.skipValue();
+					}
+					reader.endObject();
+				} else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+			return versions;
+		} catch (IllegalStateException e) {
+			throw new IOException("Invalid npm registry document", e);
+		} finally {
+			IOUtils.closeQuietly(reader);
+		}
+	}
+
+	// ------------------------ Persistent cache
+
+	private File getCacheFile(String moduleName) {
+		if (cacheDir == null) {
+			return null;
+		}
+		return new File(cacheDir, moduleName.replace("/", "%2F") + CACHE_EXTENSION);
+	}
+
+	private static CacheEntry readCache(File cacheFile) {
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		JsonReader reader = null;
+		try {
+			reader = new JsonReader(new InputStreamReader(new FileInputStream(cacheFile), "UTF-8"));
+			CacheEntry entry = new CacheEntry();
+			reader.beginObject();
+			while (reader.hasNext()) {
+				String name = reader.nextName();
+				if ("etag".equals(name) && reader.peek() == JsonToken.STRING) {
+					entry.etag = reader.nextString();
+				} else if ("time".equals(name)) {
+					entry.time = reader.nextLong();
+				} else if ("versions".equals(name)) {
+					entry.versions = new ArrayList<String>();
+					reader.beginArray();
+					while (reader.hasNext()) {
+						entry.versions.add(reader.nextString());
+					}
+					reader.endArray();
+				} else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+			return entry.versions != null ? entry : null;
+		} catch (Exception e) {
+			// corrupted entry, load it again.
+			return null;
+		} finally {
+			IOUtils.closeQuietly(reader);
+		}
+	}
+
+	private static void writeCache(File cacheFile, CacheEntry entry) {
+		File dir = cacheFile.getParentFile();
+		if (!dir.exists()) {
+			dir.mkdirs();
+		}
+		// write a temporary file and rename it to never read a partial entry.
+		File tmpFile = new File(dir, cacheFile.getName() + ".tmp");
+		JsonWriter writer = null;
+		try {
+			writer = new JsonWriter(new OutputStreamWriter(new FileOutputStream(tmpFile), "UTF-8"));
+			writer.beginObject();
+			if (entry.etag != null) {
+				writer.name("etag").value(entry.etag);
+			}
+			writer.name("time").value(entry.time);
+			writer.name("versions").beginArray();
+			for (String version : entry.versions) {
+				writer.value(version);
+			}
+			writer.endArray();
+			writer.endObject();
+			writer.close();
+			writer = null;
+			if (!tmpFile.renameTo(cacheFile)) {
+				cacheFile.delete();
+				tmpFile.renameTo(cacheFile);
+			}
+		} catch (IOException e) {
+			// the cache is an optimization.
+			tmpFile.delete();
+		} finally {
+			IOUtils.closeQuietly(writer);
+		}
+	}
+
+	private static class CacheEntry {
+
+		String etag;
+		long time;
+		List<String> versions;
+	}
+
+	/**
+	 * Stop the background threads.
+	 */
+	public void dispose() {
+		executor.shutdownNow();
+	}
+}
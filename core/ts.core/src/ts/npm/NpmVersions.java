@@ -0,0 +1,187 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.npm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Versions of a npm module sorted with the semver precedence, newest first.
+ *
+ */
+public class NpmVersions {
+
+	/**
+	 * Semver comparator: "major.minor.patch" are compared numerically, a
+	 * pre-release version ("1.0.0-beta.2") has a lower precedence than the
+	 * release, pre-release identifiers are compared numerically or
+	 * lexically and build metadata ("+...") is ignored. Versions which are not
+	 * semver are compared lexically after the semver versions.
+	 */
+	public static final Comparator<String> SEMVER_COMPARATOR = new Comparator<String>() {
+
+		@Override
+		public int compare(String v1, String v2) {
+			long[] core1 = parseCore(v1);
+			long[] core2 = parseCore(v2);
+			if (core1 == null || core2 == null) {
+				if (core1 != null) {
+					return -1;
+				}
+				if (core2 != null) {
+					return 1;
+				}
+				return v1.compareTo(v2);
+			}
+			for (int i = 0; i < 3; i++) {
+				if (core1[i] != core2[i]) {
+					return core1[i] < core2[i] ? -1 : 1;
+				}
+			}
+			return comparePreRelease(getPreRelease(v1), getPreRelease(v2));
+		}
+	};
+
+	private final List<String> versions;
+	private final Set<String> versionsSet;
+
+	public NpmVersions(Collection<String> versions) {
+		String[] sorted = versions.toArray(new String[versions.size()]);
+		Arrays.sort(sorted, Collections.reverseOrder(SEMVER_COMPARATOR));
+		this.versions = Collections.unmodifiableList(Arrays.asList(sorted));
+		this.versionsSet = new HashSet<String>(this.versions);
+	}
+
+	/**
+	 * Returns the versions, newest first.
+	 *
+	 * @return the versions, newest first.
+	 */
+	public List<String> getVersions() {
+		return versions;
+	}
+
+	/**
+	 * Returns true if the given version exists and false otherwise.
+	 *
+	 * @param version
+	 * @return true if the given version exists and false otherwise.
+	 */
+	public boolean contains(String version) {
+		return versionsSet.contains(version);
+	}
+
+	/**
+	 * Returns the versions which start with the given prefix (case
+	 * insensitive), newest first.
+	 *
+	 * @param prefix
+	 * @return the versions which start with the given prefix.
+	 */
+	public List<String> getVersions(String prefix) {
+		if (prefix == null || prefix.isEmpty()) {
+			return versions;
+		}
+		List<String> result = new ArrayList<String>();
+		for (String version : versions) {
+			if (version.regionMatches(true, 0, prefix, 0, prefix.length())) {
+				result.add(version);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns "major.minor.patch" of the given version and null if it's not a
+	 * semver version.
+	 */
+	private static long[] parseCore(String version) {
+		int end = version.length();
+		for (int i = 0; i < version.length(); i++) {
+			char c = version.charAt(i);
+			if (c == '-' || c == '+') {
+				end = i;
+				break;
+			}
+		}
+		String[] parts = version.substring(0, end).split("\\.");
+		if (parts.length != 3) {
+			return null;
+		}
+		long[] core = new long[3];
+		for (int i = 0; i < 3; i++) {
+			if (!isNumeric(parts[i])) {
+				return null;
+			}
+			try {
+				core[i] = Long.parseLong(parts[i]);
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		return core;
+	}
+
+	private static String getPreRelease(String version) {
+		int build = version.indexOf('+');
+		if (build != -1) {
+			version = version.substring(0, build);
+		}
+		int index = version.indexOf('-');
+		return index != -1 ? version.substring(index + 1) : null;
+	}
+
+	private static int comparePreRelease(String pre1, String pre2) {
+		if (pre1 == null || pre2 == null) {
+			// a release has a higher precedence than a pre-release
+			return pre1 == null ? (pre2 == null ? 0 : 1) : -1;
+		}
+		String[] ids1 = pre1.split("\\.");
+		String[] ids2 = pre2.split("\\.");
+		for (int i = 0; i < ids1.length && i < ids2.length; i++) {
+			String id1 = ids1[i];
+			String id2 = ids2[i];
+			boolean numeric1 = isNumeric(id1);
+			boolean numeric2 = isNumeric(id2);
+			int result;
+			if (numeric1 && numeric2) {
+				result = id1.length() != id2.length() ? id1.length() - id2.length() : id1.compareTo(id2);
+			} else if (numeric1 || numeric2) {
+				// numeric identifiers have a lower precedence
+				result = numeric1 ? -1 : 1;
+			} else {
+				result = id1.compareTo(id2);
+			}
+			if (result != 0) {
+				return result;
+			}
+		}
+		return ids1.length - ids2.length;
+	}
+
+	private static boolean isNumeric(String s) {
+		if (s.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < s.length(); i++) {
+			if (!Character.isDigit(s.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -39,8 +39,10 @@ public interface ITypeScriptRepository {
 	 * The TypeScript base directory.
 	 * 
 	 * @return the TypeScript base directory.
+	 * @throws TypeScriptRepositoryException
+	 *             if the TypeScript directory cannot be extracted.
 	 */
-	File getTypesScriptDir();
+	File getTypesScriptDir() throws TypeScriptRepositoryException;
 
 	/**
 	 * Returns the TypeScript version and null otherwise.
@@ -53,8 +55,10 @@ public interface ITypeScriptRepository {
 	 * Returns the tsc file.
 	 * 
 	 * @return the tsc file.
+	 * @throws TypeScriptRepositoryException
+	 *             if the TypeScript directory cannot be extracted.
 	 */
-	File getTscFile();
+	File getTscFile() throws TypeScriptRepositoryException;
 
 	/**
 	 * Returns the tslint version and null otherwise.
@@ -67,8 +71,10 @@ public interface ITypeScriptRepository {
 	 * Returns the tslint file.
 	 * 
 	 * @return the tslint file.
+	 * @throws TypeScriptRepositoryException
+	 *             if the tslint directory cannot be extracted.
 	 */
-	File getTslintFile();
+	File getTslintFile() throws TypeScriptRepositoryException;
 
 	/**
 	 * Returns the tslint repository name.
@@ -77,7 +83,7 @@ public interface ITypeScriptRepository {
 	 */
 	String getTslintName();
 
-	File getTsserverPluginsFile();
+	File getTsserverPluginsFile() throws TypeScriptRepositoryException;
 
 	String getTslintLanguageServiceName();
 
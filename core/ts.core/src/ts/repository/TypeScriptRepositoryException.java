@@ -8,4 +8,8 @@ public class TypeScriptRepositoryException extends TypeScriptException {
 		super(message);
 	}
 
+	public TypeScriptRepositoryException(String message, Throwable e) {
+		super(message, e);
+	}
+
 }
@@ -24,6 +24,7 @@ import com.eclipsesource.json.Json;
 import com.eclipsesource.json.JsonObject;
 
 import ts.internal.repository.TypeScriptRepository;
+import ts.internal.repository.TypeScriptRepositoryArchive;
 import ts.utils.FileUtils;
 import ts.utils.IOUtils;
 import ts.utils.VersionHelper;
@@ -69,6 +70,30 @@ public class TypeScriptRepositoryManager implements ITypeScriptRepositoryManager
 		}
 	}
 
+	/**
+	 * Creates and adds a new repository whose metadata are read from the given
+	 * zip file. The zip is extracted in the given base directory only when a
+	 * file of the repository is used.
+	 *
+	 * @param archiveFile
+	 *            zip file whose entries start with the name of the base
+	 *            directory.
+	 * @param baseDir
+	 *            base directory of the extracted repository.
+	 * @return the created repository.
+	 * @throws TypeScriptRepositoryException
+	 */
+	public ITypeScriptRepository createRepository(File archiveFile, File baseDir)
+			throws TypeScriptRepositoryException {
+		synchronized (repositories) {
+			ITypeScriptRepository repository = new TypeScriptRepository(
+					new TypeScriptRepositoryArchive(archiveFile, baseDir), this);
+			repositories.put(repository.getName(), repository);
+			reset();
+			return repository;
+		}
+	}
+
 	public void reset() {
 		sortedRepositories = null;
 	}
@@ -31,6 +31,7 @@ import ts.client.format.FormatCodeSettings;
 import ts.client.jsdoc.TextInsertion;
 import ts.client.navbar.NavigationBarItemRoot;
 import ts.client.occurrences.OccurrencesResponseItem;
+import ts.client.outlining.OutliningSpan;
 import ts.client.quickinfo.QuickInfo;
 import ts.client.references.ReferencesResponseBody;
 import ts.client.rename.RenameResponseBody;
@@ -285,6 +286,13 @@ public abstract class AbstractTypeScriptFile implements ITypeScriptFile {
 		return client.getCodeFixes(this.getName(), this, startLine, startOffset, endLine, endOffset, errorCodes);
 	}
 
+	@Override
+	public CompletableFuture<List<OutliningSpan>> getOutliningSpans() throws TypeScriptException {
+		this.synch();
+		ITypeScriptServiceClient client = tsProject.getClient();
+		return client.getOutliningSpans(this.getName(), this);
+	}
+
 	@Override
 	public void compileOnSaveEmitFile(Boolean forced) throws TypeScriptException {
 		this.synch();
@@ -324,6 +332,10 @@ public abstract class AbstractTypeScriptFile implements ITypeScriptFile {
 		if (listeners.isEmpty()) {
 			return;
 		}
+		// stamp of the content sent to tsserver (read before the synch: a
+		// change done meanwhile makes the navigation items stale, never the
+		// reverse).
+		final long stamp = getModificationStamp();
 		this.synch();
 		ITypeScriptServiceClient client = tsProject.getClient();
 		if (tsProject.canSupport(CommandNames.NavTree)) {
@@ -332,17 +344,32 @@ public abstract class AbstractTypeScriptFile implements ITypeScriptFile {
 			// see
 			// https://github.com/Microsoft/TypeScript/pull/11532#issuecomment-254804923
 			client.navtree(this.getName(), this).thenAccept(item -> {
-				AbstractTypeScriptFile.this.navbar = new NavigationBarItemRoot(item);
+				NavigationBarItemRoot navbar = new NavigationBarItemRoot(item);
+				navbar.setModificationStamp(stamp);
+				AbstractTypeScriptFile.this.navbar = navbar;
 				fireNavBarListeners(navbar);
 			});
 		} else {
 			client.navbar(this.getName(), this).thenAccept(item -> {
-				AbstractTypeScriptFile.this.navbar = new NavigationBarItemRoot(item);
+				NavigationBarItemRoot navbar = new NavigationBarItemRoot(item);
+				navbar.setModificationStamp(stamp);
+				AbstractTypeScriptFile.this.navbar = navbar;
 				fireNavBarListeners(navbar);
 			});
 		}
 	}
 
+	/**
+	 * Returns the modification stamp of the content of the file and
+	 * {@link NavigationBarItemRoot#UNKNOWN_MODIFICATION_STAMP} if it's not
+	 * tracked.
+	 * 
+	 * @return the modification stamp of the content of the file.
+	 */
+	protected long getModificationStamp() {
+		return NavigationBarItemRoot.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	@Override
 	public NavigationBarItemRoot getNavBar() {
 		return navbar;
@@ -66,12 +66,12 @@ public class BasicTypeScriptProjectSettings implements ITypeScriptProjectSetting
 	}
 
 	@Override
-	public File getTscFile() {
+	public File getTscFile() throws TypeScriptException {
 		return repository.getTscFile();
 	}
 
 	@Override
-	public File getTypesScriptDir() {
+	public File getTypesScriptDir() throws TypeScriptException {
 		return repository.getTypesScriptDir();
 	}
 	
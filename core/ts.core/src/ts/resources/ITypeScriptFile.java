@@ -27,6 +27,7 @@ import ts.client.format.FormatCodeSettings;
 import ts.client.jsdoc.TextInsertion;
 import ts.client.navbar.NavigationBarItemRoot;
 import ts.client.occurrences.OccurrencesResponseItem;
+import ts.client.outlining.OutliningSpan;
 import ts.client.quickinfo.QuickInfo;
 import ts.client.references.ReferencesResponseBody;
 import ts.client.rename.RenameResponseBody;
@@ -221,6 +222,15 @@ public interface ITypeScriptFile extends IPositionProvider {
 	CompletableFuture<List<CodeAction>> getCodeFixes(int startPosition, int endPosition, List<Integer> errorCodes)
 			throws TypeScriptException;
 
+	/**
+	 * Returns the outlining spans (collapsible regions) of the file. This
+	 * command is available only since TypeScript 2.9.0.
+	 * 
+	 * @return the outlining spans of the file.
+	 * @throws TypeScriptException
+	 */
+	CompletableFuture<List<OutliningSpan>> getOutliningSpans() throws TypeScriptException;
+
 	/**
 	 * Returns the navigation bar root.
 	 * 
@@ -10,6 +10,7 @@
  */
 package ts.resources;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -18,6 +19,8 @@ import ts.client.ISupportable;
 import ts.client.ITypeScriptClientListener;
 import ts.client.ITypeScriptServiceClient;
 import ts.client.diagnostics.DiagnosticEvent;
+import ts.client.navto.NavtoItem;
+import ts.client.navto.NavtoSymbolIndex;
 import ts.cmd.tsc.CompilerOptionCapability;
 import ts.cmd.tsc.ITypeScriptCompiler;
 import ts.cmd.tslint.ITypeScriptLint;
@@ -103,4 +106,63 @@ public interface ITypeScriptProject {
 	boolean canSupport(CompilerOptionCapability option);
 
 	CompletableFuture<List<DiagnosticEvent>> geterrForProject(String file, int delay) throws TypeScriptException;
+
+	/**
+	 * Synchronize tsserver with the given files changed on the disk by an
+	 * external tool (ex: git checkout). The opened files are synchronized with
+	 * their editor content and the other files are reloaded from the disk, or
+	 * all the projects of tsserver are reloaded when there are a lot of files.
+	 * 
+	 * @param fileNames
+	 *            the changed files.
+	 * @return true if the projects of tsserver were reloaded and false
+	 *         otherwise.
+	 * @throws TypeScriptException
+	 */
+	boolean synchronizeExternalChanges(Collection<String> fileNames) throws TypeScriptException;
+
+	/**
+	 * Returns the client side index of the symbols of the project.
+	 * 
+	 * @return the client side index of the symbols of the project.
+	 */
+	NavtoSymbolIndex getSymbolIndex();
+
+	/**
+	 * Search with tsserver the symbols of the project which match the given
+	 * search value. The returned symbols are merged in the symbol index.
+	 * 
+	 * @param fileName
+	 *            a file of the project.
+	 * @param searchValue
+	 *            the search value.
+	 * @param maxResultCount
+	 *            the max number of symbols to return.
+	 * @return the matching symbols.
+	 * @throws TypeScriptException
+	 */
+	CompletableFuture<List<NavtoItem>> navto(String fileName, String searchValue, int maxResultCount)
+			throws TypeScriptException;
+
+	/**
+	 * Fill the symbol index with all the symbols of the project (if it's not
+	 * already done).
+	 * 
+	 * @param fileName
+	 *            a file of the project.
+	 * @return the future completed when the symbol index is filled.
+	 * @throws TypeScriptException
+	 */
+	CompletableFuture<Void> warmupSymbolIndex(String fileName) throws TypeScriptException;
+
+	/**
+	 * Refresh in the warm symbol index the symbols of the opened files with
+	 * their navigation tree, to take care of the changes of the editors which
+	 * were not searched with "navto".
+	 * 
+	 * @return the future completed when the symbols of the opened files are
+	 *         refreshed.
+	 * @throws TypeScriptException
+	 */
+	CompletableFuture<Void> refreshOpenedFilesSymbols() throws TypeScriptException;
 }
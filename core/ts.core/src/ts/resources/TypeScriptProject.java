@@ -12,6 +12,7 @@ package ts.resources;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,9 @@ import ts.client.TypeScriptServiceClient;
 import ts.client.completions.ICompletionEntryMatcher;
 import ts.client.completions.ICompletionEntryMatcherProvider;
 import ts.client.diagnostics.DiagnosticEvent;
+import ts.client.navbar.NavigationBarItem;
+import ts.client.navto.NavtoItem;
+import ts.client.navto.NavtoSymbolIndex;
 import ts.client.projectinfo.ProjectInfo;
 import ts.cmd.tsc.CompilerOptionCapability;
 import ts.cmd.tsc.ITypeScriptCompiler;
@@ -42,6 +46,12 @@ import ts.cmd.tslint.TypeScriptLint;
  */
 public class TypeScriptProject implements ITypeScriptProject, ICompletionEntryMatcherProvider {
 
+	// beyond this number of changed files, tsserver reloads its projects.
+	private static final int RELOAD_PROJECTS_THRESHOLD = 100;
+
+	// a symbol name starts with one of those characters (case insensitive)
+	private static final String SYMBOL_FIRST_CHARS = "abcdefghijklmnopqrstuvwxyz_$";
+
 	private final File projectDir;
 	private ITypeScriptProjectSettings projectSettings;
 
@@ -64,6 +74,11 @@ public class TypeScriptProject implements ITypeScriptProject, ICompletionEntryMa
 
 	private ProjectInfo projectInfo;
 
+	private final NavtoSymbolIndex symbolIndex;
+	private CompletableFuture<Void> symbolIndexWarmup;
+	// incremented when the symbol index is cleared to stop the warmup.
+	private int symbolIndexGeneration;
+
 	public TypeScriptProject(File projectDir, ITypeScriptProjectSettings projectSettings) {
 		this.projectDir = projectDir;
 		this.projectSettings = projectSettings;
@@ -73,6 +88,7 @@ public class TypeScriptProject implements ITypeScriptProject, ICompletionEntryMa
 		this.serverCapabilities = new HashMap<>();
 		this.compilerCapabilities = new HashMap<>();
 		this.projectInfo = null;
+		this.symbolIndex = new NavtoSymbolIndex();
 	}
 
 	protected void setProjectSettings(ITypeScriptProjectSettings projectSettings) {
@@ -101,6 +117,7 @@ public class TypeScriptProject implements ITypeScriptProject, ICompletionEntryMa
 		getClient().closeFile(name);
 		((AbstractTypeScriptFile) tsFile).setOpened(false);
 		this.openedFiles.remove(name);
+		refreshSymbols(name);
 	}
 
 	@Override
@@ -162,6 +179,7 @@ public class TypeScriptProject implements ITypeScriptProject, ICompletionEntryMa
 	@Override
 	public void dispose() throws TypeScriptException {
 		disposeServer();
+		disposeTslint();
 		getProjectSettings().dispose();
 	}
 
@@ -257,6 +275,7 @@ public class TypeScriptProject implements ITypeScriptProject, ICompletionEntryMa
 		}
 		serverCapabilities.clear();
 		supportedCodeFixes = null;
+		clearSymbols();
 	}
 
 	@Override
@@ -307,7 +326,7 @@ public class TypeScriptProject implements ITypeScriptProject, ICompletionEntryMa
 	@Override
 	public void disposeTslint() {
 		if (tslint != null) {
-			// tslint.dispose();
+			tslint.dispose();
 			tslint = null;
 		}
 	}
@@ -376,4 +395,161 @@ public class TypeScriptProject implements ITypeScriptProject, ICompletionEntryMa
 		}
 
 	}
+
+	@Override
+	public boolean synchronizeExternalChanges(Collection<String> fileNames) throws TypeScriptException {
+		ITypeScriptServiceClient client;
+		synchronized (serverLock) {
+			if (!hasClient()) {
+				// tsserver will read the files when it will be started.
+				return false;
+			}
+			client = this.client;
+		}
+		List<ITypeScriptFile> openedFiles = new ArrayList<ITypeScriptFile>();
+		List<String> closedFiles = new ArrayList<String>();
+		for (String fileName : fileNames) {
+			ITypeScriptFile tsFile = getOpenedFile(fileName);
+			if (tsFile != null) {
+				openedFiles.add(tsFile);
+			} else {
+				closedFiles.add(fileName);
+			}
+		}
+		// the content of an opened file is the content of its editor (which
+		// is reloaded by the editor when the file is changed on the disk).
+		for (ITypeScriptFile tsFile : openedFiles) {
+			tsFile.synch();
+		}
+		if (closedFiles.size() > RELOAD_PROJECTS_THRESHOLD && canSupport(CommandNames.ReloadProjects)) {
+			client.reloadProjects();
+			clearSymbols();
+			return true;
+		}
+		for (String fileName : closedFiles) {
+			client.reloadFile(fileName);
+			refreshSymbols(fileName);
+		}
+		return false;
+	}
+
+	@Override
+	public NavtoSymbolIndex getSymbolIndex() {
+		return symbolIndex;
+	}
+
+	@Override
+	public CompletableFuture<List<NavtoItem>> navto(String fileName, String searchValue, int maxResultCount)
+			throws TypeScriptException {
+		return getClient().navto(fileName, searchValue, maxResultCount, null).thenApply(items -> {
+			if (items == null) {
+				items = new ArrayList<NavtoItem>();
+			}
+			symbolIndex.reconcile(searchValue, items, items.size() < maxResultCount);
+			return items;
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> warmupSymbolIndex(String fileName) throws TypeScriptException {
+		synchronized (symbolIndex) {
+			if (symbolIndexWarmup != null) {
+				return symbolIndexWarmup;
+			}
+			// tsserver returns a symbol for a search of one character when
+			// its name starts with this character: searching all the first
+			// characters returns all the symbols of the project. The searches
+			// are sent one after the other to not flood tsserver.
+			ITypeScriptServiceClient client = getClient();
+			int generation = symbolIndexGeneration;
+			CompletableFuture<Void> searches = CompletableFuture.completedFuture(null);
+			for (int i = 0; i < SYMBOL_FIRST_CHARS.length(); i++) {
+				String searchValue = String.valueOf(SYMBOL_FIRST_CHARS.charAt(i));
+				searches = searches.thenCompose(v -> warmupSymbols(client, fileName, searchValue, generation));
+			}
+			CompletableFuture<Void> warmup = searches;
+			symbolIndexWarmup = warmup;
+			return warmup.whenComplete((result, e) -> {
+				synchronized (symbolIndex) {
+					if (symbolIndexWarmup != warmup) {
+						// the index was cleared during the warmup.
+						return;
+					}
+					if (e != null) {
+						symbolIndexWarmup = null;
+					} else {
+						symbolIndex.setWarm(true);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Add to the symbol index the symbols which start with the given search
+	 * value, if the index was not cleared since the start of the warmup.
+	 */
+	private CompletableFuture<Void> warmupSymbols(ITypeScriptServiceClient client, String fileName,
+			String searchValue, int generation) {
+		synchronized (symbolIndex) {
+			if (symbolIndexGeneration != generation) {
+				// the index was cleared during the warmup.
+				return CompletableFuture.completedFuture(null);
+			}
+		}
+		try {
+			return client.navto(fileName, searchValue, null, null).thenAccept(items -> symbolIndex.add(items));
+		} catch (TypeScriptException e) {
+			CompletableFuture<Void> result = new CompletableFuture<Void>();
+			result.completeExceptionally(e);
+			return result;
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> refreshOpenedFilesSymbols() throws TypeScriptException {
+		if (!symbolIndex.isWarm()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		List<ITypeScriptFile> files = new ArrayList<ITypeScriptFile>(openedFiles.values());
+		CompletableFuture<?>[] refreshes = new CompletableFuture<?>[files.size()];
+		for (int i = 0; i < refreshes.length; i++) {
+			ITypeScriptFile tsFile = files.get(i);
+			// send the last changes of the editor before computing its symbols.
+			tsFile.synch();
+			refreshes[i] = refreshSymbols(tsFile.getName());
+		}
+		return CompletableFuture.allOf(refreshes);
+	}
+
+	/**
+	 * Refresh the symbols of the given file in the symbol index with the
+	 * navigation tree of the file. A symbol index which is not warm is filled
+	 * only by the "navto" results.
+	 * 
+	 * @param fileName
+	 *            the file name.
+	 * @return the future completed when the symbols of the file are refreshed.
+	 */
+	private CompletableFuture<Void> refreshSymbols(String fileName) {
+		if (!symbolIndex.isWarm() || !canSupport(CommandNames.NavTree)) {
+			return CompletableFuture.completedFuture(null);
+		}
+		try {
+			CompletableFuture<NavigationBarItem> navtree = getClient().navtree(fileName, null);
+			return navtree.thenAccept(
+					root -> symbolIndex.replaceFile(fileName, NavtoSymbolIndex.getSymbols(fileName, root)));
+		} catch (TypeScriptException e) {
+			e.printStackTrace();
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
+	private void clearSymbols() {
+		synchronized (symbolIndex) {
+			symbolIndexWarmup = null;
+			symbolIndexGeneration++;
+			symbolIndex.clear();
+		}
+	}
 }
@@ -0,0 +1,45 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.resources.jsonconfig;
+
+/**
+ * Pojo for a tsconfig.json project reference ("references" section).
+ *
+ */
+public class ProjectReference {
+
+	private String path;
+
+	private Boolean prepend;
+
+	/**
+	 * Returns the path of the referenced tsconfig.json file or of the folder
+	 * which hosts it.
+	 * 
+	 * @return the path of the referenced tsconfig.json file or of the folder
+	 *         which hosts it.
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	public Boolean getPrepend() {
+		return prepend;
+	}
+
+	public void setPrepend(Boolean prepend) {
+		this.prepend = prepend;
+	}
+}
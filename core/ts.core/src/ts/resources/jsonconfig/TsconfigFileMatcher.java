@@ -0,0 +1,405 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.resources.jsonconfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ts.utils.FileUtils;
+
+/**
+ * Matcher of the tsconfig.json "files", "include" and "exclude" sections,
+ * compiled once per tsconfig.json:
+ *
+ * <ul>
+ * <li>"files" is a hash set of normalized paths.</li>
+ * <li>"include" and "exclude" are glob patterns compiled to segment automatons
+ * with the tsc semantic: "*" matches zero or more characters and "?" one
+ * character (excluding "/"), "**&#47;" matches any directory nested to any
+ * level, a last segment without extension and wildcard is a directory, an
+ * exclude pattern excludes the matched directory and its content. Wildcards of
+ * "include" don't match names starting with "." and "**" doesn't match
+ * node_modules, bower_components and jspm_packages.</li>
+ * <li>without "files" and "include", "include" is "**&#47;*".</li>
+ * <li>"exclude" doesn't apply to "files".</li>
+ * </ul>
+ *
+ * Paths are relative to the folder of the tsconfig.json and use "/" as
+ * separator. The file extension is not checked, it's the responsibility of the
+ * caller. The decisions are cached per path.
+ */
+public class TsconfigFileMatcher {
+
+	private static final String[] DEFAULT_INCLUDE = { "**/*" };
+	private static final String[] IMPLICIT_EXCLUDE = { FileUtils.NODE_MODULES, FileUtils.BOWER_COMPONENTS,
+			"jspm_packages" };
+	private static final int MAX_CACHE_SIZE = 100000;
+
+	private final Set<String> files;
+	private final Set<String> filesDirectories;
+	private final List<Pattern> includes;
+	private final List<Pattern> excludes;
+	private final Map<String, Boolean> fileCache;
+	private final Map<String, Boolean> directoryCache;
+
+	/**
+	 * Compile the given tsconfig.json sections.
+	 *
+	 * @param files
+	 *            the "files" section or null.
+	 * @param include
+	 *            the "include" section or null.
+	 * @param exclude
+	 *            the "exclude" section (or the default exclude).
+	 */
+	public TsconfigFileMatcher(Collection<String> files, Collection<String> include, Collection<String> exclude) {
+		this.files = new HashSet<String>();
+		this.filesDirectories = new HashSet<String>();
+		if (files != null) {
+			for (String file : files) {
+				String path = normalize(file);
+				this.files.add(path);
+				// register the parent directories to match folders which
+				// contain a declared file.
+				int index = path.lastIndexOf('/');
+				while (index != -1) {
+					path = path.substring(0, index);
+					filesDirectories.add(path);
+					index = path.lastIndexOf('/');
+				}
+				filesDirectories.add("");
+			}
+		}
+		this.includes = new ArrayList<Pattern>();
+		if (include != null || files == null) {
+			for (String pattern : include != null ? include : Arrays.asList(DEFAULT_INCLUDE)) {
+				includes.add(new Pattern(normalize(pattern), true));
+			}
+		}
+		this.excludes = new ArrayList<Pattern>();
+		if (exclude != null) {
+			for (String pattern : exclude) {
+				excludes.add(new Pattern(normalize(pattern), false));
+			}
+		}
+		this.fileCache = new ConcurrentHashMap<String, Boolean>();
+		this.directoryCache = new ConcurrentHashMap<String, Boolean>();
+	}
+
+	/**
+	 * Returns true if the given path is in the scope of the tsconfig.json and
+	 * false otherwise. A directory is in the scope if it can contain a file in
+	 * the scope.
+	 *
+	 * @param path
+	 *            the path relative to the tsconfig.json folder.
+	 * @param directory
+	 *            true if the path is a directory and false otherwise.
+	 * @return true if the given path is in the scope of the tsconfig.json and
+	 *         false otherwise.
+	 */
+	public boolean isInScope(String path, boolean directory) {
+		Map<String, Boolean> cache = directory ? directoryCache : fileCache;
+		Boolean result = cache.get(path);
+		if (result == null) {
+			result = computeInScope(normalize(path), directory);
+			if (cache.size() >= MAX_CACHE_SIZE) {
+				cache.clear();
+			}
+			cache.put(path, result);
+		}
+		return result;
+	}
+
+	private boolean computeInScope(String path, boolean directory) {
+		if (directory ? filesDirectories.contains(path) : files.contains(path)) {
+			return true;
+		}
+		if (includes.isEmpty()) {
+			return false;
+		}
+		String[] segments = split(path);
+		if (isExcluded(segments)) {
+			return false;
+		}
+		for (Pattern include : includes) {
+			if (directory ? include.canContain(segments) : include.matches(segments)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the given file is declared in the "files" section and
+	 * false otherwise.
+	 *
+	 * @param path
+	 *            the path relative to the tsconfig.json folder.
+	 * @param directory
+	 *            true if the path is a directory and false otherwise.
+	 * @return true if the given file (or a file of the given directory) is
+	 *         declared in the "files" section and false otherwise.
+	 */
+	public boolean isInFiles(String path, boolean directory) {
+		path = normalize(path);
+		return directory ? filesDirectories.contains(path) : files.contains(path);
+	}
+
+	/**
+	 * Returns true if the given path (or one of its parent directory) is
+	 * matched by the "exclude" section and false otherwise.
+	 *
+	 * @param path
+	 *            the path relative to the tsconfig.json folder.
+	 * @return true if the given path is excluded and false otherwise.
+	 */
+	public boolean isExcluded(String path) {
+		return isExcluded(split(normalize(path)));
+	}
+
+	private boolean isExcluded(String[] segments) {
+		for (Pattern exclude : excludes) {
+			if (exclude.matchesPrefix(segments)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String normalize(String path) {
+		String result = path.replace('\\', '/');
+		while (result.startsWith("./")) {
+			result = result.substring(2);
+		}
+		if (result.equals(".")) {
+			return "";
+		}
+		while (result.contains("//")) {
+			result = result.replace("//", "/");
+		}
+		if (result.endsWith("/")) {
+			result = result.substring(0, result.length() - 1);
+		}
+		return result;
+	}
+
+	private static String[] split(String path) {
+		if (path.isEmpty()) {
+			return new String[0];
+		}
+		List<String> segments = new ArrayList<String>();
+		int start = 0;
+		int index;
+		while ((index = path.indexOf('/', start)) != -1) {
+			addSegment(path.substring(start, index), segments);
+			start = index + 1;
+		}
+		addSegment(path.substring(start), segments);
+		return segments.toArray(new String[segments.size()]);
+	}
+
+	private static void addSegment(String segment, List<String> segments) {
+		if (!segment.isEmpty() && !segment.equals(".")) {
+			segments.add(segment);
+		}
+	}
+
+	/**
+	 * Glob pattern compiled to a list of segments. "**" segments are matched
+	 * with a NFA whose states are the indexes of the segments.
+	 */
+	private static class Pattern {
+
+		private static final String ANY_DIRECTORIES = "**";
+
+		private final String[] segments;
+		private final boolean[] literals;
+		private final boolean include;
+
+		Pattern(String pattern, boolean include) {
+			String[] segments = split(pattern);
+			if (include && segments.length > 0) {
+				// (an exclude pattern matches a directory and its content, see
+				// matchesPrefix)
+				String last = segments[segments.length - 1];
+				if (ANY_DIRECTORIES.equals(last) || (!hasWildcard(last) && last.indexOf('.') == -1)) {
+					// the pattern is a directory: match its content
+					String[] directory = ANY_DIRECTORIES.equals(last) ? new String[] { "*" }
+							: new String[] { ANY_DIRECTORIES, "*" };
+					String[] expanded = new String[segments.length + directory.length];
+					System.arraycopy(segments, 0, expanded, 0, segments.length);
+					System.arraycopy(directory, 0, expanded, segments.length, directory.length);
+					segments = expanded;
+				}
+			}
+			this.segments = segments;
+			this.literals = new boolean[segments.length];
+			for (int i = 0; i < segments.length; i++) {
+				literals[i] = !hasWildcard(segments[i]);
+			}
+			this.include = include;
+		}
+
+		/**
+		 * Returns true if the given path matches this pattern.
+		 */
+		boolean matches(String[] path) {
+			boolean[] states = run(path, path.length);
+			return states != null && states[segments.length];
+		}
+
+		/**
+		 * Returns true if the given path or one of its parent directory
+		 * matches this pattern (exclude semantic).
+		 */
+		boolean matchesPrefix(String[] path) {
+			boolean[] states = initialStates();
+			for (int i = 0; i < path.length; i++) {
+				states = step(states, path[i]);
+				if (states == null) {
+					return false;
+				}
+				if (states[segments.length]) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns true if a file of the given directory can match this
+		 * pattern.
+		 */
+		boolean canContain(String[] directory) {
+			boolean[] states = run(directory, directory.length);
+			if (states == null) {
+				return false;
+			}
+			// at least one segment must remain to match a file.
+			for (int i = 0; i < segments.length; i++) {
+				if (states[i]) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean[] run(String[] path, int length) {
+			boolean[] states = initialStates();
+			for (int i = 0; i < length && states != null; i++) {
+				states = step(states, path[i]);
+			}
+			return states;
+		}
+
+		private boolean[] initialStates() {
+			boolean[] states = new boolean[segments.length + 1];
+			states[0] = true;
+			closure(states);
+			return states;
+		}
+
+		private boolean[] step(boolean[] states, String segment) {
+			boolean[] next = null;
+			for (int i = 0; i < segments.length; i++) {
+				if (!states[i]) {
+					continue;
+				}
+				int target = -1;
+				if (ANY_DIRECTORIES.equals(segments[i])) {
+					if (!include || isImplicitlyIncluded(segment)) {
+						target = i;
+					}
+				} else if (matchesSegment(i, segment)) {
+					target = i + 1;
+				}
+				if (target != -1) {
+					if (next == null) {
+						next = new boolean[segments.length + 1];
+					}
+					next[target] = true;
+				}
+			}
+			if (next != null) {
+				closure(next);
+			}
+			return next;
+		}
+
+		private void closure(boolean[] states) {
+			for (int i = 0; i < segments.length; i++) {
+				if (states[i] && ANY_DIRECTORIES.equals(segments[i])) {
+					// "**" matches zero directory
+					states[i + 1] = true;
+				}
+			}
+		}
+
+		private boolean matchesSegment(int index, String segment) {
+			String pattern = segments[index];
+			if (literals[index]) {
+				return pattern.equals(segment);
+			}
+			if (include && segment.startsWith(".") && !pattern.startsWith(".")) {
+				// wildcards of "include" don't match hidden files
+				return false;
+			}
+			return matchesWildcard(pattern, 0, segment, 0);
+		}
+
+		private static boolean isImplicitlyIncluded(String segment) {
+			if (segment.startsWith(".")) {
+				return false;
+			}
+			for (String exclude : IMPLICIT_EXCLUDE) {
+				if (exclude.equals(segment)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean matchesWildcard(String pattern, int p, String text, int t) {
+			// iterative matching with backtracking on the last "*"
+			int star = -1;
+			int mark = 0;
+			while (t < text.length()) {
+				if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == text.charAt(t))) {
+					p++;
+					t++;
+				} else if (p < pattern.length() && pattern.charAt(p) == '*') {
+					star = p++;
+					mark = t;
+				} else if (star != -1) {
+					p = star + 1;
+					t = ++mark;
+				} else {
+					return false;
+				}
+			}
+			while (p < pattern.length() && pattern.charAt(p) == '*') {
+				p++;
+			}
+			return p == pattern.length();
+		}
+
+		private static boolean hasWildcard(String segment) {
+			return segment.indexOf('*') != -1 || segment.indexOf('?') != -1;
+		}
+	}
+}
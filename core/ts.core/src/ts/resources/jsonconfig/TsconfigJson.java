@@ -20,7 +20,9 @@ import java.util.List;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.annotations.SerializedName;
 
 import ts.cmd.tsc.CompilerOptions;
 import ts.utils.BooleanUtils;
@@ -46,6 +48,9 @@ public class TsconfigJson {
 	private static final String DEFAULT_MODULE_RESOLUTION = "classic";
 	private static final String[] AVAILABLE_MODULE_RESOLUTIONS = new String[] { "node", "classic" };
 
+	@SerializedName("extends")
+	private String extendsPath;
+
 	private CompilerOptions compilerOptions;
 
 	private Boolean compileOnSave;
@@ -54,15 +59,56 @@ public class TsconfigJson {
 
 	private List<String> files;
 
+	private List<String> include;
+
 	private List<String> exclude;
 
 	private List<String> defaultExclude;
 
+	private List<ProjectReference> references;
+
+	private transient TsconfigFileMatcher fileMatcher;
+
 	public TsconfigJson() {
 	}
 
+	/**
+	 * Returns the "extends" path and null if the tsconfig.json doesn't extend
+	 * an other tsconfig.json (or if "extends" is already resolved, see
+	 * {@link TsconfigJsonResolver}).
+	 * 
+	 * @return the "extends" path.
+	 */
+	public String getExtends() {
+		return extendsPath;
+	}
+
+	public void setExtends(String extendsPath) {
+		this.extendsPath = extendsPath;
+	}
+
+	/**
+	 * Returns the project "references" and null otherwise.
+	 * 
+	 * @return the project "references" and null otherwise.
+	 */
+	public List<ProjectReference> getReferences() {
+		return references;
+	}
+
+	public void setReferences(List<ProjectReference> references) {
+		this.references = references;
+	}
+
+	public boolean hasReferences() {
+		return references != null && !references.isEmpty();
+	}
+
 	public void setCompilerOptions(CompilerOptions compilerOptions) {
 		this.compilerOptions = compilerOptions;
+		// the default exclude depends on the outDir
+		this.defaultExclude = null;
+		this.fileMatcher = null;
 	}
 
 	public CompilerOptions getCompilerOptions() {
@@ -118,18 +164,34 @@ public class TsconfigJson {
 
 	public void setFiles(List<String> files) {
 		this.files = files;
+		this.fileMatcher = null;
 	}
 
 	public boolean hasFiles() {
 		return files != null;
 	}
 
+	public List<String> getInclude() {
+		return include;
+	}
+
+	public void setInclude(List<String> include) {
+		this.include = include;
+		this.fileMatcher = null;
+	}
+
+	public boolean hasInclude() {
+		return include != null;
+	}
+
 	public List<String> getExclude() {
 		return exclude;
 	}
 
 	public void setExclude(List<String> exclude) {
 		this.exclude = exclude;
+		this.defaultExclude = null;
+		this.fileMatcher = null;
 	}
 
 	public boolean hasExclude() {
@@ -205,6 +267,20 @@ public class TsconfigJson {
 		return defaultExclude;
 	}
 
+	/**
+	 * Returns the matcher of the "files", "include" and "exclude" sections.
+	 * 
+	 * @return the matcher of the "files", "include" and "exclude" sections.
+	 */
+	public TsconfigFileMatcher getFileMatcher() {
+		TsconfigFileMatcher matcher = fileMatcher;
+		if (matcher == null) {
+			matcher = new TsconfigFileMatcher(files, include, getDefaultOrDefinedExclude());
+			fileMatcher = matcher;
+		}
+		return matcher;
+	}
+
 	/**
 	 * Load tsconfig.json instance from the given reader.
 	 * 
@@ -224,6 +300,23 @@ public class TsconfigJson {
 		return o;
 	}
 
+	/**
+	 * Load tsconfig.json instance from the given JSON (ex : the JSON resolved
+	 * by {@link TsconfigJsonResolver}).
+	 * 
+	 * @param json
+	 * @param classOfT
+	 * @return tsconfig.json instance from the given JSON.
+	 */
+	public static <T extends TsconfigJson> T load(JsonElement json, Class<T> classOfT) {
+		Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+		T o = gson.fromJson(json, classOfT);
+		if (o == null) {
+			throw new JsonSyntaxException("JSON Syntax error");
+		}
+		return o;
+	}
+
 	public static <T extends TsconfigJson> T load(InputStream in, Class<T> classOfT) {
 		Reader isr = null;
 		try {
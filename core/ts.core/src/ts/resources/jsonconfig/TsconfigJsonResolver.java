@@ -0,0 +1,298 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.resources.jsonconfig;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+
+import ts.utils.FileUtils;
+import ts.utils.IOUtils;
+
+/**
+ * Resolve the "extends" chain of a tsconfig.json like tsc:
+ *
+ * <ul>
+ * <li>"compilerOptions" are merged, the options of the extending file win.
+ * </li>
+ * <li>"files", "include" and "exclude" of the extending file replace the
+ * inherited ones.</li>
+ * <li>"references" are not inherited.</li>
+ * <li>relative paths of the inherited file (files, include, exclude, outDir,
+ * rootDir, etc) are resolved relative to the file which defines them.</li>
+ * </ul>
+ *
+ * "extends" is a relative/absolute path (".json" is optional) or a module name
+ * searched in the node_modules folders.
+ */
+public class TsconfigJsonResolver {
+
+	private static final String EXTENDS = "extends";
+	private static final String COMPILER_OPTIONS = "compilerOptions";
+	private static final String REFERENCES = "references";
+	private static final String[] PATH_SECTIONS = { "files", "include", "exclude" };
+	private static final String[] PATH_OPTIONS = { "outDir", "outFile", "out", "rootDir", "baseUrl",
+			"declarationDir", "rootDirs", "typeRoots" };
+	private static final String JSON_EXTENSION = ".json";
+
+	/**
+	 * Returns the JSON of the given tsconfig.json file where "extends" is
+	 * resolved.
+	 *
+	 * @param tsconfigFile
+	 *            the tsconfig.json file.
+	 * @param extendedFiles
+	 *            list filled with the extended files (in the order of the
+	 *            chain) or null.
+	 * @return the JSON of the given tsconfig.json file where "extends" is
+	 *         resolved.
+	 * @throws IOException
+	 */
+	public static JsonObject resolve(File tsconfigFile, List<File> extendedFiles) throws IOException {
+		return resolve(tsconfigFile.getAbsoluteFile().toPath().normalize().toFile(),
+				extendedFiles != null ? extendedFiles : new ArrayList<File>(), new ArrayList<File>());
+	}
+
+	private static JsonObject resolve(File tsconfigFile, List<File> extendedFiles, List<File> chain)
+			throws IOException {
+		chain.add(tsconfigFile.getCanonicalFile());
+		JsonObject json = parse(tsconfigFile);
+		JsonElement extendsValue = json.remove(EXTENDS);
+		if (extendsValue == null || !extendsValue.isJsonPrimitive()) {
+			return json;
+		}
+		File baseFile = findExtendedFile(extendsValue.getAsString(), tsconfigFile.getParentFile());
+		if (baseFile == null || chain.contains(baseFile.getCanonicalFile())) {
+			// extended file not found or circular "extends", like tsc the
+			// base is ignored (tsc reports an error).
+			return json;
+		}
+		extendedFiles.add(baseFile);
+		JsonObject base = resolve(baseFile, extendedFiles, chain);
+		rebasePaths(base, baseFile.getParentFile(), tsconfigFile.getParentFile());
+		return merge(base, json);
+	}
+
+	private static JsonObject merge(JsonObject base, JsonObject json) {
+		JsonObject result = new JsonObject();
+		for (Map.Entry<String, JsonElement> entry : base.entrySet()) {
+			if (!REFERENCES.equals(entry.getKey())) {
+				result.add(entry.getKey(), entry.getValue());
+			}
+		}
+		for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+			String name = entry.getKey();
+			JsonElement value = entry.getValue();
+			JsonElement baseValue = result.get(name);
+			if (COMPILER_OPTIONS.equals(name) && value.isJsonObject() && baseValue != null
+					&& baseValue.isJsonObject()) {
+				JsonObject options = new JsonObject();
+				for (Map.Entry<String, JsonElement> option : baseValue.getAsJsonObject().entrySet()) {
+					options.add(option.getKey(), option.getValue());
+				}
+				for (Map.Entry<String, JsonElement> option : value.getAsJsonObject().entrySet()) {
+					options.add(option.getKey(), option.getValue());
+				}
+				result.add(name, options);
+			} else {
+				result.add(name, value);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Resolve the relative paths of the base tsconfig.json relative to the
+	 * folder of the extending tsconfig.json.
+	 */
+	private static void rebasePaths(JsonObject base, File baseDir, File dir) {
+		String prefix = getRelativePath(dir, baseDir);
+		if (prefix.isEmpty()) {
+			return;
+		}
+		for (String section : PATH_SECTIONS) {
+			rebase(base, section, prefix);
+		}
+		JsonElement options = base.get(COMPILER_OPTIONS);
+		if (options != null && options.isJsonObject()) {
+			for (String option : PATH_OPTIONS) {
+				rebase(options.getAsJsonObject(), option, prefix);
+			}
+		}
+	}
+
+	private static void rebase(JsonObject json, String name, String prefix) {
+		JsonElement value = json.get(name);
+		if (value == null) {
+			return;
+		}
+		if (value.isJsonArray()) {
+			JsonArray paths = new JsonArray();
+			for (JsonElement path : value.getAsJsonArray()) {
+				paths.add(rebase(path, prefix));
+			}
+			json.add(name, paths);
+		} else {
+			json.add(name, rebase(value, prefix));
+		}
+	}
+
+	private static JsonElement rebase(JsonElement value, String prefix) {
+		if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) {
+			return value;
+		}
+		String path = value.getAsString();
+		if (new File(path).isAbsolute()) {
+			return value;
+		}
+		while (path.startsWith("./")) {
+			path = path.substring(2);
+		}
+		return new JsonPrimitive(normalize(prefix + path));
+	}
+
+	/**
+	 * Returns the relative path (ending with "/") to go from the given folder
+	 * to the base folder and an empty string if they are the same folder.
+	 */
+	private static String getRelativePath(File from, File to) {
+		List<String> fromSegments = getSegments(from);
+		List<String> toSegments = getSegments(to);
+		int common = 0;
+		while (common < fromSegments.size() && common < toSegments.size()
+				&& fromSegments.get(common).equals(toSegments.get(common))) {
+			common++;
+		}
+		StringBuilder path = new StringBuilder();
+		for (int i = common; i < fromSegments.size(); i++) {
+			path.append("../");
+		}
+		for (int i = common; i < toSegments.size(); i++) {
+			path.append(toSegments.get(i)).append('/');
+		}
+		return path.toString();
+	}
+
+	private static List<String> getSegments(File file) {
+		List<String> segments = new ArrayList<String>();
+		File current = file.getAbsoluteFile();
+		while (current != null) {
+			String name = current.getName();
+			segments.add(0, name.isEmpty() ? current.getPath() : name);
+			current = current.getParentFile();
+		}
+		return segments;
+	}
+
+	/**
+	 * Remove the "segment/.." of the given path.
+	 */
+	private static String normalize(String path) {
+		List<String> segments = new ArrayList<String>();
+		for (String segment : path.split("/")) {
+			if (segment.equals("..") && !segments.isEmpty() && !segments.get(segments.size() - 1).equals("..")) {
+				segments.remove(segments.size() - 1);
+			} else if (!segment.isEmpty() && !segment.equals(".")) {
+				segments.add(segment);
+			}
+		}
+		StringBuilder result = new StringBuilder();
+		for (String segment : segments) {
+			if (result.length() > 0) {
+				result.append('/');
+			}
+			result.append(segment);
+		}
+		return result.length() > 0 ? result.toString() : ".";
+	}
+
+	/**
+	 * Returns the file of the given "extends" value and null if it doesn't
+	 * exist.
+	 *
+	 * @param extendsPath
+	 *            the "extends" value.
+	 * @param dir
+	 *            the folder of the extending tsconfig.json.
+	 * @return the file of the given "extends" value and null if it doesn't
+	 *         exist.
+	 */
+	public static File findExtendedFile(String extendsPath, File dir) {
+		File file = new File(extendsPath);
+		if (file.isAbsolute() || extendsPath.startsWith("./") || extendsPath.startsWith("../")) {
+			if (!file.isAbsolute()) {
+				file = new File(dir, extendsPath);
+			}
+			return findJsonFile(file);
+		}
+		// module name: search in node_modules folders
+		File current = dir;
+		while (current != null) {
+			File moduleFile = findJsonFile(new File(new File(current, FileUtils.NODE_MODULES), extendsPath));
+			if (moduleFile != null) {
+				return moduleFile;
+			}
+			current = current.getParentFile();
+		}
+		return null;
+	}
+
+	private static File findJsonFile(File file) {
+		file = file.getAbsoluteFile().toPath().normalize().toFile();
+		if (file.isFile()) {
+			return file;
+		}
+		if (!file.getName().endsWith(JSON_EXTENSION)) {
+			File jsonFile = new File(file.getPath() + JSON_EXTENSION);
+			if (jsonFile.isFile()) {
+				return jsonFile;
+			}
+		}
+		if (file.isDirectory()) {
+			File tsconfigFile = new File(file, FileUtils.TSCONFIG_JSON);
+			if (tsconfigFile.isFile()) {
+				return tsconfigFile;
+			}
+		}
+		return null;
+	}
+
+	private static JsonObject parse(File file) throws IOException {
+		Reader reader = null;
+		try {
+			reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+			// lenient to support comments
+			JsonReader jsonReader = new JsonReader(reader);
+			jsonReader.setLenient(true);
+			JsonElement json = new JsonParser().parse(jsonReader);
+			if (json == null || !json.isJsonObject()) {
+				throw new IOException("JSON object expected in " + file);
+			}
+			return json.getAsJsonObject();
+		} catch (RuntimeException e) {
+			throw new IOException("Error while parsing " + file, e);
+		} finally {
+			IOUtils.closeQuietly(reader);
+		}
+	}
+}
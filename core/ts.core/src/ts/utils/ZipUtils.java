@@ -14,10 +14,29 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
 import ts.internal.io.tar.TarEntry;
 import ts.internal.io.tar.TarException;
@@ -26,6 +45,10 @@ import ts.internal.io.tar.TarInputStream;
 /**
  * Zip, tar.gz Utilities.
  *
+ * The extraction creates each directory once, copies the entries with a large
+ * buffer and writes them in parallel. A stamp file which contains a hash of
+ * the archive content is written in the destination folder at the end of the
+ * extraction: when the stamp matches the archive, the extraction is skipped.
  */
 public class ZipUtils {
 
@@ -33,12 +56,28 @@ public class ZipUtils {
 	public static final String TAR_GZ_EXTENSION = ".tar.gz";
 	private static final String BIN_FOLDER = "/bin";
 
+	private static final String STAMP_EXTENSION = ".stamp";
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final int BUFFER_SIZE = 64 * 1024;
+	// tar entries up to this size are read in memory by the (sequential) tar
+	// reader and written by the extraction threads.
+	private static final int MAX_IN_MEMORY_ENTRY_SIZE = 256 * 1024;
+	private static final int MAX_THREADS = 4;
+	private static final int MAX_PENDING_ENTRIES = 256;
+
+	private static final ThreadLocal<byte[]> BUFFER = new ThreadLocal<byte[]>() {
+		@Override
+		protected byte[] initialValue() {
+			return new byte[BUFFER_SIZE];
+		}
+	};
+
 	private ZipUtils() {
 	}
 
 	/**
 	 * Returns true if the given file is a zip file and false otherwise.
-	 * 
+	 *
 	 * @param file
 	 * @return true if the given file is a zip file and false otherwise.
 	 */
@@ -48,7 +87,7 @@ public class ZipUtils {
 
 	/**
 	 * Returns true if the given file is a zip file and false otherwise.
-	 * 
+	 *
 	 * @param file
 	 * @return true if the given file is a zip file and false otherwise.
 	 */
@@ -57,7 +96,8 @@ public class ZipUtils {
 	}
 
 	/**
-	 * Extract zip file to destination folder.
+	 * Extract zip file to destination folder. Nothing is done if the
+	 * destination folder contains the stamp of the same zip content.
 	 *
 	 * @param file
 	 *            zip file to extract
@@ -65,59 +105,92 @@ public class ZipUtils {
 	 *            destination folder
 	 */
 	public static void extractZip(File file, File destination) throws IOException {
-		ZipInputStream in = null;
-		OutputStream out = null;
-		try {
-			// Open the ZIP file
-			in = new ZipInputStream(new FileInputStream(file));
-
-			// Get the first entry
-			ZipEntry entry = null;
+		extractZip(file, destination, null);
+	}
 
-			while ((entry = in.getNextEntry()) != null) {
-				String outFilename = entry.getName();
+	/**
+	 * Extract the entries of the zip file which start with the given prefix to
+	 * destination folder. Nothing is done if the destination folder contains
+	 * the stamp of the same entries or of the whole zip content.
+	 *
+	 * @param file
+	 *            zip file to extract
+	 * @param destination
+	 *            destination folder
+	 * @param prefix
+	 *            the prefix of the entries to extract (ex:
+	 *            "2.2.2/node_modules/typescript/") or null to extract all
+	 *            entries.
+	 */
+	public static void extractZip(File file, File destination, String prefix) throws IOException {
+		final ZipFile zipFile = new ZipFile(file);
+		try {
+			if (prefix != null && isUpToDate(getStampFile(file, destination, null), computeZipHash(zipFile, null))) {
+				// the whole zip is already extracted.
+				return;
+			}
+			String hash = computeZipHash(zipFile, prefix);
+			File stampFile = getStampFile(file, destination, prefix);
+			if (isUpToDate(stampFile, hash)) {
+				return;
+			}
+			stampFile.delete();
 
-				// Open the output file
-				File extracted = new File(destination, outFilename);
+			// collect the entries and create the directories once before
+			// extracting the files.
+			Path destinationPath = destination.toPath().toAbsolutePath().normalize();
+			Set<File> directories = new LinkedHashSet<File>();
+			List<ZipEntry> entries = new ArrayList<ZipEntry>();
+			List<File> extractedFiles = new ArrayList<File>();
+			Enumeration<? extends ZipEntry> e = zipFile.entries();
+			while (e.hasMoreElements()) {
+				ZipEntry entry = e.nextElement();
+				if (prefix != null && !entry.getName().startsWith(prefix)) {
+					continue;
+				}
+				File extracted = getDestinationFile(destinationPath, entry.getName());
 				if (entry.isDirectory()) {
-					extracted.mkdirs();
+					directories.add(extracted);
 				} else {
-					// Be sure that parent file exists
-					File baseDir = extracted.getParentFile();
-					if (!baseDir.exists()) {
-						baseDir.mkdirs();
-					}
-
-					out = new FileOutputStream(extracted);
-
-					// Transfer bytes from the ZIP file to the output file
-					byte[] buf = new byte[1024];
-					int len;
+					directories.add(extracted.getParentFile());
+					entries.add(entry);
+					extractedFiles.add(extracted);
+				}
+			}
+			createDirectories(directories);
 
-					while ((len = in.read(buf)) > 0) {
-						out.write(buf, 0, len);
-					}
+			Extractor extractor = new Extractor();
+			try {
+				for (int i = 0; i < entries.size(); i++) {
+					final ZipEntry entry = entries.get(i);
+					final File extracted = extractedFiles.get(i);
+					extractor.submit(new Callable<Void>() {
 
-					// Close the stream
-					out.close();
-					if (extracted.getParent().contains(BIN_FOLDER)) {
-						extracted.setExecutable(true);
-					}
+						@Override
+						public Void call() throws Exception {
+							InputStream in = zipFile.getInputStream(entry);
+							try {
+								write(in, extracted);
+							} finally {
+								in.close();
+							}
+							return null;
+						}
+					});
 				}
+				extractor.await();
+			} finally {
+				extractor.shutdown();
 			}
+			writeStamp(stampFile, hash);
 		} finally {
-			// Close the stream
-			if (in != null) {
-				in.close();
-			}
-			if (out != null) {
-				out.close();
-			}
+			zipFile.close();
 		}
 	}
 
 	/**
-	 * Extract tar.gz file to destination folder.
+	 * Extract tar.gz file to destination folder. Nothing is done if the
+	 * destination folder contains the stamp of the same tar.gz content.
 	 *
 	 * @param file
 	 *            zip file to extract
@@ -125,58 +198,304 @@ public class ZipUtils {
 	 *            destination folder
 	 */
 	public static void extractTar(File file, File destination) throws IOException {
+		String hash = computeFileHash(file);
+		File stampFile = getStampFile(file, destination, null);
+		if (isUpToDate(stampFile, hash)) {
+			return;
+		}
+		stampFile.delete();
+
+		Path destinationPath = destination.toPath().toAbsolutePath().normalize();
+		Set<File> directories = new LinkedHashSet<File>();
 		TarInputStream in = null;
-		OutputStream out = null;
+		Extractor extractor = new Extractor();
 		try {
-			// Open the ZIP file
-			in = new TarInputStream(new GZIPInputStream(new FileInputStream(file)));
-
-			// Get the first entry
+			// the tar stream is sequential: small entries are read in memory
+			// and written by the extraction threads, large entries are written
+			// directly.
+			in = new TarInputStream(new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE));
 			TarEntry entry = null;
-
 			while ((entry = in.getNextEntry()) != null) {
-				String outFilename = entry.getName();
-
-				// Open the output file
-				File extracted = new File(destination, outFilename);
+				final File extracted = getDestinationFile(destinationPath, entry.getName());
 				if (entry.isDirectory()) {
-					extracted.mkdirs();
+					createDirectory(extracted, directories);
 				} else {
-					// Be sure that parent file exists
-					File baseDir = extracted.getParentFile();
-					if (!baseDir.exists()) {
-						baseDir.mkdirs();
-					}
-
-					out = new FileOutputStream(extracted);
-
-					// Transfer bytes from the ZIP file to the output file
-					byte[] buf = new byte[1024];
-					int len;
+					createDirectory(extracted.getParentFile(), directories);
+					long size = entry.getSize();
+					if (size >= 0 && size <= MAX_IN_MEMORY_ENTRY_SIZE) {
+						final byte[] content = IOUtils.toByteArray(in, size);
+						extractor.submit(new Callable<Void>() {
 
-					while ((len = in.read(buf)) > 0) {
-						out.write(buf, 0, len);
-					}
-
-					// Close the stream
-					out.close();
-					if (extracted.getParent().contains(BIN_FOLDER)) {
-						extracted.setExecutable(true);
+							@Override
+							public Void call() throws Exception {
+								write(content, extracted);
+								return null;
+							}
+						});
+					} else {
+						write(in, extracted);
 					}
 				}
 			}
+			extractor.await();
 		} catch (TarException e) {
 			throw new IOException(e);
 		} finally {
+			extractor.shutdown();
 			// Close the stream
 			if (in != null) {
 				in.close();
 			}
-			if (out != null) {
-				out.close();
+		}
+		writeStamp(stampFile, hash);
+	}
+
+	/**
+	 * Returns the extracted file of the given entry name and throws an
+	 * exception if the entry is outside the destination folder.
+	 */
+	private static File getDestinationFile(Path destination, String name) throws IOException {
+		Path path = destination.resolve(name).normalize();
+		if (!path.startsWith(destination)) {
+			throw new IOException("Entry " + name + " is outside of the destination folder " + destination);
+		}
+		return path.toFile();
+	}
+
+	private static void createDirectories(Set<File> directories) throws IOException {
+		Set<File> created = new LinkedHashSet<File>();
+		for (File directory : directories) {
+			createDirectory(directory, created);
+		}
+	}
+
+	private static void createDirectory(File directory, Set<File> created) throws IOException {
+		if (created.add(directory) && !directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+			throw new IOException("Cannot create the folder " + directory);
+		}
+	}
+
+	private static void write(InputStream in, File extracted) throws IOException {
+		byte[] buffer = BUFFER.get();
+		OutputStream out = new FileOutputStream(extracted);
+		try {
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				out.write(buffer, 0, len);
 			}
+		} finally {
+			out.close();
 		}
+		setExecutable(extracted);
+	}
 
+	private static void write(byte[] content, File extracted) throws IOException {
+		OutputStream out = new FileOutputStream(extracted);
+		try {
+			out.write(content);
+		} finally {
+			out.close();
+		}
+		setExecutable(extracted);
+	}
+
+	private static void setExecutable(File extracted) {
+		if (extracted.getParent().contains(BIN_FOLDER)) {
+			extracted.setExecutable(true);
+		}
+	}
+
+	// ------------------------ Stamp
+
+	/**
+	 * Returns true if the given archive was already extracted to the given
+	 * destination folder and if the extracted content is up to date.
+	 *
+	 * @param file
+	 *            zip or tar.gz file.
+	 * @param destination
+	 *            destination folder
+	 * @return true if the given archive was already extracted to the given
+	 *         destination folder and false otherwise.
+	 * @throws IOException
+	 */
+	public static boolean isExtracted(File file, File destination) throws IOException {
+		File stampFile = getStampFile(file, destination, null);
+		if (!stampFile.exists()) {
+			return false;
+		}
+		String hash;
+		if (isTarFile(file)) {
+			hash = computeFileHash(file);
+		} else {
+			ZipFile zipFile = new ZipFile(file);
+			try {
+				hash = computeZipHash(zipFile, null);
+			} finally {
+				zipFile.close();
+			}
+		}
+		return isUpToDate(stampFile, hash);
+	}
+
+	private static File getStampFile(File file, File destination, String prefix) {
+		StringBuilder name = new StringBuilder(".").append(file.getName());
+		if (prefix != null) {
+			name.append('-').append(prefix.replaceAll("[^A-Za-z0-9._-]", "_"));
+		}
+		return new File(destination, name.append(STAMP_EXTENSION).toString());
+	}
+
+	private static boolean isUpToDate(File stampFile, String hash) throws IOException {
+		if (!stampFile.isFile()) {
+			return false;
+		}
+		InputStream in = new FileInputStream(stampFile);
+		try {
+			return hash.equals(IOUtils.toString(in, "UTF-8").trim());
+		} finally {
+			in.close();
+		}
+	}
+
+	private static void writeStamp(File stampFile, String hash) throws IOException {
+		OutputStream out = new FileOutputStream(stampFile);
+		try {
+			out.write(hash.getBytes(UTF_8));
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Returns the hash of the zip content computed with the central directory
+	 * (name, CRC and size of each entry which starts with the given prefix):
+	 * the archive data is not read.
+	 */
+	private static String computeZipHash(ZipFile zipFile, String prefix) {
+		MessageDigest digest = createDigest();
+		Enumeration<? extends ZipEntry> entries = zipFile.entries();
+		while (entries.hasMoreElements()) {
+			ZipEntry entry = entries.nextElement();
+			if (prefix != null && !entry.getName().startsWith(prefix)) {
+				continue;
+			}
+			digest.update(entry.getName().getBytes(UTF_8));
+			update(digest, entry.getCrc());
+			update(digest, entry.getSize());
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Returns the hash of the bytes of the given file.
+	 */
+	private static String computeFileHash(File file) throws IOException {
+		MessageDigest digest = createDigest();
+		InputStream in = new DigestInputStream(new FileInputStream(file), digest);
+		try {
+			byte[] buffer = BUFFER.get();
+			while (in.read(buffer) != -1) {
+				// the digest is updated by the stream
+			}
+		} finally {
+			in.close();
+		}
+		return toHex(digest.digest());
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-1 is supported by every JRE
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, long value) {
+		for (int i = 0; i < 8; i++) {
+			digest.update((byte) (value >>> (i * 8)));
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	// ------------------------ Parallel extraction
+
+	/**
+	 * Pool of threads which write the extracted entries. The queue is bounded:
+	 * when it's full, the entry is written by the thread which submits it. With
+	 * one processor, the entries are written by the thread which submits them.
+	 */
+	private static class Extractor {
+
+		private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+		private final ThreadPoolExecutor executor;
+		private final List<Future<Void>> futures;
+
+		Extractor() {
+			int threads = Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors());
+			this.executor = threads <= 1 ? null : new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<Runnable>(MAX_PENDING_ENTRIES), new ThreadFactory() {
+
+						@Override
+						public Thread newThread(Runnable r) {
+							Thread thread = new Thread(r, "ts-extract-" + THREAD_COUNT.incrementAndGet());
+							thread.setDaemon(true);
+							return thread;
+						}
+					}, new ThreadPoolExecutor.CallerRunsPolicy());
+			this.futures = new ArrayList<Future<Void>>();
+		}
+
+		void submit(Callable<Void> task) throws IOException {
+			if (executor == null) {
+				try {
+					task.call();
+				} catch (IOException e) {
+					throw e;
+				} catch (Exception e) {
+					throw new IOException(e);
+				}
+				return;
+			}
+			futures.add(executor.submit(task));
+		}
+
+		/**
+		 * Wait for the end of the submitted tasks and throws the first error.
+		 */
+		void await() throws IOException {
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Extraction interrupted", e);
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof IOException) {
+						throw (IOException) cause;
+					}
+					throw new IOException(cause);
+				}
+			}
+			futures.clear();
+		}
+
+		void shutdown() {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
 	}
 
 }
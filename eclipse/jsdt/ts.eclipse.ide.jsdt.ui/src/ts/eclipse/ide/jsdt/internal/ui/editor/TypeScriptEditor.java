@@ -24,7 +24,6 @@ import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
@@ -36,6 +35,7 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ISelectionValidator;
 import org.eclipse.jface.text.ISynchronizable;
@@ -107,6 +107,7 @@ import ts.eclipse.ide.jsdt.internal.ui.editor.codelens.TypeScriptReferencesCodeL
 import ts.eclipse.ide.jsdt.ui.IContextMenuConstants;
 import ts.eclipse.ide.jsdt.ui.actions.ITypeScriptEditorActionDefinitionIds;
 import ts.eclipse.ide.ui.TypeScriptUIPlugin;
+import ts.eclipse.ide.ui.hover.QuickInfoCache;
 import ts.eclipse.ide.ui.outline.IEditorOutlineFeatures;
 import ts.eclipse.ide.ui.outline.TypeScriptContentOutlinePage;
 import ts.eclipse.ide.ui.preferences.TypeScriptUIPreferenceConstants;
@@ -221,7 +222,6 @@ public class TypeScriptEditor extends JavaScriptLightWeightEditor implements IEd
 	protected CompositeActionGroup fActionGroups;
 	private CompositeActionGroup fContextMenuGroup;
 
-	private OccurrencesCollector occurrencesCollector;
 	private OccurrencesFinderJob fOccurrencesFinderJob;
 	/** The occurrences finder job canceler */
 	private OccurrencesFinderJobCanceler fOccurrencesFinderJobCanceler;
@@ -268,6 +268,7 @@ public class TypeScriptEditor extends JavaScriptLightWeightEditor implements IEd
 				// Update occurrences
 				ITextSelection textSelection = (ITextSelection) selection;
 				updateOccurrenceAnnotations(textSelection);
+				prefetchQuickInfo(textSelection);
 
 				TypeScriptContentOutlinePage outlinePage = getOutlinePage();
 				if (outlinePage != null && outlinePage.isLinkingEnabled()) {
@@ -412,6 +413,7 @@ public class TypeScriptEditor extends JavaScriptLightWeightEditor implements IEd
 
 	@Override
 	public void dispose() {
+		clearQuickInfo();
 		super.dispose();
 
 		problemTickUpdater.dispose();
@@ -569,8 +571,24 @@ public class TypeScriptEditor extends JavaScriptLightWeightEditor implements IEd
 
 	// ---------------------- Occurrences
 
+	/**
+	 * Delay in ms before sending the "occurrences" request, to not send a
+	 * request for each caret move when the caret moves quickly.
+	 */
+	private static final int OCCURRENCES_REQUEST_DELAY = 150;
+
 	private EditorSelectionChangedListener editorSelectionChangedListener;
-	private CompletableFuture<List<OccurrencesResponseItem>> occurrencesFuture;
+	private volatile CompletableFuture<List<OccurrencesResponseItem>> occurrencesFuture;
+	/**
+	 * The selection for which the "occurrences" request must be sent after
+	 * the delay.
+	 */
+	private ITextSelection fPendingOccurrencesSelection;
+	private final Runnable fOccurrencesRequest = () -> requestOccurrences();
+	/**
+	 * The occurrences of the last marked element.
+	 */
+	private volatile OccurrencesResult fOccurrencesResult;
 
 	/**
 	 * Internal activation listener.
@@ -678,45 +696,76 @@ public class TypeScriptEditor extends JavaScriptLightWeightEditor implements IEd
 			if (annotationModel == null)
 				return Status.CANCEL_STATUS;
 
-			// Add occurrence annotations
-			int length = fPositions.length;
-			Map annotationMap = new HashMap(length);
-			for (int i = 0; i < length; i++) {
-
-				if (isCanceled())
-					return Status.CANCEL_STATUS;
+			synchronized (getLockObject(annotationModel)) {
+				// Index the current occurrence annotations by position to keep
+				// the annotations which don't change.
+				Map<Position, Annotation> existing = new HashMap<Position, Annotation>();
+				List<Annotation> removed = new ArrayList<Annotation>();
+				if (fOccurrenceAnnotations != null) {
+					for (Annotation annotation : fOccurrenceAnnotations) {
+						Position position = annotationModel.getPosition(annotation);
+						Annotation duplicate = null;
+						if (position != null && !position.isDeleted()) {
+							duplicate = existing.put(new Position(position.offset, position.length), annotation);
+						} else {
+							duplicate = annotation;
+						}
+						if (duplicate != null) {
+							removed.add(duplicate);
+						}
+					}
+				}
 
-				String message;
-				Position position = fPositions[i];
+				// Add occurrence annotations
+				int length = fPositions.length;
+				List<Annotation> annotations = new ArrayList<Annotation>(length);
+				Map<Annotation, Position> annotationMap = new HashMap<Annotation, Position>();
+				for (int i = 0; i < length; i++) {
+
+					if (isCanceled())
+						return Status.CANCEL_STATUS;
+
+					Position position = fPositions[i];
+					Annotation annotation = existing.remove(position);
+					if (annotation != null) {
+						// Keep the annotation
+						annotations.add(annotation);
+						continue;
+					}
 
-				// Create & add annotation
-				try {
-					message = document.get(position.offset, position.length);
-				} catch (BadLocationException ex) {
-					// Skip this match
-					continue;
+					// Create & add annotation
+					String message;
+					try {
+						message = document.get(position.offset, position.length);
+					} catch (BadLocationException ex) {
+						// Skip this match
+						continue;
+					}
+					annotation = new Annotation("org.eclipse.wst.jsdt.ui.occurrences", false, message); //$NON-NLS-1$
+					annotationMap.put(annotation, position);
+					annotations.add(annotation);
 				}
-				annotationMap.put(new Annotation("org.eclipse.wst.jsdt.ui.occurrences", false, message), //$NON-NLS-1$
-						position);
-			}
 
-			if (isCanceled())
-				return Status.CANCEL_STATUS;
+				if (isCanceled())
+					return Status.CANCEL_STATUS;
 
-			synchronized (getLockObject(annotationModel)) {
+				removed.addAll(existing.values());
+				if (annotationMap.isEmpty() && removed.isEmpty()) {
+					// Same occurrences
+					return Status.OK_STATUS;
+				}
 				if (annotationModel instanceof IAnnotationModelExtension) {
-					((IAnnotationModelExtension) annotationModel).replaceAnnotations(fOccurrenceAnnotations,
-							annotationMap);
+					((IAnnotationModelExtension) annotationModel)
+							.replaceAnnotations(removed.toArray(new Annotation[removed.size()]), annotationMap);
 				} else {
-					removeOccurrenceAnnotations();
-					Iterator iter = annotationMap.entrySet().iterator();
-					while (iter.hasNext()) {
-						Map.Entry mapEntry = (Map.Entry) iter.next();
-						annotationModel.addAnnotation((Annotation) mapEntry.getKey(), (Position) mapEntry.getValue());
+					for (Annotation annotation : removed) {
+						annotationModel.removeAnnotation(annotation);
+					}
+					for (Map.Entry<Annotation, Position> entry : annotationMap.entrySet()) {
+						annotationModel.addAnnotation(entry.getKey(), entry.getValue());
 					}
 				}
-				fOccurrenceAnnotations = (Annotation[]) annotationMap.keySet()
-						.toArray(new Annotation[annotationMap.keySet().size()]);
+				fOccurrenceAnnotations = annotations.toArray(new Annotation[annotations.size()]);
 			}
 
 			return Status.OK_STATUS;
@@ -809,46 +858,42 @@ public class TypeScriptEditor extends JavaScriptLightWeightEditor implements IEd
 		}
 	}
 
-	class OccurrencesCollector {
-
-		private IDocument document;
-		private List<Position> positions;
-		private ITextSelection selection;
+	/**
+	 * Occurrences of an element for a version of the document.
+	 */
+	static class OccurrencesResult {
 
-		public OccurrencesCollector() {
-			this.positions = new ArrayList<Position>();
-		}
+		private final IDocument document;
+		private final long modificationStamp;
+		private final Position[] positions;
 
-		public void setDocument(IDocument document) {
+		public OccurrencesResult(IDocument document, long modificationStamp, Position[] positions) {
 			this.document = document;
+			this.modificationStamp = modificationStamp;
+			this.positions = positions;
 		}
 
-		// @Override
-		public void startCollect() {
-			this.positions.clear();
-		}
-
-		// @Override
-		public void endCollect() {
-			fOccurrencesFinderJob = new OccurrencesFinderJob(document, positions.toArray(new Position[0]), selection);
-			fOccurrencesFinderJob.run(new NullProgressMonitor());
-		}
-
-		public void addOccurrence(OccurrencesResponseItem occurrence) {
-			try {
-				int start = DocumentUtils.getPosition(document, occurrence.getStart());
-				int end = DocumentUtils.getPosition(document, occurrence.getEnd());
-				int offset = start;
-				int length = end - start;
-				positions.add(new Position(offset, length));
-			} catch (Exception e) {
-				// Trace.trace(Trace.SEVERE, "Error while getting TypeScript
-				// occurrences.", e);
+		/**
+		 * Returns true if the given selection is inside an occurrence for the
+		 * current version of the given document and false otherwise.
+		 */
+		public boolean contains(IDocument document, ITextSelection selection) {
+			if (this.document != document || modificationStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+					|| modificationStamp != getModificationStamp(document)) {
+				return false;
 			}
+			int start = selection.getOffset();
+			int end = start + selection.getLength();
+			for (Position position : positions) {
+				if (position.offset <= start && end <= position.offset + position.length) {
+					return true;
+				}
+			}
+			return false;
 		}
 
-		public void setSelection(ITextSelection selection) {
-			this.selection = selection;
+		public Position[] getPositions() {
+			return positions;
 		}
 	}
 
@@ -871,36 +916,143 @@ public class TypeScriptEditor extends JavaScriptLightWeightEditor implements IEd
 			return;
 		}
 
-		final IDocument document = getSourceViewer().getDocument();
+		ISourceViewer sourceViewer = getSourceViewer();
+		final IDocument document = sourceViewer != null ? sourceViewer.getDocument() : null;
 		if (document == null)
 			return;
 
-		if (occurrencesCollector == null) {
-			occurrencesCollector = new OccurrencesCollector();
+		OccurrencesResult result = fOccurrencesResult;
+		if (result != null && result.contains(document, selection)) {
+			// The caret is inside an occurrence of the last marked element
+			// (same element or other occurrence of the element), the
+			// occurrences are the same, don't send a request.
+			fPendingOccurrencesSelection = null;
+			scheduleOccurrencesFinderJob(document, result.getPositions(), selection);
+			return;
+		}
+
+		// Send the request after a delay, the request is superseded if the
+		// caret moves again before the end of the delay.
+		StyledText text = sourceViewer.getTextWidget();
+		if (text == null || text.isDisposed()) {
+			return;
+		}
+		fPendingOccurrencesSelection = selection;
+		text.getDisplay().timerExec(OCCURRENCES_REQUEST_DELAY, fOccurrencesRequest);
+	}
+
+	/**
+	 * Sends the "occurrences" request for the pending selection.
+	 */
+	private void requestOccurrences() {
+		final ITextSelection selection = fPendingOccurrencesSelection;
+		fPendingOccurrencesSelection = null;
+		if (selection == null || !fMarkOccurrenceAnnotations) {
+			return;
+		}
+		ISourceViewer sourceViewer = getSourceViewer();
+		final IDocument document = sourceViewer != null ? sourceViewer.getDocument() : null;
+		if (document == null) {
+			return;
 		}
-		occurrencesCollector.setDocument(document);
 		try {
 			ITypeScriptFile tsFile = getTypeScriptFile(document);
 			if (tsFile != null) {
-				occurrencesCollector.setSelection(selection);
 				if (occurrencesFuture != null && !occurrencesFuture.isDone()) {
 					occurrencesFuture.cancel(true);
 				}
-				occurrencesFuture = tsFile.occurrences(selection.getOffset());
-				occurrencesFuture.thenAccept(occurrences -> {
-					occurrencesCollector.startCollect();
-
-					for (OccurrencesResponseItem occurrence : occurrences) {
-						occurrencesCollector.addOccurrence(occurrence);
+				final long stamp = getModificationStamp(document);
+				final CompletableFuture<List<OccurrencesResponseItem>> future = tsFile
+						.occurrences(selection.getOffset());
+				occurrencesFuture = future;
+				future.thenAccept(occurrences -> {
+					if (future != occurrencesFuture || stamp != getModificationStamp(document)) {
+						// the request has been superseded or the document has
+						// changed.
+						return;
 					}
-					occurrencesCollector.endCollect();
+					Position[] positions = toPositions(occurrences, document);
+					fOccurrencesResult = new OccurrencesResult(document, stamp, positions);
+					scheduleOccurrencesFinderJob(document, positions, selection);
 				});
 			}
 
 		} catch (Exception e) {
 			Trace.trace(Trace.SEVERE, "Error while getting TypeScript occurrences.", e);
 		}
+	}
+
+	private static Position[] toPositions(List<OccurrencesResponseItem> occurrences, IDocument document) {
+		List<Position> positions = new ArrayList<Position>(occurrences.size());
+		for (OccurrencesResponseItem occurrence : occurrences) {
+			try {
+				int start = DocumentUtils.getPosition(document, occurrence.getStart());
+				int end = DocumentUtils.getPosition(document, occurrence.getEnd());
+				positions.add(new Position(start, end - start));
+			} catch (Exception e) {
+				// Skip this occurrence
+			}
+		}
+		return positions.toArray(new Position[positions.size()]);
+	}
+
+	private void scheduleOccurrencesFinderJob(IDocument document, Position[] positions, ITextSelection selection) {
+		if (fOccurrencesFinderJob != null)
+			fOccurrencesFinderJob.cancel();
+		fOccurrencesFinderJob = new OccurrencesFinderJob(document, positions, selection);
+		fOccurrencesFinderJob.setSystem(true);
+		fOccurrencesFinderJob.schedule();
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Prefetches the quick info of the identifier at the caret offset to
+	 * display the TypeScript hover without waiting for tsserver.
+	 *
+	 * @param selection
+	 *            the text selection
+	 */
+	private void prefetchQuickInfo(ITextSelection selection) {
+		if (selection.getLength() > 0) {
+			return;
+		}
+		final IDocument document = getSourceViewer().getDocument();
+		if (document == null) {
+			return;
+		}
+		try {
+			ITypeScriptFile tsFile = getTypeScriptFile(document);
+			if (tsFile != null) {
+				QuickInfoCache.getInstance().prefetch(tsFile, document, selection.getOffset());
+			}
+		} catch (Exception e) {
+			Trace.trace(Trace.SEVERE, "Error while prefetching TypeScript quick info.", e);
+		}
+	}
 
+	/**
+	 * Remove the cached quick info of the edited file.
+	 */
+	private void clearQuickInfo() {
+		IResource file = EditorUtils.getResource(this);
+		if (file == null) {
+			return;
+		}
+		try {
+			IIDETypeScriptProject tsProject = TypeScriptResourceUtil.getTypeScriptProject(file.getProject());
+			ITypeScriptFile tsFile = tsProject != null ? tsProject.getOpenedFile(file) : null;
+			if (tsFile != null) {
+				QuickInfoCache.getInstance().clear(tsFile);
+			}
+		} catch (Exception e) {
+			Trace.trace(Trace.SEVERE, "Error while clearing TypeScript quick info.", e);
+		}
 	}
 
 	private ITypeScriptFile getTypeScriptFile(IDocument document) {
@@ -962,7 +1114,12 @@ public class TypeScriptEditor extends JavaScriptLightWeightEditor implements IEd
 			fOccurrencesFinderJobCanceler = null;
 		}
 
-		occurrencesCollector = null;
+		fPendingOccurrencesSelection = null;
+		fOccurrencesResult = null;
+		if (occurrencesFuture != null && !occurrencesFuture.isDone()) {
+			occurrencesFuture.cancel(true);
+		}
+		occurrencesFuture = null;
 
 		// if (fPostSelectionListenerWithAST != null) {
 		// SelectionListenerWithASTManager.getDefault().removeListener(this,
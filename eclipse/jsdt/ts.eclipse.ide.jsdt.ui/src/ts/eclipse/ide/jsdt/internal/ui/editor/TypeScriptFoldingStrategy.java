@@ -1,12 +1,13 @@
 package ts.eclipse.ide.jsdt.internal.ui.editor;
 
-import ts.eclipse.ide.ui.folding.IndentFoldingStrategy;
+import ts.eclipse.ide.ui.folding.StructureFoldingStrategy;
 
 /**
- * Folding strategy with indent and line which starts with "import".
+ * Folding strategy with tsserver structure (navtree/outlining spans) and
+ * indent and line which starts with "import" while structure is not available.
  *
  */
-public class TypeScriptFoldingStrategy extends IndentFoldingStrategy {
+public class TypeScriptFoldingStrategy extends StructureFoldingStrategy {
 
 	private static final String IMPORT = "import";
 
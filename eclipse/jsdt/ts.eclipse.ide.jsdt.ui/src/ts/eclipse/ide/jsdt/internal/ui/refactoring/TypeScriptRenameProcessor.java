@@ -2,6 +2,12 @@ package ts.eclipse.ide.jsdt.internal.ui.refactoring;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFile;
@@ -11,6 +17,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Position;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CompositeChange;
@@ -23,7 +30,6 @@ import org.eclipse.ltk.core.refactoring.participants.SharableParticipants;
 import org.eclipse.text.edits.MultiTextEdit;
 import org.eclipse.text.edits.ReplaceEdit;
 
-import ts.client.TextSpan;
 import ts.client.rename.RenameInfo;
 import ts.client.rename.RenameResponseBody;
 import ts.client.rename.SpanGroup;
@@ -107,25 +113,52 @@ public class TypeScriptRenameProcessor extends RenameProcessor {
 						"TypeScript rename cannot be null"));
 			}
 
-			// Convert TypeScript changes to Eclipse changes.
-			List<SpanGroup> locs = rename.getLocs();
-			List<Change> fileChanges = new ArrayList<>();
-			for (SpanGroup loc : locs) {
-				IFile file = WorkbenchResourceUtil.findFileFromWorkspace(loc.getFile());
-				TextFileChange change = new TextFileChange(file.getName(), file);
-				change.setEdit(new MultiTextEdit());
-				change.setTextType(TEXT_TYPE);
-
-				List<TextSpan> spans = loc.getLocs();
-				for (TextSpan textSpan : spans) {
-					Position position = EditorUtils.getPosition(file, textSpan);
-					ReplaceEdit edit = new ReplaceEdit(position.offset, position.length, this.newName);
-					change.addEdit(edit);
+			// Convert TypeScript changes to Eclipse changes: the document of
+			// each file is loaded once for all its spans and the files are
+			// processed in parallel.
+			final List<SpanGroup> locs = rename.getLocs();
+			pm.beginTask("", locs.size());
+			int nbThreads = Math.min(locs.size(), Runtime.getRuntime().availableProcessors());
+			ExecutorService executor = nbThreads > 1 ? Executors.newFixedThreadPool(nbThreads) : null;
+			try {
+				List<Future<Change>> changes = new ArrayList<>(locs.size());
+				for (final SpanGroup loc : locs) {
+					Callable<Change> task = new Callable<Change>() {
+
+						@Override
+						public Change call() throws Exception {
+							return createFileChange(loc);
+						}
+					};
+					if (executor != null) {
+						changes.add(executor.submit(task));
+					} else {
+						FutureTask<Change> change = new FutureTask<>(task);
+						change.run();
+						changes.add(change);
+					}
 				}
-				fileChanges.add(change);
+				List<Change> fileChanges = new ArrayList<>(locs.size());
+				for (Future<Change> change : changes) {
+					if (pm.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					try {
+						fileChanges.add(change.get());
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						throw cause instanceof Exception ? (Exception) cause : e;
+					}
+					pm.worked(1);
+				}
+				return new CompositeChange(RefactoringMessages.TypeScriptRenameProcessor_change_name,
+						fileChanges.toArray(new Change[fileChanges.size()]));
+			} finally {
+				if (executor != null) {
+					executor.shutdownNow();
+				}
+				pm.done();
 			}
-			return new CompositeChange(RefactoringMessages.TypeScriptRenameProcessor_change_name,
-					fileChanges.toArray(new Change[fileChanges.size()]));
 		} catch (CoreException | OperationCanceledException e) {
 			throw e;
 		} catch (Exception e) {
@@ -134,6 +167,22 @@ public class TypeScriptRenameProcessor extends RenameProcessor {
 		}
 	}
 
+	private TextFileChange createFileChange(SpanGroup loc) throws CoreException, BadLocationException {
+		IFile file = WorkbenchResourceUtil.findFileFromWorkspace(loc.getFile());
+		TextFileChange change = new TextFileChange(file.getName(), file);
+		change.setEdit(new MultiTextEdit());
+		change.setTextType(TEXT_TYPE);
+
+		List<Position> positions = EditorUtils.getPositions(file, loc.getLocs());
+		if (positions != null) {
+			for (Position position : positions) {
+				ReplaceEdit edit = new ReplaceEdit(position.offset, position.length, this.newName);
+				change.addEdit(edit);
+			}
+		}
+		return change;
+	}
+
 	@Override
 	public RefactoringParticipant[] loadParticipants(RefactoringStatus status, SharableParticipants sharedParticipants)
 			throws CoreException {
@@ -29,7 +29,7 @@ import ts.eclipse.ide.jsdt.core.JSDTTypeScriptCorePlugin;
 import ts.eclipse.ide.jsdt.internal.ui.editor.TypeScriptEditor;
 import ts.eclipse.ide.jsdt.internal.ui.editor.TypeScriptFoldingStrategy;
 import ts.eclipse.ide.ui.TypeScriptUIPlugin;
-import ts.eclipse.ide.ui.folding.IndentFoldingStrategy;
+import ts.eclipse.ide.ui.folding.StructureFoldingStrategy;
 import ts.eclipse.ide.ui.preferences.TypeScriptUIPreferenceConstants;
 import ts.utils.FileUtils;
 
@@ -44,7 +44,7 @@ public class TypeScriptDocumentRegionProcessor extends DocumentRegionProcessor {
 
 	private final IResource resource;
 	private final String contentType;
-	private IndentFoldingStrategy foldingStrategy;
+	private StructureFoldingStrategy foldingStrategy;
 	private CodeLensStrategy codeLensStrategy;
 
 	public TypeScriptDocumentRegionProcessor(IResource resource) {
@@ -108,6 +108,10 @@ public class TypeScriptDocumentRegionProcessor extends DocumentRegionProcessor {
 				foldingStrategy.setDocument(getDocument());
 			}
 		}
+		if (foldingStrategy != null && foldingStrategy.getTypeScriptFile() == null) {
+			// use the tsserver structure as soon as the file is opened.
+			foldingStrategy.setTypeScriptFile(getOpenedTypeScriptFile());
+		}
 		return foldingStrategy;
 	}
 
@@ -154,16 +158,11 @@ public class TypeScriptDocumentRegionProcessor extends DocumentRegionProcessor {
 	@Override
 	protected void endProcessing() {
 		super.endProcessing();
-		// Refresh navigation bar/tree used for outline
-		if (resource != null) {
+		// Refresh navigation bar/tree used for outline and structure folding
+		IIDETypeScriptFile tsFile = getOpenedTypeScriptFile();
+		if (tsFile != null) {
 			try {
-				IIDETypeScriptProject tsProject = TypeScriptResourceUtil.getTypeScriptProject(resource.getProject());
-				if (tsProject != null) {
-					IIDETypeScriptFile tsFile = tsProject.getOpenedFile(resource);
-					if (tsFile != null) {
-						tsFile.refreshNavBar();
-					}
-				}
+				tsFile.refreshNavBar();
 			} catch (Exception e) {
 				// TODO Auto-generated catch block
 				e.printStackTrace();
@@ -174,6 +173,28 @@ public class TypeScriptDocumentRegionProcessor extends DocumentRegionProcessor {
 		}
 	}
 
+	/**
+	 * Returns the TypeScript file of the resource if it is opened and null
+	 * otherwise.
+	 * 
+	 * @return the TypeScript file of the resource if it is opened and null
+	 *         otherwise.
+	 */
+	private IIDETypeScriptFile getOpenedTypeScriptFile() {
+		if (resource == null) {
+			return null;
+		}
+		try {
+			IIDETypeScriptProject tsProject = TypeScriptResourceUtil.getTypeScriptProject(resource.getProject());
+			if (tsProject != null) {
+				return tsProject.getOpenedFile(resource);
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
 	protected IReconcilingStrategy getCodeLensStrategy() {
 		if (!TypeScriptUIPlugin.getDefault().getPreferenceStore()
 				.getBoolean(TypeScriptUIPreferenceConstants.EDITOR_ACTIVATE_CODELENS)) {
@@ -23,8 +23,6 @@ import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.list.SimpleListProperty;
 import org.eclipse.json.jsonpath.IJSONPath;
 import org.eclipse.wst.json.core.document.IJSONArray;
-import org.eclipse.wst.json.core.document.IJSONNode;
-import org.eclipse.wst.json.core.document.IJSONValue;
 import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
 
 /**
@@ -57,17 +55,7 @@ public class JSONListProperty extends SimpleListProperty {
 		IStructuredDocument document = (IStructuredDocument) source;
 		Object value = JSONUpdaterHelper.getValue(document, path);
 		if (value instanceof IJSONArray) {
-			IJSONArray array = (IJSONArray) value;
-			List<Object> result = new ArrayList<Object>();
-			for (int i = 0; i < array.getLength(); i++) {
-				try {
-					IJSONNode n = (IJSONNode) array.getClass().getMethod("item", int.class).invoke(array, i);
-					result.add(JSONUpdaterHelper.getValue((IJSONValue) n));
-				} catch (Exception e) {
-					return null;
-				}
-			}
-			return result;
+			return JSONUpdaterHelper.getValues((IJSONArray) value);
 		}
 
 		// return asList(BeanPropertyHelper.readProperty(source,
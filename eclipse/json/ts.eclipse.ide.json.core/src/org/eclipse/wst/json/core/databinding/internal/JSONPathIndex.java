@@ -0,0 +1,129 @@
+package org.eclipse.wst.json.core.databinding.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.wst.json.core.document.IJSONDocument;
+import org.eclipse.wst.json.core.document.IJSONNode;
+import org.eclipse.wst.json.core.document.IJSONPair;
+import org.eclipse.wst.sse.core.internal.provisional.INodeAdapter;
+import org.eclipse.wst.sse.core.internal.provisional.INodeNotifier;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
+
+/**
+ * Index "path -> JSON pair" of a structured document used by the databinding
+ * to avoid walking the JSON model on each property read:
+ *
+ * <ul>
+ * <li>a path is resolved from its longest indexed prefix, each resolved
+ * prefix is indexed.</li>
+ * <li>the index is versioned with the modification stamp of the document.
+ * When the document changes, the missing paths are forgotten (they can be
+ * added) and an indexed pair is kept as long as it's still attached to the
+ * JSON document with the same name (the SSE model replaces only the nodes of
+ * the changed regions).</li>
+ * <li>the index is an adapter of the JSON document: it belongs to the JSON
+ * model and is released with it.</li>
+ * </ul>
+ */
+public class JSONPathIndex implements INodeAdapter {
+
+	private static final char SEPARATOR = '\n';
+
+	// indexed pairs, null for a missing path.
+	private final Map<String, IJSONPair> pairs;
+
+	private long modificationStamp;
+
+	private JSONPathIndex() {
+		this.pairs = new HashMap<String, IJSONPair>();
+		this.modificationStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Returns the JSON pair of the given path and null otherwise.
+	 *
+	 * @param document
+	 *            the structured document.
+	 * @param jsonDocument
+	 *            the JSON document of the model of the structured document.
+	 * @param segments
+	 *            the path segments.
+	 * @return the JSON pair of the given path and null otherwise.
+	 */
+	public static IJSONPair findByPath(IStructuredDocument document, IJSONDocument jsonDocument, String[] segments) {
+		JSONPathIndex index;
+		synchronized (JSONPathIndex.class) {
+			index = (JSONPathIndex) jsonDocument.getAdapterFor(JSONPathIndex.class);
+			if (index == null) {
+				index = new JSONPathIndex();
+				jsonDocument.addAdapter(index);
+			}
+		}
+		return index.findByPath(jsonDocument, getModificationStamp(document), segments);
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == JSONPathIndex.class;
+	}
+
+	@Override
+	public void notifyChanged(INodeNotifier notifier, int eventType, Object changedFeature, Object oldValue,
+			Object newValue, int pos) {
+		// the index is validated with the modification stamp of the document.
+	}
+
+	private synchronized IJSONPair findByPath(IJSONDocument jsonDocument, long modificationStamp, String[] segments) {
+		if (modificationStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			// unversioned document: nothing can be reused.
+			pairs.clear();
+		} else if (this.modificationStamp != modificationStamp) {
+			// the missing paths could be added.
+			pairs.values().removeIf(pair -> pair == null);
+		}
+		this.modificationStamp = modificationStamp;
+
+		StringBuilder key = new StringBuilder();
+		IJSONNode parent = jsonDocument.getFirstChild();
+		IJSONPair pair = null;
+		for (int i = 0; i < segments.length; i++) {
+			String name = segments[i];
+			if (i > 0) {
+				key.append(SEPARATOR);
+			}
+			key.append(name);
+			String path = key.toString();
+			pair = pairs.get(path);
+			if (pair == null || !isAttached(pair, name, parent)) {
+				if (pair == null && pairs.containsKey(path)) {
+					// indexed missing path.
+					return null;
+				}
+				pair = JSONUpdaterHelper.findChild(parent, name);
+				pairs.put(path, pair);
+			}
+			if (pair == null) {
+				return null;
+			}
+			parent = pair.getValue();
+		}
+		return pair;
+	}
+
+	/**
+	 * Returns true if the given indexed pair is still a child of the given
+	 * parent with the given name.
+	 */
+	private static boolean isAttached(IJSONPair pair, String name, IJSONNode parent) {
+		return parent != null && pair.getParentNode() == parent && name.equals(pair.getName());
+	}
+
+	private static long getModificationStamp(IStructuredDocument document) {
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+}
@@ -1,13 +1,15 @@
 package org.eclipse.wst.json.core.databinding.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.json.jsonpath.IJSONPath;
 import org.eclipse.wst.json.core.databinding.IExtendedJSONPath;
+import org.eclipse.wst.json.core.document.IJSONArray;
 import org.eclipse.wst.json.core.document.IJSONDocument;
 import org.eclipse.wst.json.core.document.IJSONModel;
 import org.eclipse.wst.json.core.document.IJSONNode;
-import org.eclipse.wst.json.core.document.IJSONObject;
 import org.eclipse.wst.json.core.document.IJSONPair;
 import org.eclipse.wst.json.core.document.IJSONValue;
 import org.eclipse.wst.sse.core.StructuredModelManager;
@@ -21,7 +23,7 @@ public class JSONUpdaterHelper {
 		IJSONModel model = null;
 		try {
 			model = (IJSONModel) StructuredModelManager.getModelManager().getModelForRead(document);
-			IJSONPair pair = findByPath(model.getDocument(), path.getSegments());
+			IJSONPair pair = JSONPathIndex.findByPath(document, model.getDocument(), path.getSegments());
 			if (pair != null) {
 				IJSONValue value = pair.getValue();
 				return getValue(value);
@@ -53,8 +55,45 @@ public class JSONUpdaterHelper {
 		return value;
 	}
 
+	/**
+	 * Returns the values of the items of the given array.
+	 * 
+	 * @param array
+	 * @return the values of the items of the given array.
+	 */
+	public static List<Object> getValues(IJSONArray array) {
+		List<Object> values = new ArrayList<Object>(array.getLength());
+		for (IJSONNode item = array.getFirstChild(); item != null; item = item.getNextSibling()) {
+			if (item instanceof IJSONValue) {
+				values.add(getValue((IJSONValue) item));
+			}
+		}
+		return values;
+	}
+
 	private static String trimSPaces(String s) {
-		return s.replaceAll("[\n\t]", "").trim();
+		// remove the new lines and tabs and trim.
+		int start = 0;
+		int end = s.length();
+		while (start < end && s.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && s.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		StringBuilder result = null;
+		for (int i = start; i < end; i++) {
+			char c = s.charAt(i);
+			if (c == '\n' || c == '\t') {
+				if (result == null) {
+					result = new StringBuilder(end - start);
+					result.append(s, start, i);
+				}
+			} else if (result != null) {
+				result.append(c);
+			}
+		}
+		return result != null ? result.toString().trim() : s.substring(start, end);
 	}
 
 	public static void setValue(IStructuredDocument document, IJSONPath path, Object value) {
@@ -72,7 +111,7 @@ public class JSONUpdaterHelper {
 			for (int i = 0; i < segments.length; i++) {
 				name = segments[i];
 				isArray = isArray(path, i);
-				IJSONPair node = findByPath(parent, name);
+				IJSONPair node = findChild(parent, name);
 				if (node != null) {
 					parent = node;
 					IJSONNode jsonValue = node.getValue();
@@ -240,7 +279,7 @@ public class JSONUpdaterHelper {
 		IJSONNode parent = document.getFirstChild();
 		IJSONPair pair = null;
 		for (int i = 0; i < segments.length; i++) {
-			pair = findByPath(parent, segments[i]);
+			pair = findChild(parent, segments[i]);
 			if (pair != null) {
 				parent = pair.getValue();
 			}
@@ -248,23 +287,20 @@ public class JSONUpdaterHelper {
 		return pair;
 	}
 
-	private static IJSONPair findByPath(IJSONNode node, String name) {
+	/**
+	 * Returns the pair of the given object node with the given name and null
+	 * otherwise.
+	 */
+	static IJSONPair findChild(IJSONNode node, String name) {
 		if (node == null || node.getNodeType() != IJSONNode.OBJECT_NODE) {
 			return null;
 		}
-
-		IJSONObject obj = (IJSONObject) node;
-		for (int i = 0; i < obj.getLength(); i++) {
-			try {
-				IJSONNode n = (IJSONNode) obj.getClass().getMethod("item", int.class).invoke(obj, i);
-				if (n.getNodeType() == IJSONNode.PAIR_NODE) {
-					IJSONPair pair = (IJSONPair) n;
-					if (name.equals(pair.getName())) {
-						return pair;
-					}
+		for (IJSONNode n = node.getFirstChild(); n != null; n = n.getNextSibling()) {
+			if (n.getNodeType() == IJSONNode.PAIR_NODE) {
+				IJSONPair pair = (IJSONPair) n;
+				if (name.equals(pair.getName())) {
+					return pair;
 				}
-			} catch (Exception e) {
-				return null;
 			}
 		}
 		return null;
@@ -274,7 +310,7 @@ public class JSONUpdaterHelper {
 		IJSONModel model = null;
 		try {
 			model = (IJSONModel) StructuredModelManager.getModelManager().getModelForRead(document);
-			IJSONPair pair = findByPath(model.getDocument(), path.getSegments());
+			IJSONPair pair = JSONPathIndex.findByPath(document, model.getDocument(), path.getSegments());
 			return pair != null;
 		} finally {
 			if (model != null) {
@@ -287,7 +323,7 @@ public class JSONUpdaterHelper {
 		IJSONModel model = null;
 		try {
 			model = (IJSONModel) StructuredModelManager.getModelManager().getModelForRead(document);
-			IJSONPair pair = findByPath(model.getDocument(), path.getSegments());
+			IJSONPair pair = JSONPathIndex.findByPath(document, model.getDocument(), path.getSegments());
 			if (pair != null) {
 				document.replaceText(document, pair.getStartOffset(), pair.getEndOffset() - pair.getStartOffset(), "");
 			}
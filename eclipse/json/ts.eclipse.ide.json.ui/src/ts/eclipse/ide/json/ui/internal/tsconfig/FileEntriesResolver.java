@@ -0,0 +1,163 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.json.ui.internal.tsconfig;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Resolves the file entries (files, include, exclude) of a tsconfig.json with
+ * the resources of its folder:
+ *
+ * <ul>
+ * <li>an entry is resolved only when it's requested (by the label provider of
+ * a visible row).</li>
+ * <li>the requested entries are resolved by batch in a background job and
+ * cached. The listener is notified in the UI thread with the resolved
+ * entries.</li>
+ * <li>the cache is cleared when the resources of the folder change.</li>
+ * </ul>
+ */
+class FileEntriesResolver implements IResourceChangeListener {
+
+	private static final int BATCH_SIZE = 200;
+
+	// marker of an entry which is not a resource.
+	private static final Object MISSING = new Object();
+
+	/**
+	 * Listener notified in the UI thread.
+	 */
+	interface IResolverListener {
+
+		/**
+		 * The given entries are resolved.
+		 */
+		void resolved(Object[] entries);
+
+		/**
+		 * The cache was cleared.
+		 */
+		void invalidated();
+	}
+
+	private final IContainer base;
+	private final IResolverListener listener;
+	private final Map<String, Object> resources;
+	private final Set<String> pending;
+	private final Job job;
+
+	FileEntriesResolver(IContainer base, IResolverListener listener) {
+		this.base = base;
+		this.listener = listener;
+		this.resources = new ConcurrentHashMap<String, Object>();
+		this.pending = new LinkedHashSet<String>();
+		this.job = new Job(FileEntriesResolver.class.getSimpleName()) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				resolvePending(monitor);
+				return Status.OK_STATUS;
+			}
+		};
+		this.job.setSystem(true);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns true if the given entry is resolved and false if it's scheduled
+	 * to be resolved.
+	 */
+	boolean isResolved(String entry) {
+		if (resources.containsKey(entry)) {
+			return true;
+		}
+		synchronized (pending) {
+			pending.add(entry);
+		}
+		job.schedule();
+		return false;
+	}
+
+	/**
+	 * Returns the resource of the given resolved entry and null otherwise.
+	 */
+	IResource getResource(String entry) {
+		Object resource = resources.get(entry);
+		return resource instanceof IResource ? (IResource) resource : null;
+	}
+
+	private void resolvePending(IProgressMonitor monitor) {
+		while (!monitor.isCanceled()) {
+			List<String> batch = new ArrayList<String>(BATCH_SIZE);
+			synchronized (pending) {
+				Iterator<String> entries = pending.iterator();
+				while (entries.hasNext() && batch.size() < BATCH_SIZE) {
+					batch.add(entries.next());
+					entries.remove();
+				}
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			for (String entry : batch) {
+				IResource resource = base.findMember(new Path(entry));
+				resources.put(entry, resource != null && resource.exists() ? resource : MISSING);
+			}
+			final Object[] resolved = batch.toArray();
+			Display.getDefault().asyncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					listener.resolved(resolved);
+				}
+			});
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (resources.isEmpty() || event.getDelta() == null
+				|| event.getDelta().findMember(base.getFullPath()) == null) {
+			return;
+		}
+		resources.clear();
+		Display.getDefault().asyncExec(new Runnable() {
+
+			@Override
+			public void run() {
+				listener.invalidated();
+			}
+		});
+	}
+
+	void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		job.cancel();
+	}
+}
@@ -21,7 +21,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jface.action.IToolBarManager;
-import org.eclipse.jface.databinding.viewers.ObservableListContentProvider;
 import org.eclipse.jface.dialogs.InputDialog;
 import org.eclipse.jface.viewers.DecoratingLabelProvider;
 import org.eclipse.jface.viewers.DoubleClickEvent;
@@ -77,6 +76,7 @@ public class FilesPage extends AbstractFormPage {
 	private Button includeRemoveButton;
 	private Button excludeRemoveButton;
 	private final FilesLabelProvider filesLabelProvider;
+	private FileEntriesResolver resolver;
 	private static final WorkbenchLabelProvider WORKBENCH_LABEL_PROVIDER = new WorkbenchLabelProvider();
 
 	public FilesPage(TsconfigEditor editor) {
@@ -102,8 +102,8 @@ public class FilesPage extends AbstractFormPage {
 			} else if (TypeScriptResourceUtil.isTsOrTsxFile(element)) {
 				return TypeScriptUIImageResource.getImage(TypeScriptUIImageResource.IMG_TS);
 			}
-			IResource resource = getResource(element.toString());
-			if (resource != null && resource.exists()) {
+			IResource resource = getResolvedResource(element.toString());
+			if (resource != null) {
 				return WORKBENCH_LABEL_PROVIDER.getImage(resource);
 			}
 			return super.getImage(element);
@@ -120,7 +120,7 @@ public class FilesPage extends AbstractFormPage {
 			}
 			if (isGlobPattern(object)) {
 				return null;
-			} else if (!fileExists((String) object)) {
+			} else if (isMissing((String) object)) {
 				return TypeScriptUIImageResource.getDecoratedImage(image, IStatus.ERROR);
 			}
 			return null;
@@ -130,7 +130,7 @@ public class FilesPage extends AbstractFormPage {
 		public String decorateText(String label, Object object) {
 			if (isGlobPattern(label)) {
 				return null;
-			} else if (!fileExists((String) label)) {
+			} else if (isMissing((String) label)) {
 				return label + " (not found)";
 			}
 			return null;
@@ -144,6 +144,27 @@ public class FilesPage extends AbstractFormPage {
 
 	@Override
 	protected void createUI(IManagedForm managedForm) {
+		IFile tsconfigFile = getTsconfigFile();
+		if (tsconfigFile != null) {
+			// the entries are resolved only for the visible rows, in
+			// background.
+			resolver = new FileEntriesResolver(tsconfigFile.getParent(), new FileEntriesResolver.IResolverListener() {
+
+				@Override
+				public void resolved(Object[] entries) {
+					updateViewer(filesViewer, entries);
+					updateViewer(includeViewer, entries);
+					updateViewer(excludeViewer, entries);
+				}
+
+				@Override
+				public void invalidated() {
+					refreshViewer(filesViewer);
+					refreshViewer(includeViewer);
+					refreshViewer(excludeViewer);
+				}
+			});
+		}
 		Composite body = managedForm.getForm().getBody();
 		body.setLayout(FormLayoutFactory.createFormGridLayout(true, 2));
 		createLeftContent(body);
@@ -194,7 +215,7 @@ public class FilesPage extends AbstractFormPage {
 		layout.marginHeight = 2;
 		client.setLayout(layout);
 
-		Table table = toolkit.createTable(client, SWT.MULTI);
+		Table table = toolkit.createTable(client, SWT.MULTI | SWT.VIRTUAL);
 		GridData gd = new GridData(GridData.FILL_BOTH);
 		gd.minimumHeight = 100;
 		gd.widthHint = 100;
@@ -227,7 +248,6 @@ public class FilesPage extends AbstractFormPage {
 						}
 						IObservableList list = ((IObservableList) filesViewer.getInput());
 						list.addAll(elements);
-						filesViewer.refresh();
 					}
 				}
 
@@ -305,7 +325,8 @@ public class FilesPage extends AbstractFormPage {
 
 		IObservableList files = JSONProperties.list(new ExtendedJSONPath("files[*]"))
 				.observe(getEditor().getDocument());
-		filesViewer.setContentProvider(new ObservableListContentProvider());
+		filesViewer.setUseHashlookup(true);
+		filesViewer.setContentProvider(new LazyObservableListContentProvider());
 		filesViewer.setInput(files);
 
 	}
@@ -351,7 +372,7 @@ public class FilesPage extends AbstractFormPage {
 		layout.marginHeight = 2;
 		client.setLayout(layout);
 
-		Table table = toolkit.createTable(client, SWT.MULTI);
+		Table table = toolkit.createTable(client, SWT.MULTI | SWT.VIRTUAL);
 		GridData gd = new GridData(GridData.FILL_BOTH);
 		gd.heightHint = 20;
 		gd.widthHint = 100;
@@ -439,7 +460,8 @@ public class FilesPage extends AbstractFormPage {
 
 		IObservableList exclude = JSONProperties.list(new ExtendedJSONPath("exclude[*]"))
 				.observe(getEditor().getDocument());
-		excludeViewer.setContentProvider(new ObservableListContentProvider());
+		excludeViewer.setUseHashlookup(true);
+		excludeViewer.setContentProvider(new LazyObservableListContentProvider());
 		excludeViewer.setInput(exclude);
 
 	}
@@ -458,7 +480,7 @@ public class FilesPage extends AbstractFormPage {
 		layout.marginHeight = 2;
 		client.setLayout(layout);
 
-		Table table = toolkit.createTable(client, SWT.MULTI);
+		Table table = toolkit.createTable(client, SWT.MULTI | SWT.VIRTUAL);
 		GridData gd = new GridData(GridData.FILL_BOTH);
 		gd.heightHint = 20;
 		gd.widthHint = 100;
@@ -546,7 +568,8 @@ public class FilesPage extends AbstractFormPage {
 
 		IObservableList include = JSONProperties.list(new ExtendedJSONPath("include[*]"))
 				.observe(getEditor().getDocument());
-		includeViewer.setContentProvider(new ObservableListContentProvider());
+		includeViewer.setUseHashlookup(true);
+		includeViewer.setContentProvider(new LazyObservableListContentProvider());
 		includeViewer.setInput(include);
 
 	}
@@ -587,12 +610,33 @@ public class FilesPage extends AbstractFormPage {
 	@Override
 	protected void updateUIBindings() {
 		super.updateUIBindings();
-		excludeViewer.refresh();
-		includeViewer.refresh();
-		filesViewer.refresh();
+		refreshViewer(excludeViewer);
+		refreshViewer(includeViewer);
+		refreshViewer(filesViewer);
 		updateButtons();
 	}
 
+	private static void refreshViewer(TableViewer viewer) {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			((LazyObservableListContentProvider) viewer.getContentProvider()).refresh();
+		}
+	}
+
+	private static void updateViewer(TableViewer viewer, Object[] entries) {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			viewer.update(entries, null);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		if (resolver != null) {
+			resolver.dispose();
+			resolver = null;
+		}
+		super.dispose();
+	}
+
 	public boolean fileExists(String file) {
 		IFile tsconfigFile = getTsconfigFile();
 		if (tsconfigFile == null) {
@@ -601,13 +645,15 @@ public class FilesPage extends AbstractFormPage {
 		return tsconfigFile.getParent().exists(new Path(file));
 	}
 
-	private IResource getResource(String file) {
-		IFile tsconfigFile = getTsconfigFile();
-		if (tsconfigFile == null) {
-			return null;
-		}
-		return tsconfigFile.getParent().findMember(new Path(file));
+	/**
+	 * Returns true if the given entry is resolved and is not a resource.
+	 */
+	private boolean isMissing(String file) {
+		return resolver != null && resolver.isResolved(file) && resolver.getResource(file) == null;
+	}
 
+	private IResource getResolvedResource(String file) {
+		return resolver != null && resolver.isResolved(file) ? resolver.getResource(file) : null;
 	}
 
 	private IFile getTsconfigFile() {
@@ -0,0 +1,84 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.json.ui.internal.tsconfig;
+
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Content provider of a virtual table (SWT.VIRTUAL) which displays an
+ * {@link IObservableList}: the list is read once per refresh and a row is
+ * created only when it becomes visible.
+ */
+class LazyObservableListContentProvider implements ILazyContentProvider, IListChangeListener {
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private TableViewer viewer;
+	private IObservableList list;
+	private Object[] elements = EMPTY;
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		if (list != null) {
+			list.removeListChangeListener(this);
+		}
+		this.viewer = (TableViewer) viewer;
+		this.list = (IObservableList) newInput;
+		if (list != null) {
+			list.addListChangeListener(this);
+		}
+		updateElements();
+	}
+
+	@Override
+	public void updateElement(int index) {
+		if (index < elements.length) {
+			viewer.replace(elements[index], index);
+		}
+	}
+
+	@Override
+	public void handleListChange(ListChangeEvent event) {
+		refresh();
+	}
+
+	/**
+	 * Read the list again and refresh the visible rows.
+	 */
+	public void refresh() {
+		if (viewer == null || viewer.getControl().isDisposed()) {
+			return;
+		}
+		updateElements();
+		viewer.refresh();
+	}
+
+	private void updateElements() {
+		elements = list != null ? list.toArray() : EMPTY;
+		if (viewer != null) {
+			viewer.setItemCount(elements.length);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		if (list != null) {
+			list.removeListChangeListener(this);
+			list = null;
+		}
+		elements = EMPTY;
+	}
+}
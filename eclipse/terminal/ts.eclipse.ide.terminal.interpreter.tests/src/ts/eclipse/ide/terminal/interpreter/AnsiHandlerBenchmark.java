@@ -0,0 +1,116 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ *
+ */
+package ts.eclipse.ide.terminal.interpreter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import ts.eclipse.ide.terminal.interpreter.internal.AnsiHandler;
+
+/**
+ * Throughput benchmark of {@link AnsiHandler}: a log is parsed in chunks of 8
+ * KB (like the terminal stream) and the MB/s and allocated bytes are reported.
+ *
+ * Usage: AnsiHandlerBenchmark [log file]. Without log file, a synthetic log
+ * (~50 MB) like an "npm install" output with ANSI colors and UTF-8 chars is
+ * used.
+ */
+public class AnsiHandlerBenchmark {
+
+	private static final int CHUNK_SIZE = 8192;
+	private static final int SYNTHETIC_SIZE = 50 * 1024 * 1024;
+	private static final int ITERATIONS = 5;
+
+	public static void main(String[] args) throws IOException {
+		byte[] log = args.length > 0 ? Files.readAllBytes(Paths.get(args[0])) : createSyntheticLog();
+		final long[] textLength = new long[1];
+		AnsiHandler handler = new AnsiHandler() {
+			@Override
+			protected void processText(CharSequence text) {
+				textLength[0] += text.length();
+			}
+		};
+		// warm up
+		parse(handler, log);
+		for (int i = 0; i < ITERATIONS; i++) {
+			long allocated = getAllocatedBytes();
+			long start = System.nanoTime();
+			parse(handler, log);
+			long elapsed = System.nanoTime() - start;
+			allocated = getAllocatedBytes() - allocated;
+			double mb = log.length / (1024d * 1024d);
+			System.out.println(String.format("%.1f MB in %d ms: %.1f MB/s, %d bytes allocated", mb,
+					elapsed / 1000000, mb / (elapsed / 1e9), allocated));
+		}
+		System.out.println("Text chars: " + textLength[0]);
+	}
+
+	private static void parse(AnsiHandler handler, byte[] log) {
+		byte[] buffer = new byte[CHUNK_SIZE];
+		for (int offset = 0; offset < log.length; offset += CHUNK_SIZE) {
+			int length = Math.min(CHUNK_SIZE, log.length - offset);
+			System.arraycopy(log, offset, buffer, 0, length);
+			handler.parse(buffer, length, "UTF-8");
+		}
+	}
+
+	private static byte[] createSyntheticLog() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(SYNTHETIC_SIZE + 1024);
+		int i = 0;
+		while (out.size() < SYNTHETIC_SIZE) {
+			StringBuilder line = new StringBuilder();
+			switch (i % 4) {
+			case 0:
+				line.append("\u001b[37;40mnpm\u001b[0m \u001b[0m\u001b[32mhttp\u001b[0m fetch GET 200 https://registry.npmjs.org/package-")
+						.append(i).append(" 42ms");
+				break;
+			case 1:
+				line.append("\u001b[2K\u001b[1G[..................] \\ extract:package-").append(i)
+						.append(": sill extract package-").append(i).append("@1.0.").append(i % 10);
+				break;
+			case 2:
+				line.append("\u001b[33mWARN\u001b[39m deprecated package-").append(i).append("@0.1.0: \u2713 use \u201cpackage-")
+						.append(i + 1).append("\u201d instead \u26a0");
+				break;
+			default:
+				line.append("+-- package-").append(i).append("@2.").append(i % 100).append(".0 \u2192 \u00ff\u00e9\u65e5\u672c\u8a9e");
+				break;
+			}
+			line.append("\r\n");
+			byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+			out.write(bytes, 0, bytes.length);
+			i++;
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread (HotSpot
+	 * ThreadMXBean) and -1 if it's not supported.
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		try {
+			Method method = bean.getClass().getMethod("getThreadAllocatedBytes", long.class);
+			method.setAccessible(true);
+			return (Long) method.invoke(bean, Thread.currentThread().getId());
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+}
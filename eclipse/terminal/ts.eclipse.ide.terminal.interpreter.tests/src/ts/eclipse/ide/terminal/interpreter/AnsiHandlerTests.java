@@ -0,0 +1,107 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ *
+ */
+package ts.eclipse.ide.terminal.interpreter;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import ts.eclipse.ide.terminal.interpreter.internal.AnsiHandler;
+
+/**
+ * Tests for the streaming {@link AnsiHandler}: chunks are cut at any byte.
+ *
+ */
+public class AnsiHandlerTests {
+
+	private static final String UTF_8 = "UTF-8";
+
+	private static class TextCollector extends AnsiHandler {
+
+		private final StringBuilder result = new StringBuilder();
+
+		@Override
+		protected void processText(CharSequence text) {
+			result.append('[').append(text).append(']');
+		}
+
+		@Override
+		protected void processNewline() {
+			result.append("\\n");
+		}
+
+		@Override
+		protected void processAnsiCommandCharacter(char character) {
+			result.append('{').append(character).append('}');
+		}
+
+		void parse(byte[] bytes, int from, int to) {
+			// the stream reuses the same byte array
+			byte[] buffer = new byte[bytes.length];
+			System.arraycopy(bytes, from, buffer, 0, to - from);
+			parse(buffer, to - from, UTF_8);
+		}
+
+		@Override
+		public String toString() {
+			return result.toString();
+		}
+	}
+
+	@Test
+	public void multiByteSequenceSplitBetweenChunks() {
+		byte[] bytes = "\u00e9\u2713\ud834\udd1e".getBytes(StandardCharsets.UTF_8);
+		for (int cut = 0; cut <= bytes.length; cut++) {
+			TextCollector handler = new TextCollector();
+			handler.parse(bytes, 0, cut);
+			handler.parse(bytes, cut, bytes.length);
+			String text = handler.toString().replace("[", "").replace("]", "");
+			Assert.assertEquals("cut at " + cut, "\u00e9\u2713\ud834\udd1e", text);
+		}
+	}
+
+	@Test
+	public void multiByteSequenceByteByByte() {
+		byte[] bytes = "a\u2713b\n".getBytes(StandardCharsets.UTF_8);
+		TextCollector handler = new TextCollector();
+		for (int i = 0; i < bytes.length; i++) {
+			handler.parse(bytes, i, i + 1);
+		}
+		Assert.assertEquals("[a][\u2713][b]\\n", handler.toString());
+	}
+
+	@Test
+	public void escapeSequenceSplitBetweenChunks() {
+		byte[] bytes = "abc\u001b[32mdef\n".getBytes(StandardCharsets.UTF_8);
+		for (int cut = 4; cut <= 8; cut++) {
+			TextCollector handler = new TextCollector();
+			handler.parse(bytes, 0, cut);
+			handler.parse(bytes, cut, bytes.length);
+			Assert.assertEquals("cut at " + cut, "[abc]{m}[def]\\n", handler.toString());
+		}
+	}
+
+	@Test
+	public void textRunIsValidOnlyDuringTheCall() {
+		final StringBuilder copies = new StringBuilder();
+		AnsiHandler handler = new AnsiHandler() {
+			@Override
+			protected void processText(CharSequence text) {
+				copies.append(text.toString()).append('|');
+			}
+		};
+		byte[] bytes = "first\nsecond\n".getBytes(StandardCharsets.UTF_8);
+		handler.parse(bytes, bytes.length, UTF_8);
+		Assert.assertEquals("first|second|", copies.toString());
+	}
+}
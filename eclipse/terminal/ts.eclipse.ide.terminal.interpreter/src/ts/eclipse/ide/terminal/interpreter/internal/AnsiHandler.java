@@ -1,12 +1,33 @@
 package ts.eclipse.ide.terminal.interpreter.internal;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 
 import org.eclipse.tm.internal.terminal.provisional.api.Logger;
 
+/**
+ * ANSI stream parser.
+ * 
+ * The parser is stateful: bytes are decoded with a {@link CharsetDecoder}
+ * which keeps multi-byte sequences split between two chunks, and the ANSI
+ * state (escape sequence, parameters) is kept between two calls of
+ * {@link #parse(byte[], int, String)}. Buffers are reused from one chunk to
+ * an other and text runs are given with {@link #processText(CharSequence)} as
+ * a slice of the decoded chars which is valid only during the call.
+ */
 public class AnsiHandler {
 
+	/**
+	 * Max size of bytes kept from a chunk to an other (incomplete multi-byte
+	 * sequence).
+	 */
+	private static final int MAX_PENDING_BYTES = 16;
+
 	/** This is a character processing state: Initial state. */
 	private static final int ANSISTATE_INITIAL = 0;
 
@@ -59,18 +80,18 @@ public class AnsiHandler {
 	private int savedCursorColumn = 0;
 
 	/**
-	 * This field holds an array of StringBuffer objects, each of which is one
+	 * This field holds an array of StringBuilder objects, each of which is one
 	 * parameter from the current ANSI escape sequence. For example, when
 	 * parsing the escape sequence "\e[20;10H", this array holds the strings
 	 * "20" and "10".
 	 */
-	private final StringBuffer[] ansiParameters = new StringBuffer[16];
+	private final StringBuilder[] ansiParameters = new StringBuilder[16];
 
 	/**
 	 * This field holds the OS-specific command found in an escape sequence of
 	 * the form "\e]...\u0007".
 	 */
-	private final StringBuffer ansiOsCommand = new StringBuffer(128);
+	private final StringBuilder ansiOsCommand = new StringBuilder(128);
 
 	/**
 	 * This field holds the index of the next unused element of the array stored
@@ -80,28 +101,123 @@ public class AnsiHandler {
 
 	boolean fCrAfterNewLine;
 
-	private String text;
+	/**
+	 * The encoding of the decoder.
+	 */
+	private String encoding;
+
+	/**
+	 * The decoder used to decode bytes of the stream.
+	 */
+	private CharsetDecoder decoder;
+
+	/**
+	 * The last byte array given by the stream, wrapped in a byte buffer.
+	 */
+	private ByteBuffer input;
+
+	/**
+	 * Bytes of an incomplete multi-byte sequence read at the end of the last
+	 * chunk.
+	 */
+	private final ByteBuffer pendingBytes;
+
+	/**
+	 * Decoded chars of the current chunk.
+	 */
+	private CharBuffer chars;
+
+	/**
+	 * The slice of decoded chars given to {@link #processText(CharSequence)}.
+	 */
+	private final CharArraySequence textRun;
+
+	private char[] text;
 
 	private int index;
 
-	public synchronized void parse(byte[] byteBuffer, int bytesRead, String encoding) {
-		this.text = getText(byteBuffer, bytesRead, encoding);
-		this.index = 0;
+	private int end;
+
+	public AnsiHandler() {
 		for (int i = 0; i < ansiParameters.length; ++i) {
-			ansiParameters[i] = new StringBuffer();
+			ansiParameters[i] = new StringBuilder();
+		}
+		this.pendingBytes = ByteBuffer.allocate(MAX_PENDING_BYTES);
+		this.pendingBytes.flip();
+		this.textRun = new CharArraySequence();
+	}
+
+	public synchronized void parse(byte[] byteBuffer, int bytesRead, String encoding) {
+		CharsetDecoder decoder = getDecoder(encoding);
+		ByteBuffer in = getInput(byteBuffer, bytesRead);
+		ensureCharsCapacity((int) ((bytesRead + MAX_PENDING_BYTES) * decoder.maxCharsPerByte()) + 1);
+
+		// complete the multi-byte sequence started in the last chunk
+		while (pendingBytes.hasRemaining() && in.hasRemaining()) {
+			pendingBytes.compact();
+			pendingBytes.put(in.get());
+			pendingBytes.flip();
+			decoder.decode(pendingBytes, chars, false);
+			if (pendingBytes.remaining() == pendingBytes.capacity()) {
+				// should never occur, ignore the bytes.
+				pendingBytes.position(pendingBytes.limit());
+			}
+		}
+
+		// decode and process the chunk
+		CoderResult result;
+		do {
+			result = decoder.decode(in, chars, false);
+			chars.flip();
+			this.text = chars.array();
+			this.index = chars.arrayOffset() + chars.position();
+			this.end = chars.arrayOffset() + chars.limit();
+			processNewText();
+			chars.clear();
+		} while (result.isOverflow());
+
+		// keep the incomplete multi-byte sequence for the next chunk
+		if (in.hasRemaining()) {
+			pendingBytes.clear();
+			while (in.hasRemaining() && pendingBytes.hasRemaining()) {
+				pendingBytes.put(in.get());
+			}
+			pendingBytes.flip();
 		}
-		processNewText();
 	}
 
-	private String getText(byte[] byteBuffer, int bytesRead, String encoding) {
-		if (encoding == null) {
-			return new String(byteBuffer, 0, bytesRead);
+	private CharsetDecoder getDecoder(String encoding) {
+		if (decoder == null || (encoding == null ? this.encoding != null : !encoding.equals(this.encoding))) {
+			Charset charset = null;
+			try {
+				charset = encoding != null ? Charset.forName(encoding) : null;
+			} catch (IllegalArgumentException e) {
+				// Unsupported encoding, use the default charset.
+			}
+			this.decoder = (charset != null ? charset : Charset.defaultCharset()).newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+			this.encoding = encoding;
+			this.pendingBytes.clear();
+			this.pendingBytes.flip();
 		}
-		try {
-			return new String(byteBuffer, 0, bytesRead, encoding);
-		} catch (UnsupportedEncodingException e) {
-			return new String(byteBuffer, 0, bytesRead);
+		return decoder;
+	}
+
+	private ByteBuffer getInput(byte[] byteBuffer, int bytesRead) {
+		if (input == null || input.array() != byteBuffer) {
+			// the stream generally reuses the same byte array.
+			input = ByteBuffer.wrap(byteBuffer);
+		}
+		input.clear();
+		input.limit(bytesRead);
+		return input;
+	}
+
+	private void ensureCharsCapacity(int capacity) {
+		if (chars == null || chars.capacity() < capacity) {
+			chars = CharBuffer.allocate(capacity);
 		}
+		chars.clear();
 	}
 	
 	/**
@@ -287,11 +403,11 @@ public class AnsiHandler {
 	}
 
 	private char getNextChar() {
-		return text.charAt(index++);
+		return text[index++];
 	}
 
 	private boolean hasNextChar() {
-		return (index < text.length());
+		return (index < end);
 	}
 
 	/**
@@ -348,8 +464,7 @@ public class AnsiHandler {
 	 * @throws IOException
 	 */
 	private void processNonControlCharacters(char character) {
-		StringBuffer buffer = new StringBuffer();
-		buffer.append(character);
+		int start = index - 1;
 		// Identify a contiguous sequence of non-control characters, starting at
 		// firstNonControlCharacterIndex in newText.
 		while (hasNextChar()) {
@@ -359,18 +474,24 @@ public class AnsiHandler {
 				pushBackChar(character);
 				break;
 			}
-			buffer.append(character);
 		}
 
-		// Now insert the sequence of non-control characters in the StyledText
-		// widget
-		// at the location of the cursor.
-
-		processText(buffer.toString());
+		// Now process the sequence of non-control characters as a slice of the
+		// decoded chars (without copying it).
+		textRun.set(text, start, index - start);
+		processText(textRun);
 	}
 
-	protected void processText(String string) {
-		//System.err.println(string);
+	/**
+	 * Process the given text run. The text run is a slice of the decoded chars
+	 * which is reused for the next text run, so it must be copied with
+	 * toString() to be kept after the call.
+	 * 
+	 * @param text
+	 *            the text run.
+	 */
+	protected void processText(CharSequence text) {
+		//System.err.println(text);
 	}
 
 	protected void processCarriageReturnLineFeed() {
@@ -0,0 +1,69 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.terminal.interpreter.internal;
+
+/**
+ * Mutable {@link CharSequence} view on a slice of a char array. It is used to
+ * give text runs without copying the decoded chars.
+ *
+ */
+public class CharArraySequence implements CharSequence {
+
+	private char[] chars;
+	private int start;
+	private int length;
+
+	public CharArraySequence() {
+		set(new char[0], 0, 0);
+	}
+
+	/**
+	 * Update the slice.
+	 * 
+	 * @param chars
+	 *            the char array.
+	 * @param start
+	 *            the start index of the slice.
+	 * @param length
+	 *            the length of the slice.
+	 */
+	public void set(char[] chars, int start, int length) {
+		this.chars = chars;
+		this.start = start;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		return chars[start + index];
+	}
+
+	@Override
+	public CharSequence subSequence(int startIndex, int endIndex) {
+		if (startIndex < 0 || endIndex > length || startIndex > endIndex) {
+			throw new IndexOutOfBoundsException(startIndex + ", " + endIndex);
+		}
+		return new String(chars, start + startIndex, endIndex - startIndex);
+	}
+
+	@Override
+	public String toString() {
+		return new String(chars, start, length);
+	}
+}
@@ -49,8 +49,14 @@ public abstract class CommandTerminalTracker extends AnsiHandler {
 	}
 
 	@Override
-	protected void processText(String text) {
-		processText(text, columns);
+	protected void processText(CharSequence text) {
+		if (lineCommand == null && !isPromptCandidate(text)
+				&& CommandTerminalService.getInstance().getInterpreterListeners().isEmpty()) {
+			// the text run cannot submit, execute or terminate a command and
+			// nobody traces it: avoid creating a String.
+			return;
+		}
+		processText(text.toString(), columns);
 	}
 
 	protected void processText(String text, int columns) {
@@ -87,17 +93,17 @@ public abstract class CommandTerminalTracker extends AnsiHandler {
 	}
 
 	public boolean tryTerminateCommand(String line) {
+		if (!isPromptCandidate(line)) {
+			return false;
+		}
 		String workingDir = null;
 		int length = line.length();
 		char last = line.charAt(length - 1);
 		if (last == '>' || last == '$') {
 			workingDir = line.substring(0, length - 1);
-		} else if (length >= 2 && last == ' ' && line.charAt(length - 2) == '$') {
+		} else {
 			workingDir = line.substring(0, length - 2);
 		}
-		if (workingDir == null) {
-			return false;
-		}
 		workingDir = resolveTild(workingDir);
 		if (isDirectory(workingDir)) {
 			terminateCommand(workingDir);
@@ -106,6 +112,23 @@ public abstract class CommandTerminalTracker extends AnsiHandler {
 		return false;
 	}
 
+	/**
+	 * Returns true if the given line ends with a prompt ('>', '$' or '$ ') and
+	 * false otherwise.
+	 * 
+	 * @param line
+	 * @return true if the given line ends with a prompt ('>', '$' or '$ ') and
+	 *         false otherwise.
+	 */
+	private static boolean isPromptCandidate(CharSequence line) {
+		int length = line.length();
+		if (length == 0) {
+			return false;
+		}
+		char last = line.charAt(length - 1);
+		return last == '>' || last == '$' || (length >= 2 && last == ' ' && line.charAt(length - 2) == '$');
+	}
+
 	protected boolean isDirectory(String dir) {
 		return new File(dir).exists();
 	}
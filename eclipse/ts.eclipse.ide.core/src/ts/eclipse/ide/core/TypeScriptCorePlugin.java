@@ -21,11 +21,15 @@ import ts.eclipse.ide.core.repository.IIDETypeScriptRepositoryManager;
 import ts.eclipse.ide.core.resources.ITypeScriptElementChangedListener;
 import ts.eclipse.ide.core.resources.problems.IProblemManager;
 import ts.eclipse.ide.core.resources.watcher.IResourcesWatcher;
+import ts.eclipse.ide.core.utils.OSHelper;
 import ts.eclipse.ide.internal.core.nodejs.NodejsInstallManager;
 import ts.eclipse.ide.internal.core.repository.IDETypeScriptRepositoryManager;
+import ts.eclipse.ide.internal.core.resources.ExternalChangesSynchronizer;
 import ts.eclipse.ide.internal.core.resources.IDEResourcesManager;
+import ts.eclipse.ide.internal.core.resources.jsonconfig.JsonConfigResourcesManager;
 import ts.eclipse.ide.internal.core.resources.problems.ProblemManager;
 import ts.eclipse.ide.internal.core.resources.watcher.ResourcesWatcher;
+import ts.nodejs.NodejsInstallRegistry;
 import ts.resources.ConfigurableTypeScriptResourcesManager;
 
 /**
@@ -54,11 +58,18 @@ public class TypeScriptCorePlugin extends Plugin {
 		ConfigurableTypeScriptResourcesManager resourceManager = ConfigurableTypeScriptResourcesManager.getInstance();
 		resourceManager.setTypeScriptResourcesManagerDelegate(IDEResourcesManager.getInstance());
 		IDEResourcesManager.getInstance().initialize();
+		JsonConfigResourcesManager.getInstance().initialize();
+		ExternalChangesSynchronizer.getInstance().initialize();
+		// discover the installed node.js in background for the preferences
+		// and wizard pages.
+		NodejsInstallRegistry.getInstance(OSHelper.getOs()).refreshAsync();
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		ResourcesWatcher.getInstance().dispose();
+		ExternalChangesSynchronizer.getInstance().dispose();
+		JsonConfigResourcesManager.getInstance().dispose();
 		IDEResourcesManager.getInstance().destroy();
 		plugin = null;
 		super.stop(context);
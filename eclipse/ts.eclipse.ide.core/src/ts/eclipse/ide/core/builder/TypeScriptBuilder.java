@@ -12,6 +12,7 @@ package ts.eclipse.ide.core.builder;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,6 +37,7 @@ import ts.eclipse.ide.core.resources.buildpath.ITypeScriptBuildPath;
 import ts.eclipse.ide.core.resources.jsconfig.IDETsconfigJson;
 import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
 import ts.eclipse.ide.internal.core.Trace;
+import ts.eclipse.ide.internal.core.resources.jsonconfig.JsonConfigResourcesManager;
 
 /**
  * Builder to transpile TypeScript files into JavaScript files and source map if
@@ -159,8 +161,8 @@ public class TypeScriptBuilder extends IncrementalProjectBuilder {
 			}
 		});
 
-		// Compile ts files *.ts
-		for (Entry<ITsconfigBuildPath, List<IFile>> entries : tsFilesToCompile.entrySet()) {
+		// Compile ts files *.ts (referenced tsconfig.json first)
+		for (Entry<ITsconfigBuildPath, List<IFile>> entries : sortByBuildOrder(tsFilesToCompile).entrySet()) {
 			ITsconfigBuildPath tsContainer = entries.getKey();
 			List<IFile> tsFiles = entries.getValue();
 			try {
@@ -170,12 +172,12 @@ public class TypeScriptBuilder extends IncrementalProjectBuilder {
 						&& tsProject.canSupport(CommandNames.CompileOnSaveEmitFile)) {
 					// TypeScript >=2.0.5: compile is done with tsserver
 					// compileWithTsserver(tsProject, tsFiles, tsconfig);
-					compileWithTsc(tsProject, tsFiles, tsconfig);
+					compileWithTsc(tsProject, tsFiles, tsconfig, monitor);
 				} else {
 					// TypeScript < 2.0.5: compile is done with tsc which is not
 					// very
 					// performant.
-					compileWithTsc(tsProject, tsFiles, tsconfig);
+					compileWithTsc(tsProject, tsFiles, tsconfig, monitor);
 				}
 				// validate ts files with tslint
 				tsProject.getTslint().lint(tsconfig, tsFiles, tsProject.getProjectSettings());
@@ -196,18 +198,46 @@ public class TypeScriptBuilder extends IncrementalProjectBuilder {
 		}
 	}
 
+	/**
+	 * Sort the given tsconfig build paths to build a tsconfig.json after the
+	 * tsconfig.json of its project "references".
+	 * 
+	 * @param tsFiles
+	 * @return the sorted tsconfig build paths.
+	 */
+	private Map<ITsconfigBuildPath, List<IFile>> sortByBuildOrder(Map<ITsconfigBuildPath, List<IFile>> tsFiles) {
+		if (tsFiles.size() < 2) {
+			return tsFiles;
+		}
+		Map<IFile, ITsconfigBuildPath> tsContainers = new HashMap<IFile, ITsconfigBuildPath>();
+		for (ITsconfigBuildPath tsContainer : tsFiles.keySet()) {
+			tsContainers.put(tsContainer.getTsconfigFile(), tsContainer);
+		}
+		Map<ITsconfigBuildPath, List<IFile>> sorted = new LinkedHashMap<ITsconfigBuildPath, List<IFile>>();
+		for (List<IFile> level : JsonConfigResourcesManager.getInstance().getBuildOrder(tsContainers.keySet())) {
+			for (IFile tsconfigFile : level) {
+				ITsconfigBuildPath tsContainer = tsContainers.get(tsconfigFile);
+				if (tsContainer != null) {
+					sorted.put(tsContainer, tsFiles.get(tsContainer));
+				}
+			}
+		}
+		return sorted;
+	}
+
 	/**
 	 * Compile the given ts files with tsc.
 	 * 
 	 * @param tsProject
 	 * @param tsFiles
 	 * @param tsconfig
+	 * @param monitor
 	 * @throws TypeScriptException
 	 * @throws CoreException
 	 */
-	private void compileWithTsc(IIDETypeScriptProject tsProject, List<IFile> tsFiles, IDETsconfigJson tsconfig)
-			throws TypeScriptException, CoreException {
-		tsProject.getCompiler().compile(tsconfig, tsFiles);
+	private void compileWithTsc(IIDETypeScriptProject tsProject, List<IFile> tsFiles, IDETsconfigJson tsconfig,
+			IProgressMonitor monitor) throws TypeScriptException, CoreException {
+		tsProject.getCompiler().compile(tsconfig, tsFiles, monitor);
 	}
 
 	/**
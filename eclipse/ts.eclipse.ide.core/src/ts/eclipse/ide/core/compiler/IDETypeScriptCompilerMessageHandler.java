@@ -25,6 +25,7 @@ import ts.cmd.Severity;
 import ts.cmd.tsc.ITypeScriptCompilerMessageHandler;
 import ts.eclipse.ide.core.TypeScriptCorePlugin;
 import ts.eclipse.ide.core.resources.jsconfig.IDETsconfigJson;
+import ts.eclipse.ide.core.utils.TscMarkerBatch;
 import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
 import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
 import ts.eclipse.ide.internal.core.Trace;
@@ -36,7 +37,8 @@ import ts.utils.FileUtils;
  * to track "tsc" message to:
  * 
  * <ul>
- * <li>add error marker to the *.ts files which have error.</li>
+ * <li>add error marker to the *.ts files which have error (applied with
+ * {@link #applyMarkers()}).</li>
  * <li>refresh emitted files *.js and *.js.map files</li>
  * </ul>
  */
@@ -47,6 +49,7 @@ public class IDETypeScriptCompilerMessageHandler implements ITypeScriptCompilerM
 	private final IDETsconfigJson tsconfig;
 	private final List<IFile> filesToRefresh;
 	private final List<IFile> emittedFiles;
+	private final TscMarkerBatch markers;
 
 	public IDETypeScriptCompilerMessageHandler(IContainer container, boolean listEmittedFiles, boolean deleteMarkers)
 			throws CoreException {
@@ -55,8 +58,11 @@ public class IDETypeScriptCompilerMessageHandler implements ITypeScriptCompilerM
 		this.tsconfig = TypeScriptResourceUtil.findTsconfig(container);
 		this.filesToRefresh = new ArrayList<IFile>();
 		this.emittedFiles = new ArrayList<IFile>();
+		this.markers = new TscMarkerBatch(TscMarkerBatch.TSC_SOURCE);
 		if (deleteMarkers) {
-			TypeScriptResourceUtil.deleteTscMarker(container);
+			// the errors of the compilation replace the markers of the
+			// container.
+			markers.reset(container);
 		}
 	}
 
@@ -87,6 +93,10 @@ public class IDETypeScriptCompilerMessageHandler implements ITypeScriptCompilerM
 	@Override
 	public void onCompilationCompleteWatchingForFileChanges() {
 		try {
+			applyMarkers();
+			// with --watch, the next compilation reports the errors of the
+			// whole container.
+			markers.reset(container);
 			refreshEmittedFiles();
 		} catch (CoreException e) {
 			TypeScriptCorePlugin.logError(e);
@@ -125,6 +135,24 @@ public class IDETypeScriptCompilerMessageHandler implements ITypeScriptCompilerM
 		}
 	}
 
+	/**
+	 * Returns the batch which collects the tsc errors.
+	 * 
+	 * @return the batch which collects the tsc errors.
+	 */
+	public TscMarkerBatch getMarkers() {
+		return markers;
+	}
+
+	/**
+	 * Update the tsc markers with the errors collected since the last call.
+	 * 
+	 * @throws CoreException
+	 */
+	public void applyMarkers() throws CoreException {
+		markers.apply(null);
+	}
+
 	public IDETsconfigJson getTsconfig() {
 		return tsconfig;
 	}
@@ -134,12 +162,8 @@ public class IDETypeScriptCompilerMessageHandler implements ITypeScriptCompilerM
 			String message) {
 		IFile file = getFile(filename);
 		if (file != null) {
-			try {
-				String error = TypeScriptResourceUtil.formatTscError(code, message);
-				TypeScriptResourceUtil.addTscMarker(file, error, getSeverity(severity), startLoc.getLine());
-			} catch (CoreException e) {
-
-			}
+			String error = TypeScriptResourceUtil.formatTscError(code, message);
+			markers.addMarker(file, error, getSeverity(severity), startLoc.getLine());
 		}
 	}
 
@@ -14,6 +14,7 @@ import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import ts.TypeScriptException;
 import ts.cmd.tsc.ITypeScriptCompiler;
@@ -32,8 +33,12 @@ public interface IIDETypeScriptCompiler extends ITypeScriptCompiler {
 	 * @param tsconfig
 	 *            tsconfig.json file.
 	 * @param tsFiles
+	 * @param monitor
+	 *            the monitor used to cancel the compilation while tsc waits to
+	 *            be started.
 	 * @throws TypeScriptException
 	 * @throws CoreException
 	 */
-	public void compile(IDETsconfigJson tsconfig, List<IFile> tsFiles) throws TypeScriptException, CoreException;
+	public void compile(IDETsconfigJson tsconfig, List<IFile> tsFiles, IProgressMonitor monitor)
+			throws TypeScriptException, CoreException;
 }
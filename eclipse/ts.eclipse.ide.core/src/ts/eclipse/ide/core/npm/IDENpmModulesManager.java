@@ -1,5 +1,8 @@
 package ts.eclipse.ide.core.npm;
 
+import java.io.File;
+
+import ts.eclipse.ide.core.TypeScriptCorePlugin;
 import ts.eclipse.ide.core.utils.OSHelper;
 import ts.npm.NpmModulesManager;
 
@@ -8,11 +11,20 @@ public class IDENpmModulesManager extends NpmModulesManager {
 	private static final IDENpmModulesManager INSTANCE = new IDENpmModulesManager();
 
 	private IDENpmModulesManager() {
-		super(OSHelper.getOs());
+		super(OSHelper.getOs(), getCacheDir());
 	}
 
 	public static NpmModulesManager getInstance() {
 		return INSTANCE;
 	}
 
+	/**
+	 * Returns the folder where the versions of the npm modules are cached
+	 * between two sessions.
+	 */
+	private static File getCacheDir() {
+		TypeScriptCorePlugin plugin = TypeScriptCorePlugin.getDefault();
+		return plugin != null ? plugin.getStateLocation().append("npm").toFile() : null;
+	}
+
 }
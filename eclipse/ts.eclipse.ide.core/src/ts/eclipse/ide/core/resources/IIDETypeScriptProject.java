@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.text.IDocument;
 
 import ts.TypeScriptException;
+import ts.client.metrics.TypeScriptMetricsInterceptor;
 import ts.eclipse.ide.core.compiler.IIDETypeScriptCompiler;
 import ts.eclipse.ide.core.resources.buildpath.ITypeScriptBuildPath;
 import ts.eclipse.ide.core.tslint.IIDETypeScriptLint;
@@ -111,4 +112,12 @@ public interface IIDETypeScriptProject extends ITypeScriptProject {
 	 */
 	void compileWithTsserver(List<IFile> updatedTsFiles, List<IFile> removedTsFiles, IProgressMonitor monitor) throws TypeScriptException;
 
+	/**
+	 * Returns the metrics (response times, errors, etc) of the tsserver of the
+	 * project.
+	 * 
+	 * @return the metrics of the tsserver of the project.
+	 */
+	TypeScriptMetricsInterceptor getMetrics();
+
 }
\ No newline at end of file
@@ -10,17 +10,30 @@
  */
 package ts.eclipse.ide.core.resources.jsconfig;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
 
 import ts.cmd.tsc.CompilerOptions;
+import ts.eclipse.ide.core.TypeScriptCorePlugin;
 import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
 import ts.eclipse.ide.internal.core.Trace;
+import ts.resources.jsonconfig.ProjectReference;
 import ts.resources.jsonconfig.TsconfigJson;
+import ts.resources.jsonconfig.TsconfigJsonResolver;
+import ts.utils.FileUtils;
 import ts.utils.StringUtils;
 
 /**
@@ -33,20 +46,47 @@ public class IDETsconfigJson extends TsconfigJson {
 	private IContainer outDir;
 	private IFile outFile;
 	private IContainer mapRoot;
+	private transient List<IFile> extendedFiles;
+	private transient List<IFile> referencedFiles;
 
 	/**
-	 * Load tsconfig.json.
+	 * Load tsconfig.json and resolve its "extends" chain.
 	 * 
 	 * @param tsconfigFile
 	 * @return
 	 * @throws CoreException
 	 */
 	public static IDETsconfigJson load(IFile tsconfigFile) throws CoreException {
-		IDETsconfigJson tsconfig = load(tsconfigFile.getContents(), IDETsconfigJson.class);
+		IDETsconfigJson tsconfig;
+		List<IFile> extendedFiles = Collections.emptyList();
+		IPath location = tsconfigFile.getLocation();
+		if (location != null) {
+			List<File> files = new ArrayList<File>();
+			try {
+				tsconfig = load(TsconfigJsonResolver.resolve(location.toFile(), files), IDETsconfigJson.class);
+			} catch (IOException e) {
+				throw new CoreException(new Status(IStatus.ERROR, TypeScriptCorePlugin.PLUGIN_ID,
+						"Error while loading " + tsconfigFile.getFullPath(), e));
+			}
+			extendedFiles = new ArrayList<IFile>();
+			for (File file : files) {
+				IFile extendedFile = ResourcesPlugin.getWorkspace().getRoot()
+						.getFileForLocation(new Path(file.getPath()));
+				if (extendedFile != null) {
+					extendedFiles.add(extendedFile);
+				}
+			}
+		} else {
+			tsconfig = load(tsconfigFile.getContents(), IDETsconfigJson.class);
+		}
 		tsconfig.tsconfigFile = tsconfigFile;
+		tsconfig.extendedFiles = extendedFiles;
+		tsconfig.referencedFiles = computeReferencedFiles(tsconfig);
 		tsconfig.outDir = computeOutDir(tsconfig);
 		tsconfig.outFile = computeOutFile(tsconfig);
 		tsconfig.mapRoot = computeMapRoot(tsconfig);
+		// compile "files", "include", "exclude" once per load.
+		tsconfig.getFileMatcher();
 		return tsconfig;
 	}
 
@@ -59,6 +99,54 @@ public class IDETsconfigJson extends TsconfigJson {
 		return tsconfigFile;
 	}
 
+	/**
+	 * Returns the workspace files of the "extends" chain of this tsconfig.json.
+	 * 
+	 * @return the workspace files of the "extends" chain of this tsconfig.json.
+	 */
+	public List<IFile> getExtendedFiles() {
+		return extendedFiles;
+	}
+
+	/**
+	 * Returns the tsconfig.json files of the project "references".
+	 * 
+	 * @return the tsconfig.json files of the project "references".
+	 */
+	public List<IFile> getReferencedFiles() {
+		return referencedFiles;
+	}
+
+	/**
+	 * Compute the tsconfig.json files of the project "references". A reference
+	 * path is a tsconfig file or the folder which hosts a tsconfig.json.
+	 */
+	private static List<IFile> computeReferencedFiles(IDETsconfigJson tsconfig) {
+		if (!tsconfig.hasReferences()) {
+			return Collections.emptyList();
+		}
+		List<IFile> files = new ArrayList<IFile>();
+		IContainer parent = tsconfig.getTsconfigFile().getParent();
+		for (ProjectReference reference : tsconfig.getReferences()) {
+			if (StringUtils.isEmpty(reference.getPath())) {
+				continue;
+			}
+			try {
+				IPath path = new Path(reference.getPath());
+				IResource resource = parent.findMember(path);
+				IFile file = resource instanceof IContainer
+						? ((IContainer) resource).getFile(new Path(FileUtils.TSCONFIG_JSON))
+						: parent.getFile(path);
+				if (!files.contains(file)) {
+					files.add(file);
+				}
+			} catch (Throwable e) {
+				Trace.trace(Trace.SEVERE, "Error while getting references/path", e);
+			}
+		}
+		return files;
+	}
+
 	/**
 	 * Returns true if the given file is declared in the "files" section and
 	 * false otherwise.
@@ -71,17 +159,7 @@ public class IDETsconfigJson extends TsconfigJson {
 		if (!hasFiles()) {
 			return false;
 		}
-		String filename = getRelativePath(resource).toString();
-		if (resource.getType() == IResource.FILE) {
-			return getFiles().contains(filename);
-		}
-		// folder or project
-		for (String name : getFiles()) {
-			if (name.startsWith(filename)) {
-				return true;
-			}
-		}
-		return false;
+		return getFileMatcher().isInFiles(getRelativePath(resource).toString(), isDirectory(resource));
 	}
 
 	/**
@@ -93,13 +171,7 @@ public class IDETsconfigJson extends TsconfigJson {
 	 *         section) and false otherwise.
 	 */
 	public boolean isExcluded(IResource resource) {
-		String filename = getRelativePath(resource).toString();
-		for (String exclude : getDefaultOrDefinedExclude()) {
-			if (filename.startsWith(exclude)) {
-				return true;
-			}
-		}
-		return false;
+		return getFileMatcher().isExcluded(getRelativePath(resource).toString());
 	}
 
 	/**
@@ -201,11 +273,21 @@ public class IDETsconfigJson extends TsconfigJson {
 		return null;
 	}
 
+	/**
+	 * Returns true if the given resource is declared in the "files" section or
+	 * matches the "include" section without being excluded and false
+	 * otherwise. A folder is in the scope if it can contain a file in the
+	 * scope.
+	 * 
+	 * @param resource
+	 * @return true if the given resource is in the scope of the tsconfig.json
+	 *         and false otherwise.
+	 */
 	public boolean isInScope(IResource resource) {
-		// check if the given file is declared in the "files"
-		if (hasFiles()) {
-			return isInFiles(resource);
-		}
-		return !isExcluded(resource);
+		return getFileMatcher().isInScope(getRelativePath(resource).toString(), isDirectory(resource));
+	}
+
+	private static boolean isDirectory(IResource resource) {
+		return resource.getType() != IResource.FILE;
 	}
 }
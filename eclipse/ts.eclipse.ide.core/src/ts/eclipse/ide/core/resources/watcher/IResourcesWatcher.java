@@ -20,6 +20,20 @@ public interface IResourcesWatcher {
 
 	void removeProjectWatcherListener(IProject project, IProjectWatcherListener listener);
 
+	/**
+	 * Add a listener notified when a file of the given project is deleted,
+	 * created, changed. The events of a file are coalesced and notified in a
+	 * background thread.
+	 * 
+	 * @param project
+	 *            the project.
+	 * @param fileName
+	 *            a file name (ex: "tsconfig.json") which matches the file of
+	 *            any folder, a name pattern with '*' and '?' (ex: "*.d.ts") or
+	 *            a project relative path (ex: "src/tsconfig.json").
+	 * @param listener
+	 *            the listener.
+	 */
 	void addFileWatcherListener(IProject project, String fileName, IFileWatcherListener listener);
 
 	void removeFileWatcherListener(IProject project, String fileName, IFileWatcherListener listener);
@@ -0,0 +1,318 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.core.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import ts.eclipse.ide.internal.core.Trace;
+
+/**
+ * Batch of TypeScript problem markers (tsc, tslint, tsserver diagnostics).
+ *
+ * Diagnostics are collected per resource and {@link #apply(IProgressMonitor)}
+ * diffs them against the existing markers of the same source by (line, range,
+ * severity, message): the unchanged markers are kept, the stale markers are
+ * deleted and only the new diagnostics create a marker. All changes are done in
+ * a single workspace operation, so listeners and the Problems view receive one
+ * resource delta per batch.
+ *
+ * The markers of a resource are replaced when a diagnostic is added to it or
+ * when it is given to {@link #reset(IResource)} (ex: a container to replace
+ * the markers of the whole container). The markers of the other sources (ex:
+ * tslint markers for a tsc batch) are never touched.
+ */
+public class TscMarkerBatch {
+
+	/**
+	 * Source of the diagnostics reported by "tsc" and tsserver.
+	 */
+	public static final String TSC_SOURCE = "tsc";
+
+	/**
+	 * Source of the diagnostics reported by "tslint".
+	 */
+	public static final String TSLINT_SOURCE = "tslint";
+
+	private static final String[] MARKER_ATTRIBUTES = { IMarker.SOURCE_ID, IMarker.MESSAGE, IMarker.SEVERITY,
+			IMarker.LINE_NUMBER, IMarker.CHAR_START, IMarker.CHAR_END };
+
+	private final String source;
+	private final Set<IResource> resetResources;
+	private final Map<IResource, List<MarkerInfo>> markers;
+
+	public TscMarkerBatch(String source) {
+		this.source = source;
+		this.resetResources = new LinkedHashSet<IResource>();
+		this.markers = new LinkedHashMap<IResource, List<MarkerInfo>>();
+	}
+
+	/**
+	 * Replace the markers of the given resource (and its members if it's a
+	 * container) with the diagnostics added to this batch.
+	 *
+	 * @param resource
+	 */
+	public synchronized void reset(IResource resource) {
+		resetResources.add(resource);
+	}
+
+	public synchronized void addMarker(IResource resource, String message, int severity, int lineNumber) {
+		addMarker(resource, new MarkerInfo(message, severity, lineNumber, -1, -1));
+	}
+
+	public synchronized void addMarker(IResource resource, String message, int severity, int lineNumber,
+			int charStart, int charEnd) {
+		addMarker(resource, new MarkerInfo(message, severity, lineNumber, charStart, charEnd));
+	}
+
+	private void addMarker(IResource resource, MarkerInfo marker) {
+		List<MarkerInfo> resourceMarkers = markers.get(resource);
+		if (resourceMarkers == null) {
+			resourceMarkers = new ArrayList<MarkerInfo>();
+			markers.put(resource, resourceMarkers);
+		}
+		resourceMarkers.add(marker);
+	}
+
+	public synchronized boolean isEmpty() {
+		return resetResources.isEmpty() && markers.isEmpty();
+	}
+
+	/**
+	 * Apply the collected diagnostics to the workspace markers and clear this
+	 * batch.
+	 *
+	 * @param monitor
+	 *            the progress monitor or null.
+	 * @throws CoreException
+	 */
+	public void apply(IProgressMonitor monitor) throws CoreException {
+		final Set<IResource> resetResources;
+		final Map<IResource, List<MarkerInfo>> markers;
+		synchronized (this) {
+			if (isEmpty()) {
+				return;
+			}
+			resetResources = new LinkedHashSet<IResource>(this.resetResources);
+			markers = new LinkedHashMap<IResource, List<MarkerInfo>>(this.markers);
+			this.resetResources.clear();
+			this.markers.clear();
+		}
+		final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		workspace.run(new IWorkspaceRunnable() {
+
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				long start = System.currentTimeMillis();
+				int[] stats = applyMarkers(workspace, resetResources, markers);
+				Trace.trace(Trace.PERFORMANCE, source + " markers: " + stats[0] + " kept, " + stats[1] + " deleted, "
+						+ stats[2] + " created in " + (System.currentTimeMillis() - start) + "ms");
+			}
+		}, null, IWorkspace.AVOID_UPDATE, monitor);
+	}
+
+	private int[] applyMarkers(IWorkspace workspace, Set<IResource> resetResources,
+			Map<IResource, List<MarkerInfo>> markers) throws CoreException {
+		// collect the existing markers of this source per resource
+		Map<IResource, List<IMarker>> existingMarkers = new HashMap<IResource, List<IMarker>>();
+		for (IResource resource : resetResources) {
+			collectMarkers(resource, IResource.DEPTH_INFINITE, existingMarkers);
+		}
+		for (IResource resource : markers.keySet()) {
+			if (!isReset(resource, resetResources)) {
+				collectMarkers(resource, IResource.DEPTH_ZERO, existingMarkers);
+			}
+		}
+
+		int kept = 0;
+		List<IMarker> markersToDelete = new ArrayList<IMarker>();
+		Map<IResource, List<MarkerInfo>> markersToCreate = new LinkedHashMap<IResource, List<MarkerInfo>>();
+		Set<IResource> resources = new LinkedHashSet<IResource>(existingMarkers.keySet());
+		resources.addAll(markers.keySet());
+		for (IResource resource : resources) {
+			// count the expected diagnostics to support duplicate diagnostics.
+			Map<MarkerInfo, Integer> expected = new HashMap<MarkerInfo, Integer>();
+			List<MarkerInfo> resourceMarkers = markers.get(resource);
+			if (resourceMarkers != null) {
+				for (MarkerInfo info : resourceMarkers) {
+					Integer count = expected.get(info);
+					expected.put(info, count == null ? 1 : count + 1);
+				}
+			}
+			List<IMarker> existing = existingMarkers.get(resource);
+			if (existing != null) {
+				for (IMarker marker : existing) {
+					MarkerInfo info = MarkerInfo.create(marker);
+					Integer count = expected.get(info);
+					if (count != null) {
+						// the marker is unchanged
+						kept++;
+						if (marker.getAttribute(IMarker.SOURCE_ID, null) == null) {
+							// marker created before the source was stored
+							marker.setAttribute(IMarker.SOURCE_ID, source);
+						}
+						if (count == 1) {
+							expected.remove(info);
+						} else {
+							expected.put(info, count - 1);
+						}
+					} else {
+						markersToDelete.add(marker);
+					}
+				}
+			}
+			if (!expected.isEmpty() && resource.exists()) {
+				List<MarkerInfo> toCreate = new ArrayList<MarkerInfo>();
+				for (MarkerInfo info : resourceMarkers) {
+					Integer count = expected.get(info);
+					if (count != null) {
+						toCreate.add(info);
+						if (count == 1) {
+							expected.remove(info);
+						} else {
+							expected.put(info, count - 1);
+						}
+					}
+				}
+				markersToCreate.put(resource, toCreate);
+			}
+		}
+
+		if (!markersToDelete.isEmpty()) {
+			workspace.deleteMarkers(markersToDelete.toArray(new IMarker[markersToDelete.size()]));
+		}
+		int created = 0;
+		for (Map.Entry<IResource, List<MarkerInfo>> entry : markersToCreate.entrySet()) {
+			IResource resource = entry.getKey();
+			for (MarkerInfo info : entry.getValue()) {
+				IMarker marker = resource.createMarker(TypeScriptResourceUtil.TSC_MARKER_TYPE);
+				marker.setAttributes(info.toAttributes(source));
+				created++;
+			}
+		}
+		return new int[] { kept, markersToDelete.size(), created };
+	}
+
+	private void collectMarkers(IResource resource, int depth, Map<IResource, List<IMarker>> existingMarkers)
+			throws CoreException {
+		if (!resource.exists()) {
+			return;
+		}
+		IMarker[] markers = resource.findMarkers(TypeScriptResourceUtil.TSC_MARKER_TYPE, true, depth);
+		for (IMarker marker : markers) {
+			String markerSource = marker.getAttribute(IMarker.SOURCE_ID, null);
+			// markers created before the source was stored belong to any
+			// source.
+			if (markerSource == null || markerSource.equals(source)) {
+				List<IMarker> resourceMarkers = existingMarkers.get(marker.getResource());
+				if (resourceMarkers == null) {
+					resourceMarkers = new ArrayList<IMarker>();
+					existingMarkers.put(marker.getResource(), resourceMarkers);
+				} else if (resourceMarkers.contains(marker)) {
+					// the resource is in several reset containers.
+					continue;
+				}
+				resourceMarkers.add(marker);
+			}
+		}
+	}
+
+	private static boolean isReset(IResource resource, Set<IResource> resetResources) {
+		for (IResource reset : resetResources) {
+			if (reset.getFullPath().isPrefixOf(resource.getFullPath())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The attributes of a marker used to compare a diagnostic with an existing
+	 * marker.
+	 */
+	private static class MarkerInfo {
+
+		private final String message;
+		private final int severity;
+		private final int lineNumber;
+		private final int charStart;
+		private final int charEnd;
+
+		MarkerInfo(String message, int severity, int lineNumber, int charStart, int charEnd) {
+			this.message = message != null ? message : "";
+			this.severity = severity;
+			this.lineNumber = lineNumber;
+			this.charStart = charStart;
+			this.charEnd = charEnd;
+		}
+
+		static MarkerInfo create(IMarker marker) throws CoreException {
+			Object[] values = marker.getAttributes(MARKER_ATTRIBUTES);
+			return new MarkerInfo((String) values[1], toInt(values[2]), toInt(values[3]), toInt(values[4]),
+					toInt(values[5]));
+		}
+
+		private static int toInt(Object value) {
+			return value instanceof Integer ? (Integer) value : -1;
+		}
+
+		Map<String, Object> toAttributes(String source) {
+			Map<String, Object> attributes = new HashMap<String, Object>();
+			attributes.put(IMarker.SOURCE_ID, source);
+			attributes.put(IMarker.MESSAGE, message);
+			attributes.put(IMarker.SEVERITY, severity);
+			attributes.put(IMarker.LINE_NUMBER, lineNumber);
+			if (charStart != -1) {
+				attributes.put(IMarker.CHAR_START, charStart);
+			}
+			if (charEnd != -1) {
+				attributes.put(IMarker.CHAR_END, charEnd);
+			}
+			return attributes;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = message.hashCode();
+			result = 31 * result + severity;
+			result = 31 * result + lineNumber;
+			result = 31 * result + charStart;
+			return 31 * result + charEnd;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof MarkerInfo)) {
+				return false;
+			}
+			MarkerInfo other = (MarkerInfo) obj;
+			return severity == other.severity && lineNumber == other.lineNumber && charStart == other.charStart
+					&& charEnd == other.charEnd && message.equals(other.message);
+		}
+	}
+}
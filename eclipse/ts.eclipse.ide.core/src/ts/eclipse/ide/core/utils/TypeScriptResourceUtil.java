@@ -57,7 +57,7 @@ public class TypeScriptResourceUtil {
 
 	private static final String TSC_TYPE = "tsc";
 	private static final String TSLINT_TYPE = "tslint";
-	private static final String TSC_MARKER_TYPE = "ts.eclipse.ide.core.typeScriptProblem";
+	static final String TSC_MARKER_TYPE = "ts.eclipse.ide.core.typeScriptProblem";
 
 	public static boolean isTsOrTsxFile(Object element) {
 		return IDEResourcesManager.getInstance().isTsOrTsxFile(element);
@@ -348,17 +348,18 @@ public class TypeScriptResourceUtil {
 	public static IMarker addTscMarker(IResource resource, String message, int severity, int lineNumber)
 			throws CoreException {
 		IMarker marker = resource.createMarker(TSC_MARKER_TYPE);
-		marker.setAttribute(IMarker.MESSAGE, message);
-		marker.setAttribute(IMarker.SEVERITY, severity);
-		marker.setAttribute(IMarker.LINE_NUMBER, lineNumber);
+		marker.setAttributes(new String[] { IMarker.MESSAGE, IMarker.SEVERITY, IMarker.LINE_NUMBER },
+				new Object[] { message, severity, lineNumber });
 		return marker;
 	}
 
 	public static IMarker addTscMarker(IResource resource, String message, int severity, int lineNumber, int charStart,
 			int charEnd) throws CoreException {
-		IMarker marker = addTscMarker(resource, message, severity, lineNumber);
-		marker.setAttribute(IMarker.CHAR_START, charStart);
-		marker.setAttribute(IMarker.CHAR_END, charEnd);
+		IMarker marker = resource.createMarker(TSC_MARKER_TYPE);
+		marker.setAttributes(
+				new String[] { IMarker.MESSAGE, IMarker.SEVERITY, IMarker.LINE_NUMBER, IMarker.CHAR_START,
+						IMarker.CHAR_END },
+				new Object[] { message, severity, lineNumber, charStart, charEnd });
 		return marker;
 	}
 
@@ -29,6 +29,8 @@ public class TypeScriptCoreMessages extends NLS {
 	public static String SaveProjectPreferencesJob_name;
 	public static String SaveProjectPreferencesJob_taskName;
 
+	public static String ExternalChangesSynchronizer_jobName;
+
 	// tsconfig.json errors while compilation on save
 	public static String tsconfig_compileOnSave_disable_error;
 	public static String tsconfig_compilation_context_error;
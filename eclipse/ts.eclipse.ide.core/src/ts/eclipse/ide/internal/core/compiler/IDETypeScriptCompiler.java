@@ -13,11 +13,14 @@ package ts.eclipse.ide.internal.core.compiler;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.osgi.util.NLS;
 
 import ts.TypeScriptException;
@@ -25,8 +28,11 @@ import ts.cmd.tsc.CompilerOptions;
 import ts.cmd.tsc.TypeScriptCompiler;
 import ts.eclipse.ide.core.compiler.IIDETypeScriptCompiler;
 import ts.eclipse.ide.core.resources.jsconfig.IDETsconfigJson;
+import ts.eclipse.ide.core.utils.TscMarkerBatch;
 import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
 import ts.eclipse.ide.internal.core.TypeScriptCoreMessages;
+import ts.nodejs.ICancelChecker;
+import ts.nodejs.NodejsProcessScheduler.Priority;
 import ts.resources.ITypeScriptProject;
 
 /**
@@ -43,11 +49,29 @@ public class IDETypeScriptCompiler extends TypeScriptCompiler implements IIDETyp
 	}
 
 	@Override
-	public void compile(IDETsconfigJson tsconfig, List<IFile> tsFiles) throws TypeScriptException, CoreException {
+	public void compile(IDETsconfigJson tsconfig, List<IFile> tsFiles, final IProgressMonitor monitor)
+			throws TypeScriptException, CoreException {
 		IFile tsconfigFile = tsconfig.getTsconfigFile();
+		TscMarkerBatch markers = new TscMarkerBatch(TscMarkerBatch.TSC_SOURCE);
+		ICancelChecker cancelChecker = monitor != null ? new ICancelChecker() {
+
+			@Override
+			public boolean isCanceled() {
+				return monitor.isCanceled();
+			}
+		} : null;
+		try {
+			compile(tsconfig, tsFiles, tsconfigFile, markers, cancelChecker);
+		} finally {
+			markers.apply(null);
+		}
+	}
+
+	private void compile(IDETsconfigJson tsconfig, List<IFile> tsFiles, IFile tsconfigFile, TscMarkerBatch markers,
+			ICancelChecker cancelChecker) throws TypeScriptException, CoreException {
 		if (tsconfig.isBuildOnSave()) {
 			// Compile the whole files for the given tsconfig.json
-			compile(tsconfigFile, tsconfig.getCompilerOptions(), tsFiles, true);
+			compile(tsconfigFile, tsconfig.getCompilerOptions(), tsFiles, true, markers, cancelChecker);
 		} else {
 			if (tsconfig.isCompileOnSave()) {
 				// compileOnSave is activated
@@ -58,10 +82,8 @@ public class IDETypeScriptCompiler extends TypeScriptCompiler implements IIDETyp
 					// the ts files cannot be compiled;
 					// add a warning by suggesting to use "buildOnSave"
 					for (IFile tsFile : tsFiles) {
-						// delete existing marker
-						TypeScriptResourceUtil.deleteTscMarker(tsFile);
-						// add warning marker
-						TypeScriptResourceUtil.addTscMarker(tsFile,
+						// replace existing markers with a warning marker
+						markers.addMarker(tsFile,
 								NLS.bind(tsconfigErrorMessage,
 										tsconfig.getTsconfigFile().getProjectRelativePath().toString()),
 								IMarker.SEVERITY_WARNING, 1);
@@ -74,12 +96,13 @@ public class IDETypeScriptCompiler extends TypeScriptCompiler implements IIDETyp
 					for (IFile tsFile : tsFiles) {
 						if (!tsconfig.isInScope(tsFile)) {
 							tsFilesToCompile.remove(tsFile);
-							addCompilationContextMarkerError(tsFile, tsconfig.getTsconfigFile());
+							addCompilationContextMarkerError(tsFile, tsconfig.getTsconfigFile(), markers);
 						}
 					}
 					// compile the list of ts files.
 					if (!tsFilesToCompile.isEmpty()) {
-						compile(tsconfigFile, tsconfig.getCompilerOptions(), tsFilesToCompile, false);
+						compile(tsconfigFile, tsconfig.getCompilerOptions(), tsFilesToCompile, false, markers,
+								cancelChecker);
 					}
 				}
 			} else {
@@ -89,10 +112,8 @@ public class IDETypeScriptCompiler extends TypeScriptCompiler implements IIDETyp
 				// whish
 				// to compile
 				for (IFile tsFile : tsFiles) {
-					// delete existing marker
-					TypeScriptResourceUtil.deleteTscMarker(tsFile);
-					// add warning marker
-					TypeScriptResourceUtil.addTscMarker(tsFile,
+					// replace existing markers with a warning marker
+					markers.addMarker(tsFile,
 							NLS.bind(TypeScriptCoreMessages.tsconfig_compileOnSave_disable_error,
 									tsconfig.getTsconfigFile().getProjectRelativePath().toString()),
 							IMarker.SEVERITY_WARNING, 1);
@@ -113,33 +134,40 @@ public class IDETypeScriptCompiler extends TypeScriptCompiler implements IIDETyp
 		return null;
 	}
 
-	private void compile(IFile tsConfigFile, CompilerOptions tsconfigOptions, List<IFile> tsFiles, boolean buildOnSave)
-			throws TypeScriptException, CoreException {
+	private void compile(IFile tsConfigFile, CompilerOptions tsconfigOptions, List<IFile> tsFiles, boolean buildOnSave,
+			TscMarkerBatch markers, ICancelChecker cancelChecker) throws TypeScriptException, CoreException {
 		IContainer container = tsConfigFile.getParent();
 		IDETypeScriptCompilerReporter reporter = new IDETypeScriptCompilerReporter(container, listEmittedFiles,
 				!buildOnSave ? tsFiles : null);
 		CompilerOptions options = createOptions(tsconfigOptions, buildOnSave, listEmittedFiles);
 		// compile ts files to *.js, *.js.map files
-		super.execute(container.getLocation().toFile(), options, reporter.getFileNames(), reporter);
+		try {
+			// the build waits in background priority when too many tsc are
+			// running.
+			super.execute(container.getLocation().toFile(), options, reporter.getFileNames(), reporter,
+					Priority.BACKGROUND, cancelChecker);
+		} catch (CancellationException e) {
+			throw new OperationCanceledException();
+		}
+		// update the markers of the ts files with the tsc errors.
+		reporter.applyMarkers();
 		// refresh *.js, *.js.map which have been generated with tsc.
 		reporter.refreshEmittedFiles();
 		// check the given list of ts files are the same than tsc
 		// --listFiles
 		for (IFile tsFile : tsFiles) {
 			if (!reporter.getFilesToRefresh().contains(tsFile)) {
-				addCompilationContextMarkerError(tsFile, tsConfigFile);
+				addCompilationContextMarkerError(tsFile, tsConfigFile, markers);
 			}
 		}
 
 	}
 
-	private void addCompilationContextMarkerError(IFile tsFile, IFile tsConfigFile) throws CoreException {
+	private void addCompilationContextMarkerError(IFile tsFile, IFile tsConfigFile, TscMarkerBatch markers) {
 		// The ts file to compile is not in the compilation context of
 		// the tsconfig.json
-		// delete existing marker
-		TypeScriptResourceUtil.deleteTscMarker(tsFile);
-		// add warning marker
-		TypeScriptResourceUtil.addTscMarker(tsFile, NLS.bind(TypeScriptCoreMessages.tsconfig_compilation_context_error,
+		// replace existing markers with a warning marker
+		markers.addMarker(tsFile, NLS.bind(TypeScriptCoreMessages.tsconfig_compilation_context_error,
 				tsConfigFile.getProjectRelativePath().toString()), IMarker.SEVERITY_WARNING, 1);
 	}
 
@@ -20,7 +20,6 @@ import org.eclipse.core.runtime.CoreException;
 
 import ts.cmd.tsc.TypeScriptCompilerHelper;
 import ts.eclipse.ide.core.compiler.IDETypeScriptCompilerMessageHandler;
-import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
 import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
 import ts.nodejs.INodejsProcess;
 import ts.nodejs.INodejsProcessListener;
@@ -40,8 +39,8 @@ public class IDETypeScriptCompilerReporter extends IDETypeScriptCompilerMessageH
 		if (tsFiles != null) {
 			tsFileNames = new ArrayList<String>();
 			for (IFile tsFile : tsFiles) {
-				// delete marker for the given ts files.
-				TypeScriptResourceUtil.deleteTscMarker(tsFile);
+				// replace markers of the given ts files.
+				getMarkers().reset(tsFile);
 				// add to the list file names
 				tsFileNames.add(WorkbenchResourceUtil.getRelativePath(tsFile, container).toString());
 			}
@@ -165,7 +165,11 @@ public class IDETypeScriptRepositoryManager extends TypeScriptRepositoryManager
 		for (IConfigurationElement ce : cf) {
 			try {
 				File baseDir = computeActualBaseDir(ce);
-				ITypeScriptRepository repository = createRepository(baseDir);
+				// a zip repository is not extracted: its metadata are read from
+				// the zip and it's extracted when a project uses it.
+				File archiveFile = getRepositoryArchive(ce);
+				ITypeScriptRepository repository = archiveFile != null ? createRepository(archiveFile, baseDir)
+						: createRepository(baseDir);
 				synchronized (repositoriesByBaseDir) {
 					repositoriesByBaseDir.put(baseDir, repository);
 				}
@@ -212,25 +216,45 @@ public class IDETypeScriptRepositoryManager extends TypeScriptRepositoryManager
 
 		IPath stateLocationPath = InternalPlatform.getDefault().getStateLocation(Platform.getBundle(bundleId));
 		dir = new File(stateLocationPath.toFile(), baseDir);
-		if (dir.exists()) {
-			return dir;
-		}
 
+		// a zip is extracted lazily by the repository (see
+		// getRepositoryArchive). For a tar.gz, the extraction is skipped when
+		// the stamp of the extracted folder matches the archive, an
+		// interrupted or outdated extraction is done again.
 		File zipFile = new File(bundleDir, baseDir + ZipUtils.ZIP_EXTENSION);
 		if (zipFile.exists()) {
-			ZipUtils.extractZip(zipFile, dir.getParentFile());
 			return dir;
 		} else {
 			zipFile = new File(bundleDir, baseDir + ZipUtils.TAR_GZ_EXTENSION);
 			if (zipFile.exists()) {
+				long start = System.currentTimeMillis();
 				ZipUtils.extractTar(zipFile, dir);
+				Trace.trace(Trace.PERFORMANCE,
+						"Extract " + zipFile + " in " + (System.currentTimeMillis() - start) + "ms");
 				return dir;
 			}
 		}
+		if (dir.exists()) {
+			return dir;
+		}
 		throw new RuntimeException("Bundle location " + bundleDir
 				+ " cannot contribute a TypeScript repository because it is not a directory");
 	}
 
+	/**
+	 * Returns the zip file of the given repository contribution and null if
+	 * the repository is a folder of the bundle or a tar.gz file.
+	 */
+	private static File getRepositoryArchive(IConfigurationElement ce) throws IOException {
+		File bundleDir = FileLocator.getBundleFile(Platform.getBundle(ce.getNamespaceIdentifier()));
+		String baseDir = ce.getAttribute("baseDir");
+		if (new File(bundleDir, baseDir).exists()) {
+			return null;
+		}
+		File zipFile = new File(bundleDir, baseDir + ZipUtils.ZIP_EXTENSION);
+		return zipFile.exists() ? zipFile : null;
+	}
+
 	private void resetDefaultRepository() {
 
 		// Sort available repositories by version in decreasing order
@@ -0,0 +1,205 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.internal.core.resources;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
+import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
+import ts.eclipse.ide.internal.core.Trace;
+import ts.eclipse.ide.internal.core.TypeScriptCoreMessages;
+import ts.utils.FileUtils;
+
+/**
+ * Synchronize tsserver with the TypeScript/JavaScript files changed on the
+ * disk by an external tool (git checkout, code generation):
+ *
+ * <ul>
+ * <li>the changed files are collected per project from the POST_CHANGE
+ * deltas and synchronized by a job once the changes stop during
+ * {@link #DELAY}ms. The job ignores the projects which have no tsserver.</li>
+ * <li>the derived/emitted files and the files which have a connected text file
+ * buffer (opened in an editor, changed by a refactoring) are ignored: tsserver
+ * is updated with their buffer.</li>
+ * <li>a project whose tsconfig.json/jsconfig.json changed is skipped: its
+ * tsserver is stopped by the tsconfig.json watcher and will read the files when
+ * it will be restarted.</li>
+ * <li>see {@link IDETypeScriptProject#synchronizeExternalChanges} for the
+ * synchronization of the files.</li>
+ * </ul>
+ */
+public class ExternalChangesSynchronizer implements IResourceChangeListener, IResourceDeltaVisitor {
+
+	private static final long DELAY = 300;
+
+	private static final Set<String> EXTENSIONS = new HashSet<String>(
+			Arrays.asList(FileUtils.TS_EXTENSION, FileUtils.TSX_EXTENSION, FileUtils.JS_EXTENSION,
+					FileUtils.JSX_EXTENSION));
+
+	private static final ExternalChangesSynchronizer INSTANCE = new ExternalChangesSynchronizer();
+
+	public static ExternalChangesSynchronizer getInstance() {
+		return INSTANCE;
+	}
+
+	private final Map<IProject, Set<String>> changedFiles;
+	private final Set<IProject> changedConfigs;
+	private final Job job;
+
+	private ExternalChangesSynchronizer() {
+		this.changedFiles = new LinkedHashMap<IProject, Set<String>>();
+		this.changedConfigs = new HashSet<IProject>();
+		this.job = new Job(TypeScriptCoreMessages.ExternalChangesSynchronizer_jobName) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				synchronize(monitor);
+				return Status.OK_STATUS;
+			}
+		};
+		this.job.setSystem(true);
+	}
+
+	public void initialize() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		job.cancel();
+		synchronized (changedFiles) {
+			changedFiles.clear();
+			changedConfigs.clear();
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(this);
+		} catch (CoreException e) {
+			Trace.trace(Trace.SEVERE, "Error while collecting TypeScript external changes", e);
+		}
+		synchronized (changedFiles) {
+			if (changedFiles.isEmpty() && changedConfigs.isEmpty()) {
+				return;
+			}
+		}
+		// wait for the end of the changes (ex: git checkout refreshes the
+		// workspace by several deltas).
+		job.schedule(DELAY);
+	}
+
+	@Override
+	public boolean visit(IResourceDelta delta) throws CoreException {
+		IResource resource = delta.getResource();
+		switch (resource.getType()) {
+		case IResource.ROOT:
+			return true;
+		case IResource.PROJECT:
+			// the projects which have a tsserver are resolved by the job.
+			return resource.isAccessible();
+		case IResource.FOLDER:
+			return !FileUtils.NODE_MODULES.equals(resource.getName());
+		case IResource.FILE:
+			IFile file = (IFile) resource;
+			String name = file.getName();
+			if (FileUtils.TSCONFIG_JSON.equals(name) || FileUtils.JSCONFIG_JSON.equals(name)) {
+				synchronized (changedFiles) {
+					changedConfigs.add(file.getProject());
+				}
+			} else if (delta.getKind() == IResourceDelta.CHANGED
+					&& (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0
+					&& EXTENSIONS.contains(file.getFileExtension()) && !file.isDerived() && !hasTextFileBuffer(file)
+					&& !TypeScriptResourceUtil.isEmittedFile(file)) {
+				// the added/removed files are discovered by the tsserver
+				// watchers of the configured projects.
+				synchronized (changedFiles) {
+					Set<String> files = changedFiles.get(file.getProject());
+					if (files == null) {
+						files = new LinkedHashSet<String>();
+						changedFiles.put(file.getProject(), files);
+					}
+					files.add(WorkbenchResourceUtil.getFileName(file));
+				}
+			}
+			return false;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the given file has a connected text file buffer (opened
+	 * in an editor, changed by a refactoring) and false otherwise.
+	 */
+	private static boolean hasTextFileBuffer(IFile file) {
+		return FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(),
+				LocationKind.IFILE) != null;
+	}
+
+	private void synchronize(IProgressMonitor monitor) {
+		Map<IProject, Set<String>> filesToSynchronize;
+		synchronized (changedFiles) {
+			filesToSynchronize = new LinkedHashMap<IProject, Set<String>>(changedFiles);
+			for (IProject project : changedConfigs) {
+				// tsserver is restarted
+				filesToSynchronize.remove(project);
+			}
+			changedFiles.clear();
+			changedConfigs.clear();
+		}
+		for (Map.Entry<IProject, Set<String>> entry : filesToSynchronize.entrySet()) {
+			if (monitor.isCanceled()) {
+				return;
+			}
+			IProject project = entry.getKey();
+			Set<String> fileNames = entry.getValue();
+			long start = System.currentTimeMillis();
+			try {
+				IDETypeScriptProject tsProject = IDETypeScriptProject.getTypeScriptProject(project);
+				if (tsProject != null) {
+					boolean reloaded = tsProject.synchronizeExternalChanges(fileNames);
+					Trace.trace(Trace.PERFORMANCE,
+							"External changes of " + project.getName() + ": " + fileNames.size() + " file(s)"
+									+ (reloaded ? " (projects reloaded)" : "") + " synchronized in "
+									+ (System.currentTimeMillis() - start) + "ms");
+				}
+			} catch (Throwable e) {
+				Trace.trace(Trace.SEVERE, "Error while synchronizing external changes of " + project.getName(), e);
+			}
+		}
+	}
+}
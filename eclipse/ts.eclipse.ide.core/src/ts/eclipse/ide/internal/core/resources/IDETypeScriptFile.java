@@ -14,6 +14,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 
 import ts.TypeScriptException;
@@ -122,6 +123,15 @@ public class IDETypeScriptFile extends AbstractTypeScriptFile implements IIDETyp
 		return DocumentUtils.getPosition(document, line, offset);
 	}
 
+	@Override
+	protected long getModificationStamp() {
+		IDocument document = this.document;
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return super.getModificationStamp();
+	}
+
 	@Override
 	public IResource getResource() {
 		return file;
@@ -32,6 +32,7 @@ import ts.client.compileonsave.CompileOnSaveAffectedFileListSingleProject;
 import ts.client.diagnostics.DiagnosticEventBody;
 import ts.client.diagnostics.IDiagnostic;
 import ts.client.diagnostics.IDiagnostic.DiagnosticCategory;
+import ts.client.metrics.TypeScriptMetricsInterceptor;
 import ts.cmd.tsc.ITypeScriptCompiler;
 import ts.cmd.tslint.ITypeScriptLint;
 import ts.eclipse.ide.core.TypeScriptCorePlugin;
@@ -46,6 +47,7 @@ import ts.eclipse.ide.core.resources.jsconfig.IDETsconfigJson;
 import ts.eclipse.ide.core.resources.watcher.IFileWatcherListener;
 import ts.eclipse.ide.core.resources.watcher.ProjectWatcherListenerAdapter;
 import ts.eclipse.ide.core.tslint.IIDETypeScriptLint;
+import ts.eclipse.ide.core.utils.TscMarkerBatch;
 import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
 import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
 import ts.eclipse.ide.internal.core.Trace;
@@ -109,9 +111,12 @@ public class IDETypeScriptProject extends TypeScriptProject implements IIDETypeS
 
 	private ITypeScriptBuildPath buildPath;
 
+	private final TypeScriptMetricsInterceptor metrics;
+
 	public IDETypeScriptProject(IProject project) throws CoreException {
 		super(project.getLocation().toFile(), null);
 		this.project = project;
+		this.metrics = new TypeScriptMetricsInterceptor(project.getName());
 		super.setProjectSettings(new IDETypeScriptProjectSettings(this));
 		synchronized (tsProjects) {
 			tsProjects.put(project, this);
@@ -207,9 +212,15 @@ public class IDETypeScriptProject extends TypeScriptProject implements IIDETypeS
 
 	@Override
 	protected void onCreateClient(ITypeScriptServiceClient client) {
+		metrics.connect(client);
 		configureConsole();
 	}
 
+	@Override
+	public TypeScriptMetricsInterceptor getMetrics() {
+		return metrics;
+	}
+
 	@Override
 	public void configureConsole() {
 		synchronized (serverLock) {
@@ -462,11 +473,17 @@ public class IDETypeScriptProject extends TypeScriptProject implements IIDETypeS
 	 */
 	private boolean compileTsFiles(List<String> tsFilesToCompile, ITypeScriptServiceClient client,
 			IProgressMonitor monitor) throws Exception {
-		for (String filename : tsFilesToCompile) {
-			if (monitor.isCanceled()) {
-				return true;
+		TscMarkerBatch markers = new TscMarkerBatch(TscMarkerBatch.TSC_SOURCE);
+		try {
+			for (String filename : tsFilesToCompile) {
+				if (monitor.isCanceled()) {
+					return true;
+				}
+				compileTsFile(filename, client, markers);
 			}
-			compileTsFile(filename, client);
+		} finally {
+			// update the markers of the compiled files in one operation
+			markers.apply(monitor);
 		}
 		return false;
 	}
@@ -478,27 +495,27 @@ public class IDETypeScriptProject extends TypeScriptProject implements IIDETypeS
 	 * @param client
 	 * @throws Exception
 	 */
-	private void compileTsFile(String filename, ITypeScriptServiceClient client) throws Exception {
+	private void compileTsFile(String filename, ITypeScriptServiceClient client, TscMarkerBatch markers)
+			throws Exception {
 		// Compile the given ts filename with tsserver
 		Boolean result = client.compileOnSaveEmitFile(filename, true).get(5000, TimeUnit.MILLISECONDS);
 
 		IFile tsFile = WorkbenchResourceUtil.findFileFromWorkspace(filename);
 		if (tsFile != null) {
-			// Delete TypeScript error marker
-			TypeScriptResourceUtil.deleteTscMarker(tsFile);
-			// Add TypeScript error marker if there error errors.
+			// Replace TypeScript error markers with the errors.
+			markers.reset(tsFile);
 			DiagnosticEventBody event = client.syntacticDiagnosticsSync(filename, true).get(5000,
 					TimeUnit.MILLISECONDS);
-			addMarker(tsFile, event);
+			addMarker(tsFile, event, markers);
 			event = client.semanticDiagnosticsSync(filename, true).get(5000, TimeUnit.MILLISECONDS);
-			addMarker(tsFile, event);
+			addMarker(tsFile, event, markers);
 		}
 	}
 
-	public void addMarker(IFile tsFile, DiagnosticEventBody event) throws CoreException {
+	private void addMarker(IFile tsFile, DiagnosticEventBody event, TscMarkerBatch markers) {
 		List<IDiagnostic> diagnostics = event.getDiagnostics();
 		for (IDiagnostic diagnostic : diagnostics) {
-			TypeScriptResourceUtil.addTscMarker(tsFile, diagnostic.getFullText(), getSeverity(diagnostic.getCategory()),
+			markers.addMarker(tsFile, diagnostic.getFullText(), getSeverity(diagnostic.getCategory()),
 					diagnostic.getStartLocation().getLine());
 		}
 	}
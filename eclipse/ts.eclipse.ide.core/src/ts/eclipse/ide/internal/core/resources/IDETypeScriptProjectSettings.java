@@ -135,7 +135,7 @@ public class IDETypeScriptProjectSettings extends AbstractTypeScriptSettings imp
 	}
 
 	@Override
-	public File getTscFile() {
+	public File getTscFile() throws TypeScriptException {
 		if (super.getBooleanPreferencesValue(TypeScriptCorePreferenceConstants.USE_EMBEDDED_TYPESCRIPT, false)) {
 			// Use TypeScript Repository.
 			ITypeScriptRepository repository = getRepository(TypeScriptCorePreferenceConstants.EMBEDDED_TYPESCRIPT_ID);
@@ -167,7 +167,7 @@ public class IDETypeScriptProjectSettings extends AbstractTypeScriptSettings imp
 	}
 
 	@Override
-	public File getTypesScriptDir() {
+	public File getTypesScriptDir() throws TypeScriptException {
 		if (super.getBooleanPreferencesValue(TypeScriptCorePreferenceConstants.USE_EMBEDDED_TYPESCRIPT, false)) {
 			// Use TypeScript Repository.
 			ITypeScriptRepository repository = getRepository(TypeScriptCorePreferenceConstants.EMBEDDED_TYPESCRIPT_ID);
@@ -329,7 +329,7 @@ public class IDETypeScriptProjectSettings extends AbstractTypeScriptSettings imp
 	// -------------tslint
 
 	@Override
-	public File getTslintFile() {
+	public File getTslintFile() throws TypeScriptException {
 		if (super.getBooleanPreferencesValue(TypeScriptCorePreferenceConstants.TSLINT_USE_EMBEDDED_TYPESCRIPT, false)) {
 			// Use TypeScript Repository.
 			ITypeScriptRepository repository = getRepository(
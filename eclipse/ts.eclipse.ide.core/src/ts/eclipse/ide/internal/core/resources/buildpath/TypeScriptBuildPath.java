@@ -17,9 +17,10 @@ import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -46,6 +47,7 @@ public class TypeScriptBuildPath implements ITypeScriptBuildPath {
 
 	private final IProject project;
 	private List<ITsconfigBuildPath> tsconfigBuildPathList;
+	private TsconfigBuildPathNode tsconfigBuildPathTree;
 	private final List<ITypeScriptBuildPathEntry> entries;
 
 	private static final ITsconfigBuildPath[] EMPTY_TSCONFIG_BUILD_PATH = new ITsconfigBuildPath[0];
@@ -78,10 +80,39 @@ public class TypeScriptBuildPath implements ITypeScriptBuildPath {
 	}
 
 	private List<ITsconfigBuildPath> getTsconfigBuildPathList() {
-		if (tsconfigBuildPathList == null) {
-			tsconfigBuildPathList = buildTsconfigBuildPathList(entries, project);
+		List<ITsconfigBuildPath> list = tsconfigBuildPathList;
+		if (list == null) {
+			list = buildTsconfigBuildPathList(entries, project);
+			tsconfigBuildPathTree = buildTsconfigBuildPathTree(list);
+			tsconfigBuildPathList = list;
 		}
-		return tsconfigBuildPathList;
+		return list;
+	}
+
+	private TsconfigBuildPathNode getTsconfigBuildPathTree() {
+		getTsconfigBuildPathList();
+		return tsconfigBuildPathTree;
+	}
+
+	/**
+	 * Build the tree of the containers of the tsconfig.json files indexed by
+	 * path segment.
+	 */
+	private static TsconfigBuildPathNode buildTsconfigBuildPathTree(List<ITsconfigBuildPath> tsconfigBuildPathList) {
+		TsconfigBuildPathNode root = new TsconfigBuildPathNode();
+		for (ITsconfigBuildPath tsconfigBuildPath : tsconfigBuildPathList) {
+			IPath path = tsconfigBuildPath.getTsconfigFile().getParent().getFullPath();
+			TsconfigBuildPathNode node = root;
+			for (int i = 0; i < path.segmentCount(); i++) {
+				node = node.getOrCreateChild(path.segment(i));
+			}
+			if (node.tsconfigBuildPath == null) {
+				// several tsconfig files in the same folder: keep the first
+				// one of the sorted list.
+				node.tsconfigBuildPath = tsconfigBuildPath;
+			}
+		}
+		return root;
 	}
 
 	private List<ITsconfigBuildPath> buildTsconfigBuildPathList(List<ITypeScriptBuildPathEntry> entries,
@@ -172,13 +203,17 @@ public class TypeScriptBuildPath implements ITypeScriptBuildPath {
 
 	@Override
 	public ITsconfigBuildPath findTsconfigBuildPath(IResource resource) {
-		for (ITsconfigBuildPath tsconfigBuildPath : getTsconfigBuildPathList()) {
-			IContainer container = tsconfigBuildPath.getTsconfigFile().getParent();
-			if (container.getFullPath().isPrefixOf(resource.getFullPath())) {
-				return tsconfigBuildPath;
+		// returns the tsconfig.json of the deepest container of the resource
+		IPath path = resource.getFullPath();
+		TsconfigBuildPathNode node = getTsconfigBuildPathTree();
+		ITsconfigBuildPath result = node.tsconfigBuildPath;
+		for (int i = 0; i < path.segmentCount() && node != null; i++) {
+			node = node.getChild(path.segment(i));
+			if (node != null && node.tsconfigBuildPath != null) {
+				result = node.tsconfigBuildPath;
 			}
 		}
-		return null;
+		return result;
 	}
 
 	@Override
@@ -246,6 +281,32 @@ public class TypeScriptBuildPath implements ITypeScriptBuildPath {
 		getProjectSettings().updateBuildPath(this);
 	}
 
+	/**
+	 * Node of the tree of tsconfig.json containers: a node is a path segment
+	 * and hosts the tsconfig build path of the container of this path.
+	 */
+	private static class TsconfigBuildPathNode {
+
+		private Map<String, TsconfigBuildPathNode> children;
+		private ITsconfigBuildPath tsconfigBuildPath;
+
+		TsconfigBuildPathNode getChild(String segment) {
+			return children != null ? children.get(segment) : null;
+		}
+
+		TsconfigBuildPathNode getOrCreateChild(String segment) {
+			if (children == null) {
+				children = new HashMap<String, TsconfigBuildPathNode>();
+			}
+			TsconfigBuildPathNode child = children.get(segment);
+			if (child == null) {
+				child = new TsconfigBuildPathNode();
+				children.put(segment, child);
+			}
+			return child;
+		}
+	}
+
 	private IDETypeScriptProjectSettings getProjectSettings() {
 		try {
 			return (IDETypeScriptProjectSettings) TypeScriptResourceUtil.getTypeScriptProject(project)
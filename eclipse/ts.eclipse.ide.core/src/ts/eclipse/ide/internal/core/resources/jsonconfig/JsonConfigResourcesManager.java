@@ -10,24 +10,51 @@
  */
 package ts.eclipse.ide.internal.core.resources.jsonconfig;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 
 import ts.eclipse.ide.core.resources.jsconfig.IDETsconfigJson;
 import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
+import ts.eclipse.ide.internal.core.Trace;
 import ts.utils.FileUtils;
 
 /**
  * JSON configuration (tsconfig.json, package.json) file manager.
- *
+ * 
+ * It's a workspace-wide cache of the tsconfig.json graph:
+ * 
+ * <ul>
+ * <li>the tsconfig.json Pojo (with resolved "extends") per file.</li>
+ * <li>the nearest tsconfig.json per folder.</li>
+ * <li>the "extends" edges to invalidate the tsconfig.json which extend a
+ * modified file.</li>
+ * <li>the "references" DAG to order the build of tsconfig.json (see
+ * {@link #getBuildOrder(Collection)}).</li>
+ * </ul>
+ * 
+ * The cache is invalidated with the resource deltas of the workspace.
  */
-public class JsonConfigResourcesManager {
+public class JsonConfigResourcesManager implements IResourceChangeListener, IResourceDeltaVisitor {
 
 	private static final JsonConfigResourcesManager INSTANCE = new JsonConfigResourcesManager();
 
@@ -39,19 +66,69 @@ public class JsonConfigResourcesManager {
 	}
 
 	private final Map<IFile, IDETsconfigJson> jsconConfig;
+	// folder -> nearest tsconfig.json (null value when there is none)
+	private final Map<IContainer, IFile> nearestTsconfig;
+	// extended file -> tsconfig.json files which extend it
+	private final Map<IFile, Set<IFile>> dependents;
 
 	public JsonConfigResourcesManager() {
 		this.jsconConfig = new HashMap<IFile, IDETsconfigJson>();
+		this.nearestTsconfig = new HashMap<IContainer, IFile>();
+		this.dependents = new HashMap<IFile, Set<IFile>>();
+	}
+
+	/**
+	 * Start to track the resource deltas of the workspace.
+	 */
+	public void initialize() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		synchronized (jsconConfig) {
+			jsconConfig.clear();
+			dependents.clear();
+		}
+		synchronized (nearestTsconfig) {
+			nearestTsconfig.clear();
+		}
 	}
 
 	/**
-	 * Remove the given tsconfig.json from the cache.
+	 * Remove the given tsconfig.json from the cache and the tsconfig.json
+	 * which extend it.
 	 * 
 	 * @param file
 	 */
 	public void remove(IFile file) {
 		synchronized (jsconConfig) {
-			jsconConfig.remove(file);
+			remove(file, new HashSet<IFile>());
+		}
+	}
+
+	private void remove(IFile file, Set<IFile> removed) {
+		if (!removed.add(file)) {
+			// circular "extends"
+			return;
+		}
+		IDETsconfigJson tsconfig = jsconConfig.remove(file);
+		if (tsconfig != null && tsconfig.getExtendedFiles() != null) {
+			for (IFile extendedFile : tsconfig.getExtendedFiles()) {
+				Set<IFile> files = dependents.get(extendedFile);
+				if (files != null) {
+					files.remove(file);
+					if (files.isEmpty()) {
+						dependents.remove(extendedFile);
+					}
+				}
+			}
+		}
+		Set<IFile> files = dependents.remove(file);
+		if (files != null) {
+			for (IFile dependent : files) {
+				remove(dependent, removed);
+			}
 		}
 	}
 
@@ -72,7 +149,28 @@ public class JsonConfigResourcesManager {
 	}
 
 	public IFile findTsconfigFile(IResource resource) throws CoreException {
-		IFile tsconfigFile = WorkbenchResourceUtil.findFileInContainerOrParent(resource, TSCONFIG_JSON_PATH);
+		IContainer container = resource instanceof IContainer ? (IContainer) resource : resource.getParent();
+		List<IContainer> visited = new ArrayList<IContainer>();
+		IFile tsconfigFile = null;
+		synchronized (nearestTsconfig) {
+			while (container != null && container.getType() != IResource.ROOT) {
+				if (nearestTsconfig.containsKey(container)) {
+					tsconfigFile = nearestTsconfig.get(container);
+					break;
+				}
+				visited.add(container);
+				IFile file = container.getFile(TSCONFIG_JSON_PATH);
+				if (file.exists()) {
+					tsconfigFile = file;
+					break;
+				}
+				container = container.getParent();
+			}
+			// memoize the result for the visited folders
+			for (IContainer folder : visited) {
+				nearestTsconfig.put(folder, tsconfigFile);
+			}
+		}
 		return tsconfigFile;
 	}
 
@@ -84,7 +182,10 @@ public class JsonConfigResourcesManager {
 	 * @throws CoreException
 	 */
 	public IDETsconfigJson getTsconfig(IFile tsconfigFile) throws CoreException {
-		IDETsconfigJson tsconfig = jsconConfig.get(tsconfigFile);
+		IDETsconfigJson tsconfig;
+		synchronized (jsconConfig) {
+			tsconfig = jsconConfig.get(tsconfigFile);
+		}
 		if (tsconfig == null) {
 			return createTsConfig(tsconfigFile);
 		}
@@ -99,7 +200,10 @@ public class JsonConfigResourcesManager {
 	 * @throws CoreException
 	 */
 	private synchronized IDETsconfigJson createTsConfig(IFile tsconfigFile) throws CoreException {
-		IDETsconfigJson tsconfig = jsconConfig.get(tsconfigFile);
+		IDETsconfigJson tsconfig;
+		synchronized (jsconConfig) {
+			tsconfig = jsconConfig.get(tsconfigFile);
+		}
 		if (tsconfig != null) {
 			return tsconfig;
 		}
@@ -107,10 +211,84 @@ public class JsonConfigResourcesManager {
 		tsconfig = IDETsconfigJson.load(tsconfigFile);
 		synchronized (jsconConfig) {
 			jsconConfig.put(tsconfigFile, tsconfig);
+			for (IFile extendedFile : tsconfig.getExtendedFiles()) {
+				Set<IFile> files = dependents.get(extendedFile);
+				if (files == null) {
+					files = new HashSet<IFile>();
+					dependents.put(extendedFile, files);
+				}
+				files.add(tsconfigFile);
+			}
 		}
 		return tsconfig;
 	}
 
+	/**
+	 * Returns the tsconfig.json files referenced (project "references") by the
+	 * given tsconfig.json file.
+	 * 
+	 * @param tsconfigFile
+	 * @return the tsconfig.json files referenced by the given tsconfig.json
+	 *         file.
+	 * @throws CoreException
+	 */
+	public List<IFile> getReferences(IFile tsconfigFile) throws CoreException {
+		return getTsconfig(tsconfigFile).getReferencedFiles();
+	}
+
+	/**
+	 * Returns the build order of the given tsconfig.json files and of the
+	 * tsconfig.json files that they reference (transitively). The result is a
+	 * list of levels: a tsconfig.json is in a level after all the tsconfig.json
+	 * that it references, so the tsconfig.json of a same level can be built in
+	 * parallel. The tsconfig.json of a reference cycle are added in the last
+	 * level.
+	 * 
+	 * @param tsconfigFiles
+	 * @return the build order of the given tsconfig.json files.
+	 */
+	public List<List<IFile>> getBuildOrder(Collection<IFile> tsconfigFiles) {
+		// collect the DAG
+		Map<IFile, List<IFile>> references = new LinkedHashMap<IFile, List<IFile>>();
+		List<IFile> toVisit = new ArrayList<IFile>(tsconfigFiles);
+		while (!toVisit.isEmpty()) {
+			IFile tsconfigFile = toVisit.remove(toVisit.size() - 1);
+			if (references.containsKey(tsconfigFile)) {
+				continue;
+			}
+			List<IFile> fileReferences = new ArrayList<IFile>();
+			if (tsconfigFile.exists()) {
+				try {
+					fileReferences = getReferences(tsconfigFile);
+				} catch (CoreException e) {
+					Trace.trace(Trace.SEVERE, "Error while loading " + tsconfigFile.getFullPath(), e);
+				}
+			}
+			references.put(tsconfigFile, fileReferences);
+			toVisit.addAll(fileReferences);
+		}
+		// sort by levels (Kahn algorithm)
+		List<List<IFile>> levels = new ArrayList<List<IFile>>();
+		Set<IFile> built = new HashSet<IFile>();
+		Set<IFile> remaining = new LinkedHashSet<IFile>(references.keySet());
+		while (!remaining.isEmpty()) {
+			List<IFile> level = new ArrayList<IFile>();
+			for (IFile tsconfigFile : remaining) {
+				if (built.containsAll(references.get(tsconfigFile))) {
+					level.add(tsconfigFile);
+				}
+			}
+			if (level.isEmpty()) {
+				// reference cycle
+				level.addAll(remaining);
+			}
+			remaining.removeAll(level);
+			built.addAll(level);
+			levels.add(level);
+		}
+		return levels;
+	}
+
 	/**
 	 * Find jsconfig.json
 	 * 
@@ -122,4 +300,67 @@ public class JsonConfigResourcesManager {
 		return WorkbenchResourceUtil.findFileInContainerOrParent(resource, JSCONFIG_JSON_PATH);
 	}
 
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(this);
+		} catch (CoreException e) {
+			Trace.trace(Trace.SEVERE, "Error while tsconfig.json cache update", e);
+		}
+	}
+
+	@Override
+	public boolean visit(IResourceDelta delta) throws CoreException {
+		IResource resource = delta.getResource();
+		switch (resource.getType()) {
+		case IResource.ROOT:
+			return true;
+		case IResource.PROJECT:
+		case IResource.FOLDER:
+			if (delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+				// container removed, opened or closed
+				invalidateNearestTsconfig((IContainer) resource);
+			}
+			return true;
+		case IResource.FILE:
+			IFile file = (IFile) resource;
+			int kind = delta.getKind();
+			if (kind != IResourceDelta.CHANGED) {
+				if (FileUtils.TSCONFIG_JSON.equals(file.getName())) {
+					invalidateNearestTsconfig(file.getParent());
+				}
+			} else if ((delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) == 0) {
+				// ex: marker changes
+				return false;
+			}
+			synchronized (jsconConfig) {
+				if (jsconConfig.containsKey(file) || dependents.containsKey(file)) {
+					remove(file);
+				}
+			}
+			return false;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove the nearest tsconfig.json of the given container and of its
+	 * sub-folders.
+	 */
+	private void invalidateNearestTsconfig(IContainer container) {
+		IPath path = container.getFullPath();
+		synchronized (nearestTsconfig) {
+			Iterator<IContainer> folders = nearestTsconfig.keySet().iterator();
+			while (folders.hasNext()) {
+				if (path.isPrefixOf(folders.next().getFullPath())) {
+					folders.remove();
+				}
+			}
+		}
+	}
+
 }
@@ -12,8 +12,16 @@ package ts.eclipse.ide.internal.core.resources.watcher;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -24,6 +32,7 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
 
 import ts.eclipse.ide.core.resources.watcher.IFileWatcherListener;
 import ts.eclipse.ide.core.resources.watcher.IProjectWatcherListener;
@@ -31,11 +40,24 @@ import ts.eclipse.ide.core.resources.watcher.IResourcesWatcher;
 import ts.eclipse.ide.internal.core.Trace;
 
 /**
- * {@link IResourcesWatcher} implementation.
+ * {@link IResourcesWatcher} implementation:
+ *
+ * <ul>
+ * <li>the file listeners are indexed per project by file name, by project
+ * relative path and by name pattern.</li>
+ * <li>the POST_CHANGE delta is visited only for the projects which have file
+ * listeners, and only the subscribed paths are looked up when the project has
+ * no name subscription.</li>
+ * <li>the file events are coalesced per file during {@link #COALESCE_DELAY}ms
+ * and delivered in a dedicated thread, so that the workspace notification
+ * returns immediately.</li>
+ * </ul>
  *
  */
 public class ResourcesWatcher implements IResourcesWatcher, IResourceChangeListener, IResourceDeltaVisitor {
 
+	private static final long COALESCE_DELAY = 100;
+
 	private static final ResourcesWatcher INSTANCE = new ResourcesWatcher();
 
 	public static ResourcesWatcher getInstance() {
@@ -43,21 +65,138 @@ public class ResourcesWatcher implements IResourcesWatcher, IResourceChangeListe
 	}
 
 	private final Map<IProject, List<IProjectWatcherListener>> projectListeners;
-	private final Map<IProject, Map<String, List<IFileWatcherListener>>> fileListeners;
+	private final Map<IProject, FileSubscriptions> fileListeners;
+
+	// file events (IResourceDelta kind) waiting to be delivered.
+	private final Map<IFile, Integer> pendingEvents;
+	private final ScheduledExecutorService executor;
+	private boolean flushScheduled;
+
+	/**
+	 * File listeners of a project.
+	 */
+	private static class FileSubscriptions {
+
+		private final Map<String, List<IFileWatcherListener>> byName = new ConcurrentHashMap<String, List<IFileWatcherListener>>();
+		private final Map<String, List<IFileWatcherListener>> byPath = new ConcurrentHashMap<String, List<IFileWatcherListener>>();
+		private final Map<String, List<IFileWatcherListener>> byPattern = new ConcurrentHashMap<String, List<IFileWatcherListener>>();
+
+		void add(String fileName, IFileWatcherListener listener) {
+			List<IFileWatcherListener> listeners = getIndex(fileName).get(fileName);
+			if (listeners == null) {
+				listeners = new CopyOnWriteArrayList<IFileWatcherListener>();
+				getIndex(fileName).put(fileName, listeners);
+			}
+			if (!listeners.contains(listener)) {
+				listeners.add(listener);
+			}
+		}
+
+		void remove(String fileName, IFileWatcherListener listener) {
+			Map<String, List<IFileWatcherListener>> index = getIndex(fileName);
+			List<IFileWatcherListener> listeners = index.get(fileName);
+			if (listeners != null) {
+				listeners.remove(listener);
+				if (listeners.isEmpty()) {
+					index.remove(fileName);
+				}
+			}
+		}
+
+		private Map<String, List<IFileWatcherListener>> getIndex(String fileName) {
+			if (fileName.indexOf('/') != -1) {
+				return byPath;
+			}
+			if (fileName.indexOf('*') != -1 || fileName.indexOf('?') != -1) {
+				return byPattern;
+			}
+			return byName;
+		}
+
+		/**
+		 * Returns true if a file of any folder can match a subscription and
+		 * false if only the subscribed paths must be looked up.
+		 */
+		boolean hasNameSubscriptions() {
+			return !byName.isEmpty() || !byPattern.isEmpty();
+		}
+
+		boolean isEmpty() {
+			return !hasNameSubscriptions() && byPath.isEmpty();
+		}
+
+		List<IFileWatcherListener> getListeners(IFile file) {
+			List<IFileWatcherListener> result = new ArrayList<IFileWatcherListener>();
+			addAll(byName.get(file.getName()), result);
+			addAll(byPath.get(file.getProjectRelativePath().toString()), result);
+			for (Map.Entry<String, List<IFileWatcherListener>> entry : byPattern.entrySet()) {
+				if (matchesWildcard(entry.getKey(), 0, file.getName(), 0)) {
+					addAll(entry.getValue(), result);
+				}
+			}
+			return result;
+		}
+
+		private static void addAll(List<IFileWatcherListener> listeners, List<IFileWatcherListener> result) {
+			if (listeners != null) {
+				for (IFileWatcherListener listener : listeners) {
+					if (!result.contains(listener)) {
+						result.add(listener);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns true if the given name matches the given pattern where '*'
+		 * matches any characters and '?' one character.
+		 */
+		private static boolean matchesWildcard(String pattern, int p, String text, int t) {
+			while (p < pattern.length()) {
+				char c = pattern.charAt(p);
+				if (c == '*') {
+					for (int i = t; i <= text.length(); i++) {
+						if (matchesWildcard(pattern, p + 1, text, i)) {
+							return true;
+						}
+					}
+					return false;
+				}
+				if (t >= text.length() || (c != '?' && c != text.charAt(t))) {
+					return false;
+				}
+				p++;
+				t++;
+			}
+			return t == text.length();
+		}
+	}
 
 	private ResourcesWatcher() {
 		this.projectListeners = new HashMap<IProject, List<IProjectWatcherListener>>();
-		this.fileListeners = new HashMap<IProject, Map<String, List<IFileWatcherListener>>>();
+		this.fileListeners = new ConcurrentHashMap<IProject, FileSubscriptions>();
+		this.pendingEvents = new LinkedHashMap<IFile, Integer>();
+		this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "TypeScript resources watcher");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(this);
 	}
 
 	public void dispose() {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		executor.shutdownNow();
 		synchronized (projectListeners) {
 			this.projectListeners.clear();
 		}
-		synchronized (fileListeners) {
-			this.fileListeners.clear();
+		this.fileListeners.clear();
+		synchronized (pendingEvents) {
+			pendingEvents.clear();
 		}
 	}
 
@@ -88,30 +227,23 @@ public class ResourcesWatcher implements IResourcesWatcher, IResourceChangeListe
 	@Override
 	public void addFileWatcherListener(IProject project, String fileName, IFileWatcherListener listener) {
 		synchronized (fileListeners) {
-			Map<String, List<IFileWatcherListener>> listenersForProject = fileListeners.get(project);
-			if (listenersForProject == null) {
-				listenersForProject = new HashMap<String, List<IFileWatcherListener>>();
-				fileListeners.put(project, listenersForProject);
-			}
-			List<IFileWatcherListener> listenersForProjectAndFile = listenersForProject.get(fileName);
-			if (listenersForProjectAndFile == null) {
-				listenersForProjectAndFile = new ArrayList<IFileWatcherListener>();
-				listenersForProject.put(fileName, listenersForProjectAndFile);
-			}
-			if (!listenersForProjectAndFile.contains(listener)) {
-				listenersForProjectAndFile.add(listener);
+			FileSubscriptions subscriptions = fileListeners.get(project);
+			if (subscriptions == null) {
+				subscriptions = new FileSubscriptions();
+				fileListeners.put(project, subscriptions);
 			}
+			subscriptions.add(fileName, listener);
 		}
 	}
 
 	@Override
 	public void removeFileWatcherListener(IProject project, String fileName, IFileWatcherListener listener) {
 		synchronized (fileListeners) {
-			Map<String, List<IFileWatcherListener>> listenersForProject = fileListeners.get(project);
-			if (listenersForProject != null) {
-				List<IFileWatcherListener> listenersForProjectAndFile = listenersForProject.get(fileName);
-				if (listenersForProjectAndFile != null) {
-					listenersForProjectAndFile.remove(listener);
+			FileSubscriptions subscriptions = fileListeners.get(project);
+			if (subscriptions != null) {
+				subscriptions.remove(fileName, listener);
+				if (subscriptions.isEmpty()) {
+					fileListeners.remove(project);
 				}
 			}
 		}
@@ -144,7 +276,7 @@ public class ResourcesWatcher implements IResourcesWatcher, IResourceChangeListe
 				break;
 			case IResourceChangeEvent.POST_CHANGE:
 				IResourceDelta delta = event.getDelta();
-				if (delta != null) {
+				if (delta != null && !fileListeners.isEmpty()) {
 					delta.accept(this);
 				}
 				break;
@@ -181,6 +313,15 @@ public class ResourcesWatcher implements IResourcesWatcher, IResourceChangeListe
 			// Remove all file listeners of the project
 			fileListeners.remove(current);
 		}
+		synchronized (pendingEvents) {
+			// Forget the file events of the project
+			Iterator<IFile> files = pendingEvents.keySet().iterator();
+			while (files.hasNext()) {
+				if (current.equals(files.next().getProject())) {
+					files.remove();
+				}
+			}
+		}
 	}
 
 	@Override
@@ -193,40 +334,108 @@ public class ResourcesWatcher implements IResourcesWatcher, IResourceChangeListe
 		case IResource.ROOT:
 			return true;
 		case IResource.PROJECT:
-			IProject project = (IProject) resource;
-			if (project.isOpen() && delta.getKind() == IResourceDelta.CHANGED
-                    && ((delta.getFlags() & IResourceDelta.OPEN) != 0)) {
-				// System.err.println("Open");
-			}
 			// Continue if project has defined file listeners.
-			return fileListeners.containsKey(resource);
+			FileSubscriptions subscriptions = fileListeners.get(resource);
+			if (subscriptions == null) {
+				return false;
+			}
+			if (subscriptions.hasNameSubscriptions()) {
+				return true;
+			}
+			// only look up the subscribed paths
+			for (String path : subscriptions.byPath.keySet()) {
+				IResourceDelta fileDelta = delta.findMember(new Path(path));
+				if (fileDelta != null && fileDelta.getResource().getType() == IResource.FILE) {
+					fileChanged(fileDelta);
+				}
+			}
+			return false;
 		case IResource.FOLDER:
 			return true;
 		case IResource.FILE:
-			IFile file = (IFile) resource;
-			synchronized (fileListeners) {
-				Map<String, List<IFileWatcherListener>> listenersForFilename = fileListeners.get(file.getProject());
-				List<IFileWatcherListener> listeners = listenersForFilename.get(file.getName());
-				if (listeners != null) {
-					for (IFileWatcherListener listener : listeners) {
-						switch (delta.getKind()) {
-						case IResourceDelta.ADDED:							
-							// handle added resource
-							listener.onAdded(file);
-							break;
-						case IResourceDelta.REMOVED:
-							// handle removed resource
-							listener.onDeleted(file);
-							break;
-						default:
-							listener.onChanged(file);
-						}
+			fileChanged(delta);
+			return false;
+		}
+		return false;
+	}
+
+	private void fileChanged(IResourceDelta delta) {
+		int kind = delta.getKind();
+		if (kind == IResourceDelta.CHANGED && (delta.getFlags() & ~IResourceDelta.MARKERS) == 0) {
+			// only the markers changed.
+			return;
+		}
+		IFile file = (IFile) delta.getResource();
+		FileSubscriptions subscriptions = fileListeners.get(file.getProject());
+		if (subscriptions == null || subscriptions.getListeners(file).isEmpty()) {
+			return;
+		}
+		synchronized (pendingEvents) {
+			pendingEvents.put(file, coalesce(pendingEvents.get(file), kind));
+			if (!flushScheduled) {
+				flushScheduled = true;
+				executor.schedule(new Runnable() {
+
+					@Override
+					public void run() {
+						flush();
+					}
+				}, COALESCE_DELAY, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Returns the event which replaces the given pending event followed by the
+	 * given new event.
+	 */
+	private static int coalesce(Integer pendingKind, int kind) {
+		if (pendingKind == null) {
+			return kind;
+		}
+		if (pendingKind == IResourceDelta.ADDED && kind == IResourceDelta.CHANGED) {
+			// still a new file
+			return IResourceDelta.ADDED;
+		}
+		if (pendingKind == IResourceDelta.REMOVED && kind == IResourceDelta.ADDED) {
+			// file replaced
+			return IResourceDelta.CHANGED;
+		}
+		return kind;
+	}
+
+	private void flush() {
+		Map<IFile, Integer> events;
+		synchronized (pendingEvents) {
+			events = new LinkedHashMap<IFile, Integer>(pendingEvents);
+			pendingEvents.clear();
+			flushScheduled = false;
+		}
+		for (Map.Entry<IFile, Integer> event : events.entrySet()) {
+			IFile file = event.getKey();
+			FileSubscriptions subscriptions = fileListeners.get(file.getProject());
+			if (subscriptions == null) {
+				continue;
+			}
+			for (IFileWatcherListener listener : subscriptions.getListeners(file)) {
+				try {
+					switch (event.getValue()) {
+					case IResourceDelta.ADDED:
+						// handle added resource
+						listener.onAdded(file);
+						break;
+					case IResourceDelta.REMOVED:
+						// handle removed resource
+						listener.onDeleted(file);
+						break;
+					default:
+						listener.onChanged(file);
 					}
+				} catch (Throwable e) {
+					Trace.trace(Trace.SEVERE, "Error while TypeScript file watcher listener", e);
 				}
 			}
-			return false;
 		}
-		return false;
 	}
 
 }
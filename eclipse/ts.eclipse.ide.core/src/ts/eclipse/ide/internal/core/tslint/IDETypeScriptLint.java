@@ -4,9 +4,13 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
 
 import ts.TypeScriptException;
 import ts.cmd.tslint.TSLintOptions;
@@ -16,9 +20,12 @@ import ts.cmd.tslint.TypeScriptLint;
 import ts.eclipse.ide.core.resources.IIDETypeScriptProjectSettings;
 import ts.eclipse.ide.core.resources.jsconfig.IDETsconfigJson;
 import ts.eclipse.ide.core.tslint.IIDETypeScriptLint;
+import ts.eclipse.ide.internal.core.Trace;
 
 public class IDETypeScriptLint extends TypeScriptLint implements IIDETypeScriptLint {
 
+	private static final long LINT_TIMEOUT = 60000;
+
 	public IDETypeScriptLint(File tslintFile, File tslintJsonFile, File nodejsFile) {
 		super(tslintFile, tslintJsonFile, nodejsFile);
 	}
@@ -32,6 +39,7 @@ public class IDETypeScriptLint extends TypeScriptLint implements IIDETypeScriptL
 			return;
 		case UseDefaultTslintJson:
 			lint(tsconfig, tsFiles, null, false);
+			return;
 		case SearchForTslintJson:
 			lint(tsconfig, tsFiles, null, true);
 			return;
@@ -43,7 +51,7 @@ public class IDETypeScriptLint extends TypeScriptLint implements IIDETypeScriptL
 
 	private void lint(IDETsconfigJson tsconfig, List<IFile> tsFiles, File tslintJsonFile, boolean searchTslintJson)
 			throws TypeScriptException {
-		TSLintReporter reporter = new TSLintReporter();
+		TSLintReporter reporter = new TSLintReporter(tsFiles);
 		TSLintOptions options = new TSLintOptions();
 		options.setFormat(TslintFormat.json);
 		options.setConfig(tslintJsonFile);
@@ -60,7 +68,27 @@ public class IDETypeScriptLint extends TypeScriptLint implements IIDETypeScriptL
 		}
 
 		IProject project = tsconfig.getTsconfigFile().getProject();
-		super.execute(project.getLocation().toFile(), options, tsFileNames, reporter);
+		long start = System.currentTimeMillis();
+		try {
+			// lint with the tslint worker which keeps tslint, rules and configs
+			// loaded between two builds.
+			String failures = super.lint(project.getLocation().toFile(), options, tsFileNames).get(LINT_TIMEOUT,
+					TimeUnit.MILLISECONDS);
+			reporter.report(failures);
+			reporter.applyMarkers();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TypeScriptException(e);
+		} catch (ExecutionException e) {
+			throw new TypeScriptException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new TypeScriptException(e);
+		} catch (CoreException e) {
+			throw new TypeScriptException(e);
+		} finally {
+			Trace.trace(Trace.PERFORMANCE, "tslint of " + tsFileNames.size() + " file(s) in "
+					+ (System.currentTimeMillis() - start) + "ms");
+		}
 	}
 
 }
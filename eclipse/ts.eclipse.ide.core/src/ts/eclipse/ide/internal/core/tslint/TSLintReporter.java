@@ -1,5 +1,7 @@
 package ts.eclipse.ide.internal.core.tslint;
 
+import java.util.List;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
@@ -8,6 +10,7 @@ import ts.client.Location;
 import ts.cmd.ITypeScriptLinterHandler;
 import ts.cmd.Severity;
 import ts.cmd.tslint.TslintHelper;
+import ts.eclipse.ide.core.utils.TscMarkerBatch;
 import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
 import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
 import ts.nodejs.INodejsProcess;
@@ -15,8 +18,34 @@ import ts.nodejs.NodejsProcessAdapter;
 
 public class TSLintReporter extends NodejsProcessAdapter {
 
+	private final TscMarkerBatch markers;
+
+	/**
+	 * Reporter which replaces the tslint markers of the given ts files.
+	 * 
+	 * @param tsFiles
+	 *            the linted ts files.
+	 */
+	public TSLintReporter(List<IFile> tsFiles) {
+		this.markers = new TscMarkerBatch(TscMarkerBatch.TSLINT_SOURCE);
+		for (IFile tsFile : tsFiles) {
+			markers.reset(tsFile);
+		}
+	}
+
 	@Override
 	public void onMessage(INodejsProcess process, String response) {
+		report(response);
+	}
+
+	/**
+	 * Collect tslint markers for the given failures in the tslint "json"
+	 * format.
+	 * 
+	 * @param response
+	 *            the tslint failures.
+	 */
+	public void report(String response) {
 		TslintHelper.processJsonMessage(response, new ITypeScriptLinterHandler() {
 
 			@Override
@@ -24,15 +53,21 @@ public class TSLintReporter extends NodejsProcessAdapter {
 					String message) {
 				IFile tsFile = WorkbenchResourceUtil.findFileFromWorkspace(file);
 				if (tsFile != null && tsFile.exists()) {
-					try {
-						String error = TypeScriptResourceUtil.formatTslintError(code, message);
-						TypeScriptResourceUtil.addTscMarker(tsFile, error, IMarker.SEVERITY_ERROR, startLoc.getLine(),
-								startLoc.getPosition(), endLoc.getPosition());
-					} catch (CoreException e) {
-
-					}
+					String error = TypeScriptResourceUtil.formatTslintError(code, message);
+					markers.addMarker(tsFile, error, IMarker.SEVERITY_ERROR, startLoc.getLine(),
+							startLoc.getPosition(), endLoc.getPosition());
 				}
 			}
 		});
 	}
+
+	/**
+	 * Update the tslint markers of the linted ts files with the reported
+	 * failures.
+	 * 
+	 * @throws CoreException
+	 */
+	public void applyMarkers() throws CoreException {
+		markers.apply(null);
+	}
 }
@@ -46,8 +46,25 @@ public class TypeScriptUIMessages extends NLS {
 
 	// Console
 	public static String TypeScriptConsoleJob_name;
+	public static String TypeScriptConsole_droppedLines;
+	public static String TypeScriptConsole_truncatedLine;
 	public static String ConsoleTerminateAction_tooltipText;
 
+	// Metrics view
+	public static String TypeScriptMetricsView_project;
+	public static String TypeScriptMetricsView_command;
+	public static String TypeScriptMetricsView_requests;
+	public static String TypeScriptMetricsView_errors;
+	public static String TypeScriptMetricsView_p50;
+	public static String TypeScriptMetricsView_p95;
+	public static String TypeScriptMetricsView_p99;
+	public static String TypeScriptMetricsView_max;
+	public static String TypeScriptMetricsView_maxResponseSize;
+	public static String TypeScriptMetricsView_copyAsJson;
+	public static String TypeScriptMetricsView_reset;
+	public static String TypeScriptMetricsView_nodejsProcesses;
+	public static String TypeScriptMetricsView_queueWait;
+
 	// Hover
 	public static String TypeScriptHover_openDeclaration;
 
@@ -212,9 +229,13 @@ public class TypeScriptUIMessages extends NLS {
 	public static String NPMModuleVersionsSelectionDialog_message;
 	public static String NPMModuleVersionsSelectionDialog_searchJob_taskName;
 
+	// Open TypeScript Symbol
+	public static String OpenTypeScriptSymbolDialog_title;
+	public static String OpenTypeScriptSymbolDialog_message;
+	public static String OpenTypeScriptSymbolDialog_searchJob_taskName;
+
 	// NPM Install Widgets
 	public static String NPMInstallWidget_versionText_message;
-	public static String NPMInstallWidget_ValidateVersionJob_name;
 	public static String NPMInstallWidget_SearchingVersions_status;
 	public static String NPMInstallWidget_InvalidVersion_status;
 
@@ -0,0 +1,78 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.internal.ui.commands;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.window.Window;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+import ts.client.navto.NavtoItem;
+import ts.eclipse.ide.core.resources.IIDETypeScriptFile;
+import ts.eclipse.ide.core.resources.IIDETypeScriptProject;
+import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
+import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
+import ts.eclipse.ide.internal.ui.dialogs.OpenTypeScriptSymbolDialog;
+import ts.eclipse.ide.ui.TypeScriptUIPlugin;
+import ts.eclipse.ide.ui.utils.EditorUtils;
+
+/**
+ * Open a symbol of the TypeScript projects of the edited file.
+ *
+ */
+public class OpenTypeScriptSymbolHandler extends AbstractHandler {
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		IEditorPart editor = HandlerUtil.getActiveEditor(event);
+		IFile file = editor != null ? EditorUtils.getFile(editor) : null;
+		if (file == null || !TypeScriptResourceUtil.canConsumeTsserver(file)) {
+			return null;
+		}
+		try {
+			IIDETypeScriptProject tsProject = TypeScriptResourceUtil.getTypeScriptProject(file.getProject());
+			IDocument document = editor instanceof ITextEditor ? EditorUtils.getDocument((ITextEditor) editor) : null;
+			IIDETypeScriptFile tsFile = tsProject.openFile(file, document);
+			String fileName = tsFile.getName();
+			// fill the symbol index in background, the dialog searches with
+			// tsserver until the index is warm.
+			tsProject.warmupSymbolIndex(fileName);
+			// the opened files can have been changed since the index was
+			// filled.
+			CompletableFuture<Void> openedFilesRefresh = tsProject.refreshOpenedFilesSymbols();
+			OpenTypeScriptSymbolDialog dialog = new OpenTypeScriptSymbolDialog(tsProject, fileName,
+					openedFilesRefresh, HandlerUtil.getActiveShell(event));
+			if (dialog.open() == Window.OK) {
+				for (Object result : dialog.getResult()) {
+					NavtoItem item = (NavtoItem) result;
+					IFile symbolFile = WorkbenchResourceUtil.findFileFromWorkspace(item.getFile());
+					if (symbolFile != null) {
+						EditorUtils.openInEditor(symbolFile, item);
+					} else {
+						EditorUtils.openInEditor(new File(item.getFile()), item);
+					}
+				}
+			}
+		} catch (Exception e) {
+			TypeScriptUIPlugin.log("Error while opening TypeScript symbol", e);
+		}
+		return null;
+	}
+
+}
@@ -10,11 +10,17 @@
  */
 package ts.eclipse.ide.internal.ui.console;
 
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Display;
@@ -28,8 +34,29 @@ import ts.eclipse.ide.internal.ui.TypeScriptUIMessages;
 import ts.eclipse.ide.ui.console.ITypeScriptConsole;
 import ts.eclipse.ide.ui.console.LineType;
 
+/**
+ * TypeScript console. The lines are appended in a bounded queue which is
+ * written in batches by a single job:
+ *
+ * <ul>
+ * <li>a line longer than {@link #MAX_LINE_LENGTH} (ex: a big tsserver
+ * response) is truncated.</li>
+ * <li>when the queue is full, the lines are dropped and the number of dropped
+ * lines is written in the console.</li>
+ * <li>while the console is hidden, the lines are stored in a
+ * {@link ConsoleDocument}.</li>
+ * </ul>
+ */
 public abstract class AbstractTypeScriptConsole extends MessageConsole implements ITypeScriptConsole {
 
+	private static final int MAX_QUEUED_LINES = 10000;
+
+	private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+	private static final int BATCH_SIZE = 500;
+
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
 	private boolean showOnMessage;
 
 	private IConsoleManager consoleManager;
@@ -42,10 +69,42 @@ public abstract class AbstractTypeScriptConsole extends MessageConsole implement
 
 	private boolean initialized;
 
+	private final ConcurrentLinkedQueue<ConsoleDocument.ConsoleLine> pendingLines;
+
+	private final AtomicInteger pendingCount;
+
+	private final AtomicLong droppedLines;
+
+	private final AtomicBoolean writerScheduled;
+
+	private final Job writerJob;
+
 	public AbstractTypeScriptConsole(String name, ImageDescriptor imageDescriptor) {
 		super(name, imageDescriptor);
 		consoleManager = ConsolePlugin.getDefault().getConsoleManager();
 		document = new ConsoleDocument();
+		pendingLines = new ConcurrentLinkedQueue<ConsoleDocument.ConsoleLine>();
+		pendingCount = new AtomicInteger();
+		droppedLines = new AtomicLong();
+		writerScheduled = new AtomicBoolean();
+		writerJob = new Job(TypeScriptUIMessages.TypeScriptConsoleJob_name) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					writePendingLines();
+				} finally {
+					writerScheduled.set(false);
+				}
+				if (!pendingLines.isEmpty() || droppedLines.get() > 0) {
+					// lines appended during the write, or more than a batch.
+					scheduleWriter();
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		writerJob.setSystem(true);
+		writerJob.setPriority(Job.LONG);
 	}
 
 	protected void init() {
@@ -103,36 +162,106 @@ public abstract class AbstractTypeScriptConsole extends MessageConsole implement
 	private void dump() {
 		synchronized (document) {
 			visible = true;
+			int dropped = document.getDroppedLines();
+			if (dropped > 0) {
+				streams[LineType.PROCESS_ERROR.ordinal()]
+						.println(NLS.bind(TypeScriptUIMessages.TypeScriptConsole_droppedLines, dropped));
+			}
+			LineBatch batch = new LineBatch();
 			ConsoleDocument.ConsoleLine[] lines = document.getLines();
 			for (int i = 0; i < lines.length; i++) {
-				ConsoleDocument.ConsoleLine line = lines[i];
-				doAppendLine(line.getType(), line.getLine());
+				batch.add(lines[i].getType(), lines[i].getLine());
 			}
+			batch.flush();
 			document.clear();
 		}
 	}
 
 	@Override
-	public void doAppendLine(final LineType lineType, final String line) {
-		Job appendJob = new Job(TypeScriptUIMessages.TypeScriptConsoleJob_name) {
+	public void doAppendLine(LineType lineType, String line) {
+		if (pendingCount.incrementAndGet() > MAX_QUEUED_LINES) {
+			// the writer cannot follow: drop the line.
+			pendingCount.decrementAndGet();
+			droppedLines.incrementAndGet();
+		} else {
+			pendingLines.offer(new ConsoleDocument.ConsoleLine(truncate(line), lineType));
+		}
+		scheduleWriter();
+	}
 
-			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-				intsalDoAppendLine(lineType, line);
-				return Status.OK_STATUS;
-			}
-		};
-		appendJob.setPriority(Job.LONG);
-		appendJob.schedule();
+	private static String truncate(String line) {
+		if (line == null || line.length() <= MAX_LINE_LENGTH) {
+			return line;
+		}
+		return line.substring(0, MAX_LINE_LENGTH)
+				+ NLS.bind(TypeScriptUIMessages.TypeScriptConsole_truncatedLine, line.length() - MAX_LINE_LENGTH);
 	}
 
-	private void intsalDoAppendLine(LineType lineType, String line) {
+	private void scheduleWriter() {
+		if (writerScheduled.compareAndSet(false, true)) {
+			writerJob.schedule();
+		}
+	}
+
+	/**
+	 * Write a batch of the pending lines in the console streams or in the
+	 * document if the console is hidden.
+	 */
+	private void writePendingLines() {
+		long dropped = droppedLines.getAndSet(0);
+		ConsoleDocument.ConsoleLine line = pendingLines.poll();
+		if (line == null && dropped == 0) {
+			return;
+		}
 		showConsole();
 		synchronized (document) {
-			if (visible) {
-				streams[lineType.ordinal()].println(line);
-			} else {
-				document.appendConsoleLine(lineType, line);
+			if (dropped > 0) {
+				String message = NLS.bind(TypeScriptUIMessages.TypeScriptConsole_droppedLines, dropped);
+				if (visible) {
+					streams[LineType.PROCESS_ERROR.ordinal()].println(message);
+				} else {
+					document.appendConsoleLine(LineType.PROCESS_ERROR, message);
+				}
+			}
+			LineBatch batch = visible ? new LineBatch() : null;
+			int count = 0;
+			while (line != null) {
+				pendingCount.decrementAndGet();
+				if (batch != null) {
+					batch.add(line.getType(), line.getLine());
+				} else {
+					document.appendConsoleLine(line.getType(), line.getLine());
+				}
+				line = ++count < BATCH_SIZE ? pendingLines.poll() : null;
+			}
+			if (batch != null) {
+				batch.flush();
+			}
+		}
+	}
+
+	/**
+	 * Consecutive lines of the same type written with one print in the stream
+	 * of the type.
+	 */
+	private class LineBatch {
+
+		private final StringBuilder text = new StringBuilder();
+
+		private LineType lineType;
+
+		void add(LineType lineType, String line) {
+			if (this.lineType != lineType) {
+				flush();
+				this.lineType = lineType;
+			}
+			text.append(line).append(LINE_SEPARATOR);
+		}
+
+		void flush() {
+			if (text.length() > 0) {
+				streams[lineType.ordinal()].print(text.toString());
+				text.setLength(0);
 			}
 		}
 	}
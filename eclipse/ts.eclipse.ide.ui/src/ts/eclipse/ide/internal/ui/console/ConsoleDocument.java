@@ -12,17 +12,27 @@ package ts.eclipse.ide.internal.ui.console;
 
 import ts.eclipse.ide.ui.console.LineType;
 
+/**
+ * Lines appended while the console is hidden. The lines are stored in a ring
+ * buffer which grows until {@link #MAX_LINES} and then overwrites the oldest
+ * lines.
+ */
 public class ConsoleDocument {
 
+	private static final int INITIAL_CAPACITY = 16;
+
+	static final int MAX_LINES = 1000;
+
 	private LineType[] lineTypes;
 
 	private String[] lines;
 
-	private int writeIndex = 0;
+	// index of the oldest line
+	private int head;
 
-	private int readIndex = 0;
+	private int size;
 
-	private static final int BUFFER_SIZE = 200;
+	private int droppedLines;
 
 	protected static class ConsoleLine {
 		private String line;
@@ -56,8 +66,9 @@ public class ConsoleDocument {
 	public void clear() {
 		lineTypes = null;
 		lines = null;
-		writeIndex = 0;
-		readIndex = 0;
+		head = 0;
+		size = 0;
+		droppedLines = 0;
 	}
 
 	/**
@@ -65,39 +76,58 @@ public class ConsoleDocument {
 	 */
 	public void appendConsoleLine(LineType lineType, String line) {
 		if (lines == null) {
-			lines = new String[BUFFER_SIZE];
-			lineTypes = new LineType[BUFFER_SIZE];
+			lines = new String[INITIAL_CAPACITY];
+			lineTypes = new LineType[INITIAL_CAPACITY];
+		} else if (size == lines.length && lines.length < MAX_LINES) {
+			grow();
 		}
-		lines[writeIndex] = line; //$NON-NLS-1$
-		lineTypes[writeIndex] = lineType;
-
-		if (++writeIndex >= BUFFER_SIZE) {
-			writeIndex = 0;
+		if (size == lines.length) {
+			// full: overwrite the oldest line
+			lines[head] = line;
+			lineTypes[head] = lineType;
+			head = (head + 1) % lines.length;
+			droppedLines++;
+		} else {
+			int index = (head + size) % lines.length;
+			lines[index] = line;
+			lineTypes[index] = lineType;
+			size++;
 		}
-		if (writeIndex == readIndex) {
-			if (++readIndex >= BUFFER_SIZE) {
-				readIndex = 0;
-			}
+	}
+
+	private void grow() {
+		int capacity = Math.min(lines.length * 2, MAX_LINES);
+		String[] newLines = new String[capacity];
+		LineType[] newLineTypes = new LineType[capacity];
+		for (int i = 0; i < size; i++) {
+			int index = (head + i) % lines.length;
+			newLines[i] = lines[index];
+			newLineTypes[i] = lineTypes[index];
 		}
+		lines = newLines;
+		lineTypes = newLineTypes;
+		head = 0;
 	}
 
 	public ConsoleLine[] getLines() {
-		if (isEmpty()) {
-			return new ConsoleLine[0];
-		}
-		ConsoleLine[] docLines = new ConsoleLine[readIndex > writeIndex ? BUFFER_SIZE
-				: writeIndex];
-		int index = readIndex;
-		for (int i = 0; i < docLines.length; i++) {
+		ConsoleLine[] docLines = new ConsoleLine[size];
+		for (int i = 0; i < size; i++) {
+			int index = (head + i) % lines.length;
 			docLines[i] = new ConsoleLine(lines[index], lineTypes[index]);
-			if (++index >= BUFFER_SIZE) {
-				index = 0;
-			}
 		}
 		return docLines;
 	}
 
+	/**
+	 * Returns the number of oldest lines overwritten since the last clear.
+	 *
+	 * @return the number of oldest lines overwritten since the last clear.
+	 */
+	public int getDroppedLines() {
+		return droppedLines;
+	}
+
 	public boolean isEmpty() {
-		return writeIndex == readIndex;
+		return size == 0;
 	}
 }
@@ -0,0 +1,239 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.internal.ui.dialogs;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.dialogs.FilteredItemsSelectionDialog;
+import org.eclipse.ui.model.WorkbenchLabelProvider;
+
+import ts.client.navto.NavtoItem;
+import ts.client.navto.NavtoSymbolIndex;
+import ts.eclipse.ide.core.resources.IIDETypeScriptProject;
+import ts.eclipse.ide.core.utils.WorkbenchResourceUtil;
+import ts.eclipse.ide.internal.ui.TypeScriptUIMessages;
+import ts.eclipse.ide.ui.TypeScriptUIPlugin;
+import ts.eclipse.jface.images.TypeScriptImagesRegistry;
+
+/**
+ * Shows the TypeScript symbols of the projects of a file with a text entry
+ * field for a string pattern used to filter the list of symbols:
+ *
+ * <ul>
+ * <li>when the symbol index of the TypeScript project is warm, the symbols
+ * are searched in the index without calling tsserver, once the symbols of the
+ * opened files are refreshed.</li>
+ * <li>otherwise the symbols are searched with tsserver "navto" (and merged in
+ * the symbol index).</li>
+ * </ul>
+ */
+public class OpenTypeScriptSymbolDialog extends FilteredItemsSelectionDialog {
+
+	private static final String DIALOG_SETTINGS = "ts.eclipse.ide.ui.dialogs.OpenTypeScriptSymbolDialog"; //-NLS-1$
+
+	private static final int MAX_RESULT_COUNT = 500;
+
+	private static final long NAVTO_TIMEOUT = 5000;
+
+	private final IIDETypeScriptProject tsProject;
+	private final String fileName;
+	private final CompletableFuture<Void> openedFilesRefresh;
+	// sorts the symbols by rank for the pattern of the current filter.
+	private volatile Comparator<NavtoItem> rankComparator;
+
+	public OpenTypeScriptSymbolDialog(IIDETypeScriptProject tsProject, String fileName,
+			CompletableFuture<Void> openedFilesRefresh, Shell shell) {
+		super(shell, false);
+		setTitle(TypeScriptUIMessages.OpenTypeScriptSymbolDialog_title);
+		setMessage(TypeScriptUIMessages.OpenTypeScriptSymbolDialog_message);
+		setListLabelProvider(new SymbolLabelProvider());
+		setDetailsLabelProvider(new SymbolFileLabelProvider());
+		this.tsProject = tsProject;
+		this.fileName = fileName;
+		this.openedFilesRefresh = openedFilesRefresh;
+		this.rankComparator = NavtoSymbolIndex.getRankComparator("");
+	}
+
+	@Override
+	protected ItemsFilter createFilter() {
+		SymbolFilter filter = new SymbolFilter();
+		rankComparator = NavtoSymbolIndex.getRankComparator(filter.getPattern());
+		return filter;
+	}
+
+	@Override
+	protected void fillContentProvider(AbstractContentProvider contentProvider, ItemsFilter itemsFilter,
+			IProgressMonitor progressMonitor) throws CoreException {
+		String pattern = itemsFilter.getPattern();
+		progressMonitor.beginTask(TypeScriptUIMessages.OpenTypeScriptSymbolDialog_searchJob_taskName, 1);
+		try {
+			NavtoSymbolIndex index = tsProject.getSymbolIndex();
+			try {
+				openedFilesRefresh.get(NAVTO_TIMEOUT, TimeUnit.MILLISECONDS);
+			} catch (Exception e) {
+				// search with the symbols indexed before the refresh.
+				TypeScriptUIPlugin.log("Error while refreshing TypeScript symbols of the opened files", e);
+			}
+			List<NavtoItem> items = index.search(pattern, MAX_RESULT_COUNT);
+			if (!index.isWarm() && pattern.length() > 0) {
+				// the index doesn't contain all the symbols of the project.
+				items = tsProject.navto(fileName, pattern, MAX_RESULT_COUNT).get(NAVTO_TIMEOUT,
+						TimeUnit.MILLISECONDS);
+			}
+			// the symbols of a truncated search cannot be filtered for a
+			// longer pattern, see SymbolFilter#isSubFilter.
+			((SymbolFilter) itemsFilter).complete = items.size() < MAX_RESULT_COUNT;
+			for (NavtoItem item : items) {
+				if (progressMonitor.isCanceled()) {
+					((SymbolFilter) itemsFilter).complete = false;
+					break;
+				}
+				contentProvider.add(item, itemsFilter);
+			}
+		} catch (Exception e) {
+			TypeScriptUIPlugin.log("Error while searching TypeScript symbols", e);
+		}
+		progressMonitor.done();
+	}
+
+	@Override
+	protected IDialogSettings getDialogSettings() {
+		IDialogSettings settings = TypeScriptUIPlugin.getDefault().getDialogSettings().getSection(DIALOG_SETTINGS);
+		if (settings == null) {
+			settings = TypeScriptUIPlugin.getDefault().getDialogSettings().addNewSection(DIALOG_SETTINGS);
+		}
+		return settings;
+	}
+
+	@Override
+	public String getElementName(Object item) {
+		return ((NavtoItem) item).getName();
+	}
+
+	@Override
+	protected Comparator getItemsComparator() {
+		return (i1, i2) -> rankComparator.compare((NavtoItem) i1, (NavtoItem) i2);
+	}
+
+	@Override
+	protected IStatus validateItem(Object item) {
+		return new Status(IStatus.OK, TypeScriptUIPlugin.PLUGIN_ID, 0, "", null); //-NLS-1$
+	}
+
+	@Override
+	protected Control createExtendedContentArea(Composite parent) {
+		return null;
+	}
+
+	private static IFile getEclipseFile(NavtoItem item) {
+		return WorkbenchResourceUtil.findFileFromWorkspace(item.getFile());
+	}
+
+	protected class SymbolFilter extends ItemsFilter {
+
+		// true if the symbols searched for this filter were not truncated.
+		volatile boolean complete;
+
+		@Override
+		public boolean isSubFilter(ItemsFilter filter) {
+			// the symbols of a pattern with less than 3 characters are the
+			// names which start with the pattern (and not the names which
+			// contain it), so they can be filtered only for a longer pattern
+			// of 3 characters or more, searched completely.
+			return complete && getPattern().length() >= 3 && super.isSubFilter(filter);
+		}
+
+		@Override
+		public boolean isConsistentItem(Object item) {
+			return item instanceof NavtoItem;
+		}
+
+		@Override
+		public boolean matchItem(Object item) {
+			if (!(item instanceof NavtoItem)) {
+				return false;
+			}
+			String name = ((NavtoItem) item).getName();
+			// tsserver and the symbol index match the substrings too.
+			return matches(name)
+					|| name.toLowerCase(Locale.ENGLISH).contains(getPattern().toLowerCase(Locale.ENGLISH));
+		}
+	}
+
+	private static class SymbolLabelProvider extends LabelProvider {
+
+		@Override
+		public String getText(Object element) {
+			if (element instanceof NavtoItem) {
+				NavtoItem item = (NavtoItem) element;
+				String containerName = item.getContainerName();
+				return containerName != null && containerName.length() > 0
+						? item.getName() + " - " + containerName //-NLS-1$
+						: item.getName();
+			}
+			return super.getText(element);
+		}
+
+		@Override
+		public Image getImage(Object element) {
+			if (element instanceof NavtoItem) {
+				return TypeScriptImagesRegistry.getImage((NavtoItem) element);
+			}
+			return super.getImage(element);
+		}
+	}
+
+	private static class SymbolFileLabelProvider extends LabelProvider {
+
+		private final WorkbenchLabelProvider workbenchLabelProvider = new WorkbenchLabelProvider();
+
+		@Override
+		public String getText(Object element) {
+			if (element instanceof NavtoItem) {
+				IFile file = getEclipseFile((NavtoItem) element);
+				return file != null ? file.getFullPath().toString() : ((NavtoItem) element).getFile();
+			}
+			return super.getText(element);
+		}
+
+		@Override
+		public Image getImage(Object element) {
+			if (element instanceof NavtoItem) {
+				IFile file = getEclipseFile((NavtoItem) element);
+				if (file != null) {
+					return workbenchLabelProvider.getImage(file);
+				}
+			}
+			return super.getImage(element);
+		}
+
+		@Override
+		public void dispose() {
+			workbenchLabelProvider.dispose();
+			super.dispose();
+		}
+	}
+}
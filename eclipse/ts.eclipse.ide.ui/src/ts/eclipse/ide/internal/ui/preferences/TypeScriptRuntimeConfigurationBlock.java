@@ -210,7 +210,11 @@ public class TypeScriptRuntimeConfigurationBlock extends AbstractTypeScriptRepos
 				ITypeScriptRepository[] repositories = TypeScriptCorePlugin.getTypeScriptRepositoryManager()
 						.getRepositories();
 				ITypeScriptRepository repository = repositories[selectedIndex - 1];
-				tsRuntimeFile = repository.getTypesScriptDir();
+				try {
+					tsRuntimeFile = repository.getTypesScriptDir();
+				} catch (TypeScriptRepositoryException e) {
+					return new TypeScriptRuntimeStatus(null, null, e.getMessage());
+				}
 			}
 		} else {
 			String tsRuntimePath = getInstalledText();
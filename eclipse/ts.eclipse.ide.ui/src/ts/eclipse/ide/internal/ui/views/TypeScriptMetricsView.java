@@ -0,0 +1,314 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.internal.ui.views;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ViewPart;
+
+import com.google.gson.JsonArray;
+
+import ts.client.metrics.CommandMetrics;
+import ts.client.metrics.LatencyHistogram;
+import ts.client.metrics.TypeScriptMetricsInterceptor;
+import ts.eclipse.ide.core.resources.IIDETypeScriptProject;
+import ts.eclipse.ide.core.utils.TypeScriptResourceUtil;
+import ts.eclipse.ide.internal.ui.TypeScriptUIMessages;
+import ts.eclipse.ide.ui.TypeScriptUIPlugin;
+import ts.nodejs.NodejsProcessManager;
+import ts.nodejs.NodejsProcessScheduler;
+
+/**
+ * View which displays the live tsserver metrics (p50/p95/p99 response times,
+ * errors, etc) per project and command, and the queue wait times of the
+ * node.js command processes (tsc, tslint, etc) per kind of process.
+ *
+ */
+public class TypeScriptMetricsView extends ViewPart {
+
+	private static final int REFRESH_INTERVAL = 1000;
+
+	private TableViewer viewer;
+
+	/**
+	 * The viewer input, updated in place to preserve the selection.
+	 */
+	private final List<Row> rows = new ArrayList<Row>();
+
+	/**
+	 * Metrics of the opened TypeScript projects, null when projects must be
+	 * resolved again.
+	 */
+	private volatile List<TypeScriptMetricsInterceptor> metrics;
+
+	private final Runnable refresher = new Runnable() {
+
+		@Override
+		public void run() {
+			if (viewer == null || viewer.getControl().isDisposed()) {
+				return;
+			}
+			if (updateRows()) {
+				viewer.refresh();
+			} else {
+				viewer.update(rows.toArray(), null);
+			}
+			viewer.getControl().getDisplay().timerExec(REFRESH_INTERVAL, this);
+		}
+	};
+
+	private final IResourceChangeListener projectsListener = new IResourceChangeListener() {
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			if (event.getType() != IResourceChangeEvent.POST_CHANGE) {
+				// project closed or deleted
+				metrics = null;
+				return;
+			}
+			IResourceDelta delta = event.getDelta();
+			if (delta == null) {
+				return;
+			}
+			for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+				if (projectDelta.getKind() != IResourceDelta.CHANGED || (projectDelta.getFlags()
+						& (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+					// project added, removed, opened or nature changed
+					metrics = null;
+					return;
+				}
+			}
+		}
+	};
+
+	/**
+	 * Metrics of a command of a project or queue wait times of a kind of
+	 * node.js process.
+	 */
+	private static class Row {
+
+		final String projectName;
+		final String command;
+		// null for the queue wait times
+		final CommandMetrics metrics;
+		final LatencyHistogram latency;
+
+		Row(String projectName, CommandMetrics metrics) {
+			this(projectName, metrics.getCommand(), metrics, metrics.getLatency());
+		}
+
+		Row(String projectName, String command, CommandMetrics metrics, LatencyHistogram latency) {
+			this.projectName = projectName;
+			this.command = command;
+			this.metrics = metrics;
+			this.latency = latency;
+		}
+	}
+
+	private static class MetricsLabelProvider extends LabelProvider implements ITableLabelProvider {
+
+		@Override
+		public Image getColumnImage(Object element, int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public String getColumnText(Object element, int columnIndex) {
+			Row row = (Row) element;
+			CommandMetrics metrics = row.metrics;
+			LatencyHistogram latency = row.latency;
+			switch (columnIndex) {
+			case 0:
+				return row.projectName;
+			case 1:
+				return row.command;
+			case 2:
+				return String.valueOf(metrics != null ? metrics.getRequestCount() : latency.getTotalCount());
+			case 3:
+				return metrics != null ? String.valueOf(metrics.getErrorCount()) : ""; //$NON-NLS-1$
+			case 4:
+				return String.valueOf(latency.getValueAtPercentile(50));
+			case 5:
+				return String.valueOf(latency.getValueAtPercentile(95));
+			case 6:
+				return String.valueOf(latency.getValueAtPercentile(99));
+			case 7:
+				return String.valueOf(latency.getMax());
+			case 8:
+				return metrics != null ? String.valueOf(metrics.getMaxResponseSize()) : ""; //$NON-NLS-1$
+			}
+			return null;
+		}
+	}
+
+	@Override
+	public void createPartControl(Composite parent) {
+		viewer = new TableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
+		Table table = viewer.getTable();
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_project, 150);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_command, 150);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_requests, 70);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_errors, 60);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_p50, 70);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_p95, 70);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_p99, 70);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_max, 70);
+		createColumn(table, TypeScriptUIMessages.TypeScriptMetricsView_maxResponseSize, 120);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setLabelProvider(new MetricsLabelProvider());
+		viewer.setInput(rows);
+		addActions();
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(projectsListener, IResourceChangeEvent.POST_CHANGE
+				| IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+		refresher.run();
+	}
+
+	@Override
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(projectsListener);
+		super.dispose();
+	}
+
+	private static void createColumn(Table table, String text, int width) {
+		TableColumn column = new TableColumn(table, SWT.NONE);
+		column.setText(text);
+		column.setWidth(width);
+	}
+
+	private void addActions() {
+		IToolBarManager toolBar = getViewSite().getActionBars().getToolBarManager();
+		toolBar.add(new Action(TypeScriptUIMessages.TypeScriptMetricsView_copyAsJson,
+				PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_TOOL_COPY)) {
+
+			@Override
+			public void run() {
+				JsonArray snapshots = new JsonArray();
+				for (TypeScriptMetricsInterceptor metrics : getMetrics()) {
+					snapshots.add(metrics.toJson());
+				}
+				Clipboard clipboard = new Clipboard(viewer.getControl().getDisplay());
+				try {
+					clipboard.setContents(new Object[] { snapshots.toString() },
+							new Transfer[] { TextTransfer.getInstance() });
+				} finally {
+					clipboard.dispose();
+				}
+			}
+		});
+		toolBar.add(new Action(TypeScriptUIMessages.TypeScriptMetricsView_reset,
+				PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_TOOL_DELETE)) {
+
+			@Override
+			public void run() {
+				for (TypeScriptMetricsInterceptor metrics : getMetrics()) {
+					metrics.reset();
+				}
+				NodejsProcessManager.getInstance().getScheduler().resetWaitTimes();
+				viewer.refresh();
+			}
+		});
+	}
+
+	/**
+	 * Update the rows with the current metrics by reusing the existing rows.
+	 * 
+	 * @return true if rows were added or removed and false if only their
+	 *         values changed.
+	 */
+	private boolean updateRows() {
+		// a row is identified by its histogram.
+		Map<LatencyHistogram, Row> existingRows = new IdentityHashMap<LatencyHistogram, Row>();
+		for (Row row : rows) {
+			existingRows.put(row.latency, row);
+		}
+		List<Row> newRows = new ArrayList<Row>(rows.size());
+		for (TypeScriptMetricsInterceptor projectMetrics : getMetrics()) {
+			for (CommandMetrics commandMetrics : projectMetrics.getCommandMetrics()) {
+				Row row = existingRows.get(commandMetrics.getLatency());
+				newRows.add(row != null ? row : new Row(projectMetrics.getName(), commandMetrics));
+			}
+		}
+		NodejsProcessScheduler scheduler = NodejsProcessManager.getInstance().getScheduler();
+		for (Map.Entry<String, LatencyHistogram> waitTimes : scheduler.getWaitTimes().entrySet()) {
+			Row row = existingRows.get(waitTimes.getValue());
+			newRows.add(row != null ? row
+					: new Row(TypeScriptUIMessages.TypeScriptMetricsView_nodejsProcesses,
+							NLS.bind(TypeScriptUIMessages.TypeScriptMetricsView_queueWait, waitTimes.getKey()), null,
+							waitTimes.getValue()));
+		}
+		if (newRows.equals(rows)) {
+			return false;
+		}
+		rows.clear();
+		rows.addAll(newRows);
+		return true;
+	}
+
+	/**
+	 * Returns the metrics of the opened TypeScript projects.
+	 */
+	private List<TypeScriptMetricsInterceptor> getMetrics() {
+		List<TypeScriptMetricsInterceptor> metrics = this.metrics;
+		if (metrics == null) {
+			metrics = resolveMetrics();
+			this.metrics = metrics;
+		}
+		return metrics;
+	}
+
+	private static List<TypeScriptMetricsInterceptor> resolveMetrics() {
+		List<TypeScriptMetricsInterceptor> metrics = new ArrayList<TypeScriptMetricsInterceptor>();
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			if (project.isAccessible() && TypeScriptResourceUtil.isTypeScriptProject(project)) {
+				try {
+					IIDETypeScriptProject tsProject = TypeScriptResourceUtil.getTypeScriptProject(project);
+					metrics.add(tsProject.getMetrics());
+				} catch (CoreException e) {
+					TypeScriptUIPlugin.log(e);
+				}
+			}
+		}
+		return metrics;
+	}
+
+	@Override
+	public void setFocus() {
+		viewer.getControl().setFocus();
+	}
+}
@@ -140,7 +140,7 @@ public class TSLintWizardPage extends AbstractWizardPage {
 		viewer.setLabelProvider(new TypeScriptRepositoryLabelProvider(true, false));
 		List<ITypeScriptRepository> repositories = Arrays
 				.stream(TypeScriptCorePlugin.getTypeScriptRepositoryManager().getRepositories())
-				.filter(r -> r.getTslintFile() != null).collect(Collectors.toList());
+				.filter(r -> r.getTslintName() != null).collect(Collectors.toList());
 		viewer.setInput(repositories);
 	}
 
@@ -159,6 +159,26 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IProjectionL
 		this.document = document;
 	}
 
+	/**
+	 * Returns the document to fold.
+	 * 
+	 * @return the document to fold.
+	 */
+	protected IDocument getDocument() {
+		return document;
+	}
+
+	/**
+	 * Returns the projection annotation model of the viewer and null if
+	 * projection is disabled.
+	 * 
+	 * @return the projection annotation model of the viewer and null if
+	 *         projection is disabled.
+	 */
+	protected ProjectionAnnotationModel getProjectionAnnotationModel() {
+		return projectionAnnotationModel;
+	}
+
 	@Override
 	public void projectionDisabled() {
 		projectionAnnotationModel = null;
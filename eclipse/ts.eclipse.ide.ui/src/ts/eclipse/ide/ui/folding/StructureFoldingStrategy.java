@@ -0,0 +1,355 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.ui.folding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+
+import ts.TypeScriptException;
+import ts.client.CommandNames;
+import ts.client.TextSpan;
+import ts.client.navbar.NavigationBarItem;
+import ts.client.navbar.NavigationBarItemRoot;
+import ts.client.navbar.NavigationTextSpan;
+import ts.client.outlining.OutliningSpan;
+import ts.eclipse.ide.ui.TypeScriptUIPlugin;
+import ts.resources.INavbarListener;
+import ts.resources.ITypeScriptFile;
+
+/**
+ * Structure folding strategy to fold code by using the structure of the code
+ * computed by tsserver:
+ *
+ * <ul>
+ * <li>the "getOutliningSpans" command when tsserver supports it (TypeScript
+ * >=2.9.0).</li>
+ * <li>the spans of the navigation tree otherwise (the same navtree than the
+ * Outline, so it doesn't cost an other tsserver call).</li>
+ * </ul>
+ *
+ * Fold ranges are computed only when a new structure is received for a new
+ * version of the document. Between two structure refreshes, the folding
+ * positions are shifted by the document edits (like any annotation positions)
+ * and the reconcile only removes folds whose content has been deleted. The
+ * structure is diffed against the existing folding annotations to update only
+ * the changed folds (and keep the collapsed state of the others).
+ *
+ * While no structure is available (file not opened in tsserver, first
+ * reconcile, etc) the indent folding strategy is used.
+ */
+public class StructureFoldingStrategy extends IndentFoldingStrategy implements INavbarListener {
+
+	private static final String ALIAS_KIND = "alias"; //$NON-NLS-1$
+
+	private ITypeScriptFile tsFile;
+	private boolean structureApplied;
+	private long structureStamp;
+
+	public StructureFoldingStrategy() {
+		this(null);
+	}
+
+	public StructureFoldingStrategy(String lineStartsWithKeyword) {
+		super(lineStartsWithKeyword);
+		this.structureStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Set the TypeScript file which provides the structure of the document.
+	 *
+	 * @param tsFile
+	 *            the TypeScript file and null to use only indent folding.
+	 */
+	public void setTypeScriptFile(ITypeScriptFile tsFile) {
+		if (this.tsFile == tsFile) {
+			return;
+		}
+		if (this.tsFile != null) {
+			this.tsFile.removeNavbarListener(this);
+		}
+		synchronized (this) {
+			this.tsFile = tsFile;
+			this.structureApplied = false;
+			this.structureStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		}
+		if (tsFile != null) {
+			tsFile.addNavbarListener(this);
+		}
+	}
+
+	/**
+	 * Returns the TypeScript file which provides the structure of the document
+	 * and null otherwise.
+	 *
+	 * @return the TypeScript file which provides the structure of the document
+	 *         and null otherwise.
+	 */
+	public ITypeScriptFile getTypeScriptFile() {
+		return tsFile;
+	}
+
+	@Override
+	public void uninstall() {
+		setTypeScriptFile(null);
+		super.uninstall();
+	}
+
+	@Override
+	public void setDocument(IDocument document) {
+		synchronized (this) {
+			this.structureApplied = false;
+			this.structureStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		}
+		super.setDocument(document);
+	}
+
+	@Override
+	public synchronized void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
+		if (!structureApplied) {
+			// none structure, use indentation.
+			super.reconcile(dirtyRegion, subRegion);
+			return;
+		}
+		// folding positions have been shifted by the document edits, the
+		// structure will be refreshed with the next navtree. Here we need
+		// only to remove folds whose content has been deleted.
+		ProjectionAnnotationModel model = getProjectionAnnotationModel();
+		if (model == null) {
+			return;
+		}
+		List<Annotation> deletions = new ArrayList<Annotation>();
+		Iterator<?> iter = model.getAnnotationIterator();
+		while (iter.hasNext()) {
+			Annotation annotation = (Annotation) iter.next();
+			if (annotation instanceof FoldingAnnotation) {
+				Position pos = model.getPosition(annotation);
+				if (pos == null || pos.isDeleted() || pos.length == 0) {
+					deletions.add(annotation);
+				}
+			}
+		}
+		if (!deletions.isEmpty()) {
+			model.modifyAnnotations(deletions.toArray(new Annotation[deletions.size()]), null, null);
+		}
+	}
+
+	@Override
+	public void navBarChanged(NavigationBarItemRoot navbar) {
+		ITypeScriptFile tsFile = this.tsFile;
+		IDocument document = getDocument();
+		if (tsFile == null || document == null || getProjectionAnnotationModel() == null) {
+			return;
+		}
+		final long stamp = getModificationStamp(document);
+		if (navbar.getModificationStamp() != NavigationBarItemRoot.UNKNOWN_MODIFICATION_STAMP
+				&& navbar.getModificationStamp() != stamp) {
+			// the navtree was computed for an older version of the document,
+			// the navtree of the current version will be notified.
+			return;
+		}
+		synchronized (this) {
+			if (structureApplied && stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+					&& stamp == structureStamp) {
+				// the structure of this version of the document is already
+				// applied.
+				return;
+			}
+		}
+		try {
+			if (tsFile.getProject().canSupport(CommandNames.GetOutliningSpans)) {
+				tsFile.getOutliningSpans().thenAccept(spans -> {
+					try {
+						applyStructure(collectOutliningRanges(spans, document), document, stamp);
+					} catch (BadLocationException | TypeScriptException e) {
+						// the document has changed since the request, the
+						// next refresh will update the folding.
+					}
+				});
+			} else {
+				applyStructure(collectNavTreeRanges(navbar, document), document, stamp);
+			}
+		} catch (BadLocationException e) {
+			// the document has changed since the navtree request, the next
+			// refresh will update the folding.
+		} catch (TypeScriptException e) {
+			TypeScriptUIPlugin.log("Error while computing structure folding", e);
+		}
+	}
+
+	private Set<Position> collectOutliningRanges(List<OutliningSpan> spans, IDocument document)
+			throws BadLocationException, TypeScriptException {
+		Set<Position> ranges = new LinkedHashSet<Position>();
+		if (spans != null) {
+			for (OutliningSpan span : spans) {
+				TextSpan textSpan = span.getTextSpan();
+				addRange(textSpan.getStart().getPosition(), textSpan.getEnd().getPosition(), document, ranges);
+			}
+		}
+		return ranges;
+	}
+
+	private Set<Position> collectNavTreeRanges(NavigationBarItemRoot navbar, IDocument document)
+			throws BadLocationException {
+		Set<Position> ranges = new LinkedHashSet<Position>();
+		if (navbar.isNavTree()) {
+			// the root navtree item is the script itself, ignore it.
+			for (NavigationBarItem item : navbar.getChildItems()) {
+				collectNavTreeRanges(item, document, ranges);
+			}
+		} else {
+			collectNavTreeRanges(navbar, document, ranges);
+		}
+		return ranges;
+	}
+
+	private void collectNavTreeRanges(NavigationBarItem parent, IDocument document, Set<Position> ranges)
+			throws BadLocationException {
+		if (!parent.hasChildItems()) {
+			return;
+		}
+		// consecutive aliases (import declarations) are folded together.
+		int aliasStart = -1;
+		int aliasEnd = -1;
+		for (NavigationBarItem item : parent.getChildItems()) {
+			boolean alias = ALIAS_KIND.equals(item.getKind());
+			if (!alias && aliasStart != -1) {
+				addRange(aliasStart, aliasEnd, document, ranges);
+				aliasStart = -1;
+			}
+			if (item.hasSpans()) {
+				for (NavigationTextSpan span : item.getSpans()) {
+					int start = span.getStart().getPosition();
+					int end = span.getEnd().getPosition();
+					if (alias) {
+						if (aliasStart == -1) {
+							aliasStart = start;
+						}
+						aliasEnd = end;
+					} else {
+						addRange(start, end, document, ranges);
+					}
+				}
+			}
+			collectNavTreeRanges(item, document, ranges);
+		}
+		if (aliasStart != -1) {
+			addRange(aliasStart, aliasEnd, document, ranges);
+		}
+	}
+
+	/**
+	 * Add the range of full lines from the given start/end offset if it spans
+	 * several lines.
+	 */
+	private static void addRange(int startOffset, int endOffset, IDocument document, Set<Position> ranges)
+			throws BadLocationException {
+		if (startOffset < 0 || endOffset > document.getLength()) {
+			throw new BadLocationException();
+		}
+		int startLine = document.getLineOfOffset(startOffset);
+		int endLine = document.getLineOfOffset(endOffset);
+		if (endLine > startLine) {
+			int start = document.getLineOffset(startLine);
+			int end = document.getLineOffset(endLine) + document.getLineLength(endLine);
+			ranges.add(new Position(start, end - start));
+		}
+	}
+
+	/**
+	 * Update the folding annotations with the given ranges by modifying only
+	 * the folds which have changed.
+	 */
+	private synchronized void applyStructure(Set<Position> ranges, IDocument document, long stamp) {
+		ProjectionAnnotationModel model = getProjectionAnnotationModel();
+		if (model == null || document != getDocument() || stamp != getModificationStamp(document)) {
+			// projection disabled or the structure is obsolete.
+			return;
+		}
+		List<Annotation> deletions = new ArrayList<Annotation>();
+		List<Annotation> modifications = new ArrayList<Annotation>();
+		Map<Annotation, Position> additions = new HashMap<Annotation, Position>();
+
+		// index existing folds by range
+		Map<Position, FoldingAnnotation> existing = new HashMap<Position, FoldingAnnotation>();
+		Iterator<?> iter = model.getAnnotationIterator();
+		while (iter.hasNext()) {
+			Annotation annotation = (Annotation) iter.next();
+			if (annotation instanceof FoldingAnnotation) {
+				Position pos = model.getPosition(annotation);
+				if (pos == null || pos.isDeleted() || pos.length == 0) {
+					deletions.add(annotation);
+				} else {
+					FoldingAnnotation duplicate = existing.put(new Position(pos.offset, pos.length),
+							(FoldingAnnotation) annotation);
+					if (duplicate != null) {
+						deletions.add(duplicate);
+					}
+				}
+			}
+		}
+
+		// keep folds with the same range
+		List<Position> newRanges = new ArrayList<Position>();
+		for (Position range : ranges) {
+			if (existing.remove(range) == null) {
+				newRanges.add(range);
+			}
+		}
+		// folds which start at the same offset are updated to keep their
+		// collapsed state, other are added.
+		Map<Integer, FoldingAnnotation> existingByOffset = new HashMap<Integer, FoldingAnnotation>();
+		for (Map.Entry<Position, FoldingAnnotation> entry : existing.entrySet()) {
+			FoldingAnnotation duplicate = existingByOffset.put(entry.getKey().offset, entry.getValue());
+			if (duplicate != null) {
+				deletions.add(duplicate);
+			}
+		}
+		for (Position range : newRanges) {
+			FoldingAnnotation annotation = existingByOffset.remove(range.offset);
+			Position pos = annotation != null ? model.getPosition(annotation) : null;
+			if (pos != null) {
+				pos.setLength(range.length);
+				modifications.add(annotation);
+			} else {
+				additions.put(new FoldingAnnotation(false), range);
+			}
+		}
+		deletions.addAll(existingByOffset.values());
+
+		if (!deletions.isEmpty() || !additions.isEmpty() || !modifications.isEmpty()) {
+			model.modifyAnnotations(deletions.toArray(new Annotation[deletions.size()]), additions,
+					modifications.toArray(new Annotation[modifications.size()]));
+		}
+		this.structureStamp = stamp;
+		this.structureApplied = true;
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+}
@@ -0,0 +1,288 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.ui.hover;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import ts.TypeScriptException;
+import ts.client.ITypeScriptClientListener;
+import ts.client.ITypeScriptServiceClient;
+import ts.client.quickinfo.QuickInfo;
+import ts.resources.ITypeScriptFile;
+import ts.resources.ITypeScriptProject;
+
+/**
+ * Cache of tsserver "quickinfo" responses used by the TypeScript hover.
+ *
+ * The responses are cached per (file, document modification stamp,
+ * identifier span), so hovering several times over the same identifier (or
+ * over any position of the identifier) doesn't send a new request while the
+ * document is not modified. The editor prefetches the quick info of the
+ * identifier under the caret (see
+ * {@link #prefetch(ITypeScriptFile, IDocument, int)}) so in the common case
+ * the hover is displayed without waiting for tsserver.
+ *
+ * The cached quick info of a file are removed when its editor is closed (see
+ * {@link #clear(ITypeScriptFile)}) and all the cached quick info are removed
+ * when a tsserver stops.
+ */
+public class QuickInfoCache implements ITypeScriptClientListener {
+
+	private static final int MAX_ENTRIES = 64;
+
+	private static final QuickInfoCache INSTANCE = new QuickInfoCache();
+
+	private final Map<Key, CompletableFuture<QuickInfo>> cache;
+	// projects whose tsserver is listened.
+	private final Set<ITypeScriptProject> projects;
+
+	private Key prefetchKey;
+
+	public static QuickInfoCache getInstance() {
+		return INSTANCE;
+	}
+
+	private QuickInfoCache() {
+		this.cache = new LinkedHashMap<Key, CompletableFuture<QuickInfo>>(MAX_ENTRIES, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<QuickInfo>> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		};
+		this.projects = Collections.newSetFromMap(new WeakHashMap<ITypeScriptProject, Boolean>());
+	}
+
+	/**
+	 * Returns the quick info of the given position. The cached quick info is
+	 * returned if the identifier at this position has already been requested
+	 * for the current version of the document.
+	 *
+	 * @param tsFile
+	 *            the TypeScript file.
+	 * @param document
+	 *            the document of the file.
+	 * @param position
+	 *            the position.
+	 * @return the quick info of the given position.
+	 * @throws TypeScriptException
+	 */
+	public CompletableFuture<QuickInfo> getQuickInfo(ITypeScriptFile tsFile, IDocument document, int position)
+			throws TypeScriptException {
+		Key key = createKey(tsFile, document, position);
+		if (key == null) {
+			// none identifier or none document version, don't cache.
+			return tsFile.quickInfo(position);
+		}
+		synchronized (cache) {
+			if (key.equals(prefetchKey)) {
+				// the prefetched quick info is used by the hover, it must not
+				// be cancelled.
+				prefetchKey = null;
+			}
+		}
+		return getOrRequest(key, tsFile);
+	}
+
+	/**
+	 * Request the quick info of the identifier at the given position (the
+	 * caret offset) to have it in the cache when the user hovers it. The
+	 * previous prefetch which is not finished is cancelled.
+	 *
+	 * @param tsFile
+	 *            the TypeScript file.
+	 * @param document
+	 *            the document of the file.
+	 * @param position
+	 *            the caret offset.
+	 * @throws TypeScriptException
+	 */
+	public void prefetch(ITypeScriptFile tsFile, IDocument document, int position) throws TypeScriptException {
+		Key key = createKey(tsFile, document, position);
+		synchronized (cache) {
+			if (prefetchKey != null && !prefetchKey.equals(key)) {
+				// the caret has moved to an other identifier.
+				CompletableFuture<QuickInfo> previous = cache.get(prefetchKey);
+				if (previous != null && !previous.isDone()) {
+					cache.remove(prefetchKey);
+					previous.cancel(true);
+				}
+			}
+			prefetchKey = key;
+		}
+		if (key != null) {
+			getOrRequest(key, tsFile);
+		}
+	}
+
+	private CompletableFuture<QuickInfo> getOrRequest(Key key, ITypeScriptFile tsFile) throws TypeScriptException {
+		synchronized (cache) {
+			CompletableFuture<QuickInfo> quickInfo = cache.get(key);
+			if (quickInfo != null && !quickInfo.isCancelled()) {
+				return quickInfo;
+			}
+			removeObsoleteEntries(key);
+			if (projects.add(tsFile.getProject())) {
+				tsFile.getProject().addServerListener(this);
+			}
+		}
+		// the quick info is the same for any position of the identifier.
+		CompletableFuture<QuickInfo> quickInfo = tsFile.quickInfo(key.start);
+		synchronized (cache) {
+			cache.put(key, quickInfo);
+		}
+		return quickInfo;
+	}
+
+	/**
+	 * Remove the entries of the file of the given key for an other version of
+	 * the document.
+	 */
+	private void removeObsoleteEntries(Key key) {
+		Iterator<Map.Entry<Key, CompletableFuture<QuickInfo>>> entries = cache.entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<Key, CompletableFuture<QuickInfo>> entry = entries.next();
+			Key other = entry.getKey();
+			if (other.fileName.equals(key.fileName) && other.stamp != key.stamp) {
+				entries.remove();
+				if (!entry.getValue().isDone()) {
+					entry.getValue().cancel(true);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove the cached quick info of the given file.
+	 *
+	 * @param tsFile
+	 *            the TypeScript file.
+	 */
+	public void clear(ITypeScriptFile tsFile) {
+		synchronized (cache) {
+			Iterator<Key> keys = cache.keySet().iterator();
+			while (keys.hasNext()) {
+				if (keys.next().fileName.equals(tsFile.getName())) {
+					keys.remove();
+				}
+			}
+			if (prefetchKey != null && prefetchKey.fileName.equals(tsFile.getName())) {
+				prefetchKey = null;
+			}
+		}
+	}
+
+	/**
+	 * Remove all the cached quick info.
+	 */
+	public void clear() {
+		synchronized (cache) {
+			for (CompletableFuture<QuickInfo> quickInfo : cache.values()) {
+				if (!quickInfo.isDone()) {
+					quickInfo.cancel(true);
+				}
+			}
+			cache.clear();
+			prefetchKey = null;
+		}
+	}
+
+	@Override
+	public void onStart(ITypeScriptServiceClient client) {
+		// Do nothing.
+	}
+
+	@Override
+	public void onStop(ITypeScriptServiceClient client) {
+		// the quick info of the stopped tsserver could be obsolete for the
+		// next tsserver.
+		clear();
+	}
+
+	private static Key createKey(ITypeScriptFile tsFile, IDocument document, int position) {
+		if (!(document instanceof IDocumentExtension4)) {
+			return null;
+		}
+		long stamp = ((IDocumentExtension4) document).getModificationStamp();
+		if (stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			return null;
+		}
+		try {
+			int length = document.getLength();
+			int start = position;
+			while (start > 0 && Character.isJavaIdentifierPart(document.getChar(start - 1))) {
+				start--;
+			}
+			int end = position;
+			while (end < length && Character.isJavaIdentifierPart(document.getChar(end))) {
+				end++;
+			}
+			if (start == end) {
+				return null;
+			}
+			return new Key(tsFile.getName(), stamp, start, end);
+		} catch (BadLocationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Key of a quick info: the file, the version of the document and the span
+	 * of the identifier.
+	 */
+	private static class Key {
+
+		private final String fileName;
+		private final long stamp;
+		private final int start;
+		private final int end;
+
+		Key(String fileName, long stamp, int start, int end) {
+			this.fileName = fileName;
+			this.stamp = stamp;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = fileName.hashCode();
+			result = 31 * result + (int) (stamp ^ (stamp >>> 32));
+			result = 31 * result + start;
+			return 31 * result + end;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return stamp == other.stamp && start == other.start && end == other.end
+					&& fileName.equals(other.fileName);
+		}
+	}
+}
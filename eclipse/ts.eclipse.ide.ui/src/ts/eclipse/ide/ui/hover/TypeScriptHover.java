@@ -10,8 +10,10 @@
  */
 package ts.eclipse.ide.ui.hover;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -19,6 +21,7 @@ import org.eclipse.jface.text.IInformationControlCreator;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 
+import ts.TypeScriptException;
 import ts.TypeScriptNoContentAvailableException;
 import ts.client.quickinfo.QuickInfo;
 import ts.eclipse.ide.core.resources.IIDETypeScriptProject;
@@ -58,7 +61,7 @@ public class TypeScriptHover extends AbstractTypeScriptHover implements ITypeScr
 				int position = hoverRegion.getOffset();
 				ITypeScriptFile tsFile = tsProject.openFile(scriptFile, textViewer.getDocument());
 
-				QuickInfo quickInfo = tsFile.quickInfo(position).get(5000, TimeUnit.MILLISECONDS);
+				QuickInfo quickInfo = getQuickInfo(tsFile, textViewer, position);
 				String text = HTMLTypeScriptPrinter
 						.getQuickInfo(quickInfo,
 								TypeScriptUIPlugin.getDefault().getPreferenceStore()
@@ -78,6 +81,23 @@ public class TypeScriptHover extends AbstractTypeScriptHover implements ITypeScr
 		return null;
 	}
 
+	/**
+	 * Returns the quick info of the given position from the cache (prefetched
+	 * by the editor or computed by a previous hover) and waits for tsserver
+	 * otherwise.
+	 */
+	private QuickInfo getQuickInfo(ITypeScriptFile tsFile, ITextViewer textViewer, int position)
+			throws TypeScriptException, InterruptedException, ExecutionException, TimeoutException {
+		try {
+			return QuickInfoCache.getInstance().getQuickInfo(tsFile, textViewer.getDocument(), position)
+					.get(5000, TimeUnit.MILLISECONDS);
+		} catch (CancellationException e) {
+			// the caret has moved while the prefetched quick info was
+			// computing, request it again.
+			return tsFile.quickInfo(position).get(5000, TimeUnit.MILLISECONDS);
+		}
+	}
+
 	@Override
 	public IInformationControlCreator getHoverControlCreator() {
 		if (fHoverControlCreator == null)
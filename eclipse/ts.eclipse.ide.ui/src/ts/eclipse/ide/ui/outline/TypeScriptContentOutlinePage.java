@@ -10,7 +10,6 @@
  */
 package ts.eclipse.ide.ui.outline;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.ListenerList;
@@ -23,7 +22,6 @@ import org.eclipse.jface.viewers.IPostSelectionProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.StructuredSelection;
-import org.eclipse.jface.viewers.TreePath;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.swt.SWT;
@@ -55,6 +53,7 @@ public class TypeScriptContentOutlinePage extends Page
 	public static final String EDITOR_SYNC_OUTLINE_ON_CURSOR_MOVE = "TypeScriptEditor.SyncOutlineOnCursorMove"; //$NON-NLS-1$
 
 	private CommonViewer fOutlineViewer;
+	private TypeScriptOutlineTreeMerger treeMerger;
 	private ITypeScriptFile tsFile;
 
 	private ListenerList fSelectionChangedListeners = new ListenerList(ListenerList.IDENTITY);
@@ -89,6 +88,7 @@ public class TypeScriptContentOutlinePage extends Page
 		}
 
 		fOutlineViewer.setUseHashlookup(true);
+		treeMerger = new TypeScriptOutlineTreeMerger(fOutlineViewer);
 
 		IActionBars actionBars = getSite().getActionBars();
 		registerToolbarActions(actionBars);
@@ -124,53 +124,31 @@ public class TypeScriptContentOutlinePage extends Page
 
 				@Override
 				public void run() {
-					boolean firstRefresh = fOutlineViewer.getInput() == null;
-					List<TreePath> newExpandedTreePaths = !firstRefresh ? mapTreePaths(navbar) : null;
-					// Refresh the tree
-					fOutlineViewer.setInput(navbar);
-					if (firstRefresh) {
+					if (fOutlineViewer.getTree().isDisposed()) {
+						return;
+					}
+					Object oldInput = fOutlineViewer.getInput();
+					if (oldInput instanceof NavigationBarItemRoot
+							&& ((NavigationBarItemRoot) oldInput).isNavTree() == navbar.isNavTree()) {
+						// second time, update only the changed nodes of the
+						// tree to keep the expansion and the selection.
+						fOutlineViewer.getTree().setRedraw(false);
+						try {
+							treeMerger.merge((NavigationBarItemRoot) oldInput, navbar);
+						} finally {
+							fOutlineViewer.getTree().setRedraw(true);
+						}
+					} else {
+						// Refresh the tree
+						fOutlineViewer.setInput(navbar);
 						// first time, expand all the tree
 						if (navbar.isNavTree()) {
 							fOutlineViewer.expandToLevel(2);
 						}
-//						List<NavigationBarItem> childItems = navbar.isNavTree()
-//								? navbar.getChildItems().get(0).getChildItems() : navbar.getChildItems();
-//						if (childItems.size() < 500) {
-//							fOutlineViewer.expandAll();
-//						}
-					} else {
-						// second time, keep the last expansion of the tree
-						fOutlineViewer.setExpandedTreePaths(newExpandedTreePaths.toArray(new TreePath[0]));
 					}
 					// update selection
 					updateSelection();
 				}
-
-				private List<TreePath> mapTreePaths(NavigationBarItem navbar) {
-					List<TreePath> treePaths = new ArrayList<TreePath>();
-					for (TreePath treePath : fOutlineViewer.getExpandedTreePaths()) {
-						TreePath newTreePath = TreePath.EMPTY;
-						for (int i = 0; i < treePath.getSegmentCount(); i++) {
-							NavigationBarItem segment = (NavigationBarItem) treePath.getSegment(i);
-							NavigationBarItem newSegment = mapSegment(navbar, segment);
-							if (newSegment != null) {
-								newTreePath = newTreePath.createChildPath(newSegment);
-							}
-						}
-						treePaths.add(newTreePath);
-					}
-					return treePaths;
-				}
-
-				private NavigationBarItem mapSegment(NavigationBarItem lexicalStructure, NavigationBarItem segment) {
-					for (NavigationBarItem item : lexicalStructure.getChildItems()) {
-						if (segment.getText().equals(item.getText())) {
-							return item;
-						}
-					}
-					return null;
-				}
-
 			});
 		}
 	}
@@ -0,0 +1,148 @@
+/**
+ *  Copyright (c) 2015-2017 Angelo ZERR.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *  Angelo Zerr <angelo.zerr@gmail.com> - initial API and implementation
+ */
+package ts.eclipse.ide.ui.outline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.jface.viewers.TreeViewer;
+
+import ts.client.navbar.NavigationBarItem;
+
+/**
+ * Merges a new navigation tree into the navigation tree displayed by the
+ * outline viewer.
+ *
+ * Nodes are identified by (kind, text, parent path), nodes which are kept are
+ * updated in place (the viewer elements are the same instances, so SWT items,
+ * expansion and selection are preserved) and only the added, removed and
+ * changed nodes are updated in the viewer. The cost of a merge is O(n).
+ *
+ * The new tree is never modified (it's the navigation tree cached by the
+ * TypeScript file and read by the quick outline): the spans and the added
+ * nodes are copied into the old tree.
+ */
+class TypeScriptOutlineTreeMerger {
+
+	private final TreeViewer viewer;
+
+	TypeScriptOutlineTreeMerger(TreeViewer viewer) {
+		this.viewer = viewer;
+	}
+
+	/**
+	 * Merge the given new tree into the old tree (the viewer input).
+	 *
+	 * @param oldRoot
+	 *            the root of the tree displayed by the viewer.
+	 * @param newRoot
+	 *            the root of the new tree.
+	 */
+	void merge(NavigationBarItem oldRoot, NavigationBarItem newRoot) {
+		List<NavigationBarItem> changed = new ArrayList<NavigationBarItem>();
+		mergeChildren(oldRoot, newRoot, changed);
+		if (!changed.isEmpty()) {
+			viewer.update(changed.toArray(), null);
+		}
+	}
+
+	private void mergeChildren(NavigationBarItem oldParent, NavigationBarItem newParent,
+			List<NavigationBarItem> changed) {
+		List<NavigationBarItem> oldChildren = getChildItems(oldParent);
+		List<NavigationBarItem> newChildren = getChildItems(newParent);
+
+		// index old children by key
+		Map<String, Integer> oldIndexes = new HashMap<String, Integer>(oldChildren.size() * 2);
+		Map<String, Integer> counters = new HashMap<String, Integer>();
+		for (int i = 0; i < oldChildren.size(); i++) {
+			oldIndexes.put(getKey(oldChildren.get(i), counters), i);
+		}
+		counters.clear();
+
+		List<NavigationBarItem> merged = new ArrayList<NavigationBarItem>(newChildren.size());
+		Set<NavigationBarItem> added = Collections.newSetFromMap(new IdentityHashMap<NavigationBarItem, Boolean>());
+		boolean reordered = false;
+		int lastOldIndex = -1;
+		for (NavigationBarItem newChild : newChildren) {
+			Integer oldIndex = oldIndexes.remove(getKey(newChild, counters));
+			if (oldIndex != null) {
+				// the node exists, update it in place.
+				NavigationBarItem oldChild = oldChildren.get(oldIndex);
+				if (oldIndex < lastOldIndex) {
+					reordered = true;
+				}
+				lastOldIndex = oldIndex;
+				if (!Objects.equals(oldChild.getKindModifiers(), newChild.getKindModifiers())) {
+					oldChild.setKindModifiers(newChild.getKindModifiers());
+					changed.add(oldChild);
+				}
+				oldChild.setSpans(newChild.copySpans());
+				mergeChildren(oldChild, newChild, changed);
+				merged.add(oldChild);
+			} else {
+				NavigationBarItem addedChild = newChild.copy();
+				merged.add(addedChild);
+				added.add(addedChild);
+			}
+		}
+
+		if (added.isEmpty() && oldIndexes.isEmpty() && !reordered) {
+			// same children
+			oldParent.setChildItems(merged);
+			return;
+		}
+
+		List<NavigationBarItem> removed = new ArrayList<NavigationBarItem>(oldIndexes.size());
+		for (Integer index : oldIndexes.values()) {
+			removed.add(oldChildren.get(index));
+		}
+		oldParent.setChildItems(merged.isEmpty() ? null : merged);
+		if (reordered) {
+			// refresh only the direct children of the parent.
+			viewer.refresh(oldParent, false);
+			return;
+		}
+		if (!removed.isEmpty()) {
+			viewer.remove(removed.toArray());
+		}
+		if (!added.isEmpty()) {
+			for (int i = 0; i < merged.size(); i++) {
+				NavigationBarItem child = merged.get(i);
+				if (added.contains(child)) {
+					viewer.insert(oldParent, child, i);
+				}
+			}
+		}
+	}
+
+	private static List<NavigationBarItem> getChildItems(NavigationBarItem item) {
+		return item.hasChildItems() ? item.getChildItems() : Collections.<NavigationBarItem> emptyList();
+	}
+
+	/**
+	 * Returns the key of the given item which is unique for their siblings
+	 * (kind, text and occurrence index for siblings with the same kind and
+	 * text like overloaded methods).
+	 */
+	private static String getKey(NavigationBarItem item, Map<String, Integer> counters) {
+		String key = new StringBuilder(item.getKind() != null ? item.getKind() : "").append(':') //$NON-NLS-1$
+				.append(item.getText()).toString();
+		Integer count = counters.get(key);
+		counters.put(key, count == null ? 1 : count + 1);
+		return count == null ? key : key + '#' + count;
+	}
+}
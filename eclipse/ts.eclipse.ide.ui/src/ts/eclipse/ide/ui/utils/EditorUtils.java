@@ -1,6 +1,9 @@
 package ts.eclipse.ide.ui.utils;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
@@ -13,6 +16,7 @@ import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
@@ -24,9 +28,7 @@ import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.IWorkbenchPartReference;
-import org.eclipse.ui.editors.text.TextFileDocumentProvider;
 import org.eclipse.ui.ide.IDE;
-import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.eclipse.ui.texteditor.ITextEditor;
 
 import ts.client.TextSpan;
@@ -184,23 +186,50 @@ public class EditorUtils {
 	}
 
 	public static Position getPosition(IFile file, TextSpan textSpan) throws BadLocationException {
+		try {
+			List<Position> positions = getPositions(file, Collections.singletonList(textSpan));
+			return positions != null ? positions.get(0) : null;
+		} catch (CoreException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the positions of the given spans of the given file and null if
+	 * the document of the file cannot be loaded. The document is loaded once
+	 * for all the spans: the buffer of an opened editor is used and otherwise
+	 * the file is read in a new buffer which is released after the computation.
+	 * 
+	 * @param file
+	 * @param textSpans
+	 * @return the positions of the given spans of the given file.
+	 * @throws BadLocationException
+	 * @throws CoreException
+	 */
+	public static List<Position> getPositions(IFile file, List<TextSpan> textSpans)
+			throws BadLocationException, CoreException {
 		ITextFileBufferManager bufferManager = FileBuffers.getTextFileBufferManager();
-		ITextFileBuffer buffer = bufferManager.getTextFileBuffer(file.getLocation(), LocationKind.IFILE);
+		IPath path = file.getFullPath();
+		ITextFileBuffer buffer = bufferManager.getTextFileBuffer(path, LocationKind.IFILE);
 		if (buffer != null) {
-			return getPosition(buffer.getDocument(), textSpan);
+			return getPositions(buffer.getDocument(), textSpans);
 		}
-		IDocumentProvider provider = new TextFileDocumentProvider();
+		bufferManager.connect(path, LocationKind.IFILE, null);
 		try {
-			provider.connect(file);
-			IDocument document = provider.getDocument(file);
-			if (document != null) {
-				return getPosition(document, textSpan);
-			}
-		} catch (CoreException e) {
+			buffer = bufferManager.getTextFileBuffer(path, LocationKind.IFILE);
+			return buffer != null ? getPositions(buffer.getDocument(), textSpans) : null;
 		} finally {
-			provider.disconnect(file);
+			bufferManager.disconnect(path, LocationKind.IFILE, null);
 		}
-		return null;
+	}
+
+	private static List<Position> getPositions(IDocument document, List<TextSpan> textSpans)
+			throws BadLocationException {
+		List<Position> positions = new ArrayList<Position>(textSpans.size());
+		for (TextSpan textSpan : textSpans) {
+			positions.add(getPosition(document, textSpan));
+		}
+		return positions;
 	}
 
 	public static Position getPosition(IDocument document, TextSpan textSpan) throws BadLocationException {
@@ -14,11 +14,10 @@ package ts.eclipse.ide.ui.widgets;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.bindings.keys.KeyStroke;
 import org.eclipse.jface.bindings.keys.ParseException;
 import org.eclipse.jface.fieldassist.ContentProposal;
@@ -45,6 +44,7 @@ import ts.eclipse.ide.internal.ui.dialogs.VersionLabelProvider;
 import ts.eclipse.ide.ui.preferences.StatusInfo;
 import ts.npm.NpmHelper;
 import ts.npm.NpmModule;
+import ts.npm.NpmVersions;
 import ts.utils.StringUtils;
 
 /**
@@ -66,49 +66,12 @@ public class NpmInstallWidget extends Composite {
 	private String version;
 
 	private final IStatusChangeListener handler;
-	private ValidateVersionJob validateVersionJob;
+	private CompletableFuture<NpmVersions> versionsLoading;
 	private IStatus status;
 
 	private boolean openPopup;
 	private VersionContentProposalAdapter adapter;
 
-	/**
-	 * Job which loads the available version of the given npm module and
-	 * validates the version field.
-	 *
-	 */
-	private class ValidateVersionJob extends Job {
-
-		public ValidateVersionJob() {
-			super(TypeScriptUIMessages.NPMInstallWidget_ValidateVersionJob_name);
-		}
-
-		@Override
-		protected IStatus run(IProgressMonitor monitor) {
-			try {
-				// Load the available version of the NPM module.
-				NpmModule module = IDENpmModulesManager.getInstance().getNPMModule(moduleName);
-				module.getAvailableVersions();
-				// Validate the version field.
-				Display display = NpmInstallWidget.this.getDisplay();
-				if ((display != null) && (!display.isDisposed())) {
-					display.asyncExec(new Runnable() {
-						public void run() {
-							if (openPopup) {
-								openPopup = false;
-								adapter.openProposalPopup();
-							}
-							validateVersionSynch(module);
-						}
-					});
-				}
-			} catch (Throwable e) {
-				NpmInstallWidget.this.statusChanged(new StatusInfo(IStatus.ERROR, e.getMessage()));
-			}
-			return Status.OK_STATUS;
-		}
-	}
-
 	private class VersionContentProposalProvider implements IContentProposalProvider {
 
 		@Override
@@ -116,15 +79,9 @@ public class NpmInstallWidget extends Composite {
 			NpmModule module = IDENpmModulesManager.getInstance().getNPMModule(moduleName);
 			if (module.isLoaded()) {
 				List<IContentProposal> list = new ArrayList<>();
-				try {
-					for (String proposal : module.getAvailableVersions()) {
-						if (proposal.length() >= contents.length()
-								&& proposal.substring(0, contents.length()).equalsIgnoreCase(contents)) {
-							list.add(new ContentProposal(proposal));
-						}
-					}
-				} catch (IOException e) {
-					// Should never occurred.
+				// the versions are loaded, getVersionsAsync() is completed.
+				for (String proposal : module.getVersionsAsync().join().getVersions(contents)) {
+					list.add(new ContentProposal(proposal));
 				}
 				return list.toArray(new IContentProposal[list.size()]);
 			} else {
@@ -245,9 +202,8 @@ public class NpmInstallWidget extends Composite {
 
 	private void validateVersionSynch(NpmModule module) {
 		try {
-			List<String> availableVersions = module.getAvailableVersions();
 			String version = versionText.getText();
-			if (StringUtils.isEmpty(version) || availableVersions.contains(version)) {
+			if (StringUtils.isEmpty(version) || module.hasVersion(version)) {
 				statusChanged(Status.OK_STATUS);
 			} else {
 				statusChanged(new StatusInfo(IStatus.ERROR, NLS
@@ -261,13 +217,36 @@ public class NpmInstallWidget extends Composite {
 	private void validateVersionASynch(NpmModule module) {
 		statusChanged(new StatusInfo(IStatus.ERROR,
 				NLS.bind(TypeScriptUIMessages.NPMInstallWidget_SearchingVersions_status, module.getName())));
-		if (validateVersionJob == null) {
-			validateVersionJob = new ValidateVersionJob();
-		} else {
-			validateVersionJob.cancel();
+		if (versionsLoading != null) {
+			// the versions are loading.
+			return;
 		}
-		validateVersionJob.schedule();
-
+		// Load the available versions of the NPM module in background and
+		// validate the version field in the UI thread.
+		final Display display = getDisplay();
+		CompletableFuture<NpmVersions> loading = module.getVersionsAsync();
+		versionsLoading = loading;
+		loading.whenComplete((versions, e) -> {
+			if (display.isDisposed()) {
+				return;
+			}
+			display.asyncExec(() -> {
+				if (isDisposed() || versionsLoading != loading) {
+					return;
+				}
+				versionsLoading = null;
+				if (e != null) {
+					Throwable cause = e.getCause() != null ? e.getCause() : e;
+					statusChanged(new StatusInfo(IStatus.ERROR, cause.getMessage()));
+					return;
+				}
+				if (openPopup) {
+					openPopup = false;
+					adapter.openProposalPopup();
+				}
+				validateVersionSynch(module);
+			});
+		});
 	}
 
 	private void statusChanged(IStatus status) {
@@ -278,10 +257,7 @@ public class NpmInstallWidget extends Composite {
 	@Override
 	public void dispose() {
 		super.dispose();
-		if (validateVersionJob != null) {
-			validateVersionJob.cancel();
-			validateVersionJob = null;
-		}
+		versionsLoading = null;
 	}
 
 	public void setVersion(String version) {